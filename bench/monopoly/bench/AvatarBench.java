@@ -0,0 +1,74 @@
+package monopoly.bench;
+
+import monopoly.Juego;
+import monopoly.casilla.Casilla;
+import monopoly.error.ErrorComandoAvatar;
+import monopoly.error.ErrorJuego;
+import monopoly.jugador.Avatar;
+import monopoly.jugador.AvatarPelota;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide un turno completo de movimiento (<code>Avatar.mover</code> y la acción
+ * de las casillas por las que pasa) con el movimiento básico y con los
+ * movimientos avanzados del coche y de la pelota.
+ * <p>
+ * Los dados salen de un generador con semilla fija y los jugadores tienen
+ * dinero de sobra, por lo que no hay bancarrotas ni compras.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dfile.encoding=UTF-8")
+public class AvatarBench {
+    /**
+     * Límite de lanzamientos por turno, igual que en las simulaciones
+     */
+    private static final int MAX_LANZAMIENTOS = 32;
+
+    @Param({"basico", "coche", "pelota"})
+    public String modo;
+
+    private Juego juego;
+
+    @Setup(Level.Iteration)
+    public void preparar() throws ErrorJuego {
+        // Se crea una partida nueva en cada iteración para que
+        // todas empiecen desde el mismo estado.
+        juego = Partidas.nueva(switch (modo) {
+            case "coche" -> "CC";
+            case "pelota" -> "PP";
+            default -> "cp";
+        });
+    }
+
+    @Benchmark
+    public Casilla turno() throws ErrorJuego {
+        Avatar avatar = juego.getJugadorTurno().getAvatar();
+
+        for (int i = 0; i < MAX_LANZAMIENTOS && avatar.getLanzamientosRestantes() > 0; i++) {
+            try {
+                juego.lanzar();
+            } catch (ErrorComandoAvatar e) {
+                // La pelota termina su movimiento con el comando siguiente;
+                // el coche no puede lanzar mientras tenga una penalización.
+                if (!(avatar instanceof AvatarPelota)) {
+                    break;
+                }
+
+                try {
+                    juego.siguiente();
+                } catch (ErrorComandoAvatar e2) {
+                    break;
+                }
+            }
+        }
+
+        juego.acabarTurno();
+        return avatar.getCasilla();
+    }
+}
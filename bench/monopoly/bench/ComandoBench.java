@@ -0,0 +1,61 @@
+package monopoly.bench;
+
+import monopoly.Juego;
+import monopoly.TablaComandos;
+import monopoly.error.ErrorComando;
+import monopoly.error.ErrorJuego;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el análisis y la ejecución de comandos con
+ * <code>Juego.ejecutarComando</code>.
+ * <p>
+ * Solo se usan comandos que no modifican la partida, para que todas las
+ * llamadas hagan el mismo trabajo. El último es un comando no válido, que
+ * mide el coste de analizar el comando hasta rechazarlo.
+ * <p>
+ * <code>separar</code> mide solo la separación en palabras, que es el
+ * coste fijo de cada línea al ejecutar scripts.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dfile.encoding=UTF-8")
+public class ComandoBench {
+    @Param({
+            "jugador",
+            "  Listar   Jugadores ",
+            "describir casilla Varsovia",
+            "describir jugador jugador2",
+            "listar enventa",
+            "estadisticas",
+            "comando inexistente",
+            "trato jugador2: cambiar Varsovia por Roma y noalquiler Madrid durante 3",
+    })
+    public String comando;
+
+    private Juego juego;
+
+    @Setup(Level.Trial)
+    public void preparar() throws ErrorJuego {
+        juego = Partidas.nueva("cp");
+    }
+
+    @Benchmark
+    public boolean ejecutarComando() throws ErrorJuego {
+        try {
+            return juego.ejecutarComando(comando);
+        } catch (ErrorComando e) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    public String[] separar() {
+        return TablaComandos.separar(comando);
+    }
+}
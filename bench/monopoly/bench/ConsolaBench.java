@@ -0,0 +1,77 @@
+package monopoly.bench;
+
+import monopoly.utils.Consola;
+import monopoly.utils.ConsolaNormal;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el formato de números y de texto con colores ANSI de
+ * {@link ConsolaNormal}, que se usa en casi todos los mensajes del juego.
+ * <p>
+ * <code>fmtCodigo</code> y <code>fmtCodigoEstilos</code> repiten siempre el mismo
+ * texto (el caso habitual, que acierta en la caché), mientras que
+ * <code>fmtCodigoDistintos</code> va rotando entre más textos de los que caben en ella.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dfile.encoding=UTF-8")
+public class ConsolaBench {
+    private ConsolaNormal consola;
+    private String msg;
+    private int color;
+    private String[] distintos;
+    private int nDistinto;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        consola = new ConsolaNormal();
+        msg = "Varsovia - Polonia";
+        color = 200;
+
+        distintos = new String[4096];
+        for (int i = 0; i < distintos.length; i++) {
+            distintos[i] = msg + ' ' + i;
+        }
+        nDistinto = 0;
+    }
+
+    @Benchmark
+    public String num(Numero n) {
+        return consola.num(n.numero);
+    }
+
+    @Benchmark
+    public String fmtCodigo() {
+        return consola.fmt(msg, color);
+    }
+
+    @Benchmark
+    public String fmtCodigoEstilos() {
+        return consola.fmt(msg, color, Consola.Estilo.Negrita, Consola.Estilo.Cursiva);
+    }
+
+    @Benchmark
+    public String fmtCodigoDistintos() {
+        nDistinto = (nDistinto + 1) & (distintos.length - 1);
+        return consola.fmt(distintos[nDistinto], color);
+    }
+
+    @Benchmark
+    public String fmtColor() {
+        return consola.fmt(msg, Consola.Color.Azul);
+    }
+
+    /**
+     * Números de distintas longitudes, solo para {@link #num(Numero)}
+     */
+    @State(Scope.Thread)
+    public static class Numero {
+        @Param({"950", "1234567", "9223372036854775807"})
+        public long numero;
+    }
+}
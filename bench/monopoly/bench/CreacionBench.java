@@ -0,0 +1,34 @@
+package monopoly.bench;
+
+import monopoly.Juego;
+import monopoly.error.ErrorJuego;
+import monopoly.sim.ConsolaSimulacion;
+import monopoly.utils.FuenteDadosAleatoria;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide lo que cuesta crear una partida nueva, que se hace en cada sesión
+ * del servidor y en cada partida de las simulaciones:
+ *
+ * <li><code>vacia</code>: solo el tablero, sin jugadores.
+ * <li><code>iniciada</code>: con cuatro jugadores y ya iniciada.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dfile.encoding=UTF-8")
+public class CreacionBench {
+    @Benchmark
+    public Juego vacia() throws ErrorJuego {
+        return new Juego(new ConsolaSimulacion(), new FuenteDadosAleatoria(Partidas.SEMILLA));
+    }
+
+    @Benchmark
+    public Juego iniciada() throws ErrorJuego {
+        return Partidas.nueva("cpcp");
+    }
+}
@@ -0,0 +1,63 @@
+package monopoly.bench;
+
+import monopoly.utils.Dado;
+import monopoly.utils.Diario;
+import monopoly.utils.FuenteDados;
+import monopoly.utils.FuenteDadosAleatoria;
+import monopoly.utils.FuenteDadosPregenerados;
+import monopoly.utils.FuenteDadosRegistrada;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide una tirada de dados con cada una de las fuentes de dados.
+ * <p>
+ * <code>registrada</code> es la fuente aleatoria apuntando cada tirada en
+ * un {@link Diario}, que se vuelve a crear en cada iteración para que el
+ * archivo no crezca demasiado.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dfile.encoding=UTF-8")
+public class DadosBench {
+    @Param({"aleatoria", "pregenerados", "registrada"})
+    public String fuente;
+
+    private FuenteDados dados;
+    private Path archivoDiario;
+    private Diario diario;
+
+    @Setup(Level.Iteration)
+    public void preparar() throws IOException {
+        dados = switch (fuente) {
+            case "aleatoria" -> new FuenteDadosAleatoria(Partidas.SEMILLA);
+            case "pregenerados" -> new FuenteDadosPregenerados(Partidas.SEMILLA, 256);
+            default -> {
+                archivoDiario = Files.createTempFile("diario", ".bin");
+                diario = new Diario(archivoDiario);
+                yield new FuenteDadosRegistrada(new FuenteDadosAleatoria(Partidas.SEMILLA), diario);
+            }
+        };
+    }
+
+    @TearDown(Level.Iteration)
+    public void terminar() throws IOException {
+        if (diario != null) {
+            diario.close();
+            Files.delete(archivoDiario);
+            diario = null;
+        }
+    }
+
+    @Benchmark
+    public Dado lanzar() {
+        return dados.lanzar();
+    }
+}
@@ -0,0 +1,68 @@
+package monopoly.bench;
+
+import monopoly.Juego;
+import monopoly.error.ErrorComando;
+import monopoly.error.ErrorJuego;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide lo que cuesta guardar una partida en memoria y volver a cargarla
+ * sobre el mismo juego, con {@link Juego#guardarPartida} y
+ * {@link Juego#cargarPartida}.
+ * <p>
+ * La partida se juega antes unos cuantos turnos, comprando todo lo que
+ * se puede, para que haya propiedades, historial y estadísticas que guardar.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dfile.encoding=UTF-8")
+public class PartidaGuardadaBench {
+    private static final int TURNOS = 200;
+
+    private Juego juego;
+    private byte[] guardada;
+
+    @Setup(Level.Trial)
+    public void preparar() throws ErrorJuego, IOException {
+        juego = Partidas.nueva("cpcp");
+
+        for (int i = 0; i < TURNOS; i++) {
+            ejecutar("lanzar");
+            ejecutar("comprar " + juego.getJugadorTurno().getAvatar().getCasilla().getNombre());
+            ejecutar("acabar turno");
+        }
+
+        guardada = guardar();
+    }
+
+    private void ejecutar(String comando) throws ErrorJuego {
+        try {
+            juego.ejecutarComando(comando);
+        } catch (ErrorComando ignored) {
+            // Por ejemplo, comprar una casilla que no está en venta
+        }
+    }
+
+    @Benchmark
+    public byte[] guardar() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+        juego.guardarPartida(new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public Juego cargar() throws ErrorJuego {
+        juego.cargarPartida(new DataInputStream(new ByteArrayInputStream(guardada)));
+        return juego;
+    }
+}
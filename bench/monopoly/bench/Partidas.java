@@ -0,0 +1,52 @@
+package monopoly.bench;
+
+import monopoly.Juego;
+import monopoly.error.ErrorJuego;
+import monopoly.jugador.Jugador;
+import monopoly.sim.ConsolaSimulacion;
+import monopoly.utils.FuenteDadosAleatoria;
+
+/**
+ * Funciones de ayuda para preparar las partidas de las pruebas de rendimiento.
+ */
+final class Partidas {
+    /**
+     * Semilla fija para que todas las ejecuciones lancen los mismos dados
+     */
+    static final long SEMILLA = 42;
+    /**
+     * Dinero extra que reciben los jugadores para que nunca se endeuden
+     */
+    static final long FORTUNA_EXTRA = Long.MAX_VALUE / 8;
+
+    private Partidas() {
+    }
+
+    /**
+     * Crea una partida ya iniciada, sin tablero automático y con la salida
+     * descartada, con un jugador por cada tipo de avatar dado.
+     *
+     * @param avatares Tipos de avatar como en {@link monopoly.sim.ConfigSimulacion}:
+     *                 <code>c</code> o <code>p</code>, en mayúsculas para el modo avanzado.
+     */
+    static Juego nueva(String avatares) throws ErrorJuego {
+        Juego juego = new Juego(new ConsolaSimulacion(), new FuenteDadosAleatoria(SEMILLA));
+        juego.setMostrarTablero(false);
+
+        for (int i = 0; i < avatares.length(); i++) {
+            char tipo = avatares.charAt(i);
+            juego.crearJugador(new String[]{"crear", "jugador", "jugador" + (i + 1), Character.toString(Character.toLowerCase(tipo))});
+
+            if (Character.isUpperCase(tipo)) {
+                juego.getJugadores().get(i).getAvatar().cambiarModo();
+            }
+        }
+
+        for (Jugador j : juego.getJugadores()) {
+            j.ingresar(FORTUNA_EXTRA);
+        }
+
+        juego.iniciar();
+        return juego;
+    }
+}
@@ -0,0 +1,90 @@
+package monopoly.bench;
+
+import monopoly.Juego;
+import monopoly.casilla.Casilla;
+import monopoly.casilla.edificio.Casa;
+import monopoly.casilla.edificio.TipoEdificio;
+import monopoly.casilla.propiedad.Grupo;
+import monopoly.casilla.propiedad.Propiedad;
+import monopoly.casilla.propiedad.Solar;
+import monopoly.error.ErrorJuego;
+import monopoly.jugador.Jugador;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide las consultas sobre propiedades que se hacen en cada movimiento:
+ * el alquiler de un solar, si un grupo es un monopolio, cuántos edificios
+ * hay en un grupo (requisitos de edificación) y el capital de un jugador.
+ * <p>
+ * El primer jugador tiene la mitad de las propiedades del tablero, con el
+ * monopolio del primer grupo de solares y tres casas en cada uno de ellos.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dfile.encoding=UTF-8")
+public class PropiedadBench {
+    private static final int N_CASAS = 3;
+
+    private Jugador jugador;
+    private Jugador otro;
+    private Solar solar;
+    private Grupo grupo;
+
+    @Setup(Level.Trial)
+    public void preparar() throws ErrorJuego {
+        Juego juego = Partidas.nueva("cp");
+        jugador = juego.getJugadores().get(0);
+        otro = juego.getJugadores().get(1);
+
+        boolean comprar = true;
+        for (Casilla c : juego.getCasillas()) {
+            if (c instanceof Propiedad p) {
+                if (solar == null && p instanceof Solar s) {
+                    solar = s;
+                    grupo = s.getGrupo();
+                }
+
+                if (comprar || p.getGrupo() == grupo) {
+                    jugador.comprar(p);
+                }
+                comprar = !comprar;
+            }
+        }
+
+        for (Propiedad p : grupo.getPropiedades()) {
+            for (int i = 0; i < N_CASAS; i++) {
+                jugador.construir(new Casa((Solar) p), 1);
+            }
+        }
+    }
+
+    @Benchmark
+    public long solarGetAlquiler() throws ErrorJuego {
+        return solar.getAlquiler();
+    }
+
+    @Benchmark
+    public boolean grupoIsMonopolio() {
+        return grupo.isMonopolio(jugador);
+    }
+
+    @Benchmark
+    public boolean grupoIsMonopolioOtroJugador() {
+        return grupo.isMonopolio(otro);
+    }
+
+    @Benchmark
+    public int grupoContarEdificios() {
+        return grupo.contarEdificios(TipoEdificio.Casa);
+    }
+
+    @Benchmark
+    public long estadisticasGetCapital() throws ErrorJuego {
+        return jugador.getEstadisticas().getCapital();
+    }
+}
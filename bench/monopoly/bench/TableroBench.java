@@ -0,0 +1,71 @@
+package monopoly.bench;
+
+import monopoly.Juego;
+import monopoly.casilla.Casilla;
+import monopoly.error.ErrorJuego;
+import monopoly.jugador.Avatar;
+import monopoly.utils.ConsolaNormal;
+import monopoly.utils.PintorTablero;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el dibujado del tablero, que se hace después de cada movimiento
+ * en una partida normal:
+ *
+ * <li><code>completo</code>: dibujar el tablero desde cero, como la primera vez.
+ * <li><code>sinCambios</code>: volver a dibujarlo sin que cambie ninguna casilla.
+ * <li><code>trasMovimiento</code>: dibujarlo después de que un avatar cambie de
+ *     casilla (dos celdas modificadas).
+ * <p>
+ * Se usa una {@link ConsolaNormal} para que el coste de los colores ANSI
+ * de cada celda también se tenga en cuenta.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dfile.encoding=UTF-8")
+public class TableroBench {
+    private Juego juego;
+    private ConsolaNormal consola;
+    private PintorTablero pintor;
+    private Avatar avatar;
+    private Casilla[] casillasMovimiento;
+    private int nMovimiento;
+
+    @Setup(Level.Trial)
+    public void preparar() throws ErrorJuego {
+        juego = Partidas.nueva("cpCP");
+        consola = new ConsolaNormal();
+        pintor = new PintorTablero(juego.getCasillas(), consola);
+        pintor.pintarTablero();
+
+        avatar = juego.getJugadores().get(0).getAvatar();
+        casillasMovimiento = new Casilla[]{juego.getCasillas().get(0), juego.getCasillas().get(1)};
+        nMovimiento = 0;
+    }
+
+    @Benchmark
+    public String completo() {
+        return new PintorTablero(juego.getCasillas(), consola).pintarTablero();
+    }
+
+    @Benchmark
+    public String sinCambios() {
+        return pintor.pintarTablero();
+    }
+
+    @Benchmark
+    public String trasMovimiento() {
+        // Se simula que el avatar se mueve de una casilla a otra
+        Casilla origen = casillasMovimiento[nMovimiento & 1];
+        Casilla destino = casillasMovimiento[++nMovimiento & 1];
+        origen.quitarAvatar(avatar);
+        destino.anadirAvatar(avatar);
+
+        return pintor.pintarTablero();
+    }
+}
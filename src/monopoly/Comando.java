@@ -162,6 +162,38 @@ public interface Comando {
      */
     void estadisticas(String[] args) throws ErrorComando, ErrorFatalLogico;
 
+    /**
+     * Guarda el estado completo de la partida en un archivo binario
+     * <pre>
+     *     guardar {nombre archivo}
+     * </pre>
+     *
+     * @see Juego#guardarPartida(java.io.DataOutput)
+     */
+    void guardar(String[] args) throws ErrorComando;
+
+    /**
+     * Sustituye la partida actual por la guardada en el archivo dado
+     * <pre>
+     *     cargar {nombre archivo}
+     * </pre>
+     *
+     * @see Juego#cargarPartida(java.io.DataInput)
+     */
+    void cargar(String[] args) throws ErrorComando, ErrorFatal;
+
+    /**
+     * Muestra cuántas veces se ha ejecutado cada comando en esta partida
+     * y cuánto han tardado (percentiles 50, 99 y 99.9), o las reinicia.
+     * <pre>
+     *     metricas
+     *     metricas reiniciar
+     * </pre>
+     *
+     * @see MetricasComandos
+     */
+    void metricas(String[] args) throws ErrorComandoFormato;
+
     // ==== COMANDOS DEBUG ============================================================
 
     /**
@@ -0,0 +1,176 @@
+package monopoly;
+
+import monopoly.casilla.Casilla;
+import monopoly.casilla.propiedad.Grupo;
+import monopoly.casilla.propiedad.Propiedad;
+import monopoly.error.ErrorFatalLogico;
+import monopoly.jugador.Jugador;
+import monopoly.utils.Maximo;
+
+import java.util.ArrayList;
+
+/**
+ * Estadísticas globales de la partida.
+ * <p>
+ * En lugar de recorrer todas las casillas, grupos y jugadores cada vez que
+ * se piden, se mantienen los máximos a medida que ocurren los eventos que
+ * los cambian: cuando un avatar cae en una casilla, cuando se cobra un
+ * alquiler, cuando un jugador da una vuelta, etc. Así, consultarlas no
+ * depende del tamaño del tablero ni del número de propiedades.
+ *
+ * @see Juego#estadisticas(String[])
+ * @see monopoly.jugador.EstadisticasJugador
+ */
+public class EstadisticasJuego {
+    // @formatter:off
+    private final ArrayList<Grupo> grupos;
+    private final ArrayList<Jugador> jugadores;
+
+    private final Maximo<Propiedad> casillaMasRentable;
+    private final Maximo<Grupo>     grupoMasRentable;
+    private final Maximo<Casilla>   casillaMasFrecuentada;
+    private final Maximo<Jugador>   jugadorMasVueltas;
+    private final Maximo<Jugador>   jugadorMasTiradas;
+    private final Maximo<Jugador>   jugadorEnCabeza;
+    // @formatter:on
+
+    /**
+     * Crea las estadísticas de una partida.
+     * <p>
+     * NOTA: se guardan las listas dadas, no una copia, para poder
+     * recalcular los máximos cuando sea necesario.
+     */
+    public EstadisticasJuego(ArrayList<Casilla> casillas, ArrayList<Grupo> grupos, ArrayList<Jugador> jugadores) {
+        this.grupos = grupos;
+        this.jugadores = jugadores;
+
+        ArrayList<Propiedad> propiedades = new ArrayList<>();
+        for (Casilla c : casillas) {
+            if (c instanceof Propiedad) {
+                propiedades.add((Propiedad) c);
+            }
+        }
+
+        // @formatter:off
+        casillaMasRentable    = new Maximo<>(propiedades, Propiedad::getAlquilerTotalCobrado, Casilla::getPosicion);
+        grupoMasRentable      = new Maximo<>(grupos,      Grupo::getAlquilerTotalCobrado,     grupos::indexOf);
+        casillaMasFrecuentada = new Maximo<>(casillas,    Casilla::frecuenciaVisita,          Casilla::getPosicion);
+        jugadorMasVueltas     = new Maximo<>(jugadores,   (j) -> j.getEstadisticas().getVueltas(),  jugadores::indexOf);
+        jugadorMasTiradas     = new Maximo<>(jugadores,   (j) -> j.getEstadisticas().getTiradas(),  jugadores::indexOf);
+        jugadorEnCabeza       = new Maximo<>(jugadores,   (j) -> j.getEstadisticas().getCapital(),  jugadores::indexOf);
+        // @formatter:on
+    }
+
+    /**
+     * Se llama después de añadir el jugador a la partida
+     */
+    public void anadirJugador(Jugador jugador) {
+        jugador.getEstadisticas().setEstadisticasJuego(this);
+
+        jugadorMasVueltas.actualizar(jugador);
+        jugadorMasTiradas.actualizar(jugador);
+        jugadorEnCabeza.actualizar(jugador);
+    }
+
+    /**
+     * Se llama después de quitar el jugador de la partida
+     */
+    public void quitarJugador(Jugador jugador) {
+        jugador.getEstadisticas().setEstadisticasJuego(null);
+
+        jugadorMasVueltas.quitar(jugador);
+        jugadorMasTiradas.quitar(jugador);
+        jugadorEnCabeza.quitar(jugador);
+    }
+
+    public void actualizarEstancias(Casilla casilla) {
+        casillaMasFrecuentada.actualizar(casilla);
+    }
+
+    public void actualizarAlquiler(Propiedad propiedad) {
+        casillaMasRentable.actualizar(propiedad);
+        grupoMasRentable.actualizar(propiedad.getGrupo());
+    }
+
+    public void actualizarVueltas(Jugador jugador) {
+        jugadorMasVueltas.actualizar(jugador);
+    }
+
+    public void actualizarTiradas(Jugador jugador) {
+        jugadorMasTiradas.actualizar(jugador);
+    }
+
+    public void actualizarCapital(Jugador jugador) {
+        jugadorEnCabeza.actualizar(jugador);
+    }
+
+    /**
+     * Vuelve a buscar todos los máximos desde cero, por ejemplo después
+     * de cargar una partida guardada.
+     */
+    public void recalcular() {
+        casillaMasRentable.recalcular();
+        grupoMasRentable.recalcular();
+        casillaMasFrecuentada.recalcular();
+        jugadorMasVueltas.recalcular();
+        jugadorMasTiradas.recalcular();
+        jugadorEnCabeza.recalcular();
+    }
+
+    /**
+     * Comprueba que los máximos, el alquiler de cada grupo y el capital de
+     * cada jugador coinciden con los que se obtienen recorriendo todo desde cero.
+     *
+     * @throws ErrorFatalLogico Si se encuentra alguna diferencia
+     */
+    public void comprobar() throws ErrorFatalLogico {
+        for (Grupo g : grupos) {
+            long alquiler = 0;
+            for (Propiedad p : g.getPropiedades()) {
+                alquiler += p.getAlquilerTotalCobrado();
+            }
+
+            if (alquiler != g.getAlquilerTotalCobrado()) {
+                throw new ErrorFatalLogico("Grupo %s: alquiler cobrado incorrecto".formatted(g.getNombre()));
+            }
+        }
+
+        for (Jugador j : jugadores) {
+            if (j.getEstadisticas().getCapital() != j.getEstadisticas().calcularCapital()) {
+                throw new ErrorFatalLogico("El capital de %s no coincide con el de sus propiedades".formatted(j.getNombre()));
+            }
+        }
+
+        // @formatter:off
+        if (!casillaMasRentable.comprobar()    || !grupoMasRentable.comprobar()
+         || !casillaMasFrecuentada.comprobar() || !jugadorMasVueltas.comprobar()
+         || !jugadorMasTiradas.comprobar()     || !jugadorEnCabeza.comprobar()) {
+            throw new ErrorFatalLogico("Las estadísticas de la partida no coinciden con las recalculadas");
+        }
+        // @formatter:on
+    }
+
+    public Maximo<Propiedad> getCasillaMasRentable() {
+        return casillaMasRentable;
+    }
+
+    public Maximo<Grupo> getGrupoMasRentable() {
+        return grupoMasRentable;
+    }
+
+    public Maximo<Casilla> getCasillaMasFrecuentada() {
+        return casillaMasFrecuentada;
+    }
+
+    public Maximo<Jugador> getJugadorMasVueltas() {
+        return jugadorMasVueltas;
+    }
+
+    public Maximo<Jugador> getJugadorMasTiradas() {
+        return jugadorMasTiradas;
+    }
+
+    public Maximo<Jugador> getJugadorEnCabeza() {
+        return jugadorEnCabeza;
+    }
+}
@@ -2,6 +2,10 @@ package monopoly;
 
 import monopoly.casilla.Casilla;
 import monopoly.casilla.Lector;
+import monopoly.casilla.carta.CartaComunidad;
+import monopoly.casilla.carta.CartaSuerte;
+import monopoly.casilla.carta.Mazo;
+import monopoly.casilla.carta.PoliticaCartas;
 import monopoly.casilla.edificio.*;
 import monopoly.casilla.especial.CasillaCarcel;
 import monopoly.casilla.especial.CasillaSalida;
@@ -16,15 +20,39 @@ import monopoly.utils.Consola;
 import monopoly.utils.Consola.Color;
 import monopoly.utils.ConsolaNormal;
 import monopoly.utils.Dado;
+import monopoly.utils.Diario;
+import monopoly.utils.Eventos;
+import monopoly.utils.FuenteDados;
+import monopoly.utils.FuenteDadosAleatoria;
+import monopoly.utils.FuenteDadosRegistrada;
+import monopoly.utils.IndiceNombres;
+import monopoly.utils.Maximo;
 import monopoly.utils.PintorTablero;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Scanner;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
 
 /**
  * Clase principal del juego del Monopoly.
@@ -36,8 +64,16 @@ import java.util.Scanner;
  * </p>
  */
 public class Juego implements Comando {
+    /**
+     * Primeros bytes de una partida guardada: "MNPG"
+     */
+    private static final int MAGIA_PARTIDA = 0x4D4E5047;
+    /**
+     * Versión del formato de las partidas guardadas
+     */
+    private static final byte VERSION_PARTIDA = 5;
 
-    public static Consola consola;
+    private final Consola consola;
     private final String msgAyuda;
 
     // Atributos
@@ -45,23 +81,62 @@ public class Juego implements Comando {
     private final ArrayList<Casilla> casillas;
     private final ArrayList<Grupo> grupos;
     private final Banca banca;
+    // Búsqueda por nombre
+    private final IndiceNombres<Jugador> indiceJugadores;
+    private final IndiceNombres<Casilla> indiceCasillas;
+    private final IndiceNombres<Grupo> indiceGrupos;
     // Información relevante
     private final long fortunaInicial;
     private final CasillaCarcel carcel;
     private final CasillaSalida salida;
+    private final FuenteDados dados;
+    private final Mazo<CartaSuerte> mazoSuerte;
+    private final Mazo<CartaComunidad> mazoComunidad;
+    private final PintorTablero pintor;
+    private final EstadisticasJuego estadisticasJuego;
+    private final MetricasComandos metricas;
     // Estado
     private int turno;
     private int nAumentosPrecio;
     private boolean jugando;
+    private boolean finalizada;
+    private boolean mostrarTablero;
+    private int nTratos;       /* Tratos propuestos hasta ahora, para numerarlos */
+    private final AtomicInteger idsEdificios; /* Siguiente id de edificio (ver Solar#setIdsEdificios) */
+    private boolean comprobar; /* Comprobar la consistencia del estado tras cada comando */
+    private boolean accesoArchivos; /* Permitir los comandos que leen o escriben archivos */
+    private Diario diario;     /* Null si no se registran los cambios de la partida */
 
     public Juego() throws ErrorFatalConfig, ErrorFatalLogico {
-        consola = new ConsolaNormal();
+        this(new ConsolaNormal(), new FuenteDadosAleatoria(new SplittableRandom()));
+    }
+
+    /**
+     * Crea un juego que usa la consola y la fuente de dados dadas.
+     * <p>
+     * Permite ejecutar partidas sin una terminal (por ejemplo, en las
+     * simulaciones) y reproducir los dados usando una fuente con semilla.
+     *
+     * @param consola Consola por la que se muestran los mensajes y se piden datos.
+     * @param dados   Fuente de la que se obtienen las tiradas de dados.
+     */
+    public Juego(Consola consola, FuenteDados dados) throws ErrorFatalConfig, ErrorFatalLogico {
+        this.consola = consola;
+        this.dados = dados;
 
-        banca = new Banca();
+        banca = new Banca(consola);
         jugadores = new ArrayList<>(JuegoConsts.MAX_JUGADORES);
+        indiceJugadores = new IndiceNombres<>();
         turno = 0;
         jugando = false;
+        finalizada = false;
+        mostrarTablero = true;
+        comprobar = false;
+        accesoArchivos = true;
+        diario = null;
         nAumentosPrecio = 1;
+        nTratos = 0;
+        idsEdificios = new AtomicInteger(1);
 
         Lector lector = new Lector(this);
         msgAyuda = lector.getMsgAyuda();
@@ -70,26 +145,49 @@ public class Juego implements Comando {
         carcel = lector.getCarcel();
         salida = lector.getSalida();
         fortunaInicial = lector.getFortunaInicial();
+        mazoSuerte = lector.getMazoSuerte();
+        mazoComunidad = lector.getMazoComunidad();
+        // Las casillas y los grupos no cambian durante la partida
+        indiceCasillas = new IndiceNombres<>(casillas);
+        indiceGrupos = new IndiceNombres<>(grupos);
+        pintor = new PintorTablero(casillas, consola);
+
+        estadisticasJuego = new EstadisticasJuego(casillas, grupos, jugadores);
+        metricas = new MetricasComandos();
+        for (Casilla c : casillas) {
+            c.setEstadisticasJuego(estadisticasJuego);
+
+            if (c instanceof Solar s) {
+                s.setIdsEdificios(idsEdificios);
+            }
+        }
     }
 
     /**
      * Inicia la consola del juego del Monopoly.
      * <p>
      * Muestra el Prompt ("$>") y permite al usuario escribir un comando.
+     * <p>
+     * Si hay un error fatal, se deja de leer comandos y se lanza sin
+     * terminar el proceso: es quien ha iniciado la consola el que decide
+     * qué hacer (ver {@link ErrorFatal#abortar()}), porque puede haber otras
+     * partidas en el mismo proceso.
+     *
+     * @throws ErrorFatal Si la partida no puede continuar
      */
-    public void iniciarConsola() {
+    public void iniciarConsola() throws ErrorFatal {
         consola.imprimir(consola.fmt(JuegoConsts.MSG_INICIO, Color.Amarillo));
         consola.imprimir("Puedes usar el comando \"%s\" para ver las opciones disponibles\n".formatted(consola.fmt("ayuda", Color.Verde)));
 
         boolean ejecutar = true;
-        while (ejecutar) {
+        while (ejecutar && !finalizada) {
             try {
                 ejecutar = ejecutarComando(consola.leer(JuegoConsts.PROMPT));
             } catch (ErrorComando e) {
-                e.imprimirMsg();
-            } catch (ErrorFatal e) {
-                e.imprimirMsg();
-                e.abortar();
+                e.imprimirMsg(consola);
+            } finally {
+                // Se muestra todo lo que ha generado el comando
+                consola.volcar();
             }
         }
     }
@@ -99,80 +197,45 @@ public class Juego implements Comando {
      *
      * @return True en caso de que deba seguir procesando comandos. False cuando se ha ejecuta el comando de salir.
      */
-    private boolean ejecutarComando(String cmd) throws ErrorComando, ErrorFatal {
-        // Ignorar comandos en blanco o con solo espacios
-        if (cmd.isBlank() || cmd.stripLeading().startsWith("#")) {
+    public boolean ejecutarComando(String cmd) throws ErrorComando, ErrorFatal {
+        String[] args = TablaComandos.separar(cmd);
+
+        // Ignorar comandos en blanco o comentarios
+        if (args.length == 0) {
             return true;
         }
 
-        // Normalizar:
-        //   - Eliminar espacio al inicio y al final
-        //   - Eliminar más de dos espacios seguidos
-        //   - Eliminar los ':' (tratos)
-        //   - Convertir a minúsculas
-        cmd = cmd.strip().replaceAll(" +", " ").replaceAll(":", "").toLowerCase();
+        TablaComandos.Accion accion = TablaComandos.buscar(args);
 
-        if (cmd.equals("salir") || cmd.equals("quit") || cmd.equals("exit")) {
-            return false;
+        if (accion == null) {
+            throw new ErrorComandoFormato("\"%s\": comando no válido".formatted(args[0]));
         }
 
-        // Comandos sin parámetros
-        boolean cmdProcesado = true;
-        switch (cmd) {
-            case "ayuda", "help" -> ayuda();
-            case "iniciar", "start" -> iniciar();
-            case "ver tablero", "tablero", "show" -> verTablero();
-            case "jugador", "turno", "player" -> jugador();
-            case "salir carcel" -> salirCarcel();
-            case "cambiar modo" -> cambiarModo();
-            case "lanzar dados", "lanzar", "throw" -> lanzar();
-            case "siguiente", "sig", "next" -> siguiente();
-            case "acabar turno", "fin", "end" -> acabarTurno();
-            case "bancarrota" -> bancarrota();
-            case "tratos" -> listar(new String[]{"listar", "tratos"});
-            default -> cmdProcesado = false;
-        }
-
-        if (cmdProcesado) {
-            return true;
+        if (accion == TablaComandos.SALIR) {
+            return false;
         }
 
-        String[] args = cmd.split(" ");
-
-        // Comandos con parámetros
-        cmdProcesado = true;
-        switch (args[0]) {
-            case "crear" -> crearJugador(args);
-            case "comprar" -> comprar(args);
-            case "edificar" -> edificar(args);
-            case "vender" -> vender(args);
-            case "hipotecar" -> hipotecar(args);
-            case "deshipotecar" -> deshipotecar(args);
-            case "estadisticas" -> estadisticas(args);
-            case "listar" -> listar(args);
-            case "describir" -> describir(args);
-            case "trato" -> trato(args);
-            case "aceptar" -> aceptar(args);
-            case "eliminar" -> eliminar(args);
-            // ------------------------------------------------------------
-            case "exec" -> ejecutarArchivo(args);
-            case "mover" -> mover(args);
-            case "fortuna" -> fortuna(args);
-            default -> cmdProcesado = false;
-        }
-
-        if (cmdProcesado) {
-            return true;
+        long inicio = System.nanoTime();
+        try {
+            accion.ejecutar(this, args);
+        } finally {
+            // Se mide también si el comando falla, pero no la comprobación
+            metricas.anadir(args[0], System.nanoTime() - inicio);
+
+            // También si el comando falla a medias
+            if (comprobar) {
+                comprobarConsistencia();
+            }
         }
 
-        throw new ErrorComandoFormato("\"%s\": comando no válido".formatted(args[0]));
+        return true;
     }
 
     // ================================================================================
 
     @Override
     public String toString() {
-        return PintorTablero.pintarTablero(casillas);
+        return pintor.pintarTablero();
     }
 
     /**
@@ -182,10 +245,324 @@ public class Juego implements Comando {
         return jugadores.isEmpty() ? null : jugadores.get(turno);
     }
 
+    /**
+     * Devuelve <code>true</code> cuando la partida ha terminado porque
+     * solo queda un jugador.
+     */
+    public boolean isFinalizada() {
+        return finalizada;
+    }
+
+    /**
+     * Permite desactivar el dibujo del tablero tras cada movimiento o
+     * cambio de turno (por ejemplo, en las simulaciones, donde no se
+     * muestra nada por pantalla).
+     * <p>
+     * El comando <code>ver tablero</code> lo sigue mostrando.
+     */
+    public void setMostrarTablero(boolean mostrarTablero) {
+        this.mostrarTablero = mostrarTablero;
+    }
+
+    /**
+     * Permite desactivar los comandos que leen o escriben archivos
+     * (<code>guardar</code>, <code>cargar</code> y <code>exec</code>).
+     * <p>
+     * Las partidas del {@link monopoly.servidor.Servidor} no los tienen,
+     * porque los archivos serían los de la máquina del servidor: cualquier
+     * cliente podría leerlos (<code>exec</code> muestra las líneas que no
+     * son comandos) o sobrescribirlos.
+     */
+    public void setAccesoArchivos(boolean accesoArchivos) {
+        this.accesoArchivos = accesoArchivos;
+    }
+
+    /**
+     * Cambia cómo se sacan las cartas de Suerte y de Comunidad.
+     * <p>
+     * Por defecto se sacan en orden de un mazo que se baraja una sola vez
+     * ({@link monopoly.casilla.carta.MazoCircular}), sin preguntar nada; las
+     * partidas con personas usan {@link monopoly.casilla.carta.EleccionInteractiva}.
+     */
+    public void setPoliticaCartas(PoliticaCartas politica) {
+        mazoSuerte.setPolitica(politica);
+        mazoComunidad.setPolitica(politica);
+    }
+
+    /**
+     * Activa la comprobación de la consistencia del estado de la partida
+     * (ver {@link #comprobarConsistencia()}) después de cada comando.
+     * <p>
+     * Es lenta, así que solo se usa en pruebas y simulaciones.
+     */
+    public void setComprobarConsistencia(boolean comprobar) {
+        this.comprobar = comprobar;
+    }
+
+    /**
+     * Comprueba que los datos que se mantienen de forma incremental
+     * coinciden con los que se obtendrían recalculándolos desde cero.
+     *
+     * @throws ErrorFatalLogico Si se encuentra alguna diferencia
+     */
+    public void comprobarConsistencia() throws ErrorFatalLogico {
+        for (Grupo g : grupos) {
+            g.comprobarPropietarios();
+        }
+
+        estadisticasJuego.comprobar();
+    }
+
+    /**
+     * Registra en el diario dado todos los comandos que cambian el estado
+     * de la partida, justo después de ejecutarse con éxito.
+     * <p>
+     * Para que también se registren los dados, hay que crear el juego con
+     * una {@link FuenteDadosRegistrada} sobre el mismo diario.
+     */
+    public void setDiario(Diario diario) {
+        this.diario = diario;
+    }
+
+    /**
+     * Escribe el estado completo de la partida en un formato binario compacto.
+     * <p>
+     * Solo se guarda lo que cambia durante la partida: la definición del
+     * tablero sale de la configuración, y al cargar se comprueba que es la
+     * misma. Formato:
+     * <pre>
+     *     cabecera:    MAGIA (int) VERSION (byte) nº casillas (short) huella del tablero (int)
+     *     partida:     turno, aumentos de precio, jugando, finalizada,
+     *                  tratos propuestos, siguiente id de edificio
+     *     banca:       fortuna y estadísticas
+     *     jugadores:   nº jugadores; nombre, avatar, tipo, fortuna, estadísticas y avatar de cada uno
+     *     casillas:    estado de cada casilla (ver {@link Casilla#guardar(DataOutput)})
+     *     mazos:       orden de las cartas de Suerte y de Comunidad (ver {@link Mazo#guardar(DataOutput)})
+     *     propiedades: acreedor y propiedades de la banca y de cada jugador
+     *     tratos:      nº tratos; cada trato (ver {@link Trato#guardar(DataOutput)})
+     * </pre>
+     * Los jugadores se guardan por el carácter de su avatar y las casillas
+     * por su posición.
+     * <p>
+     * NOTA: los tratos con jugadores que ya no están en la partida no se
+     * guardan, porque no se pueden aceptar ni eliminar.
+     *
+     * @see #cargarPartida(DataInput)
+     */
+    public void guardarPartida(DataOutput out) throws IOException {
+        out.writeInt(MAGIA_PARTIDA);
+        out.writeByte(VERSION_PARTIDA);
+        out.writeShort(casillas.size());
+        out.writeInt(huellaTablero());
+
+        out.writeInt(turno);
+        out.writeInt(nAumentosPrecio);
+        out.writeBoolean(jugando);
+        out.writeBoolean(finalizada);
+        out.writeInt(nTratos);
+        out.writeInt(idsEdificios.get());
+
+        banca.guardar(out);
+        out.writeByte(jugadores.size());
+        for (Jugador j : jugadores) {
+            out.writeUTF(j.getNombre());
+            out.writeChar(j.getAvatar().getId());
+            out.writeChar(j.getAvatar() instanceof AvatarCoche ? 'c' : 'p');
+            j.guardar(out);
+        }
+
+        for (Casilla c : casillas) {
+            c.guardar(out);
+        }
+
+        // Los mazos son de todas las casillas de su tipo, así que se guardan una sola vez
+        mazoSuerte.guardar(out);
+        mazoComunidad.guardar(out);
+
+        banca.guardarPropiedades(out);
+        for (Jugador j : jugadores) {
+            j.guardarPropiedades(out);
+        }
+
+        // Cada trato está en los dos jugadores que participan en él.
+        // Se ordenan para que los de no alquiler se recuperen en el mismo orden.
+        IdentityHashMap<Trato, Boolean> vistos = new IdentityHashMap<>();
+        ArrayList<Trato> tratos = new ArrayList<>();
+        for (Jugador j : jugadores) {
+            for (Trato t : j.getTratos()) {
+                if (vistos.put(t, true) == null
+                        && jugadores.contains(t.getJugadorPropone())
+                        && jugadores.contains(t.getJugadorAcepta())) {
+                    tratos.add(t);
+                }
+            }
+        }
+        tratos.sort(Comparator.comparingInt(Trato::getNumero));
+
+        out.writeShort(tratos.size());
+        for (Trato t : tratos) {
+            t.guardar(out);
+        }
+    }
+
+    /**
+     * Suma de comprobación (CRC-32) del estado completo de la partida, tal y
+     * como lo escribe {@link #guardarPartida(DataOutput)}.
+     * <p>
+     * Dos partidas en el mismo estado dan siempre la misma suma, aunque se
+     * hayan jugado en procesos distintos. Se usa para comprobar que una
+     * reproducción llega al mismo final (ver {@link monopoly.sim.Reproductor}).
+     */
+    public long calcularSuma() {
+        CRC32 crc = new CRC32();
+
+        try {
+            guardarPartida(new DataOutputStream(new CheckedOutputStream(OutputStream.nullOutputStream(), crc)));
+        } catch (IOException e) {
+            // No se escribe en ningún archivo
+            throw new UncheckedIOException(e);
+        }
+
+        return crc.getValue();
+    }
+
+    /**
+     * Sustituye el estado de la partida por el escrito con
+     * {@link #guardarPartida(DataOutput)}.
+     * <p>
+     * No se vuelve a leer la configuración: se reutilizan las casillas y
+     * los grupos de esta partida, y solo se crean los jugadores, sus
+     * avatares, los edificios y los tratos.
+     *
+     * @throws ErrorComando Si no es una partida guardada o es de otro tablero.
+     *                      En ese caso la partida actual no cambia.
+     * @throws ErrorFatal   Si los datos están dañados a mitad de la carga,
+     *                      porque la partida queda a medias.
+     */
+    public void cargarPartida(DataInput in) throws ErrorComando, ErrorFatal {
+        try {
+            if (in.readInt() != MAGIA_PARTIDA) {
+                throw new ErrorComando("No es una partida guardada");
+            }
+
+            byte version = in.readByte();
+            if (version != VERSION_PARTIDA) {
+                throw new ErrorComando("Versión %d de partida guardada no soportada".formatted(version));
+            }
+
+            if (in.readUnsignedShort() != casillas.size() || in.readInt() != huellaTablero()) {
+                throw new ErrorComando("La partida guardada es de otro tablero");
+            }
+        } catch (IOException e) {
+            throw new ErrorComando("No es una partida guardada");
+        }
+
+        try {
+            cargarEstado(in);
+        } catch (EOFException e) {
+            throw new ErrorFatal("La partida guardada está incompleta");
+        } catch (IOException e) {
+            throw new ErrorFatal("La partida guardada está dañada: %s".formatted(e.getMessage()));
+        }
+    }
+
+    private void cargarEstado(DataInput in) throws IOException {
+        // Se descartan los jugadores actuales y las propiedades de la banca
+        ArrayList<Jugador> anteriores = new ArrayList<>(jugadores);
+        jugadores.clear();
+        for (Jugador j : anteriores) {
+            indiceJugadores.quitar(j);
+            estadisticasJuego.quitarJugador(j);
+        }
+
+        try {
+            for (Propiedad p : new ArrayList<>(banca.getPropiedades())) {
+                banca.quitarPropiedad(p);
+            }
+        } catch (ErrorFatalLogico e) {
+            throw new IOException(e.getMessage());
+        }
+
+        turno = in.readInt();
+        nAumentosPrecio = in.readInt();
+        jugando = in.readBoolean();
+        finalizada = in.readBoolean();
+        nTratos = in.readInt();
+        idsEdificios.set(in.readInt());
+
+        banca.cargar(in, casillas);
+        int nJugadores = in.readUnsignedByte();
+        for (int i = 0; i < nJugadores; i++) {
+            String nombre = in.readUTF();
+            char id = in.readChar();
+            char tipo = in.readChar();
+
+            Avatar avatar = switch (tipo) {
+                case 'c' -> new AvatarCoche(id, salida);
+                case 'p' -> new AvatarPelota(id, salida);
+                default -> throw new IOException("Tipo de avatar %c desconocido".formatted(tipo));
+            };
+
+            Jugador jugador = new Jugador(nombre, avatar, 0, consola);
+            jugador.cargar(in, casillas);
+            jugadores.add(jugador);
+            indiceJugadores.anadir(jugador);
+        }
+
+        if (jugadores.isEmpty() ? turno != 0 : turno < 0 || turno >= jugadores.size()) {
+            throw new IOException("Turno %d no válido".formatted(turno));
+        }
+
+        HashMap<Character, Jugador> referencias = Jugador.referencias(banca, jugadores);
+        for (Casilla c : casillas) {
+            c.cargar(in, referencias);
+        }
+
+        mazoSuerte.cargar(in);
+        mazoComunidad.cargar(in);
+
+        banca.cargarPropiedades(in, referencias, casillas);
+        for (Jugador j : jugadores) {
+            j.cargarPropiedades(in, referencias, casillas);
+        }
+
+        int nGuardados = in.readUnsignedShort();
+        for (int i = 0; i < nGuardados; i++) {
+            Jugador.anadirTrato(Trato.cargar(in, referencias, casillas));
+        }
+
+        for (Jugador j : jugadores) {
+            estadisticasJuego.anadirJugador(j);
+        }
+        estadisticasJuego.recalcular();
+    }
+
+    /**
+     * Resumen de los nombres de las casillas, para no cargar una partida
+     * guardada con otra configuración del tablero.
+     */
+    private int huellaTablero() {
+        int huella = 1;
+
+        for (Casilla c : casillas) {
+            huella = 31 * huella + c.getNombre().hashCode();
+        }
+
+        return huella;
+    }
+
     public Banca getBanca() {
         return banca;
     }
 
+    public Consola getConsola() {
+        return consola;
+    }
+
+    public FuenteDados getDados() {
+        return dados;
+    }
+
     public ArrayList<Casilla> getCasillas() {
         return casillas;
     }
@@ -206,28 +583,23 @@ public class Juego implements Comando {
      * Aumenta el precio de todos los solares que
      * aún no se han vendido al cabo de 4 vueltas.
      */
-    public void aumentarPrecio() {
-        try {
-            for (Jugador jugador : jugadores) {
-                if (jugador.getEstadisticas().getVueltas() - 4 * nAumentosPrecio < 0) {
-                    return;
-                }
+    public void aumentarPrecio() throws ErrorFatalLogico {
+        for (Jugador jugador : jugadores) {
+            if (jugador.getEstadisticas().getVueltas() - 4 * nAumentosPrecio < 0) {
+                return;
             }
+        }
 
-            nAumentosPrecio++;
+        nAumentosPrecio++;
 
-            for (Casilla c : casillas) {
-                // Si la casilla se puede comprar y no tiene dueño, es que está en venta
-                if (c instanceof Solar && !(((Solar) c).getPropietario() instanceof Banca)) {
-                    ((Solar) c).factorPrecio(1.05f);
-                }
+        for (Casilla c : casillas) {
+            // Si la casilla se puede comprar y no tiene dueño, es que está en venta
+            if (c instanceof Solar && !(((Solar) c).getPropietario() instanceof Banca)) {
+                ((Solar) c).factorPrecio(1.05f);
             }
-
-            consola.imprimir("Se ha aumentado el precio de todos los solares a la venta\n");
-        } catch (ErrorFatalLogico e) {
-            e.imprimirMsg();
-            e.abortar();
         }
+
+        consola.imprimir("Se ha aumentado el precio de todos los solares a la venta\n");
     }
 
     // ================================================================================
@@ -248,13 +620,17 @@ public class Juego implements Comando {
         }
 
         jugando = true;
+        if (diario != null) {
+            diario.evento(Diario.Evento.Iniciar);
+        }
+
         consola.imprimir(consola.fmt("Se ha iniciado la partida\n", Color.Amarillo));
         consola.imprimir(consola.fmt(JuegoConsts.MSG_JUGAR, Color.Amarillo));
     }
 
     @Override
     public void verTablero() {
-        consola.imprimir(toString());
+        consola.imprimir(this::toString);
     }
 
     @Override
@@ -277,7 +653,10 @@ public class Juego implements Comando {
         Jugador jugadorTurno = getJugadorTurno();
 
         jugadorTurno.getAvatar().salirCarcelPagando(banca);
-        verTablero();
+        registrarTurno(Diario.Evento.SalirCarcel);
+        if (mostrarTablero) {
+            verTablero();
+        }
         jugadorTurno.describirTransaccion();
     }
 
@@ -288,17 +667,32 @@ public class Juego implements Comando {
         }
 
         getJugadorTurno().getAvatar().cambiarModo();
+        registrarTurno(Diario.Evento.CambiarModo);
     }
 
     @Override
     public void lanzar() throws ErrorComandoEstadoPartida, ErrorComandoFortuna, ErrorComandoAvatar, ErrorFatal {
-        moverComun(new Dado());
+        Eventos.Lanzamiento evento = new Eventos.Lanzamiento();
+        evento.begin();
+        Dado dado = dados.lanzar();
+
+        if (evento.shouldCommit()) {
+            evento.jugador = jugadores.isEmpty() ? null : getJugadorTurno().getNombre();
+            evento.dado1 = dado.getDado1();
+            evento.dado2 = dado.getDado2();
+            evento.dobles = dado.isDoble();
+            evento.commit();
+        }
+
+        moverComun(dado);
+        registrarTurno(Diario.Evento.Lanzar);
     }
 
     @Override
     public void siguiente() throws ErrorComandoEstadoPartida, ErrorComandoFortuna, ErrorComandoAvatar, ErrorFatal, ErrorComandoFormato {
         if(getJugadorTurno().getAvatar() instanceof AvatarPelota){
             moverComun(null);
+            registrarTurno(Diario.Evento.Siguiente);
         } else {
             throw new ErrorComandoFormato("No puedes usar este comando si no eres una pelota");
         }
@@ -317,7 +711,9 @@ public class Juego implements Comando {
 
         // Muestra el tablero si se ha movido el avatar con éxito
         jugadorTurno.getAvatar().mover(this, dado);
-        verTablero();
+        if (mostrarTablero) {
+            verTablero();
+        }
     }
 
     @Override
@@ -328,6 +724,7 @@ public class Juego implements Comando {
 
         Jugador jugadorTurno = getJugadorTurno();
         jugadorTurno.acabarTurno();
+        registrarTurno(Diario.Evento.AcabarTurno);
 
         // Mostrar los cambios
         jugadorTurno.describirTransaccion();
@@ -336,8 +733,10 @@ public class Juego implements Comando {
         turno = (turno + 1) % jugadores.size();
 
         // Mostrar el tablero para el nuevo turno
-        verTablero();
-        consola.imprimir(
+        if (mostrarTablero) {
+            verTablero();
+        }
+        consola.imprimir(() ->
                 """
                 Se ha cambiado el turno.
                 Ahora le toca a %s.
@@ -352,7 +751,7 @@ public class Juego implements Comando {
         }
 
         if (!tratosPendientes.isEmpty()) {
-            consola.imprimir(
+            consola.imprimir(() ->
                 """
                 %s, estos son los tratos que tienes pendientes de aceptar:
                 """.formatted(
@@ -371,33 +770,69 @@ public class Juego implements Comando {
             return;
         }
 
+        declararBancarrota();
+    }
+
+    /**
+     * Declara al jugador actual en bancarrota sin pedir confirmación.
+     * <p>
+     * Sus propiedades pasan al jugador con el que está endeudado (o a la
+     * banca) y se elimina de la partida. Si solo queda un jugador, la
+     * partida termina.
+     */
+    public void declararBancarrota() throws ErrorFatalLogico {
+        Eventos.Bancarrota evento = new Eventos.Bancarrota();
+        evento.begin();
+
         Jugador deudor = getJugadorTurno();
         Jugador acreedor = deudor.getAcreedor();
         if (acreedor == null) {
             acreedor = banca;
         }
 
+        if (diario != null) {
+            diario.evento(Diario.Evento.Bancarrota)
+                    .campo(deudor.getAvatar().getId())
+                    .campo(acreedor.getAvatar() == null ? 0 : acreedor.getAvatar().getId());
+        }
+
         // Dar sus propiedades al jugador que se debe el dinero
-        for (Propiedad p : deudor.getPropiedades()) {
+        ArrayList<Propiedad> propiedades = new ArrayList<>(deudor.getPropiedades());
+        for (Propiedad p : propiedades) {
+            deudor.quitarPropiedad(p);
             p.setPropietario(acreedor);
             acreedor.anadirPropiedad(p);
         }
 
+        if (evento.shouldCommit()) {
+            evento.deudor = deudor.getNombre();
+            evento.acreedor = acreedor.getNombre();
+            evento.propiedades = propiedades.size();
+            evento.jugadoresRestantes = jugadores.size() - 1;
+            evento.commit();
+        }
+
         // Se borra el jugador
         deudor.getAvatar().getCasilla().quitarAvatar(deudor.getAvatar());
         jugadores.remove(deudor);
-        consola.imprimir("El jugador %s se declara en bancarrota y abandona la partida\n".formatted(consola.fmt(deudor.getNombre(), Color.Azul)));
+        indiceJugadores.quitar(deudor);
+        estadisticasJuego.quitarJugador(deudor);
+        consola.imprimir(() -> "El jugador %s se declara en bancarrota y abandona la partida\n".formatted(consola.fmt(deudor.getNombre(), Color.Azul)));
+
+        // El turno pasa al siguiente jugador, que ahora ocupa la posición del
+        // deudor (o la primera si el deudor era el último de la lista).
+        turno %= jugadores.size();
 
         if (jugadores.size() != 1) {
-            consola.imprimir("Ahora le toca a %s\n".formatted(consola.fmt(getJugadorTurno().getNombre(), Color.Azul)));
+            consola.imprimir(() -> "Ahora le toca a %s\n".formatted(consola.fmt(getJugadorTurno().getNombre(), Color.Azul)));
             return;
         }
 
         // Fin de la partida
         jugando = false;
-        consola.imprimir(consola.fmt("\nFelicidades %s, has ganado la partida\n".formatted(jugadores.get(0).getNombre()), Color.Amarillo));
-        consola.imprimir(consola.fmt(JuegoConsts.MSG_FIN, Color.Amarillo));
-        System.exit(0);
+        finalizada = true;
+        consola.imprimir(() -> consola.fmt("\nFelicidades %s, has ganado la partida\n".formatted(jugadores.get(0).getNombre()), Color.Amarillo));
+        consola.imprimir(() -> consola.fmt(JuegoConsts.MSG_FIN, Color.Amarillo));
     }
 
     // ================================================================================
@@ -425,10 +860,8 @@ public class Juego implements Comando {
         String nombre = args[2].substring(0, 1).toUpperCase() + args[2].substring(1);
 
         // Comprobar que es único
-        for (Jugador j : jugadores) {
-            if (j.getNombre().equalsIgnoreCase(nombre)) {
-                throw new ErrorComandoFormato("No puede haber dos jugadores con el mismo nombre");
-            }
+        if (indiceJugadores.contiene(nombre)) {
+            throw new ErrorComandoFormato("No puede haber dos jugadores con el mismo nombre");
         }
 
         Avatar avatar = switch (args[3]) {
@@ -438,9 +871,16 @@ public class Juego implements Comando {
                     throw new ErrorComandoFormato("\"%s\": No es un tipo válido de Avatar (prueba con c, p)".formatted(args[3]));
         };
 
-        jugadores.add(new Jugador(nombre, avatar, fortunaInicial));
+        Jugador jugador = new Jugador(nombre, avatar, fortunaInicial, consola);
+        jugadores.add(jugador);
+        indiceJugadores.anadir(jugador);
+        estadisticasJuego.anadirJugador(jugador);
+
+        if (diario != null) {
+            diario.evento(Diario.Evento.CrearJugador).campo(avatar.getId()).campo(args[3].charAt(0)).texto(nombre);
+        }
 
-        consola.imprimir("El jugador %s con avatar %s se ha creado con éxito.\n".formatted(
+        consola.imprimir(() -> "El jugador %s con avatar %s se ha creado con éxito.\n".formatted(
                 consola.fmt(nombre, Color.Verde),
                 consola.fmt(Character.toString(avatar.getId()), Color.Verde)));
     }
@@ -469,6 +909,10 @@ public class Juego implements Comando {
         }
 
         jugadorTurno.comprar((Propiedad) casillaActual);
+
+        if (diario != null) {
+            diario.evento(Diario.Evento.Comprar).campo(avatarTurno.getId()).campo(casillaActual.getPosicion());
+        }
     }
 
     @Override
@@ -483,7 +927,16 @@ public class Juego implements Comando {
 
         try {
             Edificio edificio = getEdificioDesdeArgs(args);
-            getJugadorTurno().construir(edificio, args.length == 2 ? 1 : Integer.parseInt(args[2]));
+            int cantidad = args.length == 2 ? 1 : Integer.parseInt(args[2]);
+            getJugadorTurno().construir(edificio, cantidad);
+
+            if (diario != null) {
+                diario.evento(Diario.Evento.Edificar)
+                        .campo(getJugadorTurno().getAvatar().getId())
+                        .campo(edificio.getSolar().getPosicion())
+                        .campo(edificio.getTipo().ordinal())
+                        .campo(cantidad);
+            }
         } catch (NumberFormatException e) {
             throw new ErrorComandoFormato("\"%s\": no es un número válido".formatted(args[2]));
         }
@@ -514,21 +967,30 @@ public class Juego implements Comando {
             throw new ErrorComandoEstadoPartida("No se ha iniciado la partida");
         }
 
-        Casilla solar = Buscar.porNombre(args[2], casillas);
+        Casilla solar = indiceCasillas.buscar(args[2]);
 
         if (!(solar instanceof Solar)) {
             throw new ErrorComandoFormato("No se puede vender edificios de una casilla que no sea un solar");
         }
 
-        String tipoEdificio = switch (args[1]) {
-            case "c", "casa", "casas" -> "Casa";
-            case "h", "hotel", "hoteles" -> "Hotel";
-            case "p", "piscina", "piscinas" -> "Piscina";
-            case "d", "pd", "pista", "pistas", "pistadeporte", "pistasdeporte" -> "PistaDeporte";
+        TipoEdificio tipoEdificio = switch (args[1]) {
+            case "c", "casa", "casas" -> TipoEdificio.Casa;
+            case "h", "hotel", "hoteles" -> TipoEdificio.Hotel;
+            case "p", "piscina", "piscinas" -> TipoEdificio.Piscina;
+            case "d", "pd", "pista", "pistas", "pistadeporte", "pistasdeporte" -> TipoEdificio.PistaDeporte;
             default -> throw new ErrorComandoFormato("\"%s\": no es un tipo de edificio válido".formatted(args[1]));
         };
 
-        getJugadorTurno().vender((Solar) solar, tipoEdificio, args.length == 3 ? 1 : Integer.parseInt(args[2]));
+        int cantidad = args.length == 3 ? 1 : Integer.parseInt(args[2]);
+        getJugadorTurno().vender((Solar) solar, tipoEdificio, cantidad);
+
+        if (diario != null) {
+            diario.evento(Diario.Evento.Vender)
+                    .campo(getJugadorTurno().getAvatar().getId())
+                    .campo(solar.getPosicion())
+                    .campo(tipoEdificio.ordinal())
+                    .campo(cantidad);
+        }
     }
 
     @Override
@@ -542,7 +1004,7 @@ public class Juego implements Comando {
         }
 
         // Buscar la propiedad
-        Casilla propiedad = Buscar.porNombre(args[1], casillas);
+        Casilla propiedad = indiceCasillas.buscar(args[1]);
         if (!(propiedad instanceof Propiedad)) {
             throw new ErrorComandoFormato("No se puede hipotecar una casilla que no sea una propiedad");
         }
@@ -552,6 +1014,10 @@ public class Juego implements Comando {
         }
 
         ((Propiedad) propiedad).hipotecar();
+
+        if (diario != null) {
+            diario.evento(Diario.Evento.Hipotecar).campo(getJugadorTurno().getAvatar().getId()).campo(propiedad.getPosicion());
+        }
     }
 
     @Override
@@ -565,7 +1031,7 @@ public class Juego implements Comando {
         }
 
         // Buscar la propiedad
-        Casilla propiedad = Buscar.porNombre(args[1], casillas);
+        Casilla propiedad = indiceCasillas.buscar(args[1]);
         if (!(propiedad instanceof Propiedad)) {
             throw new ErrorComandoFormato("No se puede deshipotecar una casilla que no sea una propiedad");
         }
@@ -575,18 +1041,22 @@ public class Juego implements Comando {
         }
 
         ((Propiedad) propiedad).deshipotecar();
+
+        if (diario != null) {
+            diario.evento(Diario.Evento.Deshipotecar).campo(getJugadorTurno().getAvatar().getId()).campo(propiedad.getPosicion());
+        }
     }
 
     @Override
     public void describir(String[] args) throws ErrorComandoFormato {
         if (args.length == 2) {
-            consola.describir(casillas, (c) -> c.getNombre().equalsIgnoreCase(args[1]));
+            consola.describir(nombreOPrefijo(indiceCasillas, args[1]), (c) -> true);
             return;
         }
 
         if (args.length == 3) {
             switch (args[1]) {
-                case "jugador" -> consola.describir(jugadores, (j) -> j.getNombre().equalsIgnoreCase(args[2]));
+                case "jugador" -> consola.describir(nombreOPrefijo(indiceJugadores, args[2]), (j) -> true);
                 case "avatar" ->
                         consola.describir(jugadores, (j) -> j.getAvatar().getId() == Character.toUpperCase(args[2].charAt(0)));
                 default -> throw new ErrorComandoFormato("\"%s\": Argumento inválido".formatted(args[1]));
@@ -596,6 +1066,16 @@ public class Juego implements Comando {
         }
     }
 
+    /**
+     * Elementos con el nombre dado o, si no hay ninguno, todos los que
+     * empiezan así. Solo se usa para describir: si el prefijo es ambiguo,
+     * se muestran todos.
+     */
+    private static <T extends Buscar> List<T> nombreOPrefijo(IndiceNombres<T> indice, String nombre) {
+        List<T> elementos = indice.todos(nombre);
+        return elementos.isEmpty() ? indice.buscarPrefijo(nombre) : elementos;
+    }
+
     @Override
     public void listar(String[] args) throws ErrorComando, ErrorFatalLogico {
         if (args.length == 2) {
@@ -628,7 +1108,7 @@ public class Juego implements Comando {
         }
 
         if (args.length == 3 && args[1].equals("edificios")) {
-            Grupo grupo = Buscar.porNombre(args[2], grupos);
+            Grupo grupo = indiceGrupos.buscar(args[2]);
             grupo.listarEdificios();
             return;
         }
@@ -639,7 +1119,7 @@ public class Juego implements Comando {
     @Override
     public void estadisticas(String[] args) throws ErrorComando, ErrorFatalLogico {
         if (args.length == 2) {
-            Jugador jugador = Buscar.porNombre(args[1], jugadores);
+            Jugador jugador = indiceJugadores.buscar(args[1]);
             consola.imprimir(jugador.getEstadisticas().toString());
             return;
         }
@@ -657,71 +1137,13 @@ public class Juego implements Comando {
             throw new ErrorComandoEstadoPartida("No se ha iniciado la partida");
         }
 
-        Casilla casillaMasRentable = null;
-        long maxAlquilerCobrado = -1;
-
-        Casilla masFrecuentada = null;
-        int maxEstancias = -1;
-
-        // Analizar todas las casillas
-        for (Casilla c : casillas) {
-            // Encontrar el máximo del alquiler cobrado
-            if (c instanceof Propiedad && ((Propiedad) c).getAlquilerTotalCobrado() > maxAlquilerCobrado) {
-                maxAlquilerCobrado = ((Propiedad) c).getAlquilerTotalCobrado();
-                casillaMasRentable = c;
-            }
-
-            // Encontrar el máximo de estancias
-            if (c.frecuenciaVisita() > maxEstancias) {
-                maxEstancias = c.frecuenciaVisita();
-                masFrecuentada = c;
-            }
-        }
-
-        // Analizar todos los grupos
-        Grupo grupoMasRentable = null;
-        long maxGrupoAlquiler = -1;
-
-        for (Grupo g : grupos) {
-            long alquilerTotalGrupo = 0;
-            for (Propiedad p : g.getPropiedades()) {
-                alquilerTotalGrupo += p.getAlquilerTotalCobrado();
-            }
-
-            if (alquilerTotalGrupo > maxGrupoAlquiler) {
-                maxGrupoAlquiler = alquilerTotalGrupo;
-                grupoMasRentable = g;
-            }
-        }
-
-        // Analizar todos los jugadores
-        Jugador masVueltas = null;
-        int maxVueltas = -1;
-
-        Jugador masTiradas = null;
-        int maxTiradas = -1;
-
-        Jugador enCabeza = null;
-        long maxCapital = -1;
-
-        for (Jugador j : jugadores) {
-            EstadisticasJugador ej = j.getEstadisticas();
-
-            if (ej.getVueltas() > maxVueltas) {
-                maxVueltas = ej.getVueltas();
-                masVueltas = j;
-            }
-
-            if (ej.getTiradas() > maxTiradas) {
-                maxTiradas = ej.getTiradas();
-                masTiradas = j;
-            }
-
-            if (ej.getCapital() > maxCapital) {
-                maxCapital = ej.getCapital();
-                enCabeza = j;
-            }
-        }
+        // Los máximos se mantienen a medida que avanza la partida
+        Maximo<Propiedad> casillaMasRentable = estadisticasJuego.getCasillaMasRentable();
+        Maximo<Grupo> grupoMasRentable = estadisticasJuego.getGrupoMasRentable();
+        Maximo<Casilla> masFrecuentada = estadisticasJuego.getCasillaMasFrecuentada();
+        Maximo<Jugador> masVueltas = estadisticasJuego.getJugadorMasVueltas();
+        Maximo<Jugador> masTiradas = estadisticasJuego.getJugadorMasTiradas();
+        Maximo<Jugador> enCabeza = estadisticasJuego.getJugadorEnCabeza();
 
         // @formatter:off
         consola.imprimir(
@@ -735,22 +1157,65 @@ public class Juego implements Comando {
                     jugador en cabeza: %s (%s)
                 }
                 """.formatted(
-                casillaMasRentable.getNombreFmt(), consola.num(maxAlquilerCobrado),
-                consola.fmt(grupoMasRentable.getNombre(), grupoMasRentable.getCodigoColor()), consola.num(maxGrupoAlquiler),
-                masFrecuentada.getNombreFmt(), maxEstancias,
-                masVueltas.getNombre(), maxVueltas,
-                masTiradas.getNombre(), maxTiradas,
-                enCabeza.getNombre(), consola.num(maxCapital)));
+                casillaMasRentable.get().getNombreFmt(), consola.num(casillaMasRentable.getValor()),
+                grupoMasRentable.get().getNombreFmt(), consola.num(grupoMasRentable.getValor()),
+                masFrecuentada.get().getNombreFmt(), masFrecuentada.getValor(),
+                masVueltas.get().getNombre(), masVueltas.getValor(),
+                masTiradas.get().getNombre(), masTiradas.getValor(),
+                enCabeza.get().getNombre(), consola.num(enCabeza.getValor())));
         // @formatter:on
     }
 
+    @Override
+    public void metricas(String[] args) throws ErrorComandoFormato {
+        if (args.length > 2) {
+            throw new ErrorComandoFormato(1, args.length - 1);
+        }
+
+        if (args.length == 2) {
+            if (!args[1].equals("reiniciar")) {
+                throw new ErrorComandoFormato("\"%s\": subcomando no válido".formatted(args[1]));
+            }
+
+            metricas.reiniciar();
+            consola.imprimir("Se han reiniciado las métricas de los comandos\n");
+            return;
+        }
+
+        if (metricas.isVacio()) {
+            consola.imprimir("Todavía no se ha medido ningún comando\n");
+            return;
+        }
+
+        consola.imprimir(metricas.describir(consola));
+    }
+
+    /**
+     * Comprueba si la cadena es un número entero, sin usar excepciones
+     */
     private boolean isNumeric(String str) {
-        try {
-            Long.parseLong(str);
-            return true;
-        } catch (NumberFormatException e) {
+        int inicio = !str.isEmpty() && (str.charAt(0) == '-' || str.charAt(0) == '+') ? 1 : 0;
+
+        if (str.length() == inicio) {
             return false;
         }
+
+        for (int i = inicio; i < str.length(); i++) {
+            if (str.charAt(i) < '0' || str.charAt(i) > '9') {
+                return false;
+            }
+        }
+
+        // Con más de 18 cifras podría no caber en un long
+        if (str.length() - inicio > 18) {
+            try {
+                Long.parseLong(str);
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+
+        return true;
     }
 
     @Override
@@ -760,7 +1225,7 @@ public class Juego implements Comando {
         }
 
         Jugador jugPropone = getJugadorTurno();
-        Jugador jugAcepta = Buscar.porNombre(args[1], jugadores);
+        Jugador jugAcepta = indiceJugadores.buscar(args[1]);
 
         if (!args[2].equalsIgnoreCase("cambiar")) {
             throw new ErrorComandoFormato("El uso de la palabra \"cambiar\" es obligatorio");
@@ -779,22 +1244,22 @@ public class Juego implements Comando {
 
                 // trato nombre cambiar CANTIDAD por PROPIEDAD
                 if (isNumeric(args[3])) {
-                    Propiedad propAcepta = (Propiedad) Buscar.porNombre(args[5], casillas);
-                    jugPropone.crearTrato(jugAcepta, new TratoC_P(jugPropone, jugAcepta, Long.parseLong(args[3]), propAcepta));
+                    Propiedad propAcepta = (Propiedad) indiceCasillas.buscar(args[5]);
+                    proponer(new TratoC_P(jugPropone, jugAcepta, Long.parseLong(args[3]), propAcepta));
                     return;
                 }
 
                 // trato nombre cambiar PROPIEDAD por CANTIDAD
                 if (isNumeric(args[5])) {
-                    Propiedad propPropone = (Propiedad) Buscar.porNombre(args[3], casillas);
-                    jugPropone.crearTrato(jugAcepta, new TratoP_C(jugPropone, jugAcepta, propPropone, Long.parseLong(args[5])));
+                    Propiedad propPropone = (Propiedad) indiceCasillas.buscar(args[3]);
+                    proponer(new TratoP_C(jugPropone, jugAcepta, propPropone, Long.parseLong(args[5])));
                     return;
                 }
 
                 // trato nombre cambiar PROPIEDAD por PROPIEDAD
-                Propiedad p1 = (Propiedad) Buscar.porNombre(args[3], casillas);
-                Propiedad p2 = (Propiedad) Buscar.porNombre(args[5], casillas);
-                jugPropone.crearTrato(jugAcepta, new TratoP_P(jugPropone, jugAcepta, p1, p2));
+                Propiedad p1 = (Propiedad) indiceCasillas.buscar(args[3]);
+                Propiedad p2 = (Propiedad) indiceCasillas.buscar(args[5]);
+                proponer(new TratoP_P(jugPropone, jugAcepta, p1, p2));
                 return;
             }
 
@@ -803,7 +1268,7 @@ public class Juego implements Comando {
             if (args.length == 8) {
                 // trato nombre cambiar PROPIEDAD por Y y Z
                 if (args[4].equalsIgnoreCase("por") && args[6].equalsIgnoreCase("y")) {
-                    Propiedad propPropone = (Propiedad) Buscar.porNombre(args[3], casillas);
+                    Propiedad propPropone = (Propiedad) indiceCasillas.buscar(args[3]);
 
                     // trato nombre cambiar PROPIEDAD por CANTIDAD y PROPIEDAD
                     if (isNumeric(args[5])) {
@@ -815,15 +1280,15 @@ public class Juego implements Comando {
 
                     // trato nombre cambiar PROPIEDAD por PROPIEDAD y CANTIDAD
                     if (isNumeric(args[7])) {
-                        Propiedad propAcepta = (Propiedad) Buscar.porNombre(args[5], casillas);
-                        jugPropone.crearTrato(jugAcepta, new TratoP_PC(jugPropone, jugAcepta, propPropone, propAcepta, Long.parseLong(args[7])));
+                        Propiedad propAcepta = (Propiedad) indiceCasillas.buscar(args[5]);
+                        proponer(new TratoP_PC(jugPropone, jugAcepta, propPropone, propAcepta, Long.parseLong(args[7])));
                         return;
                     }
                 }
 
                 // trato nombre cambiar X y Y por PROPIEDAD
                 if (args[4].equalsIgnoreCase("y") && args[6].equalsIgnoreCase("por")) {
-                    Propiedad propAcepta = (Propiedad) Buscar.porNombre(args[7], casillas);
+                    Propiedad propAcepta = (Propiedad) indiceCasillas.buscar(args[7]);
 
                     // trato nombre cambiar CANTIDAD y PROPIEDAD por PROPIEDAD
                     if (isNumeric(args[3])) {
@@ -835,8 +1300,8 @@ public class Juego implements Comando {
 
                     // trato nombre cambiar PROPIEDAD y CANTIDAD por PROPIEDAD
                     if (isNumeric(args[5])) {
-                        Propiedad propPropone = (Propiedad) Buscar.porNombre(args[3], casillas);
-                        jugPropone.crearTrato(jugAcepta, new TratoPC_P(jugPropone, jugAcepta, propPropone, Long.parseLong(args[5]), propAcepta));
+                        Propiedad propPropone = (Propiedad) indiceCasillas.buscar(args[3]);
+                        proponer(new TratoPC_P(jugPropone, jugAcepta, propPropone, Long.parseLong(args[5]), propAcepta));
                         return;
                     }
                 }
@@ -850,11 +1315,11 @@ public class Juego implements Comando {
                     && args[9].equalsIgnoreCase("durante")
                     && isNumeric(args[10])
             ) {
-                Propiedad propPropone = (Propiedad) Buscar.porNombre(args[3], casillas);
-                Propiedad propAcepta = (Propiedad) Buscar.porNombre(args[5], casillas);
-                Propiedad noalquiler = (Propiedad) Buscar.porNombre(args[8], casillas);
+                Propiedad propPropone = (Propiedad) indiceCasillas.buscar(args[3]);
+                Propiedad propAcepta = (Propiedad) indiceCasillas.buscar(args[5]);
+                Propiedad noalquiler = (Propiedad) indiceCasillas.buscar(args[8]);
                 int nTurnos = Integer.parseInt(args[10]);
-                jugPropone.crearTrato(jugAcepta, new TratoP_PNA(jugPropone, jugAcepta, propPropone, propAcepta, noalquiler, nTurnos));
+                proponer(new TratoP_PNA(jugPropone, jugAcepta, propPropone, propAcepta, noalquiler, nTurnos));
                 return;
             }
 
@@ -864,12 +1329,24 @@ public class Juego implements Comando {
         }
     }
 
+    /**
+     * Numera el trato dado y se lo propone al otro jugador
+     */
+    private void proponer(Trato trato) {
+        trato.numerar(++nTratos);
+        trato.getJugadorPropone().crearTrato(trato.getJugadorAcepta(), trato);
+    }
+
     @Override
     public void aceptar(String[] args) throws ErrorComandoFormato, ErrorComandoFortuna, ErrorFatalLogico, ErrorComandoNoEncontrado, ErrorComandoJugador {
         if (args.length != 2) {
             throw new ErrorComandoFormato(1, args.length - 1);
         }
-        getJugadorTurno().aceptarTrato(args[1]);
+        Trato trato = getJugadorTurno().aceptarTrato(args[1]);
+
+        if (diario != null) {
+            trato.registrar(diario);
+        }
     }
 
     @Override
@@ -880,17 +1357,64 @@ public class Juego implements Comando {
         getJugadorTurno().eliminarTrato(args[1]);
     }
 
+    @Override
+    public void guardar(String[] args) throws ErrorComando {
+        comprobarAccesoArchivos(args[0]);
+
+        if (args.length != 2) {
+            throw new ErrorComandoFormato(1, args.length - 1);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+        try {
+            guardarPartida(new DataOutputStream(bytes));
+            Files.write(Path.of(args[1]), bytes.toByteArray());
+        } catch (IOException e) {
+            throw new ErrorComando("No se ha podido guardar la partida en \"%s\": %s".formatted(args[1], e.getMessage()));
+        }
+
+        consola.imprimir("Se ha guardado la partida en %s (%d bytes)\n".formatted(args[1], bytes.size()));
+    }
+
+    @Override
+    public void cargar(String[] args) throws ErrorComando, ErrorFatal {
+        comprobarAccesoArchivos(args[0]);
+
+        if (args.length != 2) {
+            throw new ErrorComandoFormato(1, args.length - 1);
+        }
+
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(Path.of(args[1]));
+        } catch (IOException e) {
+            throw new ErrorComando("\"%s\" no encontrado".formatted(args[1]));
+        }
+
+        cargarPartida(new DataInputStream(new ByteArrayInputStream(bytes)));
+
+        if (mostrarTablero) {
+            verTablero();
+        }
+        consola.imprimir("Se ha cargado la partida de %s\n".formatted(args[1]));
+        if (!jugadores.isEmpty()) {
+            consola.imprimir("Le toca a %s\n".formatted(consola.fmt(getJugadorTurno().getNombre(), Color.Azul)));
+        }
+    }
+
     // ================================================================================
 
     @Override
     public void ejecutarArchivo(String[] args) throws ErrorFatal, ErrorComando {
+        comprobarAccesoArchivos(args[0]);
+
         if (args.length != 2) {
             throw new ErrorComandoFormato(1, args.length - 1);
         }
 
         try (Scanner scanner = new Scanner(new File(args[1]))) {
             // Se procesa línea a línea, ejecutando cada comando
-            while (scanner.hasNextLine()) {
+            while (scanner.hasNextLine() && !finalizada) {
                 if (!ejecutarComando(scanner.nextLine())) {
                     break;
                 }
@@ -900,6 +1424,16 @@ public class Juego implements Comando {
         }
     }
 
+    /**
+     * @throws ErrorComando Si los comandos con archivos están desactivados
+     *                      (ver {@link #setAccesoArchivos(boolean)}).
+     */
+    private void comprobarAccesoArchivos(String comando) throws ErrorComando {
+        if (!accesoArchivos) {
+            throw new ErrorComando("\"%s\": comando no disponible en esta partida".formatted(comando));
+        }
+    }
+
     @Override
     public void fortuna(String[] args) throws ErrorComando, ErrorFatalLogico {
         if (args.length != 3) {
@@ -908,7 +1442,7 @@ public class Juego implements Comando {
 
         try {
             // Obtener el jugador
-            Jugador jugador = Buscar.porNombre(args[1], jugadores);
+            Jugador jugador = indiceJugadores.buscar(args[1]);
 
             long cantidad = Long.parseLong(args[2]);
 
@@ -917,10 +1451,14 @@ public class Juego implements Comando {
                 jugador.ingresar(cantidad);
             } else if (cantidad < 0) {
                 jugador.cobrar(-cantidad, banca);
-                consola.imprimir("Se ha cobrado exitosamente %s a %s\n".formatted(consola.num(-cantidad), jugador.getNombre()));
+                consola.imprimir(() -> "Se ha cobrado exitosamente %s a %s\n".formatted(consola.num(-cantidad), jugador.getNombre()));
             }
 
             jugador.describirTransaccion();
+
+            if (diario != null) {
+                diario.evento(Diario.Evento.Fortuna).campo(jugador.getAvatar().getId()).campo(cantidad);
+            }
         } catch (NumberFormatException e) {
             throw new ErrorComandoFormato("\"%s\": no es un número válido".formatted(args[2]));
         }
@@ -932,10 +1470,26 @@ public class Juego implements Comando {
             throw new ErrorComandoFormato(1, args.length - 1);
         }
 
+        Dado dado;
         try {
-            moverComun(new Dado(Integer.parseInt(args[1]), args.length == 2 ? 0 : Integer.parseInt(args[2])));
+            dado = new Dado(Integer.parseInt(args[1]), args.length == 2 ? 0 : Integer.parseInt(args[2]));
         } catch (NumberFormatException e) {
             throw new ErrorComandoFormato("Número no válido");
         }
+
+        moverComun(dado);
+
+        if (diario != null) {
+            diario.evento(Diario.Evento.Mover).campo(getJugadorTurno().getAvatar().getId()).campo(dado.getDado1()).campo(dado.getDado2());
+        }
+    }
+
+    /**
+     * Registra en el diario un evento cuyo único campo es el avatar del jugador de turno
+     */
+    private void registrarTurno(Diario.Evento evento) {
+        if (diario != null) {
+            diario.evento(evento).campo(getJugadorTurno().getAvatar().getId());
+        }
     }
 }
@@ -1,13 +1,189 @@
 package monopoly;
 
-import monopoly.error.ErrorJuego;
+import monopoly.casilla.carta.EleccionGuion;
+import monopoly.casilla.carta.EleccionInteractiva;
+import monopoly.casilla.carta.MazoCircular;
+import monopoly.casilla.carta.PoliticaCartas;
+import monopoly.error.ErrorFatal;
+import monopoly.utils.Consola;
+import monopoly.utils.ConsolaAgrupada;
+import monopoly.utils.ConsolaNormal;
+import monopoly.utils.ConsolaRegistrada;
+import monopoly.utils.Diario;
+import monopoly.utils.FuenteDados;
+import monopoly.utils.FuenteDadosAleatoria;
+import monopoly.utils.FuenteDadosRegistrada;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
 
 public class Main {
+    /**
+     * Opción para mostrar la salida de cada comando de una sola vez
+     */
+    private static final String OPCION_AGRUPAR = "--agrupar";
+    /**
+     * Opción para comprobar la consistencia de la partida tras cada comando
+     */
+    private static final String OPCION_COMPROBAR = "--comprobar";
+    /**
+     * Opción para registrar la partida en un diario binario
+     */
+    private static final String OPCION_DIARIO = "--diario";
+    /**
+     * Opción para sacar las cartas sin preguntar al jugador
+     */
+    private static final String OPCION_CARTAS = "--cartas";
+
+    /**
+     * Inicia el juego. Opcionalmente, se puede pasar una semilla como
+     * argumento para que los dados sean siempre los mismos.
+     * <pre>
+     *     java monopoly.Main [--agrupar] [--comprobar] [--diario archivo] [--cartas mazo|1,2,...] [semilla]
+     * </pre>
+     * Con la opción <code>--agrupar</code>, la salida de cada comando se
+     * muestra toda junta cuando este termina (ver {@link ConsolaAgrupada}).
+     * Con <code>--comprobar</code>, se comprueba la consistencia del estado
+     * de la partida después de cada comando (ver {@link Juego#comprobarConsistencia()}).
+     * Con <code>--diario</code>, se registran los dados, todo lo que se escribe en
+     * la consola y los comandos que cambian la partida en el archivo dado (ver
+     * {@link Diario}), y al salir la suma del estado final. Con eso se puede volver
+     * a jugar la partida (ver {@link monopoly.sim.Reproductor}).
+     * Con <code>--cartas</code>, las cartas no se eligen por consola: con
+     * <code>mazo</code> se sacan en orden de un mazo barajado (ver {@link MazoCircular}),
+     * y con una lista de números se eligen esas posiciones (ver {@link EleccionGuion}).
+     * No se puede usar con <code>--diario</code>, porque la reproducción responde a
+     * las cartas con las entradas registradas.
+     */
     public static void main(String[] args) {
+        boolean agrupar = false;
+        boolean comprobar = false;
+        String archivoDiario = null;
+        String cartas = null;
+        int nArg = 0;
+
+        for (; nArg < args.length && args[nArg].startsWith("--"); nArg++) {
+            switch (args[nArg]) {
+                case OPCION_AGRUPAR -> agrupar = true;
+                case OPCION_COMPROBAR -> comprobar = true;
+                case OPCION_DIARIO -> {
+                    if (++nArg == args.length) {
+                        new ConsolaNormal().error("Falta el archivo del diario");
+                        return;
+                    }
+
+                    archivoDiario = args[nArg];
+                }
+                case OPCION_CARTAS -> {
+                    if (++nArg == args.length) {
+                        new ConsolaNormal().error("Falta cómo sacar las cartas");
+                        return;
+                    }
+
+                    cartas = args[nArg];
+                }
+                default -> {
+                    new ConsolaNormal().error("\"%s\": opción no válida".formatted(args[nArg]));
+                    return;
+                }
+            }
+        }
+
+        Consola consola = agrupar ? new ConsolaAgrupada() : new ConsolaNormal();
+        SplittableRandom generador;
+
+        if (cartas != null && archivoDiario != null) {
+            consola.error("Las opciones %s y %s no se pueden usar juntas".formatted(OPCION_CARTAS, OPCION_DIARIO));
+            consola.volcar();
+            return;
+        }
+
+        try {
+            generador = args.length == nArg ? new SplittableRandom() : new SplittableRandom(Long.parseLong(args[nArg]));
+        } catch (NumberFormatException e) {
+            consola.error("\"%s\": semilla no válida".formatted(args[nArg]));
+            consola.volcar();
+            return;
+        }
+
+        PoliticaCartas politica;
+
         try {
-            new Juego().iniciarConsola();
-        } catch (ErrorJuego e) {
-            e.imprimirMsg();
+            politica = leerPoliticaCartas(cartas);
+        } catch (IllegalArgumentException e) {
+            consola.error("\"%s\": forma de sacar las cartas no válida (mazo o lista de números)".formatted(cartas));
+            consola.volcar();
+            return;
+        }
+
+        Diario diario = null;
+        FuenteDados dados = new FuenteDadosAleatoria(generador);
+
+        if (archivoDiario != null) {
+            try {
+                diario = new Diario(Path.of(archivoDiario));
+                dados = new FuenteDadosRegistrada(dados, diario);
+                consola = new ConsolaRegistrada(consola, diario);
+            } catch (IOException e) {
+                consola.error("\"%s\": no se pudo crear el diario: %s".formatted(archivoDiario, e.getMessage()));
+                consola.volcar();
+                return;
+            }
         }
+
+        ErrorFatal fatal = null;
+
+        try {
+            Juego juego = new Juego(consola, dados);
+            juego.setPoliticaCartas(politica == null ? new EleccionInteractiva(consola) : politica);
+            juego.setComprobarConsistencia(comprobar);
+            juego.setDiario(diario);
+            juego.iniciarConsola();
+
+            if (diario != null) {
+                diario.evento(Diario.Evento.Suma).campo(juego.calcularSuma());
+            }
+        } catch (ErrorFatal e) {
+            e.imprimirMsg(consola);
+            fatal = e;
+        }
+
+        if (diario != null) {
+            try {
+                diario.close();
+            } catch (IOException e) {
+                consola.error("No se pudo cerrar el diario: %s".formatted(e.getMessage()));
+            }
+        }
+
+        consola.volcar();
+
+        // Después de cerrar el diario, para que no se pierda el final
+        if (fatal != null) {
+            fatal.abortar();
+        }
+    }
+
+    /**
+     * Lee el argumento de la opción <code>--cartas</code>
+     *
+     * @return La política de cartas, o <code>null</code> si no se ha pasado
+     *         la opción (se pregunta al jugador).
+     * @throws IllegalArgumentException Si no es <code>mazo</code> ni una lista
+     *                                  de números separados por comas.
+     */
+    private static PoliticaCartas leerPoliticaCartas(String cartas) {
+        if (cartas == null) {
+            return null;
+        }
+
+        if (cartas.equals("mazo")) {
+            return new MazoCircular();
+        }
+
+        // NumberFormatException también es IllegalArgumentException
+        return new EleccionGuion(Arrays.stream(cartas.split(",")).mapToInt(Integer::parseInt).toArray());
     }
 }
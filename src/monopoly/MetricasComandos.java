@@ -0,0 +1,94 @@
+package monopoly;
+
+import monopoly.utils.Consola;
+import monopoly.utils.Histograma;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tiempo que tarda en ejecutarse cada comando de la partida, agrupado por
+ * su primera palabra (<code>lanzar</code>, <code>comprar</code>,
+ * <code>listar</code>...), para saber qué comandos son lentos.
+ * <p>
+ * Cada comando tiene su propio {@link Histograma}, así que apuntar un
+ * tiempo solo cuesta una búsqueda en un <code>HashMap</code> y unas pocas
+ * operaciones. No forman parte del estado de la partida: no se guardan
+ * ni se reinician al cargar otra.
+ * <p>
+ * El tiempo de un comando incluye lo que tarda el usuario en responder si
+ * se le pregunta algo (por ejemplo, al elegir una carta).
+ *
+ * @see Juego#ejecutarComando(String)
+ * @see Juego#metricas(String[])
+ */
+public class MetricasComandos {
+    private final HashMap<String, Histograma> histogramas;
+
+    public MetricasComandos() {
+        histogramas = new HashMap<>();
+    }
+
+    /**
+     * Apunta lo que ha tardado un comando
+     *
+     * @param verbo  Primera palabra del comando
+     * @param nanos  Tiempo de ejecución, en nanosegundos
+     */
+    public void anadir(String verbo, long nanos) {
+        Histograma histograma = histogramas.get(verbo);
+
+        if (histograma == null) {
+            histograma = new Histograma();
+            histogramas.put(verbo, histograma);
+        }
+
+        histograma.anadir(nanos);
+    }
+
+    /**
+     * Olvida todos los tiempos apuntados hasta ahora
+     */
+    public void reiniciar() {
+        histogramas.clear();
+    }
+
+    public boolean isVacio() {
+        return histogramas.isEmpty();
+    }
+
+    /**
+     * Devuelve una tabla con el número de ejecuciones y los percentiles 50,
+     * 99 y 99.9 de cada comando, en microsegundos. Los comandos se ordenan
+     * por el tiempo total que se ha pasado en ellos, de mayor a menor.
+     */
+    public String describir(Consola consola) {
+        ArrayList<Map.Entry<String, Histograma>> entradas = new ArrayList<>(histogramas.entrySet());
+        entradas.sort(Comparator.comparingLong((Map.Entry<String, Histograma> e) -> e.getValue().getSuma()).reversed());
+
+        StringBuilder str = new StringBuilder();
+        str.append(consola.fmt("%-14s %8s %10s %10s %10s %10s %12s".formatted(
+                "comando", "veces", "p50", "p99", "p99.9", "máx", "total (ms)"), Consola.Color.Amarillo));
+        str.append('\n');
+
+        for (Map.Entry<String, Histograma> e : entradas) {
+            Histograma h = e.getValue();
+
+            // @formatter:off
+            str.append("%-14s %8s %10s %10s %10s %10s %12s\n".formatted(
+                    e.getKey(), consola.num(h.getTotal()),
+                    micros(h.percentil(0.5)), micros(h.percentil(0.99)), micros(h.percentil(0.999)),
+                    micros(h.getMax()), "%.1f".formatted(h.getSuma() / 1e6)));
+            // @formatter:on
+        }
+
+        str.append("Tiempos en microsegundos\n");
+        return str.toString();
+    }
+
+    private static String micros(long nanos) {
+        return "%.1f".formatted(nanos / 1e3);
+    }
+}
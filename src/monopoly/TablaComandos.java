@@ -0,0 +1,220 @@
+package monopoly;
+
+import monopoly.error.ErrorComando;
+import monopoly.error.ErrorFatal;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Tabla con todos los comandos del juego y sus alias.
+ * <p>
+ * Los comandos se guardan en forma de árbol de palabras: cada nodo
+ * corresponde a una palabra del comando y puede tener una acción si el
+ * comando termina ahí (<code>ver tablero</code>), una acción que recibe el
+ * resto de palabras como argumentos (<code>comprar {propiedad}</code>),
+ * o ambas. De esta forma, encontrar el comando solo cuesta una búsqueda
+ * en un <code>HashMap</code> por palabra.
+ * <p>
+ * La tabla se construye una sola vez y se comparte entre todas las partidas.
+ *
+ * @see Comando
+ * @see Juego#ejecutarComando(String)
+ */
+public final class TablaComandos {
+    /**
+     * Acción que termina la ejecución de comandos
+     */
+    public static final Accion SALIR = (c, args) -> {
+    };
+
+    private static final Nodo RAIZ = new Nodo();
+
+    static {
+        // @formatter:off
+        // Comandos sin parámetros
+        registrar(SALIR,                                       "salir");
+        registrar(SALIR,                                       "quit");
+        registrar(SALIR,                                       "exit");
+        registrar((c, args) -> c.ayuda(),                      "ayuda");
+        registrar((c, args) -> c.ayuda(),                      "help");
+        registrar((c, args) -> c.iniciar(),                    "iniciar");
+        registrar((c, args) -> c.iniciar(),                    "start");
+        registrar((c, args) -> c.verTablero(),                 "ver", "tablero");
+        registrar((c, args) -> c.verTablero(),                 "tablero");
+        registrar((c, args) -> c.verTablero(),                 "show");
+        registrar((c, args) -> c.jugador(),                    "jugador");
+        registrar((c, args) -> c.jugador(),                    "turno");
+        registrar((c, args) -> c.jugador(),                    "player");
+        registrar((c, args) -> c.salirCarcel(),                "salir", "carcel");
+        registrar((c, args) -> c.cambiarModo(),                "cambiar", "modo");
+        registrar((c, args) -> c.lanzar(),                     "lanzar", "dados");
+        registrar((c, args) -> c.lanzar(),                     "lanzar");
+        registrar((c, args) -> c.lanzar(),                     "throw");
+        registrar((c, args) -> c.siguiente(),                  "siguiente");
+        registrar((c, args) -> c.siguiente(),                  "sig");
+        registrar((c, args) -> c.siguiente(),                  "next");
+        registrar((c, args) -> c.acabarTurno(),                "acabar", "turno");
+        registrar((c, args) -> c.acabarTurno(),                "fin");
+        registrar((c, args) -> c.acabarTurno(),                "end");
+        registrar((c, args) -> c.bancarrota(),                 "bancarrota");
+        registrar((c, args) -> c.listar(new String[]{"listar", "tratos"}), "tratos");
+
+        // Comandos con parámetros
+        registrarConArgs(Comando::crearJugador,                "crear");
+        registrarConArgs(Comando::comprar,                     "comprar");
+        registrarConArgs(Comando::edificar,                    "edificar");
+        registrarConArgs(Comando::vender,                      "vender");
+        registrarConArgs(Comando::hipotecar,                   "hipotecar");
+        registrarConArgs(Comando::deshipotecar,                "deshipotecar");
+        registrarConArgs(Comando::estadisticas,                "estadisticas");
+        registrarConArgs(Comando::listar,                      "listar");
+        registrarConArgs(Comando::describir,                   "describir");
+        registrarConArgs(Comando::trato,                       "trato");
+        registrarConArgs(Comando::aceptar,                     "aceptar");
+        registrarConArgs(Comando::eliminar,                    "eliminar");
+        registrarConArgs(Comando::guardar,                     "guardar");
+        registrarConArgs(Comando::cargar,                      "cargar");
+        registrarConArgs(Comando::metricas,                    "metricas");
+        // ------------------------------------------------------------
+        registrarConArgs(Comando::ejecutarArchivo,             "exec");
+        registrarConArgs(Comando::mover,                       "mover");
+        registrarConArgs(Comando::fortuna,                     "fortuna");
+        // @formatter:on
+    }
+
+    private TablaComandos() {
+    }
+
+    /**
+     * Busca la acción correspondiente al comando ya separado en palabras.
+     *
+     * @return La acción a ejecutar, o <code>null</code> si no existe el comando.
+     */
+    public static Accion buscar(String[] palabras) {
+        Nodo actual = RAIZ;
+        Accion conArgs = null;
+
+        for (String palabra : palabras) {
+            actual = actual.hijos.get(palabra);
+
+            if (actual == null) {
+                // No hay un comando más largo: se usa el último que acepte argumentos
+                return conArgs;
+            }
+
+            if (actual.accionConArgs != null) {
+                conArgs = actual.accionConArgs;
+            }
+        }
+
+        return actual.accion != null ? actual.accion : conArgs;
+    }
+
+    /**
+     * Separa un comando en palabras en una sola pasada.
+     * <p>
+     * Se ignoran los espacios repetidos y los ':' (tratos), y se
+     * convierte todo a minúsculas. Si el comando está en blanco o es
+     * un comentario (empieza por '#'), se devuelve un array vacío.
+     */
+    public static String[] separar(String cmd) {
+        String[] palabras = new String[8];
+        int nPalabras = 0;
+
+        StringBuilder palabra = new StringBuilder(cmd.length());
+        boolean inicio = true;
+
+        for (int i = 0; i < cmd.length(); i++) {
+            char c = cmd.charAt(i);
+
+            if (inicio) {
+                if (Character.isWhitespace(c)) {
+                    continue;
+                }
+
+                if (c == '#') {
+                    return new String[0];
+                }
+
+                inicio = false;
+            }
+
+            if (c == ' ') {
+                if (!palabra.isEmpty()) {
+                    if (nPalabras == palabras.length) {
+                        palabras = Arrays.copyOf(palabras, 2 * nPalabras);
+                    }
+
+                    palabras[nPalabras++] = palabra.toString();
+                    palabra.setLength(0);
+                }
+            } else if (c != ':') {
+                palabra.append(Character.toLowerCase(c));
+            }
+        }
+
+        // Última palabra, sin los espacios del final (tabulaciones, etc.)
+        int fin = palabra.length();
+        while (fin > 0 && Character.isWhitespace(palabra.charAt(fin - 1))) {
+            fin--;
+        }
+
+        if (fin > 0) {
+            if (nPalabras == palabras.length) {
+                palabras = Arrays.copyOf(palabras, nPalabras + 1);
+            }
+
+            palabras[nPalabras++] = palabra.substring(0, fin);
+        }
+
+        return nPalabras == palabras.length ? palabras : Arrays.copyOf(palabras, nPalabras);
+    }
+
+    /**
+     * Registra un comando que no acepta más palabras que las dadas
+     */
+    private static void registrar(Accion accion, String... palabras) {
+        nodo(palabras).accion = accion;
+    }
+
+    /**
+     * Registra un comando que recibe todas sus palabras como argumentos
+     */
+    private static void registrarConArgs(Accion accion, String... palabras) {
+        nodo(palabras).accionConArgs = accion;
+    }
+
+    /**
+     * Obtiene el nodo de las palabras dadas, creándolo si no existe
+     */
+    private static Nodo nodo(String... palabras) {
+        Nodo actual = RAIZ;
+
+        for (String palabra : palabras) {
+            actual = actual.hijos.computeIfAbsent(palabra, (p) -> new Nodo());
+        }
+
+        return actual;
+    }
+
+    /**
+     * Ejecuta un comando sobre el juego dado
+     */
+    @FunctionalInterface
+    public interface Accion {
+        /**
+         * @param args Todas las palabras del comando, incluido el propio nombre
+         */
+        void ejecutar(Comando comando, String[] args) throws ErrorComando, ErrorFatal;
+    }
+
+    /**
+     * Palabra de un comando
+     */
+    private static final class Nodo {
+        private final HashMap<String, Nodo> hijos = new HashMap<>();
+        private Accion accion;        /* Si el comando termina en esta palabra */
+        private Accion accionConArgs; /* Si el comando continúa con argumentos */
+    }
+}
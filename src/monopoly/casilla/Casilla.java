@@ -1,6 +1,6 @@
 package monopoly.casilla;
 
-import monopoly.Juego;
+import monopoly.EstadisticasJuego;
 import monopoly.JuegoConsts;
 import monopoly.casilla.especial.CasillaEspecial;
 import monopoly.casilla.propiedad.Propiedad;
@@ -9,11 +9,17 @@ import monopoly.error.ErrorFatal;
 import monopoly.jugador.Avatar;
 import monopoly.jugador.Jugador;
 import monopoly.utils.Buscar;
+import monopoly.utils.Consola;
 import monopoly.utils.Dado;
 import monopoly.utils.Listable;
 import monopoly.utils.ReprTablero;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 /**
  * La clase Casilla representa una casilla del tablero, que pueden ser
@@ -38,15 +44,25 @@ import java.util.ArrayList;
 public abstract class Casilla implements Listable, ReprTablero, Buscar {
     private final int posicion;
     private final ArrayList<Avatar> avatares;
+    private final Consola consola;
 
     // Para las estadísticas
     private int nEstancias;
+    private EstadisticasJuego estadisticasJuego;
+    // Para el dibujado del tablero
+    private int version; /* Aumenta cada vez que cambia algo que se muestra en la celda */
+    // Nombre, color y estilo no cambian durante la partida
+    private String nombreFmt;
 
-    public Casilla(int posicion) {
+    public Casilla(int posicion, Consola consola) {
         this.posicion = posicion;
+        this.consola = consola;
 
         avatares = new ArrayList<>(JuegoConsts.MAX_JUGADORES);
         nEstancias = 0;
+        estadisticasJuego = null;
+        version = 0;
+        nombreFmt = null;
     }
 
     /**
@@ -83,10 +99,23 @@ public abstract class Casilla implements Listable, ReprTablero, Buscar {
     public abstract String getNombre();
 
     /**
-     * Obtiene el nombre formateado (con colores) de la casilla
+     * Obtiene el nombre formateado (con colores) de la casilla.
+     * <p>
+     * Se formatea la primera vez que se pide y se reutiliza después.
      */
     public String getNombreFmt() {
-        return Juego.consola.fmt(getNombre(), codColorRepresentacion(), estiloRepresentacion());
+        if (nombreFmt == null) {
+            nombreFmt = formatearNombre();
+        }
+
+        return nombreFmt;
+    }
+
+    /**
+     * Formatea el nombre de la casilla, para {@link #getNombreFmt()}
+     */
+    protected String formatearNombre() {
+        return consola.fmt(getNombre(), codColorRepresentacion(), estiloRepresentacion());
     }
 
     @Override
@@ -114,6 +143,25 @@ public abstract class Casilla implements Listable, ReprTablero, Buscar {
         return nEstancias;
     }
 
+    /**
+     * Consola de la partida a la que pertenece la casilla
+     */
+    public Consola getConsola() {
+        return consola;
+    }
+
+    /**
+     * Estadísticas de la partida a la que pertenece la casilla, o
+     * <code>null</code> si no se llevan.
+     */
+    public EstadisticasJuego getEstadisticasJuego() {
+        return estadisticasJuego;
+    }
+
+    public void setEstadisticasJuego(EstadisticasJuego estadisticasJuego) {
+        this.estadisticasJuego = estadisticasJuego;
+    }
+
     public int getPosicion() {
         return posicion;
     }
@@ -125,9 +173,107 @@ public abstract class Casilla implements Listable, ReprTablero, Buscar {
     public void anadirAvatar(Avatar avatar) {
         nEstancias++;
         avatares.add(avatar);
+        marcarModificada();
+
+        if (estadisticasJuego != null) {
+            estadisticasJuego.actualizarEstancias(this);
+        }
     }
 
     public void quitarAvatar(Avatar avatar) {
         avatares.remove(avatar);
+        marcarModificada();
+    }
+
+    /**
+     * Escribe el estado de la casilla que cambia durante la partida.
+     * Las subclases con más estado lo añaden a continuación.
+     *
+     * @see monopoly.Juego#guardarPartida(DataOutput)
+     */
+    public void guardar(DataOutput out) throws IOException {
+        out.writeInt(nEstancias);
+        out.writeByte(avatares.size());
+        for (Avatar a : avatares) {
+            out.writeChar(a.getId());
+        }
+    }
+
+    /**
+     * Restaura el estado escrito por {@link #guardar(DataOutput)}.
+     * <p>
+     * NOTA: no se avisa a las estadísticas de la partida, que se
+     * recalculan al terminar de cargarla.
+     *
+     * @param jugadores Jugadores de la partida cargada (ver {@link Jugador#referencias})
+     */
+    public void cargar(DataInput in, Map<Character, Jugador> jugadores) throws IOException {
+        nEstancias = in.readInt();
+
+        avatares.clear();
+        int n = in.readUnsignedByte();
+        for (int i = 0; i < n; i++) {
+            Jugador j = Jugador.leerReferencia(in, jugadores);
+            if (j == null || j.getAvatar() == null) {
+                throw new IOException("Avatar no válido en la casilla %s".formatted(getNombre()));
+            }
+            avatares.add(j.getAvatar());
+        }
+
+        marcarModificada();
+    }
+
+    /**
+     * Escribe la posición de la casilla dada, o -1 si es <code>null</code>
+     */
+    public static void escribirReferencia(DataOutput out, Casilla casilla) throws IOException {
+        out.writeShort(casilla == null ? -1 : casilla.posicion);
+    }
+
+    /**
+     * Lee una casilla escrita con {@link #escribirReferencia(DataOutput, Casilla)}
+     */
+    public static Casilla leerReferencia(DataInput in, List<Casilla> casillas) throws IOException {
+        int pos = in.readShort();
+
+        if (pos == -1) {
+            return null;
+        }
+
+        if (pos < 0 || pos >= casillas.size()) {
+            throw new IOException("Casilla %d fuera del tablero".formatted(pos));
+        }
+
+        return casillas.get(pos);
+    }
+
+    /**
+     * Igual que {@link #leerReferencia(DataInput, List)}, pero comprueba que sea una propiedad
+     */
+    public static Propiedad leerPropiedad(DataInput in, List<Casilla> casillas) throws IOException {
+        Casilla c = leerReferencia(in, casillas);
+
+        if (c != null && !(c instanceof Propiedad)) {
+            throw new IOException("La casilla %s no es una propiedad".formatted(c.getNombre()));
+        }
+
+        return (Propiedad) c;
+    }
+
+    /**
+     * Versión de la casilla: cambia cada vez que lo hace algo
+     * que afecta a su celda en el tablero.
+     *
+     * @see monopoly.utils.PintorTablero
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Indica que la celda de esta casilla se debe volver a dibujar
+     */
+    public void marcarModificada() {
+        version++;
     }
 }
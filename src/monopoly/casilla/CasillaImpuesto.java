@@ -1,6 +1,5 @@
 package monopoly.casilla;
 
-import monopoly.Juego;
 import monopoly.JuegoConsts;
 import monopoly.error.ErrorFatalLogico;
 import monopoly.jugador.Banca;
@@ -9,20 +8,24 @@ import monopoly.utils.Consola;
 import monopoly.utils.Dado;
 
 public class CasillaImpuesto extends Casilla {
-    private static int nImpuestos = 0;
     private final Banca banca;
     private long impuestos;
 
-    public CasillaImpuesto(int posicion, Banca banca) {
-        super(posicion);
+    public CasillaImpuesto(int posicion, Banca banca, Consola consola) {
+        super(posicion, consola);
         this.banca = banca;
     }
 
-    public void setImpuestos(long abonoSalida) {
-        // El último impuesto valdrá 1/2 del abono de salida
-        // El primer impuesto valdrá 2/2 = 1 abono de salida
-        nImpuestos++;
-        impuestos = nImpuestos * abonoSalida / 2;
+    /**
+     * Asigna el importe del impuesto según su orden en el tablero.
+     *
+     * @param abonoSalida Abono de salida del juego.
+     * @param nImpuesto   Número del impuesto en el tablero (se empieza a contar desde 1).
+     */
+    public void setImpuestos(long abonoSalida, int nImpuesto) {
+        // El primer impuesto valdrá 1/2 del abono de salida
+        // El segundo impuesto valdrá 2/2 = 1 abono de salida
+        impuestos = nImpuesto * abonoSalida / 2;
     }
 
     @Override
@@ -32,7 +35,7 @@ public class CasillaImpuesto extends Casilla {
                     nombre: %s
                     importe: %s
                 }
-                """.formatted(getNombreFmt(), Juego.consola.num(impuestos));
+                """.formatted(getNombreFmt(), getConsola().num(impuestos));
     }
 
     @Override
@@ -43,11 +46,11 @@ public class CasillaImpuesto extends Casilla {
     @Override
     public void accion(Jugador jugadorTurno, Dado dado) throws ErrorFatalLogico {
         jugadorTurno.cobrar(impuestos, banca);
-        Juego.consola.imprimir("El jugador paga de impuestos: %s\n".formatted(Juego.consola.num(impuestos)));
+        getConsola().imprimir(() -> "El jugador paga de impuestos: %s\n".formatted(getConsola().num(impuestos)));
         jugadorTurno.getEstadisticas().anadirTasa(impuestos);
 
         banca.ingresar(impuestos);
-        Juego.consola.imprimir("Se han cobrado %s de impuestos a la banca\n".formatted(Juego.consola.num(impuestos)));
+        getConsola().imprimir(() -> "Se han cobrado %s de impuestos a la banca\n".formatted(getConsola().num(impuestos)));
     }
 
     @Override
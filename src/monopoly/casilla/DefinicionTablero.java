@@ -0,0 +1,396 @@
+package monopoly.casilla;
+
+import monopoly.JuegoConsts;
+import monopoly.casilla.propiedad.Solar;
+import monopoly.error.ErrorFatalConfig;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Scanner;
+
+/**
+ * Definición del tablero que no cambia entre partidas: las casillas
+ * con sus nombres y grupos, los grupos con sus colores, los textos de
+ * las cartas, el mensaje de ayuda y los valores que se calculan a
+ * partir de los precios iniciales.
+ * <p>
+ * Se lee de los archivos de configuración una sola vez, la primera vez
+ * que se pide (ver {@link #get()}), y la comparten todas las partidas:
+ * cada una crea a partir de ella sus propios objetos con el estado que
+ * cambia durante el juego (ver {@link Lector}).
+ * <p>
+ * Formato esperado del archivo de casillas:
+ *
+ * <pre>
+ *     grupo: Nombre, CodColor    # Grupo de propiedades (grupos especiales: Transporte, Servicios)
+ *     CasillaEspecial            # Salida, Cárcel, IrCárcel, Parking, Impuestos
+ *     Nombre, NúmeroGrupo        # Propiedad: solar (se empieza a contar desde 1)
+ *     Nombre, Transporte         # Propiedad: transporte
+ *     Nombre, Servicio           # Propiedad: servicio
+ *     ...
+ * </pre>
+ * <p>
+ * Y el de las cartas de Comunidad y Suerte:
+ *
+ * <pre>
+ *     S:X:descripción
+ *     C : X : descripción
+ *     ...
+ * </pre>
+ *
+ * @see Lector
+ */
+public final class DefinicionTablero {
+    /**
+     * Definición compartida, o <code>null</code> si aún no se ha leído
+     */
+    private static volatile DefinicionTablero definicion = null;
+
+    private final List<DefCasilla> casillas;
+    private final List<DefGrupo> grupos;
+    private final List<DefCarta> cartasComunidad;
+    private final List<DefCarta> cartasSuerte;
+    private final String msgAyuda;
+    private final long abonoSalida;
+    private final long fortunaInicial;
+
+    /**
+     * Tipos de casilla que se pueden declarar en el archivo de configuración
+     */
+    public enum TipoCasilla {
+        Salida, Carcel, IrCarcel, Parking, Impuesto, Suerte, Comunidad, Solar, Transporte, Servicio
+    }
+
+    /**
+     * Una casilla del tablero
+     *
+     * @param grupo Posición de su grupo en {@link #getGrupos()}, o -1 si no es una propiedad
+     */
+    public record DefCasilla(TipoCasilla tipo, String nombre, int grupo) {
+    }
+
+    /**
+     * Un grupo de propiedades
+     *
+     * @param numero Número del grupo (ver {@link monopoly.casilla.propiedad.Grupo#getNumero()})
+     */
+    public record DefGrupo(int numero, String nombre, int codigoColor) {
+    }
+
+    /**
+     * Una carta de Comunidad o Suerte
+     */
+    public record DefCarta(int id, String descripcion) {
+    }
+
+    private DefinicionTablero() throws ErrorFatalConfig {
+        // @formatter:off
+        ArrayList<DefCasilla> casillas  = new ArrayList<>(JuegoConsts.N_CASILLAS);
+        ArrayList<DefGrupo> grupos      = new ArrayList<>(JuegoConsts.N_GRUPOS);
+        ArrayList<DefCarta> comunidad   = new ArrayList<>(JuegoConsts.N_CARTAS_COMUNIDAD);
+        ArrayList<DefCarta> suerte      = new ArrayList<>(JuegoConsts.N_CARTAS_SUERTE);
+        // @formatter:on
+
+        leerCartas(comunidad, suerte);
+        leerCasillas(casillas, grupos);
+
+        long nSolares = 0;
+        long sumaPrecioSolares = 0;
+        for (DefCasilla c : casillas) {
+            if (c.tipo() == TipoCasilla.Solar) {
+                nSolares++;
+                sumaPrecioSolares += Solar.precioInicial(grupos.get(c.grupo()).numero());
+            }
+        }
+
+        if (nSolares == 0) {
+            throw new ErrorFatalConfig("El tablero no tiene solares", JuegoConsts.CONFIG_CASILLAS, 0);
+        }
+
+        for (TipoCasilla tipo : new TipoCasilla[]{TipoCasilla.Salida, TipoCasilla.Carcel, TipoCasilla.IrCarcel}) {
+            if (casillas.stream().noneMatch(c -> c.tipo() == tipo)) {
+                throw new ErrorFatalConfig("Falta la casilla " + tipo, JuegoConsts.CONFIG_CASILLAS, 0);
+            }
+        }
+
+        this.casillas = Collections.unmodifiableList(casillas);
+        this.grupos = Collections.unmodifiableList(grupos);
+        this.cartasComunidad = Collections.unmodifiableList(comunidad);
+        this.cartasSuerte = Collections.unmodifiableList(suerte);
+        this.msgAyuda = leerAyuda();
+        this.abonoSalida = sumaPrecioSolares / nSolares;
+        this.fortunaInicial = sumaPrecioSolares / 3;
+    }
+
+    /**
+     * Devuelve la definición del tablero, leyéndola de los archivos de
+     * configuración si es la primera vez que se pide.
+     *
+     * @throws ErrorFatalConfig Si no se encuentra algún archivo o si el
+     *                          formato no es correcto. Se vuelve a intentar
+     *                          la próxima vez que se pida.
+     */
+    public static DefinicionTablero get() throws ErrorFatalConfig {
+        DefinicionTablero d = definicion;
+
+        if (d == null) {
+            synchronized (DefinicionTablero.class) {
+                d = definicion;
+                if (d == null) {
+                    d = new DefinicionTablero();
+                    definicion = d;
+                }
+            }
+        }
+
+        return d;
+    }
+
+    /**
+     * Casillas en el orden del tablero
+     */
+    public List<DefCasilla> getCasillas() {
+        return casillas;
+    }
+
+    /**
+     * Grupos de solares en el orden en el que se declararon, seguidos
+     * de los transportes y los servicios si los hay
+     */
+    public List<DefGrupo> getGrupos() {
+        return grupos;
+    }
+
+    public List<DefCarta> getCartasComunidad() {
+        return cartasComunidad;
+    }
+
+    public List<DefCarta> getCartasSuerte() {
+        return cartasSuerte;
+    }
+
+    public String getMsgAyuda() {
+        return msgAyuda;
+    }
+
+    /**
+     * Lo que cobra un jugador al pasar por la salida: la media
+     * de los precios iniciales de los solares
+     */
+    public long getAbonoSalida() {
+        return abonoSalida;
+    }
+
+    public long getFortunaInicial() {
+        return fortunaInicial;
+    }
+
+    /**
+     * Función de ayuda que abre un Scanner para leer un archivo.
+     *
+     * @throws ErrorFatalConfig Si no se encuentra el archivo.
+     */
+    private static Scanner abrirArchivo(String path) throws ErrorFatalConfig {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+
+        if (classLoader == null) {
+            classLoader = Class.class.getClassLoader();
+        }
+
+        InputStream recurso = classLoader.getResourceAsStream(path);
+        if (recurso == null) {
+            throw new ErrorFatalConfig("No encontrado", path, 0);
+        }
+
+        return new Scanner(recurso);
+    }
+
+    /**
+     * Función de ayuda que ignora líneas en blanco y comentarios
+     */
+    private static boolean ignorarLinea(String linea) {
+        return linea.isBlank() || linea.stripLeading().startsWith("#");
+    }
+
+    private static String leerAyuda() throws ErrorFatalConfig {
+        try (Scanner scanner = abrirArchivo(JuegoConsts.CONFIG_AYUDA)) {
+            scanner.useDelimiter("\\A");
+            return scanner.next();
+        }
+    }
+
+    /**
+     * Lee el archivo de configuración de cartas del archivo de
+     * configuración especificado en <code>JuegoConsts.CONFIG_CARTAS</code>.
+     *
+     * @throws ErrorFatalConfig Si no se encuentra el archivo o si el
+     *                          formato no es correcto.
+     */
+    private static void leerCartas(List<DefCarta> comunidad, List<DefCarta> suerte) throws ErrorFatalConfig {
+        try (Scanner scanner = abrirArchivo(JuegoConsts.CONFIG_CARTAS)) {
+            for (int nLinea = 1; scanner.hasNextLine(); nLinea++) {
+                String linea = scanner.nextLine().strip();
+
+                // Se ignoran los comentarios y líneas en blanco
+                if (ignorarLinea(linea)) {
+                    continue;
+                }
+
+                // Se limpia la línea y se separa en campos
+                String[] campos = linea.replaceAll(" *: *", ":").replaceAll("  +", " ").split(":");
+
+                if (campos.length != 3) {
+                    throw new ErrorFatalConfig("Número de campos incorrecto", JuegoConsts.CONFIG_CARTAS, nLinea);
+                }
+
+                try {
+                    DefCarta carta = new DefCarta(Integer.parseInt(campos[1]), campos[2]);
+
+                    switch (campos[0]) {
+                        case "C" -> comunidad.add(carta);
+                        case "S" -> suerte.add(carta);
+                        default ->
+                                throw new ErrorFatalConfig("\"%s\": tipo de carta desconocido".formatted(campos[0]), JuegoConsts.CONFIG_CARTAS, nLinea);
+                    }
+                } catch (NumberFormatException e) {
+                    throw new ErrorFatalConfig("Número no válido: " + e, JuegoConsts.CONFIG_CARTAS, nLinea);
+                }
+            }
+        }
+    }
+
+    /**
+     * Lee el archivo de configuración de Casillas del archivo de
+     * configuración especificado en <code>JuegoConsts.CONFIG_CASILLAS</code>.
+     *
+     * @throws ErrorFatalConfig Si no se encuentra el archivo o si el
+     *                          formato no es correcto.
+     */
+    private static void leerCasillas(List<DefCasilla> casillas, List<DefGrupo> grupos) throws ErrorFatalConfig {
+        // Los transportes y servicios se añaden al final de los grupos,
+        // así que sus casillas se apuntan con el grupo pendiente (-1).
+        DefGrupo transportes = null;
+        DefGrupo servicios = null;
+
+        // https://docs.oracle.com/javase/tutorial/essential/exceptions/tryResourceClose.html
+        try (Scanner scanner = abrirArchivo(JuegoConsts.CONFIG_CASILLAS)) {
+            for (int nLinea = 1; scanner.hasNextLine(); nLinea++) {
+                String linea = scanner.nextLine();
+
+                // Se ignoran los comentarios y líneas en blanco
+                if (ignorarLinea(linea)) {
+                    continue;
+                }
+
+                // Se quitan los espacios y se separa por las comas
+                String[] campos = linea.strip().replaceAll(" +", "").split(",");
+
+                // Casillas especiales, acción e impuestos
+                if (campos.length == 1) {
+                    casillas.add(new DefCasilla(declaracionEspecial(campos[0], nLinea), null, -1));
+                    continue;
+                }
+
+                if (campos[0].startsWith("grupo:") || campos[0].startsWith("Grupo:")) {
+                    DefGrupo grupo = declaracionGrupo(campos, grupos.size(), nLinea);
+
+                    switch (grupo.nombre()) {
+                        case "Transporte", "transporte", "Transportes", "transportes" -> transportes = grupo;
+                        case "Servicio", "servicio", "Servicios", "servicios" -> servicios = grupo;
+                        default -> grupos.add(grupo);
+                    }
+                    continue;
+                }
+
+                casillas.add(declaracionPropiedad(campos, grupos.size(), transportes != null, servicios != null, nLinea));
+            }
+        }
+
+        // Añadir los grupos de transportes y servicios al final si existen
+        int nTransportes = -1;
+        int nServicios = -1;
+        if (transportes != null) {
+            nTransportes = grupos.size();
+            grupos.add(transportes);
+        }
+        if (servicios != null) {
+            nServicios = grupos.size();
+            grupos.add(servicios);
+        }
+
+        for (int i = 0; i < casillas.size(); i++) {
+            DefCasilla c = casillas.get(i);
+
+            switch (c.tipo()) {
+                case Transporte -> casillas.set(i, new DefCasilla(c.tipo(), c.nombre(), nTransportes));
+                case Servicio -> casillas.set(i, new DefCasilla(c.tipo(), c.nombre(), nServicios));
+            }
+        }
+    }
+
+    private static TipoCasilla declaracionEspecial(String nombre, int nLinea) throws ErrorFatalConfig {
+        return switch (nombre) {
+            case "Salida", "salida" -> TipoCasilla.Salida;
+            case "Carcel", "carcel", "Cárcel", "cárcel" -> TipoCasilla.Carcel;
+            case "IrCarcel", "irCarcel", "IrCárcel", "irCárcel" -> TipoCasilla.IrCarcel;
+            case "Parking", "parking" -> TipoCasilla.Parking;
+            case "Impuestos", "Impuesto", "impuestos", "impuesto" -> TipoCasilla.Impuesto;
+            case "Suerte", "suerte" -> TipoCasilla.Suerte;
+            case "Comunidad", "comunidad" -> TipoCasilla.Comunidad;
+            default ->
+                    throw new ErrorFatalConfig("Casilla especial, acción o impuestos desconocida: " + nombre, JuegoConsts.CONFIG_CASILLAS, nLinea);
+        };
+    }
+
+    private static DefGrupo declaracionGrupo(String[] campos, int numero, int nLinea) throws ErrorFatalConfig {
+        if (campos.length != 2) {
+            throw new ErrorFatalConfig(
+                    "Declaración de grupo incorrecta: se esperaban 3 parámetros, se recibieron %s".formatted(campos.length),
+                    JuegoConsts.CONFIG_CASILLAS,
+                    nLinea);
+        }
+
+        try {
+            // Declaración de un Grupo: "grupo: Nombre, codColor"
+            // Se quita la etiqueta del grupo, son 6 caracteres
+            return new DefGrupo(numero, campos[0].substring(6), Integer.parseInt(campos[1]));
+        } catch (NumberFormatException e) {
+            throw new ErrorFatalConfig("Número no válido: " + e, JuegoConsts.CONFIG_CASILLAS, nLinea);
+        }
+    }
+
+    private static DefCasilla declaracionPropiedad(String[] campos, int nGrupos, boolean hayTransportes, boolean hayServicios, int nLinea) throws ErrorFatalConfig {
+        // Declaración de un Transporte o Servicio: "Nombre, Grupo"
+        switch (campos[1]) {
+            case "T", "Transporte", "transporte", "Transportes", "transportes" -> {
+                if (!hayTransportes) {
+                    throw new ErrorFatalConfig("Transporte sin primero declarar un grupo de transportes", JuegoConsts.CONFIG_CASILLAS, nLinea);
+                }
+
+                return new DefCasilla(TipoCasilla.Transporte, campos[0], -1);
+            }
+            case "S", "Servicio", "servicio", "Servicios", "servicios" -> {
+                if (!hayServicios) {
+                    throw new ErrorFatalConfig("Servicio sin primero declarar un grupo de servicios", JuegoConsts.CONFIG_CASILLAS, nLinea);
+                }
+
+                return new DefCasilla(TipoCasilla.Servicio, campos[0], -1);
+            }
+        }
+
+        // Declaración de un Solar: "Nombre, numGrupo"
+        try {
+            int nGrupo = Integer.parseInt(campos[1]) - 1;
+
+            if (nGrupo < 0 || nGrupo >= nGrupos) {
+                throw new ErrorFatalConfig("Número de grupo fuera de rango", JuegoConsts.CONFIG_CASILLAS, nLinea);
+            }
+
+            return new DefCasilla(TipoCasilla.Solar, campos[0], nGrupo);
+        } catch (NumberFormatException e) {
+            throw new ErrorFatalConfig("Número no válido: " + e, JuegoConsts.CONFIG_CASILLAS, nLinea);
+        }
+    }
+}
@@ -2,6 +2,9 @@ package monopoly.casilla;
 
 import monopoly.Juego;
 import monopoly.JuegoConsts;
+import monopoly.casilla.DefinicionTablero.DefCarta;
+import monopoly.casilla.DefinicionTablero.DefCasilla;
+import monopoly.casilla.DefinicionTablero.DefGrupo;
 import monopoly.casilla.carta.*;
 import monopoly.casilla.especial.CasillaCarcel;
 import monopoly.casilla.especial.CasillaIrCarcel;
@@ -10,43 +13,18 @@ import monopoly.casilla.propiedad.*;
 import monopoly.error.ErrorFatalConfig;
 import monopoly.error.ErrorFatalLogico;
 import monopoly.jugador.Banca;
+import monopoly.utils.Consola;
+import monopoly.utils.FuenteDados;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.IOException;
-import java.io.InputStream;
 import java.util.ArrayList;
-import java.util.Scanner;
 
 /**
- * Clase de ayuda que lee de un archivo una lista de casillas
- * y crea los objetos acordes.
+ * Clase de ayuda que crea los objetos de una partida (casillas, grupos
+ * y cartas) a partir de la {@link DefinicionTablero} compartida.
  * <p>
- * Formato esperado:
- *
- * <pre>
- *     grupo: Nombre, CodColor    # Grupo de propiedades (grupos especiales: Transporte, Servicios)
- *     CasillaEspecial            # Salida, Cárcel, IrCárcel, Parking, Impuestos
- *     Nombre, NúmeroGrupo        # Propiedad: solar (se empieza a contar desde 1)
- *     Nombre, Transporte         # Propiedad: transporte
- *     Nombre, Servicio           # Propiedad: servicio
- *     ...
- * </pre>
- *
- * <p>
- * También se usa para leer el nombre y descripción de las
- * Cartas de Comunidad y Suerte.
- * <p>
- * Formato:
- *
- * <pre>
- *     S:X:descripción
- *     C : X : descripción
- *     ...
- * </pre>
- * <p>
- * Finalmente, termina asignando los valores requeridos a cada
- * objeto.
+ * No lee ningún archivo: la definición se lee una sola vez para todas
+ * las partidas, y aquí solo se crean los objetos con el estado que
+ * cambia durante el juego y se les asignan los valores requeridos.
  *
  * @see Casilla
  * @see monopoly.Juego
@@ -56,12 +34,13 @@ public class Lector {
     private final ArrayList<Grupo> grupos;
     private final ArrayList<CartaComunidad> cartasComunidad;
     private final ArrayList<CartaSuerte> cartasSuerte;
+    private final Mazo<CartaComunidad> mazoComunidad;
+    private final Mazo<CartaSuerte> mazoSuerte;
     private final long fortunaInicial;
     private final ArrayList<CasillaImpuesto> impuestos;
-
-    // Información útil
-    private int nSolares;
-    private long sumaPrecioSolares;
+    private final Consola consola;
+    private final FuenteDados dados;
+    private final String msgAyuda;
 
     // Casillas especiales
     private CasillaSalida salida;
@@ -69,89 +48,62 @@ public class Lector {
     private CasillaIrCarcel irCarcel;
     private CasillaParking parking;
 
-    // Grupos especiales
-    private Grupo transportes;
-    private Grupo servicios;
-
     public Lector(Juego juego) throws ErrorFatalConfig, ErrorFatalLogico {
+        DefinicionTablero definicion = DefinicionTablero.get();
+
         // @formatter:off
-        casillas        = new ArrayList<>(JuegoConsts.N_CASILLAS);
-        grupos          = new ArrayList<>(JuegoConsts.N_GRUPOS);
-        cartasComunidad = new ArrayList<>(JuegoConsts.N_CARTAS_COMUNIDAD);
-        cartasSuerte    = new ArrayList<>(JuegoConsts.N_CARTAS_SUERTE);
+        casillas        = new ArrayList<>(definicion.getCasillas().size());
+        grupos          = new ArrayList<>(definicion.getGrupos().size());
+        cartasComunidad = new ArrayList<>(definicion.getCartasComunidad().size());
+        cartasSuerte    = new ArrayList<>(definicion.getCartasSuerte().size());
         impuestos       = new ArrayList<>(JuegoConsts.N_IMPUESTOS);
+        consola         = juego.getConsola();
+        dados           = juego.getDados();
+        msgAyuda        = definicion.getMsgAyuda();
+        fortunaInicial  = definicion.getFortunaInicial();
+        mazoComunidad   = new Mazo<>(cartasComunidad, dados);
+        mazoSuerte      = new Mazo<>(cartasSuerte, dados);
         // @formatter:on
 
-        nSolares = 0;
-        sumaPrecioSolares = 0;
         salida = null;
         carcel = null;
         irCarcel = null;
         parking = null;
-        transportes = null;
-        servicios = null;
 
-        leerCartas(juego);
-        leerCasillas(juego.getBanca());
+        crearCartas(definicion, juego);
+        crearGrupos(definicion);
+        crearCasillas(definicion, juego.getBanca());
 
-        long abonoSalida = sumaPrecioSolares / nSolares;
-        fortunaInicial = sumaPrecioSolares / 3;
+        long abonoSalida = definicion.getAbonoSalida();
 
         // Terminar de asignar todos los valores
         irCarcel.setCarcel(carcel);
         salida.setAbonoSalida(abonoSalida);
         carcel.setFianza(abonoSalida / 4);
-        for (CasillaImpuesto i : impuestos) {
-            i.setImpuestos(abonoSalida);
+        for (int i = 0; i < impuestos.size(); i++) {
+            impuestos.get(i).setImpuestos(abonoSalida, i + 1);
         }
 
         // Precios que dependen del abono de salida
-        for (Propiedad s : servicios.getPropiedades()) {
-            ((Servicio) s).setPrecio((long) (0.75 * (float) abonoSalida));
-        }
-
-        for (Propiedad t : transportes.getPropiedades()) {
-            ((Transporte) t).setPrecio(abonoSalida);
-        }
-    }
-
-    /**
-     * Función de ayuda que abre un Scanner para leer un archivo.
-     *
-     * @throws ErrorFatalConfig Si no se encuentra el archivo.
-     */
-    private static Scanner abrirArchivo(String path) throws ErrorFatalConfig {
-        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
-
-        if (classLoader == null) {
-            classLoader = Class.class.getClassLoader();
-        }
-
-        InputStream recurso = classLoader.getResourceAsStream(path);
-        if (recurso == null) {
-            throw new ErrorFatalConfig("No encontrado", path, 0);
+        for (Casilla c : casillas) {
+            if (c instanceof Servicio s) {
+                s.setPrecio((long) (0.75 * (float) abonoSalida));
+            } else if (c instanceof Transporte t) {
+                t.setPrecio(abonoSalida);
+            }
         }
-
-        return new Scanner(recurso);
-    }
-
-    /**
-     * Función de ayuda que ignora líneas en blanco y comentarios
-     */
-    private static boolean ignorarLinea(String linea) {
-        return linea.isBlank() || linea.stripLeading().startsWith("#");
     }
 
     public long getFortunaInicial() {
         return fortunaInicial;
     }
 
-    public ArrayList<CartaComunidad> getCartasComunidad() {
-        return cartasComunidad;
+    public Mazo<CartaComunidad> getMazoComunidad() {
+        return mazoComunidad;
     }
 
-    public ArrayList<CartaSuerte> getCartasSuerte() {
-        return cartasSuerte;
+    public Mazo<CartaSuerte> getMazoSuerte() {
+        return mazoSuerte;
     }
 
     public ArrayList<Casilla> getCasillas() {
@@ -178,204 +130,55 @@ public class Lector {
         return grupos;
     }
 
-    public Grupo getServicios() {
-        return servicios;
-    }
-
-    public Grupo getTransportes() {
-        return transportes;
-    }
-
-    public String getMsgAyuda() throws ErrorFatalConfig {
-        try (Scanner scanner = abrirArchivo(JuegoConsts.CONFIG_AYUDA)) {
-            scanner.useDelimiter("\\A");
-            return scanner.next();
-        }
-    }
-
     /**
-     * Lee el archivo de configuración de cartas del archivo de
-     * configuración especificado en <code>JuegoConsts.CONFIG_CARTAS</code>.
-     *
-     * @throws ErrorFatalConfig Si no se encuentra el archivo o si el
-     *                          formato no es correcto.
+     * Mensaje del comando <code>ayuda</code>, compartido por todas las partidas
      */
-    public void leerCartas(Juego juego) throws ErrorFatalConfig {
-        try (Scanner scanner = abrirArchivo(JuegoConsts.CONFIG_CARTAS)) {
-            for (int nLinea = 0; scanner.hasNextLine(); nLinea++) {
-                String linea = scanner.nextLine().strip();
-
-                // Se ignoran los comentarios y líneas en blanco
-                if (ignorarLinea(linea)) {
-                    continue;
-                }
-
-                // Se limpia la línea y se separa en campos
-                String[] campos = linea.strip().replaceAll(" *: *", ":").replaceAll("  +", " ").split(":");
-
-                if (campos.length != 3) {
-                    scanner.close();
-                    throw new ErrorFatalConfig("Número de campos incorrecto", JuegoConsts.CONFIG_CARTAS, nLinea);
-                }
-
-                try {
-                    switch (campos[0]) {
-                        case "C" ->
-                                cartasComunidad.add(new CartaComunidad(Integer.parseInt(campos[1]), campos[2], juego));
-                        case "S" -> cartasSuerte.add(new CartaSuerte(Integer.parseInt(campos[1]), campos[2], juego));
-                        default -> {
-                            scanner.close();
-                            throw new ErrorFatalConfig("\"%s\": tipo de carta desconocido".formatted(campos[0]), JuegoConsts.CONFIG_CARTAS, nLinea);
-                        }
-                    }
-                } catch (NumberFormatException e) {
-                    throw new ErrorFatalConfig("Número no válido: " + e, JuegoConsts.CONFIG_CASILLAS, nLinea);
-                }
-            } // for
-        } // try
-    } // método
-
-    /**
-     * Lee el archivo de configuración de Casillas del archivo de
-     * configuración especificado en <code>JuegoConsts.CONFIG_CASILLAS</code>.
-     *
-     * @throws ErrorFatalConfig Si no se encuentra el archivo o si el
-     *                          formato no es correcto.
-     */
-    private void leerCasillas(Banca banca) throws ErrorFatalConfig, ErrorFatalLogico {
-        // https://docs.oracle.com/javase/tutorial/essential/exceptions/tryResourceClose.html
-        try (Scanner scanner = abrirArchivo(JuegoConsts.CONFIG_CASILLAS)) {
-            for (int nLinea = 1; scanner.hasNextLine(); nLinea++) {
-                String linea = scanner.nextLine();
-
-                // Se ignoran los comentarios y líneas en blanco
-                if (ignorarLinea(linea)) {
-                    continue;
-                }
-
-                // Se quitan los espacios y se separa por las comas
-                String[] campos = linea.strip().replaceAll(" +", "").split(",");
-
-                // Casillas especiales, acción e impuestos
-                if (campos.length == 1) {
-                    declaracionEspecial(campos, nLinea, banca);
-                    continue;
-                }
-
-                if (campos[0].startsWith("grupo:") || campos[0].startsWith("Grupo:")) {
-                    declaracionGrupo(campos, nLinea);
-                    continue;
-                }
-
-                declaracionPropiedad(campos, banca, nLinea);
-            }
+    public String getMsgAyuda() {
+        return msgAyuda;
+    }
 
-            // Añadir los grupos de transportes y servicios al final si existen
-            if (transportes != null) {
-                grupos.add(transportes);
-            }
-            if (servicios != null) {
-                grupos.add(servicios);
-            }
+    private void crearCartas(DefinicionTablero definicion, Juego juego) {
+        for (DefCarta c : definicion.getCartasComunidad()) {
+            cartasComunidad.add(new CartaComunidad(c.id(), c.descripcion(), juego));
         }
-    }
 
-    private void declaracionEspecial(String[] campos, int nLinea, Banca banca) throws ErrorFatalConfig {
-        switch (campos[0]) {
-            case "Salida", "salida" -> {
-                salida = new CasillaSalida(casillas.size());
-                casillas.add(salida);
-            }
-            case "Carcel", "carcel", "Cárcel", "cárcel" -> {
-                carcel = new CasillaCarcel(casillas.size());
-                casillas.add(carcel);
-            }
-            case "IrCarcel", "irCarcel", "IrCárcel", "irCárcel" -> {
-                irCarcel = new CasillaIrCarcel(casillas.size());
-                casillas.add(irCarcel);
-            }
-            case "Parking", "parking" -> {
-                parking = new CasillaParking(casillas.size(), banca);
-                casillas.add(parking);
-            }
-            case "Impuestos", "Impuesto", "impuestos", "impuesto" -> {
-                CasillaImpuesto i = new CasillaImpuesto(casillas.size(), banca);
-                impuestos.add(i);
-                casillas.add(i);
-            }
-            case "Suerte", "suerte" -> casillas.add(new CasillaSuerte(casillas.size(), cartasSuerte));
-            case "Comunidad", "comunidad" -> casillas.add(new CasillaComunidad(casillas.size(), cartasComunidad));
-            default ->
-                    throw new ErrorFatalConfig("Casilla especial, acción o impuestos desconocida: " + campos[0], JuegoConsts.CONFIG_CASILLAS, nLinea);
+        for (DefCarta c : definicion.getCartasSuerte()) {
+            cartasSuerte.add(new CartaSuerte(c.id(), c.descripcion(), juego));
         }
     }
 
-    private void declaracionGrupo(String[] campos, int nLinea) throws ErrorFatalConfig {
-        try {
-            if (campos.length != 2) {
-                throw new ErrorFatalConfig(
-                        "Declaración de grupo incorrecta: se esperaban 3 parámetros, se recibieron %s".formatted(campos.length),
-                        JuegoConsts.CONFIG_CASILLAS,
-                        nLinea);
-            }
-
-            // Declaración de un Grupo: "grupo: Nombre, codColor"
-            // Se quita la etiqueta del grupo, son 6 caracteres
-            String nombre = campos[0].substring(6);
-            int codigoColor = Integer.parseInt(campos[1]);
-
-            switch (nombre) {
-                case "Transporte", "transporte", "Transportes", "transportes" ->
-                        transportes = new Grupo(grupos.size(), nombre, codigoColor);
-                case "Servicio", "servicio", "Servicios", "servicios" ->
-                        servicios = new Grupo(grupos.size(), nombre, codigoColor);
-                default -> grupos.add(new Grupo(grupos.size(), nombre, codigoColor));
-            }
-        } catch (NumberFormatException e) {
-            throw new ErrorFatalConfig("Número no válido: " + e, JuegoConsts.CONFIG_CASILLAS, nLinea);
+    private void crearGrupos(DefinicionTablero definicion) {
+        for (DefGrupo g : definicion.getGrupos()) {
+            grupos.add(new Grupo(g.numero(), g.nombre(), g.codigoColor(), consola));
         }
     }
 
-    private void declaracionPropiedad(String[] campos, Banca banca, int nLinea) throws ErrorFatalConfig, ErrorFatalLogico {
-        // Declaración de un Transporte o Servicio: "Nombre, Grupo"
-        switch (campos[1]) {
-            case "T", "Transporte", "transporte", "Transportes", "transportes" -> {
-                if (transportes == null) {
-                    throw new ErrorFatalConfig("Transporte sin primero declarar un grupo de transportes", JuegoConsts.CONFIG_CASILLAS, nLinea);
-                }
+    private void crearCasillas(DefinicionTablero definicion, Banca banca) throws ErrorFatalLogico {
+        for (DefCasilla def : definicion.getCasillas()) {
+            int pos = casillas.size();
 
-                Propiedad p = new Transporte(casillas.size(), transportes, campos[0], banca);
-                transportes.anadirPropiedad(p);
-                casillas.add(p);
-                return;
-            }
-            case "S", "Servicio", "servicio", "Servicios", "servicios" -> {
-                if (servicios == null) {
-                    throw new ErrorFatalConfig("Servicio sin primero declarar un grupo de servicios", JuegoConsts.CONFIG_CASILLAS, nLinea);
+            Casilla c = switch (def.tipo()) {
+                case Salida -> salida = new CasillaSalida(pos, consola);
+                case Carcel -> carcel = new CasillaCarcel(pos, consola);
+                case IrCarcel -> irCarcel = new CasillaIrCarcel(pos, consola);
+                case Parking -> parking = new CasillaParking(pos, banca, consola);
+                case Impuesto -> {
+                    CasillaImpuesto i = new CasillaImpuesto(pos, banca, consola);
+                    impuestos.add(i);
+                    yield i;
                 }
-
-                Propiedad p = new Servicio(casillas.size(), servicios, campos[0], banca);
-                servicios.anadirPropiedad(p);
-                casillas.add(p);
-                return;
-            }
-        }
-
-        // Declaración de un Solar: "Nombre, numGrupo"
-        try {
-            int nGrupo = Integer.parseInt(campos[1]) - 1;
-
-            if (nGrupo > grupos.size()) {
-                throw new ErrorFatalConfig("Número de grupo demasiado grande", JuegoConsts.CONFIG_CASILLAS, nLinea);
+                case Suerte -> new CasillaSuerte(pos, mazoSuerte, consola);
+                case Comunidad -> new CasillaComunidad(pos, mazoComunidad, consola);
+                case Solar -> new Solar(pos, grupos.get(def.grupo()), def.nombre(), banca, consola);
+                case Transporte -> new Transporte(pos, grupos.get(def.grupo()), def.nombre(), banca, consola);
+                case Servicio -> new Servicio(pos, grupos.get(def.grupo()), def.nombre(), banca, consola);
+            };
+
+            if (c instanceof Propiedad p) {
+                p.getGrupo().anadirPropiedad(p);
             }
 
-            Propiedad p = new Solar(casillas.size(), grupos.get(nGrupo), campos[0], banca);
-            casillas.add(p);
-            grupos.get(nGrupo).anadirPropiedad(p);
-            nSolares++;
-            sumaPrecioSolares += p.getPrecio();
-        } catch (NumberFormatException e) {
-            throw new ErrorFatalConfig("Número no válido: " + e, JuegoConsts.CONFIG_CASILLAS, nLinea);
+            casillas.add(c);
         }
     }
 }
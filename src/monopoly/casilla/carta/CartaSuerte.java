@@ -1,11 +1,10 @@
 package monopoly.casilla.carta;
 
 import monopoly.Juego;
-import monopoly.casilla.edificio.Edificio;
+import monopoly.casilla.edificio.TipoEdificio;
 import monopoly.casilla.propiedad.Propiedad;
 import monopoly.casilla.propiedad.Solar;
 import monopoly.error.ErrorFatal;
-import monopoly.error.ErrorFatalLogico;
 import monopoly.jugador.Jugador;
 
 /**
@@ -38,21 +37,18 @@ public final class CartaSuerte extends Carta {
             case 12 -> cantidad = -150_000L;
             case 8 -> {
                 for (Propiedad p : jugadorTurno.getPropiedades()) {
-                    if (p instanceof Solar) {
-                        for (Edificio e : ((Solar) p).getEdificios()) {
-                            cantidad -= switch (e.getClass().getSimpleName()) {
-                                case "Casa" -> 4_000_000L;
-                                case "Hotel" -> 1_500_000L;
-                                case "Piscina" -> 200_000L;
-                                case "PistaDeporte" -> 750_000L;
-                                default -> throw new ErrorFatalLogico("Tipo de edificio no soportado");
-                            };
-                        }
+                    if (p instanceof Solar solar) {
+                        // @formatter:off
+                        cantidad -= solar.contarEdificios(TipoEdificio.Casa)         * 4_000_000L
+                                  + solar.contarEdificios(TipoEdificio.Hotel)        * 1_500_000L
+                                  + solar.contarEdificios(TipoEdificio.Piscina)      *   200_000L
+                                  + solar.contarEdificios(TipoEdificio.PistaDeporte) *   750_000L;
+                        // @formatter:on
                     }
                 }
 
                 if (cantidad == 0) {
-                    Juego.consola.imprimir("El jugador no tiene edificios, por lo que no tiene que pagar nada.\n");
+                    juego.getConsola().imprimir("El jugador no tiene edificios, por lo que no tiene que pagar nada.\n");
                     return;
                 }
             }
@@ -1,18 +1,16 @@
 package monopoly.casilla.carta;
 
-import monopoly.Juego;
 import monopoly.error.ErrorFatal;
 import monopoly.jugador.Jugador;
+import monopoly.utils.Consola;
 import monopoly.utils.Dado;
 
-import java.util.ArrayList;
-
 public class CasillaComunidad extends CasillaAccion {
-    private final ArrayList<CartaComunidad> cartas;
+    private final Mazo<CartaComunidad> mazo;
 
-    public CasillaComunidad(int posicion, ArrayList<CartaComunidad> cartas) {
-        super(posicion);
-        this.cartas = cartas;
+    public CasillaComunidad(int posicion, Mazo<CartaComunidad> mazo, Consola consola) {
+        super(posicion, consola);
+        this.mazo = mazo;
     }
 
     @Override
@@ -25,9 +23,8 @@ public class CasillaComunidad extends CasillaAccion {
 
     @Override
     public void accion(Jugador jugadorTurno, Dado dado) throws ErrorFatal {
-        barajar(cartas);
-        CartaComunidad carta = cartas.get(preguntarEleccion(jugadorTurno, cartas.size()));
-        Juego.consola.imprimir(carta.toString());
+        CartaComunidad carta = mazo.sacar(jugadorTurno);
+        getConsola().imprimir(carta::toString);
         carta.accionCarta();
     }
 
@@ -1,17 +1,17 @@
 package monopoly.casilla.carta;
 
-import monopoly.Juego;
 import monopoly.error.ErrorComandoFortuna;
 import monopoly.error.ErrorFatalLogico;
 import monopoly.jugador.Banca;
 import monopoly.jugador.Jugador;
+import monopoly.utils.Consola;
 import monopoly.utils.Dado;
 
 public class CasillaParking extends CasillaAccion {
     private final Banca banca;
 
-    public CasillaParking(int posicion, Banca banca) {
-        super(posicion);
+    public CasillaParking(int posicion, Banca banca, Consola consola) {
+        super(posicion, consola);
         this.banca = banca;
     }
 
@@ -22,7 +22,7 @@ public class CasillaParking extends CasillaAccion {
                     nombre: %s
                     bote: %s
                 }
-                """.formatted(getNombreFmt(), Juego.consola.num(banca.getFortuna()));
+                """.formatted(getNombreFmt(), getConsola().num(banca.getFortuna()));
     }
 
     @Override
@@ -30,7 +30,7 @@ public class CasillaParking extends CasillaAccion {
         long bote = banca.getFortuna();
 
         if (bote == 0) {
-            Juego.consola.imprimir("El bote está vacío, por tanto el jugador no recibe nada\n");
+            getConsola().imprimir("El bote está vacío, por tanto el jugador no recibe nada\n");
             return;
         }
 
@@ -38,7 +38,7 @@ public class CasillaParking extends CasillaAccion {
         jugadorTurno.getEstadisticas().anadirPremio(bote);
         banca.cobrar(bote);
 
-        Juego.consola.imprimir("El jugador recibe el bote de la banca: %s\n".formatted(Juego.consola.num(bote)));
+        getConsola().imprimir(() -> "El jugador recibe el bote de la banca: %s\n".formatted(getConsola().num(bote)));
     }
 
     @Override
@@ -1,18 +1,16 @@
 package monopoly.casilla.carta;
 
-import monopoly.Juego;
 import monopoly.error.ErrorFatal;
 import monopoly.jugador.Jugador;
+import monopoly.utils.Consola;
 import monopoly.utils.Dado;
 
-import java.util.ArrayList;
-
 public class CasillaSuerte extends CasillaAccion {
-    private final ArrayList<CartaSuerte> cartas;
+    private final Mazo<CartaSuerte> mazo;
 
-    public CasillaSuerte(int posicion, ArrayList<CartaSuerte> cartas) {
-        super(posicion);
-        this.cartas = cartas;
+    public CasillaSuerte(int posicion, Mazo<CartaSuerte> mazo, Consola consola) {
+        super(posicion, consola);
+        this.mazo = mazo;
     }
 
     @Override
@@ -25,9 +23,8 @@ public class CasillaSuerte extends CasillaAccion {
 
     @Override
     public void accion(Jugador jugadorTurno, Dado dado) throws ErrorFatal {
-        barajar(cartas);
-        CartaSuerte carta = cartas.get(preguntarEleccion(jugadorTurno, cartas.size()));
-        Juego.consola.imprimir(carta.toString());
+        CartaSuerte carta = mazo.sacar(jugadorTurno);
+        getConsola().imprimir(carta::toString);
         carta.accionCarta();
     }
 
@@ -0,0 +1,48 @@
+package monopoly.casilla.carta;
+
+import monopoly.jugador.Jugador;
+
+import java.util.Arrays;
+
+/**
+ * Baraja el mazo cada vez y elige las cartas de una lista fija, como si
+ * el jugador respondiese siempre lo mismo, sin preguntar por consola.
+ * <p>
+ * Sirve para repetir una partida con las mismas elecciones sin tener que
+ * escribirlas. Al terminar la lista, se vuelve a empezar por el principio;
+ * la lista es común a los dos mazos.
+ */
+public class EleccionGuion implements PoliticaCartas {
+    private final int[] elecciones;
+    private int siguiente;
+
+    /**
+     * @param elecciones Posiciones de las cartas a elegir, empezando en 1
+     *                   (lo mismo que respondería el jugador).
+     * @throws IllegalArgumentException Si la lista está vacía o alguna posición es menor que 1.
+     */
+    public EleccionGuion(int... elecciones) {
+        if (elecciones.length == 0 || Arrays.stream(elecciones).anyMatch(e -> e < 1)) {
+            throw new IllegalArgumentException("Las elecciones deben ser números mayores que 0");
+        }
+
+        this.elecciones = elecciones.clone();
+        this.siguiente = 0;
+    }
+
+    /**
+     * @throws IllegalStateException Si la elección es mayor que el número de cartas del mazo
+     */
+    @Override
+    public <T extends Carta> T sacar(Mazo<T> mazo, Jugador jugador) {
+        int eleccion = elecciones[siguiente];
+        siguiente = (siguiente + 1) % elecciones.length;
+
+        if (eleccion > mazo.size()) {
+            throw new IllegalStateException("Carta %d elegida, pero el mazo solo tiene %d".formatted(eleccion, mazo.size()));
+        }
+
+        mazo.barajar();
+        return mazo.get(eleccion - 1);
+    }
+}
@@ -0,0 +1,45 @@
+package monopoly.casilla.carta;
+
+import monopoly.jugador.Jugador;
+import monopoly.utils.Consola;
+
+/**
+ * Baraja el mazo cada vez y pregunta al jugador por consola qué carta
+ * quiere, hasta que introduzca un número válido.
+ * <p>
+ * Es la política de las partidas con personas. Al reproducir un diario,
+ * las respuestas salen de las entradas registradas en la consola.
+ */
+public class EleccionInteractiva implements PoliticaCartas {
+    private final Consola consola;
+
+    public EleccionInteractiva(Consola consola) {
+        this.consola = consola;
+    }
+
+    @Override
+    public <T extends Carta> T sacar(Mazo<T> mazo, Jugador jugador) {
+        mazo.barajar();
+        return mazo.get(preguntarEleccion(jugador, mazo.size()));
+    }
+
+    /**
+     * Función de ayuda que pregunta y devuelve una elección de carta al usuario
+     */
+    private int preguntarEleccion(Jugador jugador, int max) {
+        int eleccion = -1;
+
+        while (eleccion <= 0 || eleccion > max) {
+            String respuesta = consola.leer("%s, elige carta (1-%d): ".formatted(jugador.getNombre(), max));
+
+            try {
+                eleccion = Integer.parseInt(respuesta);
+            } catch (NumberFormatException e) {
+                consola.imprimir("Por favor, introduce un número válido\n");
+                eleccion = -1;
+            }
+        }
+
+        return eleccion - 1;
+    }
+}
@@ -0,0 +1,141 @@
+package monopoly.casilla.carta;
+
+import monopoly.jugador.Jugador;
+import monopoly.utils.FuenteDados;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+
+/**
+ * Mazo de cartas de Suerte o de Comunidad, compartido por todas las
+ * casillas de ese tipo.
+ * <p>
+ * Cómo se saca cada carta lo decide su {@link PoliticaCartas}: por defecto
+ * ({@link MazoCircular}) se baraja una sola vez y luego se van sacando en
+ * orden, volviendo a empezar al terminar; pero también se puede preguntar
+ * al jugador ({@link EleccionInteractiva}) o seguir un guion ({@link EleccionGuion}).
+ * <p>
+ * Todas las decisiones aleatorias salen de la {@link FuenteDados} de la
+ * partida, así que con la misma semilla se sacan las mismas cartas.
+ *
+ * @param <T> Tipo de las cartas
+ */
+public class Mazo<T extends Carta> {
+    private final ArrayList<T> cartas;
+    private final FuenteDados dados;
+    private PoliticaCartas politica;
+    private int siguiente; /* Posición de la siguiente carta, o -1 si todavía no se ha barajado */
+
+    public Mazo(ArrayList<T> cartas, FuenteDados dados) {
+        this.cartas = cartas;
+        this.dados = dados;
+        this.politica = new MazoCircular();
+        this.siguiente = -1;
+    }
+
+    /**
+     * Saca una carta según la política del mazo
+     *
+     * @param jugador Jugador que ha caído en la casilla
+     */
+    public T sacar(Jugador jugador) {
+        return politica.sacar(this, jugador);
+    }
+
+    /**
+     * Devuelve la siguiente carta del mazo circular y avanza. La primera
+     * vez (o si se ha barajado desde la anterior) se baraja el mazo.
+     */
+    public T siguienteCarta() {
+        if (siguiente < 0) {
+            barajar();
+            siguiente = 0;
+        }
+
+        T carta = cartas.get(siguiente);
+        siguiente = (siguiente + 1) % cartas.size();
+        return carta;
+    }
+
+    /**
+     * Reordena aleatoriamente las cartas (algoritmo de Fisher-Yates). El
+     * mazo circular vuelve a empezar desde la primera carta.
+     */
+    public void barajar() {
+        for (int i = cartas.size() - 1; i > 0; i--) {
+            Collections.swap(cartas, i, dados.entero(i + 1));
+        }
+
+        siguiente = -1;
+    }
+
+    /**
+     * Devuelve la carta en la posición dada del orden actual
+     */
+    public T get(int posicion) {
+        return cartas.get(posicion);
+    }
+
+    public int size() {
+        return cartas.size();
+    }
+
+    public void setPolitica(PoliticaCartas politica) {
+        this.politica = politica;
+    }
+
+    /**
+     * Escribe el orden actual de las cartas, por su id, y la posición de
+     * la siguiente.
+     * <p>
+     * Como se barajan a partir del orden anterior, hace falta para
+     * que una partida cargada saque las mismas cartas que la original.
+     */
+    public void guardar(DataOutput out) throws IOException {
+        out.writeByte(cartas.size());
+        for (Carta c : cartas) {
+            out.writeInt(c.getId());
+        }
+        out.writeByte(siguiente);
+    }
+
+    /**
+     * Reordena las cartas según lo escrito por {@link #guardar(DataOutput)}
+     */
+    public void cargar(DataInput in) throws IOException {
+        if (in.readUnsignedByte() != cartas.size()) {
+            throw new IOException("El número de cartas no coincide");
+        }
+
+        ArrayList<T> orden = new ArrayList<>(cartas.size());
+        for (int i = 0; i < cartas.size(); i++) {
+            int id = in.readInt();
+            T carta = null;
+
+            for (T c : cartas) {
+                if (c.getId() == id) {
+                    carta = c;
+                    break;
+                }
+            }
+
+            if (carta == null) {
+                throw new IOException("Carta %d desconocida".formatted(id));
+            }
+            orden.add(carta);
+        }
+
+        int posicion = in.readByte();
+        if (posicion < -1 || posicion >= cartas.size()) {
+            throw new IOException("Posición %d del mazo no válida".formatted(posicion));
+        }
+
+        for (int i = 0; i < orden.size(); i++) {
+            cartas.set(i, orden.get(i));
+        }
+        siguiente = posicion;
+    }
+}
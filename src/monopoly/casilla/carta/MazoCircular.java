@@ -0,0 +1,18 @@
+package monopoly.casilla.carta;
+
+import monopoly.jugador.Jugador;
+
+/**
+ * Política por defecto: el mazo se baraja una sola vez, la primera vez
+ * que se saca una carta, y después se van sacando en orden, volviendo a
+ * empezar al llegar al final.
+ * <p>
+ * No pregunta nada al jugador y solo gasta enteros de la fuente de dados
+ * al barajar, en lugar de en cada carta.
+ */
+public class MazoCircular implements PoliticaCartas {
+    @Override
+    public <T extends Carta> T sacar(Mazo<T> mazo, Jugador jugador) {
+        return mazo.siguienteCarta();
+    }
+}
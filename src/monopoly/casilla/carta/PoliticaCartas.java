@@ -0,0 +1,23 @@
+package monopoly.casilla.carta;
+
+import monopoly.jugador.Jugador;
+
+/**
+ * Decide qué carta se saca de un {@link Mazo} cuando un jugador cae en
+ * una casilla de Suerte o de Comunidad.
+ * <p>
+ * Las simulaciones usan {@link MazoCircular}, que no pregunta nada; las
+ * partidas con personas, {@link EleccionInteractiva}.
+ *
+ * @see monopoly.Juego#setPoliticaCartas(PoliticaCartas)
+ */
+public interface PoliticaCartas {
+    /**
+     * Saca una carta del mazo
+     *
+     * @param mazo    Mazo del que se saca la carta
+     * @param jugador Jugador que ha caído en la casilla
+     * @return La carta cuya acción se realiza
+     */
+    <T extends Carta> T sacar(Mazo<T> mazo, Jugador jugador);
+}
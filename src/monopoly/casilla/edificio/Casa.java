@@ -17,15 +17,19 @@ public final class Casa extends Edificio {
         //
         // Si no hay el máximo de edificios, se puede tener hasta 4 casas.
         // Si no, solo hasta maxEdificios.
-        if (grupo.contarEdificios("Hotel") < maxEdificios) {
-            if (solar.contarEdificios("Casa") >= JuegoConsts.N_CASAS_SIN_MAX_HOTELES) {
+        if (grupo.contarEdificios(TipoEdificio.Hotel) < maxEdificios) {
+            if (solar.contarEdificios(TipoEdificio.Casa) >= JuegoConsts.N_CASAS_SIN_MAX_HOTELES) {
                 throw new ErrorComandoEdificio("No se pueden edificar más de %d casas en un solar cuando no hay el máximo de hoteles".formatted(JuegoConsts.N_CASAS_SIN_MAX_HOTELES));
             }
-        } else if (grupo.contarEdificios("Casa") > maxEdificios) {
+        } else if (grupo.contarEdificios(TipoEdificio.Casa) > maxEdificios) {
             throw new ErrorComandoEdificio("No se pueden edificar más de %d casas en un grupo cuando hay el número máximo de hoteles".formatted(maxEdificios));
         }
     }
 
+    Casa(Solar solar, int id) {
+        super(solar, id);
+    }
+
     @Override
     public Casa clonar() throws ErrorComandoEdificio {
         return new Casa(this.getSolar());
@@ -45,6 +49,11 @@ public final class Casa extends Edificio {
         };
     }
 
+    @Override
+    public TipoEdificio getTipo() {
+        return TipoEdificio.Casa;
+    }
+
     @Override
     public long getValor() throws ErrorFatalLogico {
         return getValor(super.getSolar());
@@ -1,6 +1,5 @@
 package monopoly.casilla.edificio;
 
-import monopoly.Juego;
 import monopoly.casilla.propiedad.Solar;
 import monopoly.error.ErrorComando;
 import monopoly.error.ErrorComandoEdificio;
@@ -8,13 +7,12 @@ import monopoly.error.ErrorFatalLogico;
 import monopoly.utils.Listable;
 
 public abstract class Edificio implements Listable {
-    private static int ultimoId = 1;
-
     private final int id;
     private final Solar solar;
+    private String nombreFmt;
 
     public Edificio(Solar solar) throws ErrorComandoEdificio {
-        this.id = ultimoId++;
+        this.id = solar.siguienteIdEdificio();
 
         if (solar.isHipotecada()) {
             throw new ErrorComandoEdificio("No se puede edificar sobre un Solar hipotecado");
@@ -23,6 +21,17 @@ public abstract class Edificio implements Listable {
         this.solar = solar;
     }
 
+    /**
+     * Restaura un edificio de una partida guardada, con su mismo id y sin
+     * comprobar las reglas de edificación.
+     *
+     * @see TipoEdificio#crear(Solar, int)
+     */
+    protected Edificio(Solar solar, int id) {
+        this.id = id;
+        this.solar = solar;
+    }
+
     @Override
     public String listar() {
         try {
@@ -40,7 +49,7 @@ public abstract class Edificio implements Listable {
                            getSolar().getPropietario().getNombre(),
                            getSolar().getNombreFmt(),
                            getSolar().getGrupo().getNombreFmt(),
-                           Juego.consola.num(getValor()));
+                           solar.getConsola().num(getValor()));
             // @formatter:on
         } catch (ErrorFatalLogico e) {
             throw new RuntimeException(e);
@@ -65,7 +74,7 @@ public abstract class Edificio implements Listable {
                     """.formatted(getId(),
                         solar.getPropietario(),
                         solar.getNombre(),
-                        Juego.consola.num(getValor()));
+                        solar.getConsola().num(getValor()));
             // @formatter:on
         } catch (ErrorFatalLogico e) {
             // No se puede lanzar otro tipo de excepción,
@@ -84,9 +93,19 @@ public abstract class Edificio implements Listable {
     }
 
     public String getNombreFmt() {
-        return Juego.consola.fmt("%s-%s".formatted(this.getClass().getSimpleName(), id), solar.getGrupo().getCodigoColor());
+        // El id y el solar no cambian, así que basta con formatearlo una vez
+        if (nombreFmt == null) {
+            nombreFmt = solar.getConsola().fmt("%s-%s".formatted(this.getClass().getSimpleName(), id), solar.getGrupo().getCodigoColor());
+        }
+
+        return nombreFmt;
     }
 
+    /**
+     * Tipo del edificio, para contarlos sin comparar clases
+     */
+    public abstract TipoEdificio getTipo();
+
     public abstract long getValor() throws ErrorFatalLogico;
 
     public abstract long getAlquiler() throws ErrorFatalLogico;
@@ -15,18 +15,20 @@ public final class Hotel extends Edificio {
         final int maxEdificios = grupo.getNumeroPropiedades();
 
         // Comprobación del requisito de edificación
-        if (grupo.contarEdificios("Hotel") > maxEdificios) {
+        if (grupo.contarEdificios(TipoEdificio.Hotel) > maxEdificios) {
             throw new ErrorComandoEdificio("No se pueden edificar más de %d hotel(es) en este grupo".formatted(maxEdificios));
         }
 
-        if (solar.contarEdificios("Casa") < JuegoConsts.N_CASAS_PARA_HOTEL) {
+        if (solar.contarEdificios(TipoEdificio.Casa) < JuegoConsts.N_CASAS_PARA_HOTEL) {
             throw new ErrorComandoEdificio("Se necesitan %d casa(s) en el solar para edificar un hotel".formatted(JuegoConsts.N_CASAS_PARA_HOTEL));
         }
 
         // Quitar las 4 casas
-        for (int ii = 0; ii < JuegoConsts.N_CASAS_PARA_HOTEL; ii++) {
-            solar.demoler("Casa");
-        }
+        solar.demoler(TipoEdificio.Casa, JuegoConsts.N_CASAS_PARA_HOTEL);
+    }
+
+    Hotel(Solar solar, int id) {
+        super(solar, id);
     }
 
     @Override
@@ -42,6 +44,11 @@ public final class Hotel extends Edificio {
         return 70 * solar.getAlquilerBase();
     }
 
+    @Override
+    public TipoEdificio getTipo() {
+        return TipoEdificio.Hotel;
+    }
+
     @Override
     public long getValor() throws ErrorFatalLogico {
         return getValor(super.getSolar());
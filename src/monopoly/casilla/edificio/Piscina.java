@@ -14,15 +14,19 @@ public final class Piscina extends Edificio {
         final int maxEdificios = grupo.getNumeroPropiedades();
 
         // Comprobación del requisito de edificación
-        if (grupo.contarEdificios("Piscina") > maxEdificios) {
+        if (grupo.contarEdificios(TipoEdificio.Piscina) > maxEdificios) {
             throw new ErrorComandoEdificio("No se pueden edificar más de %d piscina(s) en este grupo".formatted(maxEdificios));
         }
 
-        if (grupo.contarEdificios("Hotel") < JuegoConsts.N_HOTELES_PARA_PISCINA || grupo.contarEdificios("Casa") < JuegoConsts.N_CASAS_PARA_PISCINA) {
+        if (grupo.contarEdificios(TipoEdificio.Hotel) < JuegoConsts.N_HOTELES_PARA_PISCINA || grupo.contarEdificios(TipoEdificio.Casa) < JuegoConsts.N_CASAS_PARA_PISCINA) {
             throw new ErrorComandoEdificio("Se necesita %d hotel(es) y %d casa(s) en el grupo para edificar una piscina".formatted(JuegoConsts.N_HOTELES_PARA_PISCINA, JuegoConsts.N_CASAS_PARA_PISCINA));
         }
     }
 
+    Piscina(Solar solar, int id) {
+        super(solar, id);
+    }
+
     @Override
     public Piscina clonar() throws ErrorComandoEdificio {
         return new Piscina(this.getSolar());
@@ -36,6 +40,11 @@ public final class Piscina extends Edificio {
         return 25 * solar.getAlquilerBase();
     }
 
+    @Override
+    public TipoEdificio getTipo() {
+        return TipoEdificio.Piscina;
+    }
+
     @Override
     public long getValor() throws ErrorFatalLogico {
         return getValor(super.getSolar());
@@ -14,15 +14,19 @@ public final class PistaDeporte extends Edificio {
         final int maxEdificios = grupo.getNumeroPropiedades();
 
         // Comprobación del requisito de edificación
-        if (grupo.contarEdificios("PistaDeporte") >= maxEdificios) {
+        if (grupo.contarEdificios(TipoEdificio.PistaDeporte) >= maxEdificios) {
             throw new ErrorComandoEdificio("No se pueden edificar más de %d pista(s) de deporte en este grupo".formatted(maxEdificios));
         }
 
-        if (grupo.contarEdificios("Hotel") < JuegoConsts.N_HOTELES_PARA_PISTA) {
+        if (grupo.contarEdificios(TipoEdificio.Hotel) < JuegoConsts.N_HOTELES_PARA_PISTA) {
             throw new ErrorComandoEdificio("Se necesitan %d hotel(es) en el grupo para construir una pista de deporte".formatted(JuegoConsts.N_HOTELES_PARA_PISTA));
         }
     }
 
+    PistaDeporte(Solar solar, int id) {
+        super(solar, id);
+    }
+
     @Override
     public PistaDeporte clonar() throws ErrorComandoEdificio {
         return new PistaDeporte(this.getSolar());
@@ -36,6 +40,11 @@ public final class PistaDeporte extends Edificio {
         return 25 * solar.getAlquilerBase();
     }
 
+    @Override
+    public TipoEdificio getTipo() {
+        return TipoEdificio.PistaDeporte;
+    }
+
     @Override
     public long getValor() throws ErrorFatalLogico {
         return getValor(super.getSolar());
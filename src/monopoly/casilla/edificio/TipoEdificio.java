@@ -0,0 +1,39 @@
+package monopoly.casilla.edificio;
+
+import monopoly.casilla.propiedad.Solar;
+
+/**
+ * Tipos de edificio que se pueden construir en un solar.
+ * <p>
+ * Los nombres coinciden con los de las clases correspondientes,
+ * que son los que se muestran al usuario.
+ *
+ * @see Edificio#getTipo()
+ */
+public enum TipoEdificio {
+    Casa, Hotel, Piscina, PistaDeporte;
+
+    /**
+     * Valor de un edificio de este tipo en el solar dado
+     */
+    public long getValor(Solar solar) {
+        return switch (this) {
+            case Casa -> monopoly.casilla.edificio.Casa.getValor(solar);
+            case Hotel -> monopoly.casilla.edificio.Hotel.getValor(solar);
+            case Piscina -> monopoly.casilla.edificio.Piscina.getValor(solar);
+            case PistaDeporte -> monopoly.casilla.edificio.PistaDeporte.getValor(solar);
+        };
+    }
+
+    /**
+     * Restaura un edificio de este tipo de una partida guardada
+     */
+    public Edificio crear(Solar solar, int id) {
+        return switch (this) {
+            case Casa -> new monopoly.casilla.edificio.Casa(solar, id);
+            case Hotel -> new monopoly.casilla.edificio.Hotel(solar, id);
+            case Piscina -> new monopoly.casilla.edificio.Piscina(solar, id);
+            case PistaDeporte -> new monopoly.casilla.edificio.PistaDeporte(solar, id);
+        };
+    }
+}
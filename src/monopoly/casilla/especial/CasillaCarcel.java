@@ -1,15 +1,15 @@
 package monopoly.casilla.especial;
 
-import monopoly.Juego;
 import monopoly.error.ErrorFatal;
 import monopoly.jugador.Jugador;
+import monopoly.utils.Consola;
 import monopoly.utils.Dado;
 
 public class CasillaCarcel extends CasillaEspecial {
     private long fianza;
 
-    public CasillaCarcel(int posicion) {
-        super(posicion);
+    public CasillaCarcel(int posicion, Consola consola) {
+        super(posicion, consola);
         fianza = -1;
     }
 
@@ -28,7 +28,7 @@ public class CasillaCarcel extends CasillaEspecial {
                     nombre: %s
                     fianza: %s
                 }
-                """.formatted(getNombreFmt(), Juego.consola.num(fianza));
+                """.formatted(getNombreFmt(), getConsola().num(fianza));
     }
 
     @Override
@@ -37,7 +37,7 @@ public class CasillaCarcel extends CasillaEspecial {
             throw new ErrorFatal("No se ha asignado una fianza a la cárcel");
         }
 
-        Juego.consola.imprimir("El avatar se coloca en la Cárcel. Solo está de visita.\n");
+        getConsola().imprimir("El avatar se coloca en la Cárcel. Solo está de visita.\n");
     }
 
     @Override
@@ -5,8 +5,8 @@ import monopoly.casilla.Casilla;
 import monopoly.utils.Consola;
 
 public abstract class CasillaEspecial extends Casilla {
-    public CasillaEspecial(int posicion) {
-        super(posicion);
+    public CasillaEspecial(int posicion, Consola consola) {
+        super(posicion, consola);
     }
 
     @Override
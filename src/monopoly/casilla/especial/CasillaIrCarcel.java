@@ -2,13 +2,14 @@ package monopoly.casilla.especial;
 
 import monopoly.error.ErrorFatal;
 import monopoly.jugador.Jugador;
+import monopoly.utils.Consola;
 import monopoly.utils.Dado;
 
 public class CasillaIrCarcel extends CasillaEspecial {
     private CasillaCarcel carcel;
 
-    public CasillaIrCarcel(int posicion) {
-        super(posicion);
+    public CasillaIrCarcel(int posicion, Consola consola) {
+        super(posicion, consola);
         carcel = null;
     }
 
@@ -1,15 +1,15 @@
 package monopoly.casilla.especial;
 
-import monopoly.Juego;
 import monopoly.error.ErrorFatal;
 import monopoly.jugador.Jugador;
+import monopoly.utils.Consola;
 import monopoly.utils.Dado;
 
 public class CasillaSalida extends CasillaEspecial {
     private long abonoSalida;
 
-    public CasillaSalida(int posicion) {
-        super(posicion);
+    public CasillaSalida(int posicion, Consola consola) {
+        super(posicion, consola);
         abonoSalida = -1;
     }
 
@@ -35,7 +35,7 @@ public class CasillaSalida extends CasillaEspecial {
         return """
                 Salida: Casilla de inicio del juego.
                 Cada vez que un jugador pase por esta casilla recibirá %s.
-                """.formatted(Juego.consola.num(abonoSalida));
+                """.formatted(getConsola().num(abonoSalida));
     }
 
     @Override
@@ -1,14 +1,15 @@
 package monopoly.casilla.propiedad;
 
-import monopoly.Juego;
 import monopoly.casilla.Casilla;
 import monopoly.casilla.edificio.*;
 import monopoly.error.ErrorFatalLogico;
 import monopoly.jugador.Banca;
 import monopoly.jugador.Jugador;
 import monopoly.utils.Buscar;
+import monopoly.utils.Consola;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 
 /**
  * Representa un grupo lógico de casillas.
@@ -30,12 +31,25 @@ public class Grupo implements Buscar {
     private final String nombre;
     private final int codigoColor;
     private final ArrayList<Propiedad> propiedades;
-
-    public Grupo(int numero, String nombre, int codigoColor) {
+    private final Consola consola;
+    private final int[] nEdificios; /* Total de edificios de cada tipo en los solares del grupo */
+    private long alquilerTotalCobrado; /* Suma de lo cobrado en todas sus propiedades */
+    // @formatter:off
+    private final IdentityHashMap<Jugador, Integer> nPropiedadesJugador; /* Propiedades del grupo de cada dueño */
+    private Jugador duenoMonopolio; /* Dueño de todas las propiedades, o null si no lo hay */
+    // @formatter:on
+    private String nombreFmt;
+
+    public Grupo(int numero, String nombre, int codigoColor, Consola consola) {
         this.numero = numero;
         this.nombre = nombre;
         this.codigoColor = codigoColor;
+        this.consola = consola;
         this.propiedades = new ArrayList<>(3);
+        this.nEdificios = new int[TipoEdificio.values().length];
+        this.nPropiedadesJugador = new IdentityHashMap<>();
+        this.duenoMonopolio = null;
+        this.alquilerTotalCobrado = 0;
     }
 
     @Override
@@ -46,7 +60,7 @@ public class Grupo implements Buscar {
                     número: %d
                     casillas: %s
                 }
-                """.formatted(Juego.consola.fmt(nombre, codigoColor), numero, Juego.consola.listar(propiedades, Propiedad::getNombre));
+                """.formatted(getNombreFmt(), numero, consola.listar(propiedades, Propiedad::getNombre));
     }
 
     public void listarEdificios() throws ErrorFatalLogico {
@@ -54,7 +68,7 @@ public class Grupo implements Buscar {
             if (p instanceof Solar) {
                 ArrayList<Edificio> edificios = ((Solar) p).getEdificios();
 
-                Juego.consola.imprimir("""
+                consola.imprimir("""
                         {
                             propiedad: %s
                             casas: %s
@@ -64,11 +78,11 @@ public class Grupo implements Buscar {
                             alquiler: %s
                         }
                         """.formatted(p.getNombre(),
-                        Juego.consola.listar(edificios, (e) -> e instanceof Casa ? e.getNombreFmt() : null),
-                        Juego.consola.listar(edificios, (e) -> e instanceof Hotel ? e.getNombreFmt() : null),
-                        Juego.consola.listar(edificios, (e) -> e instanceof Piscina ? e.getNombreFmt() : null),
-                        Juego.consola.listar(edificios, (e) -> e instanceof PistaDeporte ? e.getNombreFmt() : null),
-                        Juego.consola.num(p.getAlquiler())));
+                        consola.listar(edificios, (e) -> e instanceof Casa ? e.getNombreFmt() : null),
+                        consola.listar(edificios, (e) -> e instanceof Hotel ? e.getNombreFmt() : null),
+                        consola.listar(edificios, (e) -> e instanceof Piscina ? e.getNombreFmt() : null),
+                        consola.listar(edificios, (e) -> e instanceof PistaDeporte ? e.getNombreFmt() : null),
+                        consola.num(p.getAlquiler())));
             } else {
                 // En caso de un grupo de transportes o servicios
                 return;
@@ -78,36 +92,39 @@ public class Grupo implements Buscar {
         // Mostrar cuantos edificios más se pueden construir
         // @formatter:off
         int nPropiedades = getNumeroPropiedades();
-        int nHoteles  = nPropiedades - contarEdificios("Hotel");
-        int nPiscinas = nPropiedades - contarEdificios("Piscina");
-        int nPistas   = nPropiedades - contarEdificios("PistaDeporte");
-        int nCasas    = (nHoteles == 0? nPropiedades : 4) - contarEdificios("Casa");
+        int nHoteles  = nPropiedades - contarEdificios(TipoEdificio.Hotel);
+        int nPiscinas = nPropiedades - contarEdificios(TipoEdificio.Piscina);
+        int nPistas   = nPropiedades - contarEdificios(TipoEdificio.PistaDeporte);
+        int nCasas    = (nHoteles == 0? nPropiedades : 4) - contarEdificios(TipoEdificio.Casa);
         // @formatter:on
 
         if (nCasas == 0 && nHoteles == 0 && nPiscinas == 0 && nPistas == 0) {
-            Juego.consola.imprimir("\nYa no se pueden construir más edificios en %s\n".formatted(nombre));
+            consola.imprimir("\nYa no se pueden construir más edificios en %s\n".formatted(nombre));
             return;
         }
 
         // @formatter:off
-        Juego.consola.imprimir("\nAún se pueden edificar:\n");
-        if (nCasas != 0)    Juego.consola.imprimir("  - %d casa(s)\n".formatted(nCasas));
-        if (nHoteles != 0)  Juego.consola.imprimir("  - %d hotel(es)\n".formatted(nHoteles));
-        if (nPiscinas != 0) Juego.consola.imprimir("  - %d piscina(s)\n".formatted(nPiscinas));
-        if (nPistas != 0)   Juego.consola.imprimir("  - %d pistas(s) de deporte\n".formatted(nPistas));
+        consola.imprimir("\nAún se pueden edificar:\n");
+        if (nCasas != 0)    consola.imprimir("  - %d casa(s)\n".formatted(nCasas));
+        if (nHoteles != 0)  consola.imprimir("  - %d hotel(es)\n".formatted(nHoteles));
+        if (nPiscinas != 0) consola.imprimir("  - %d piscina(s)\n".formatted(nPiscinas));
+        if (nPistas != 0)   consola.imprimir("  - %d pistas(s) de deporte\n".formatted(nPistas));
         // @formatter:on
     }
 
-    public int contarEdificios(String tipo) {
-        int numero = 0;
-
-        for (Propiedad p : propiedades) {
-            if (p instanceof Solar) {
-                numero += ((Solar) p).contarEdificios(tipo);
-            }
-        }
+    /**
+     * Número de edificios del tipo dado en todos los solares del grupo
+     */
+    public int contarEdificios(TipoEdificio tipo) {
+        return nEdificios[tipo.ordinal()];
+    }
 
-        return numero;
+    /**
+     * Lo llama un solar del grupo cada vez que se construyen o
+     * derriban edificios, para mantener el total actualizado.
+     */
+    void actualizarEdificios(TipoEdificio tipo, int cambio) {
+        nEdificios[tipo.ordinal()] += cambio;
     }
 
     @Override
@@ -125,24 +142,77 @@ public class Grupo implements Buscar {
             return false;
         }
 
-        return contarPropiedades(jugador) == propiedades.size();
+        return jugador == duenoMonopolio;
     }
 
     public int contarPropiedades(Jugador jugador) {
-        // Contar cuantas propiedades posee el jugador
-        int nPropiedades = 0;
+        return nPropiedadesJugador.getOrDefault(jugador, 0);
+    }
+
+    public void anadirPropiedad(Propiedad propiedad) {
+        propiedades.add(propiedad);
+
+        Jugador propietario = propiedad.getPropietario();
+        nPropiedadesJugador.merge(propietario, 1, Integer::sum);
+        duenoMonopolio = contarPropiedades(propietario) == propiedades.size() ? propietario : null;
+    }
+
+    /**
+     * Lo llama una propiedad del grupo cada vez que cambia de dueño,
+     * para mantener actualizado el número de propiedades de cada jugador.
+     */
+    void actualizarPropietario(Jugador anterior, Jugador nuevo) {
+        if (anterior == nuevo) {
+            return;
+        }
 
+        // Se quita la entrada al llegar a 0, para no acumular jugadores eliminados
+        nPropiedadesJugador.computeIfPresent(anterior, (j, n) -> n == 1 ? null : n - 1);
+        nPropiedadesJugador.merge(nuevo, 1, Integer::sum);
+
+        if (duenoMonopolio == anterior) {
+            duenoMonopolio = null;
+        }
+
+        if (contarPropiedades(nuevo) == propiedades.size()) {
+            duenoMonopolio = nuevo;
+        }
+    }
+
+    /**
+     * Comprueba que los contadores de propiedades por jugador coinciden
+     * con los dueños reales de las propiedades del grupo.
+     *
+     * @throws ErrorFatalLogico Si no coinciden
+     */
+    public void comprobarPropietarios() throws ErrorFatalLogico {
+        IdentityHashMap<Jugador, Integer> real = new IdentityHashMap<>();
         for (Propiedad p : propiedades) {
-            if (p.perteneceAJugador(jugador)) {
-                nPropiedades++;
-            }
+            real.merge(p.getPropietario(), 1, Integer::sum);
+        }
+
+        if (!real.equals(nPropiedadesJugador)) {
+            throw new ErrorFatalLogico("Grupo %s: propiedades por jugador incorrectas".formatted(nombre));
         }
 
-        return nPropiedades;
+        Jugador dueno = real.size() == 1 ? propiedades.get(0).getPropietario() : null;
+        if (dueno != duenoMonopolio) {
+            throw new ErrorFatalLogico("Grupo %s: dueño del monopolio incorrecto".formatted(nombre));
+        }
     }
 
-    public void anadirPropiedad(Propiedad propiedad) {
-        propiedades.add(propiedad);
+    /**
+     * Lo llama una propiedad del grupo cada vez que cobra un alquiler
+     */
+    void anadirAlquilerCobrado(long importe) {
+        alquilerTotalCobrado += importe;
+    }
+
+    /**
+     * Para las estadísticas
+     */
+    public long getAlquilerTotalCobrado() {
+        return alquilerTotalCobrado;
     }
 
     public int getNumeroPropiedades() {
@@ -162,7 +232,12 @@ public class Grupo implements Buscar {
     }
 
     public String getNombreFmt() {
-        return Juego.consola.fmt(getNombre(), codigoColor);
+        // El nombre y el color no cambian, así que basta con formatearlo una vez
+        if (nombreFmt == null) {
+            nombreFmt = consola.fmt(getNombre(), codigoColor);
+        }
+
+        return nombreFmt;
     }
 
     public int getCodigoColor() {
@@ -1,16 +1,22 @@
 package monopoly.casilla.propiedad;
 
-import monopoly.Juego;
 import monopoly.casilla.Casilla;
 import monopoly.error.ErrorComandoEdificio;
 import monopoly.error.ErrorComandoFortuna;
 import monopoly.error.ErrorFatalLogico;
 import monopoly.jugador.Banca;
 import monopoly.jugador.Jugador;
-import monopoly.jugador.trato.Trato;
 import monopoly.jugador.trato.TratoP_PNA;
 import monopoly.utils.Consola;
 import monopoly.utils.Dado;
+import monopoly.utils.Eventos;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.Map;
 
 /**
  * Representa una casilla que se puede comprar por un jugador.
@@ -32,14 +38,19 @@ public abstract class Propiedad extends Casilla {
     private final Grupo grupo;
     private Jugador propietario;
     private boolean hipotecada;
+    private long alquilerTotalCobrado;
+    /* Tratos de no alquiler aceptados sobre esta propiedad, por beneficiario.
+       Se crea solo cuando hace falta: la mayoría de propiedades nunca lo usan. */
+    private IdentityHashMap<Jugador, ArrayDeque<TratoP_PNA>> exenciones;
 
-    public Propiedad(int posicion, Grupo grupo, String nombre, Jugador propietario) {
-        super(posicion);
+    public Propiedad(int posicion, Grupo grupo, String nombre, Jugador propietario, Consola consola) {
+        super(posicion, consola);
         this.grupo = grupo;
         this.nombre = nombre;
 
         this.propietario = propietario;
         hipotecada = false;
+        alquilerTotalCobrado = 0;
     }
 
     /**
@@ -67,10 +78,20 @@ public abstract class Propiedad extends Casilla {
         return (long) (1.1 * (float) getCosteHipoteca());
     }
 
+    /**
+     * Valor de la propiedad para el capital de su dueño: el precio
+     * más el de los edificios que tenga.
+     */
+    public long getValor() throws ErrorFatalLogico {
+        return getPrecio();
+    }
+
     /**
      * Para las estadísticas
      */
-    public abstract long getAlquilerTotalCobrado();
+    public long getAlquilerTotalCobrado() {
+        return alquilerTotalCobrado;
+    }
 
     @Override
     public String listar() {
@@ -80,7 +101,7 @@ public abstract class Propiedad extends Casilla {
                         nombre: %s
                         tipo: Propiedad
                         precio: %s
-                    }""".formatted(getNombreFmt(), Juego.consola.num(getPrecio()));
+                    }""".formatted(getNombreFmt(), getConsola().num(getPrecio()));
         } catch (ErrorFatalLogico e) {
             throw new RuntimeException(e);
         }
@@ -101,8 +122,8 @@ public abstract class Propiedad extends Casilla {
                    }
                    """.formatted(
                         nombre,
-                        Juego.consola.num(getPrecio()),
-                        Juego.consola.num(getAlquiler()),
+                        getConsola().num(getPrecio()),
+                        getConsola().num(getAlquiler()),
                         propietario.getNombre(),
                         hipotecada? "Sí" : "No");
             // @formatter:on
@@ -117,8 +138,8 @@ public abstract class Propiedad extends Casilla {
     }
 
     @Override
-    public String getNombreFmt() {
-        return Juego.consola.fmt("%s - %s".formatted(getNombre(), grupo.getNombre()), grupo.getCodigoColor());
+    protected String formatearNombre() {
+        return getConsola().fmt("%s - %s".formatted(getNombre(), grupo.getNombre()), grupo.getCodigoColor());
     }
 
     @Override
@@ -139,17 +160,29 @@ public abstract class Propiedad extends Casilla {
         }
 
         // Comprobar los tratos de no alquiler
-        for (Trato t : jugadorTurno.getTratos()) {
-            if (t instanceof TratoP_PNA && ((TratoP_PNA) t).getTurnos() > 0) {
-                ((TratoP_PNA) t).quitarTurno();
-                Juego.consola.imprimir("""
-                                       Como el jugador ha hecho un trato con el dueño, no paga alquiler
-                                       Quedan %d turno(s) de trato
-                                       """.formatted(((TratoP_PNA) t).getTurnos()));
-                return;
+        ArrayDeque<TratoP_PNA> tratos = exenciones == null ? null : exenciones.get(jugadorTurno);
+        if (tratos != null) {
+            TratoP_PNA t = tratos.peek();
+            t.quitarTurno();
+
+            if (t.getTurnos() == 0) {
+                tratos.poll();
+
+                if (tratos.isEmpty()) {
+                    exenciones.remove(jugadorTurno);
+                }
             }
+
+            getConsola().imprimir(() -> """
+                                   Como el jugador ha hecho un trato con el dueño, no paga alquiler
+                                   Quedan %d turno(s) de trato
+                                   """.formatted(t.getTurnos()));
+            return;
         }
 
+        Eventos.Alquiler evento = new Eventos.Alquiler();
+        evento.begin();
+
         // Se multiplica el alquiler por el valor de los dados en caso de que sea un servicio
         long importe = getAlquiler(jugadorTurno, dado);
 
@@ -159,18 +192,80 @@ public abstract class Propiedad extends Casilla {
 
         jugadorTurno.cobrar(importe, propietario);
 
-        Juego.consola.imprimir("Se han pagado %s de alquiler a %s\n".formatted(Juego.consola.num(importe), Juego.consola.fmt(propietario.getNombre(), Consola.Color.Azul)));
+        getConsola().imprimir(() -> "Se han pagado %s de alquiler a %s\n".formatted(getConsola().num(importe), getConsola().fmt(propietario.getNombre(), Consola.Color.Azul)));
 
-        getAlquilerTotalCobrado();
         jugadorTurno.getEstadisticas().anadirPagoAlquiler(importe);
         propietario.getEstadisticas().anadirCobroAlquiler(importe);
+
+        alquilerTotalCobrado += importe;
+        grupo.anadirAlquilerCobrado(importe);
+        if (getEstadisticasJuego() != null) {
+            getEstadisticasJuego().actualizarAlquiler(this);
+        }
+
+        if (evento.shouldCommit()) {
+            evento.propiedad = getNombre();
+            evento.pagador = jugadorTurno.getNombre();
+            evento.propietario = propietario.getNombre();
+            evento.importe = importe;
+            evento.commit();
+        }
+    }
+
+    /**
+     * Registra un trato de no alquiler ya aceptado: el jugador dado no paga
+     * alquiler en esta propiedad durante los turnos del trato.
+     * <p>
+     * Si el jugador tiene varios tratos sobre la misma propiedad, se
+     * gastan en el orden en el que se aceptaron.
+     */
+    public void anadirExencion(Jugador beneficiario, TratoP_PNA trato) {
+        if (exenciones == null) {
+            exenciones = new IdentityHashMap<>();
+        }
+
+        exenciones.computeIfAbsent(beneficiario, (j) -> new ArrayDeque<>(1)).add(trato);
+    }
+
+    @Override
+    public void guardar(DataOutput out) throws IOException {
+        super.guardar(out);
+        Jugador.escribirReferencia(out, propietario);
+        out.writeBoolean(hipotecada);
+        out.writeLong(alquilerTotalCobrado);
+    }
+
+    /**
+     * Además del estado, cambia el dueño de la propiedad. No se añade
+     * a las propiedades del jugador: de eso se encarga
+     * {@link Jugador#cargarPropiedades}.
+     * <p>
+     * Se olvidan los tratos de no alquiler, que vuelven a añadirse al
+     * cargar los tratos.
+     */
+    @Override
+    public void cargar(DataInput in, Map<Character, Jugador> jugadores) throws IOException {
+        super.cargar(in, jugadores);
+
+        Jugador nuevo = Jugador.leerReferencia(in, jugadores);
+        if (nuevo == null) {
+            throw new IOException("La propiedad %s no tiene dueño".formatted(getNombre()));
+        }
+
+        hipotecada = in.readBoolean();
+        long alquiler = in.readLong();
+        grupo.anadirAlquilerCobrado(alquiler - alquilerTotalCobrado);
+        alquilerTotalCobrado = alquiler;
+        exenciones = null;
+
+        cambiarPropietario(nuevo);
     }
 
     /**
      * <b>NOTA</b>: requerida por la especificación de la entrega 3.
      */
     public void comprar(Jugador jugador) {
-        propietario = jugador;
+        cambiarPropietario(jugador);
     }
 
     /**
@@ -189,14 +284,18 @@ public abstract class Propiedad extends Casilla {
             throw new ErrorComandoFortuna("No se puede hipotecar una propiedad sin dueño", propietario);
         }
 
+        Eventos.Hipoteca evento = new Eventos.Hipoteca();
+        evento.begin();
+
         hipotecada = true;
         long cantidad = getCosteHipoteca();
         propietario.ingresar(cantidad);
 
         // NOTA: esta cantidad no se tiene en cuenta para las estadísticas
 
-        Juego.consola.imprimir("Se ha hipotecado %s por %s\n".formatted(getNombreFmt(), Juego.consola.num(cantidad)));
+        getConsola().imprimir(() -> "Se ha hipotecado %s por %s\n".formatted(getNombreFmt(), getConsola().num(cantidad)));
         propietario.describirTransaccion();
+        registrarHipoteca(evento, cantidad);
     }
 
     public void deshipotecar() throws ErrorFatalLogico, ErrorComandoFortuna {
@@ -204,12 +303,26 @@ public abstract class Propiedad extends Casilla {
             throw new ErrorComandoFortuna("No se puede deshipotecar, no está hipotecada", propietario);
         }
 
+        Eventos.Hipoteca evento = new Eventos.Hipoteca();
+        evento.begin();
+
         long cantidad = getCosteDeshipoteca();
         propietario.cobrar(cantidad);
 
         hipotecada = false;
-        Juego.consola.imprimir("Se ha deshipotecado %s por %s\n".formatted(getNombreFmt(), Juego.consola.num(cantidad)));
+        getConsola().imprimir(() -> "Se ha deshipotecado %s por %s\n".formatted(getNombreFmt(), getConsola().num(cantidad)));
         propietario.describirTransaccion();
+        registrarHipoteca(evento, cantidad);
+    }
+
+    private void registrarHipoteca(Eventos.Hipoteca evento, long cantidad) {
+        if (evento.shouldCommit()) {
+            evento.propiedad = getNombre();
+            evento.jugador = propietario.getNombre();
+            evento.hipotecada = hipotecada;
+            evento.importe = cantidad;
+            evento.commit();
+        }
     }
 
     public boolean isHipotecada() {
@@ -225,6 +338,17 @@ public abstract class Propiedad extends Casilla {
     }
 
     public void setPropietario(Jugador jugador) {
+        cambiarPropietario(jugador);
+    }
+
+    /**
+     * Único punto donde cambia el dueño, para que el grupo
+     * pueda llevar la cuenta de las propiedades de cada jugador.
+     */
+    private void cambiarPropietario(Jugador jugador) {
+        Jugador anterior = propietario;
         propietario = jugador;
+        grupo.actualizarPropietario(anterior, jugador);
+        marcarModificada();
     }
 }
@@ -2,17 +2,16 @@ package monopoly.casilla.propiedad;
 
 import monopoly.error.ErrorFatalLogico;
 import monopoly.jugador.Jugador;
+import monopoly.utils.Consola;
 import monopoly.utils.Dado;
 
 public class Servicio extends Propiedad {
     private long precio;
-    private long alquilerTotalCobrado;
 
-    public Servicio(int posicion, Grupo grupo, String nombre, Jugador propietario) {
-        super(posicion, grupo, nombre, propietario);
+    public Servicio(int posicion, Grupo grupo, String nombre, Jugador propietario, Consola consola) {
+        super(posicion, grupo, nombre, propietario, consola);
 
         precio = -1;
-        alquilerTotalCobrado = 0;
     }
 
     @Override
@@ -45,13 +44,6 @@ public class Servicio extends Propiedad {
         // El factor de servicio será 200 veces inferior a la cantidad que recibirá
         // el jugador cada vez que completa una vuelta al tablero
 
-        alquilerTotalCobrado += alquiler;
-
         return alquiler;
     }
-
-    @Override
-    public long getAlquilerTotalCobrado() {
-        return alquilerTotalCobrado;
-    }
 }
\ No newline at end of file
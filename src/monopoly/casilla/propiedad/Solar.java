@@ -1,6 +1,5 @@
 package monopoly.casilla.propiedad;
 
-import monopoly.Juego;
 import monopoly.JuegoConsts;
 import monopoly.casilla.edificio.*;
 import monopoly.error.ErrorComando;
@@ -8,21 +7,35 @@ import monopoly.error.ErrorComandoEdificio;
 import monopoly.error.ErrorComandoFortuna;
 import monopoly.error.ErrorFatalLogico;
 import monopoly.jugador.Jugador;
+import monopoly.utils.Consola;
 import monopoly.utils.Dado;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class Solar extends Propiedad {
     private final ArrayList<Edificio> edificios;
-    private final long alquilerTotalCobrado;
+    private final int[] nEdificios; /* Número de edificios de cada tipo (índice TipoEdificio.ordinal()) */
     private long precio;
+    private AtomicInteger idsEdificios; /* Compartido por todos los solares de la partida */
 
-    public Solar(int posicion, Grupo grupo, String nombre, Jugador banca) {
-        super(posicion, grupo, nombre, banca);
+    public Solar(int posicion, Grupo grupo, String nombre, Jugador banca, Consola consola) {
+        super(posicion, grupo, nombre, banca, consola);
 
-        precio = (long) (0.3 * grupo.getNumero() * JuegoConsts.PRECIO_SOLAR1 + JuegoConsts.PRECIO_SOLAR1);
-        alquilerTotalCobrado = 0;
+        precio = precioInicial(grupo.getNumero());
         edificios = new ArrayList<>();
+        nEdificios = new int[TipoEdificio.values().length];
+    }
+
+    /**
+     * Precio de los solares del grupo dado al empezar la partida
+     */
+    public static long precioInicial(int nGrupo) {
+        return (long) (0.3 * nGrupo * JuegoConsts.PRECIO_SOLAR1 + JuegoConsts.PRECIO_SOLAR1);
     }
 
     @Override
@@ -56,24 +69,24 @@ public class Solar extends Propiedad {
                     """.formatted(
                         getNombre(),
                         getGrupo().getNombre(),
-                        Juego.consola.num(getPrecio()),
-                        Juego.consola.num(getAlquiler()),
+                        getConsola().num(getPrecio()),
+                        getConsola().num(getAlquiler()),
                         getPropietario().getNombre(),
-                        Juego.consola.listar(getEdificios(), Edificio::getNombreFmt),
+                        getConsola().listar(getEdificios(), Edificio::getNombreFmt),
                         isHipotecada()? "Sí" : "No",
                         // ==========================================================
-                        Juego.consola.num(Casa.getValor(this)),
-                        Juego.consola.num(Hotel.getValor(this)),
-                        Juego.consola.num(Piscina.getValor(this)),
-                        Juego.consola.num(PistaDeporte.getValor(this)),
+                        getConsola().num(Casa.getValor(this)),
+                        getConsola().num(Hotel.getValor(this)),
+                        getConsola().num(Piscina.getValor(this)),
+                        getConsola().num(PistaDeporte.getValor(this)),
                         // ----------------------------------------------------------
-                        Juego.consola.num(Casa.getAlquiler(this, 1)),
-                        Juego.consola.num(Casa.getAlquiler(this, 2)),
-                        Juego.consola.num(Casa.getAlquiler(this, 3)),
-                        Juego.consola.num(Casa.getAlquiler(this, 4)),
-                        Juego.consola.num(Hotel.getAlquiler(this)),
-                        Juego.consola.num(Piscina.getAlquiler(this)),
-                        Juego.consola.num(PistaDeporte.getAlquiler(this)));
+                        getConsola().num(Casa.getAlquiler(this, 1)),
+                        getConsola().num(Casa.getAlquiler(this, 2)),
+                        getConsola().num(Casa.getAlquiler(this, 3)),
+                        getConsola().num(Casa.getAlquiler(this, 4)),
+                        getConsola().num(Hotel.getAlquiler(this)),
+                        getConsola().num(Piscina.getAlquiler(this)),
+                        getConsola().num(PistaDeporte.getAlquiler(this)));
             // @formatter:on
         } catch (ErrorFatalLogico e) {
             throw new RuntimeException(e);
@@ -97,19 +110,12 @@ public class Solar extends Propiedad {
         long alquilerSolar = getAlquilerBase();
 
         // Alquiler extra por edificios
-        long alquilerEdificios = 0;
-        int nCasas = 0;
-
-        for (Edificio e : edificios) {
-            if (e.getClass().getSimpleName().equals("Casa")) {
-                nCasas++;
-            } else {
-                alquilerEdificios += e.getAlquiler();
-            }
-        }
-
-        // Las casas se aplican por separado
-        alquilerEdificios += Casa.getAlquiler(this, nCasas);
+        // @formatter:off
+        long alquilerEdificios = Casa.getAlquiler(this, contarEdificios(TipoEdificio.Casa))
+                + contarEdificios(TipoEdificio.Hotel)        * Hotel.getAlquiler(this)
+                + contarEdificios(TipoEdificio.Piscina)      * Piscina.getAlquiler(this)
+                + contarEdificios(TipoEdificio.PistaDeporte) * PistaDeporte.getAlquiler(this);
+        // @formatter:on
 
         if (getGrupo().isMonopolio(getPropietario())) {
             alquilerSolar *= 2;
@@ -137,12 +143,38 @@ public class Solar extends Propiedad {
             throw new ErrorFatalLogico("El factor no puede ser negativo o nulo");
         }
 
+        long valorAnterior = getValor();
         precio = (long) ((float) precio * factor);
+
+        // El valor de los edificios también depende del precio
+        getPropietario().getEstadisticas().cambiarValorPropiedades(getValor() - valorAnterior);
     }
 
     @Override
-    public long getAlquilerTotalCobrado() {
-        return alquilerTotalCobrado;
+    public long getValor() {
+        long valor = precio;
+
+        for (TipoEdificio tipo : TipoEdificio.values()) {
+            valor += contarEdificios(tipo) * tipo.getValor(this);
+        }
+
+        return valor;
+    }
+
+    /**
+     * Contador con el que se numeran los edificios de la partida. Se
+     * comparte entre todos sus solares, para que los ids no dependan de
+     * las demás partidas del proceso.
+     */
+    public void setIdsEdificios(AtomicInteger idsEdificios) {
+        this.idsEdificios = idsEdificios;
+    }
+
+    /**
+     * Reserva el id de un edificio nuevo en este solar
+     */
+    public int siguienteIdEdificio() {
+        return idsEdificios.getAndIncrement();
     }
 
     /**
@@ -150,32 +182,96 @@ public class Solar extends Propiedad {
      */
     public void edificar(Edificio e) {
         edificios.add(e);
+        nEdificios[e.getTipo().ordinal()]++;
+        getGrupo().actualizarEdificios(e.getTipo(), 1);
+        getPropietario().getEstadisticas().cambiarValorPropiedades(e.getTipo().getValor(this));
+        marcarModificada();
     }
 
-    public void demoler(String tipo) throws ErrorComando {
-        for (int ii = 0; ii < edificios.size(); ii++) {
-            if (edificios.get(ii).getClass().getSimpleName().equals(tipo)) {
-                edificios.remove(ii);
-                return;
+    /**
+     * Derriba hasta <code>cantidad</code> edificios del tipo dado,
+     * empezando por los más antiguos.
+     *
+     * @return El número de edificios derribados
+     */
+    public int demoler(TipoEdificio tipo, int cantidad) {
+        int nBorrar = Math.min(cantidad, contarEdificios(tipo));
+
+        if (nBorrar <= 0) {
+            return 0;
+        }
+
+        // Se compacta la lista en una sola pasada, en lugar
+        // de borrar los edificios uno a uno del medio.
+        int nBorrados = 0;
+        int destino = 0;
+
+        for (int origen = 0; origen < edificios.size(); origen++) {
+            Edificio e = edificios.get(origen);
+
+            if (nBorrados < nBorrar && e.getTipo() == tipo) {
+                nBorrados++;
+            } else {
+                edificios.set(destino++, e);
             }
         }
 
-        throw new ErrorComando("\"%s\" tipo de edificio no encontrado");
-    }
+        edificios.subList(destino, edificios.size()).clear();
 
-    public ArrayList<Edificio> getEdificios() {
-        return edificios;
+        nEdificios[tipo.ordinal()] -= nBorrados;
+        getGrupo().actualizarEdificios(tipo, -nBorrados);
+        getPropietario().getEstadisticas().cambiarValorPropiedades(-nBorrados * tipo.getValor(this));
+        marcarModificada();
+        return nBorrados;
     }
 
-    public int contarEdificios(String tipo) {
-        int numero = 0;
+    @Override
+    public void guardar(DataOutput out) throws IOException {
+        super.guardar(out);
+        out.writeLong(precio);
 
+        out.writeShort(edificios.size());
         for (Edificio e : edificios) {
-            if (e.getClass().getSimpleName().equals(tipo)) {
-                numero++;
+            out.writeByte(e.getTipo().ordinal());
+            out.writeInt(e.getId());
+        }
+    }
+
+    /**
+     * Se restauran el precio y los edificios tal cual, sin comprobar las
+     * reglas de edificación ni cambiar el capital de nadie: el dueño lo
+     * calcula al añadir la propiedad.
+     */
+    @Override
+    public void cargar(DataInput in, Map<Character, Jugador> jugadores) throws IOException {
+        super.cargar(in, jugadores);
+        precio = in.readLong();
+
+        for (TipoEdificio tipo : TipoEdificio.values()) {
+            getGrupo().actualizarEdificios(tipo, -nEdificios[tipo.ordinal()]);
+            nEdificios[tipo.ordinal()] = 0;
+        }
+        edificios.clear();
+
+        int n = in.readUnsignedShort();
+        for (int i = 0; i < n; i++) {
+            int ordinal = in.readUnsignedByte();
+            if (ordinal >= TipoEdificio.values().length) {
+                throw new IOException("Tipo de edificio %d desconocido".formatted(ordinal));
             }
+
+            TipoEdificio tipo = TipoEdificio.values()[ordinal];
+            edificios.add(tipo.crear(this, in.readInt()));
+            nEdificios[ordinal]++;
+            getGrupo().actualizarEdificios(tipo, 1);
         }
+    }
+
+    public ArrayList<Edificio> getEdificios() {
+        return edificios;
+    }
 
-        return numero;
+    public int contarEdificios(TipoEdificio tipo) {
+        return nEdificios[tipo.ordinal()];
     }
 }
@@ -2,17 +2,16 @@ package monopoly.casilla.propiedad;
 
 import monopoly.error.ErrorFatalLogico;
 import monopoly.jugador.Jugador;
+import monopoly.utils.Consola;
 import monopoly.utils.Dado;
 
 public class Transporte extends Propiedad {
-    private final long alquilerTotalCobrado;
     private long precio;
 
-    public Transporte(int posicion, Grupo grupo, String nombre, Jugador propietario) {
-        super(posicion, grupo, nombre, propietario);
+    public Transporte(int posicion, Grupo grupo, String nombre, Jugador propietario, Consola consola) {
+        super(posicion, grupo, nombre, propietario, consola);
 
         precio = -1;
-        alquilerTotalCobrado = 0;
     }
 
     @Override
@@ -42,9 +41,4 @@ public class Transporte extends Propiedad {
     public long getAlquiler(Jugador jugador, Dado dado) throws ErrorFatalLogico {
         return getAlquiler();
     }
-
-    @Override
-    public long getAlquilerTotalCobrado() {
-        return alquilerTotalCobrado;
-    }
 }
@@ -1,6 +1,6 @@
 package monopoly.error;
 
-import monopoly.Juego;
+import monopoly.utils.Consola;
 
 /**
  * Tipo de excepción básico para todos los errores dentro del juego.
@@ -18,7 +18,7 @@ public class ErrorJuego extends Exception {
         super(mensaje);
     }
 
-    public void imprimirMsg() {
-        Juego.consola.error(getMessage());
+    public void imprimirMsg(Consola consola) {
+        consola.error(getMessage());
     }
 }
@@ -11,17 +11,23 @@ import monopoly.error.ErrorFatal;
 import monopoly.error.ErrorFatalLogico;
 import monopoly.utils.Consola;
 import monopoly.utils.Dado;
+import monopoly.utils.Eventos;
 import monopoly.utils.Listable;
 import monopoly.utils.ReprTablero;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 public abstract class Avatar implements Listable, ReprTablero {
     // @formatter:off
     // Propiedades
     private final char id;
     // Historial
-    private final ArrayList<Casilla> historialCasillas;
+    private int[] visitas;                   /* Veces que ha caído en cada casilla, por posición */
     private Jugador jugador;
     private Casilla casilla;
 
@@ -39,7 +45,7 @@ public abstract class Avatar implements Listable, ReprTablero {
         this.casilla = salida;
         salida.anadirAvatar(this);
 
-        this.historialCasillas = new ArrayList<>();
+        this.visitas = new int[JuegoConsts.N_CASILLAS];
         this.encerrado = false;
         this.doblesSeguidos = 0;
         this.lanzamientosRestantes = 1;
@@ -49,6 +55,13 @@ public abstract class Avatar implements Listable, ReprTablero {
 
     public abstract boolean acabarTurno() throws ErrorComandoAvatar;
 
+    /**
+     * Consola del jugador al que pertenece el avatar
+     */
+    protected Consola getConsola() {
+        return jugador.getConsola();
+    }
+
     public abstract int moverEspecial(Dado dado, CasillaCarcel carcel) throws ErrorComandoAvatar, ErrorFatalLogico;
 
     @Override
@@ -84,9 +97,9 @@ public abstract class Avatar implements Listable, ReprTablero {
     }
 
     @Override
-    public String representar() {
+    public String representar(Consola consola) {
         // Quitar la celda, solo formatear 1 char
-        return Juego.consola.fmt(representacionTablero(), codColorRepresentacion(), estiloRepresentacion());
+        return consola.fmt(representacionTablero(), codColorRepresentacion(), estiloRepresentacion());
     }
 
     @Override
@@ -96,6 +109,25 @@ public abstract class Avatar implements Listable, ReprTablero {
     }
 
     public void mover(Juego juego, Dado dado) throws ErrorComandoAvatar, ErrorFatal, ErrorComandoFortuna {
+        Eventos.Movimiento evento = new Eventos.Movimiento();
+        evento.begin();
+        Casilla desde = casilla;
+
+        try {
+            moverAvatar(juego, dado);
+        } finally {
+            if (evento.shouldCommit()) {
+                evento.jugador = jugador.getNombre();
+                evento.avatar = id;
+                evento.desde = desde.getNombre();
+                evento.hasta = casilla.getNombre();
+                evento.dados = dado == null ? 0 : dado.getValor();
+                evento.commit();
+            }
+        }
+    }
+
+    private void moverAvatar(Juego juego, Dado dado) throws ErrorComandoAvatar, ErrorFatal, ErrorComandoFortuna {
         if (lanzamientosRestantes <= 0) {
             throw new ErrorComandoAvatar("No quedan lanzamientos. El jugador debe terminar el turno", this);
         }
@@ -112,7 +144,7 @@ public abstract class Avatar implements Listable, ReprTablero {
 
         // Mostrar la representación de los dados
         if (dado != null) {
-            Juego.consola.imprimir(dado.toString());
+            getConsola().imprimir(dado::toString);
 
             // Cuando el dado no es null, es que se ha lanzado un nuevo dado.
             // De esta forma, el comando siguiente no se considera una tirada.
@@ -149,12 +181,12 @@ public abstract class Avatar implements Listable, ReprTablero {
         Casilla nuevaCasilla = casillas.get(Math.floorMod(posNuevaCasilla, casillas.size()));
 
         // Mostrar información
-        Juego.consola.imprimir("""
+        getConsola().imprimir(() -> """
                 %s, con avatar %s, %s %d posiciones.
                 Viaja desde %s hasta %s.
                 """.formatted(
-                Juego.consola.fmt(jugador.getNombre(), Consola.Color.Azul),
-                Juego.consola.fmt(Character.toString(jugador.getAvatar().getId()), Consola.Color.Azul),
+                getConsola().fmt(jugador.getNombre(), Consola.Color.Azul),
+                getConsola().fmt(Character.toString(jugador.getAvatar().getId()), Consola.Color.Azul),
                 movimientoDelta > 0 ? "avanza" : "retrocede",
                 Math.abs(movimientoDelta),
                 casilla.getNombreFmt(),
@@ -171,9 +203,9 @@ public abstract class Avatar implements Listable, ReprTablero {
             // Aumentar los precios en caso de que todos los avatares pasasen por la salida
             juego.aumentarPrecio();
 
-            Juego.consola.imprimir("Como el avatar pasa por la casilla de Salida, %s recibe %s\n".formatted(
-                    Juego.consola.fmt(jugador.getNombre(), Consola.Color.Azul),
-                    Juego.consola.num(abonoSalida)));
+            getConsola().imprimir(() -> "Como el avatar pasa por la casilla de Salida, %s recibe %s\n".formatted(
+                    getConsola().fmt(jugador.getNombre(), Consola.Color.Azul),
+                    getConsola().num(abonoSalida)));
 
         } else if (posNuevaCasilla < 0) {
             jugador.getEstadisticas().quitarVuelta();
@@ -182,10 +214,10 @@ public abstract class Avatar implements Listable, ReprTablero {
             if (jugador.getEstadisticas().getVueltas() > 0) {
                 // Si la casilla calculada es negativa, quiere decir que se pasa por la salida hacia atrás
                 getJugador().cobrar(abonoSalida, juego.getBanca());
-                Juego.consola.imprimir(
+                getConsola().imprimir(() ->
                         "El jugador %s paga %s por retroceder por la casilla de salida.\n".formatted(
-                                Juego.consola.fmt(jugador.getNombre(), Consola.Color.Azul),
-                                Juego.consola.num(abonoSalida)));
+                                getConsola().fmt(jugador.getNombre(), Consola.Color.Azul),
+                                getConsola().num(abonoSalida)));
             }
         }
 
@@ -195,7 +227,7 @@ public abstract class Avatar implements Listable, ReprTablero {
         nuevaCasilla.anadirAvatar(this);
 
         // Añadir la nueva casilla al historial
-        historialCasillas.add(nuevaCasilla);
+        registrarVisita(nuevaCasilla);
 
         // Realizar la acción de la casilla
         nuevaCasilla.accion(jugador, dado);
@@ -206,7 +238,7 @@ public abstract class Avatar implements Listable, ReprTablero {
             doblesSeguidos++;
 
             if (doblesSeguidos >= 3) {
-                Juego.consola.imprimir("""
+                getConsola().imprimir(() -> """
                         Ya son 3 veces seguidas sacando dados dobles.
                         %s es arrestado por tener tanta suerte.
                         """.formatted(jugador.getNombre()));
@@ -215,7 +247,7 @@ public abstract class Avatar implements Listable, ReprTablero {
             }
 
             lanzamientosRestantes++;
-            Juego.consola.imprimir("Dados dobles! El jugador puede tirar otra vez\n");
+            getConsola().imprimir("Dados dobles! El jugador puede tirar otra vez\n");
         }
 
         return false;
@@ -228,19 +260,19 @@ public abstract class Avatar implements Listable, ReprTablero {
         turnosEnCarcel++;
 
         if (dado.isDoble()) {
-            Juego.consola.imprimir("Dados dobles! El jugador puede salir de la Cárcel\n");
+            getConsola().imprimir("Dados dobles! El jugador puede salir de la Cárcel\n");
             lanzamientosRestantes = 1;
             encerrado = false;
             turnosEnCarcel = 0;
         } else if (turnosEnCarcel >= 3) {
-            Juego.consola.imprimir("%s con avatar %s no ha sacado dados dobles.\nAhora debe pagar obligatoriamente la fianza.\n".formatted(
-                    Juego.consola.fmt(jugador.getNombre(), Consola.Color.Azul),
-                    Juego.consola.fmt(Character.toString(id), Consola.Color.Azul)));
+            getConsola().imprimir(() -> "%s con avatar %s no ha sacado dados dobles.\nAhora debe pagar obligatoriamente la fianza.\n".formatted(
+                    getConsola().fmt(jugador.getNombre(), Consola.Color.Azul),
+                    getConsola().fmt(Character.toString(id), Consola.Color.Azul)));
             salirCarcelPagando(banca);
         } else {
-            Juego.consola.imprimir("%s con avatar %s no ha sacado dados dobles.\nPuede pagar la fianza o permanecer encerrado.\n".formatted(
-                    Juego.consola.fmt(jugador.getNombre(), Consola.Color.Azul),
-                    Juego.consola.fmt(Character.toString(id), Consola.Color.Azul)));
+            getConsola().imprimir(() -> "%s con avatar %s no ha sacado dados dobles.\nPuede pagar la fianza o permanecer encerrado.\n".formatted(
+                    getConsola().fmt(jugador.getNombre(), Consola.Color.Azul),
+                    getConsola().fmt(Character.toString(id), Consola.Color.Azul)));
         }
     }
 
@@ -255,9 +287,9 @@ public abstract class Avatar implements Listable, ReprTablero {
         casilla.quitarAvatar(this);
         casilla = carcel;
         carcel.anadirAvatar(this);
-        historialCasillas.add(carcel);
+        registrarVisita(carcel);
 
-        Juego.consola.imprimir("Por tanto, el avatar termina en la Cárcel\n");
+        getConsola().imprimir("Por tanto, el avatar termina en la Cárcel\n");
     }
 
     /**
@@ -277,22 +309,68 @@ public abstract class Avatar implements Listable, ReprTablero {
         turnosEnCarcel = 0;
         lanzamientosRestantes = 1;
 
-        Juego.consola.imprimir("El jugador %s paga %s para salir de la cárcel\n".formatted(jugador.getNombre(), Juego.consola.num(fianza)));
+        getConsola().imprimir(() -> "El jugador %s paga %s para salir de la cárcel\n".formatted(jugador.getNombre(), getConsola().num(fianza)));
     }
 
     public void cambiarModo() throws ErrorComandoAvatar {
+        // El color del avatar en el tablero depende del modo
+        casilla.marcarModificada();
+
         if (movimientoEspecial) {
             movimientoEspecial = false;
-            Juego.consola.imprimir("%s regresa al modo de movimiento básico\n".formatted(Juego.consola.fmt(jugador.getNombre(), Consola.Color.Azul)));
+            getConsola().imprimir("%s regresa al modo de movimiento básico\n".formatted(getConsola().fmt(jugador.getNombre(), Consola.Color.Azul)));
         } else {
             movimientoEspecial = true;
-            Juego.consola.imprimir("A partir de ahora %s (%s), de tipo %s, se moverá de modo avanzado\n".formatted(
-                    Juego.consola.fmt(jugador.getNombre(), Consola.Color.Azul),
-                    Juego.consola.fmt(Character.toString(id), Consola.Color.Azul),
+            getConsola().imprimir("A partir de ahora %s (%s), de tipo %s, se moverá de modo avanzado\n".formatted(
+                    getConsola().fmt(jugador.getNombre(), Consola.Color.Azul),
+                    getConsola().fmt(Character.toString(id), Consola.Color.Azul),
                     this.getClass().getSimpleName()));
         }
     }
 
+    /**
+     * Escribe el estado y el historial del avatar. Las subclases
+     * añaden el estado de su movimiento especial a continuación.
+     *
+     * @see Jugador#guardar(DataOutput)
+     */
+    public void guardar(DataOutput out) throws IOException {
+        Casilla.escribirReferencia(out, casilla);
+        out.writeBoolean(encerrado);
+        out.writeInt(doblesSeguidos);
+        out.writeInt(lanzamientosRestantes);
+        out.writeInt(turnosEnCarcel);
+        out.writeBoolean(movimientoEspecial);
+
+        out.writeShort(visitas.length);
+        for (int v : visitas) {
+            out.writeInt(v);
+        }
+    }
+
+    /**
+     * Restaura el estado escrito por {@link #guardar(DataOutput)}.
+     * <p>
+     * NOTA: no se añade el avatar a su casilla; de eso se encarga la casilla.
+     */
+    public void cargar(DataInput in, List<Casilla> casillas) throws IOException {
+        casilla = Casilla.leerReferencia(in, casillas);
+        if (casilla == null) {
+            throw new IOException("El avatar %c no está en ninguna casilla".formatted(id));
+        }
+
+        encerrado = in.readBoolean();
+        doblesSeguidos = in.readInt();
+        lanzamientosRestantes = in.readInt();
+        turnosEnCarcel = in.readInt();
+        movimientoEspecial = in.readBoolean();
+
+        visitas = new int[in.readUnsignedShort()];
+        for (int i = 0; i < visitas.length; i++) {
+            visitas[i] = in.readInt();
+        }
+    }
+
     public char getId() {
         return id;
     }
@@ -340,7 +418,22 @@ public abstract class Avatar implements Listable, ReprTablero {
         return movimientoEspecial;
     }
 
-    public ArrayList<Casilla> getHistorialCasillas() {
-        return historialCasillas;
+    /**
+     * Añade la casilla al historial del avatar
+     */
+    private void registrarVisita(Casilla c) {
+        // El tablero puede tener más casillas que las normales
+        if (c.getPosicion() >= visitas.length) {
+            visitas = Arrays.copyOf(visitas, Math.max(c.getPosicion() + 1, 2 * visitas.length));
+        }
+
+        visitas[c.getPosicion()]++;
+    }
+
+    /**
+     * Número de veces que el avatar ha caído en la casilla dada
+     */
+    public int getVisitas(Casilla c) {
+        return c.getPosicion() < visitas.length ? visitas[c.getPosicion()] : 0;
     }
 }
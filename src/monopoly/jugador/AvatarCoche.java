@@ -11,6 +11,11 @@ import monopoly.error.ErrorFatal;
 import monopoly.utils.Consola;
 import monopoly.utils.Dado;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.List;
+
 public class AvatarCoche extends Avatar {
     private boolean puedeComprar; /* No permite comprar más una vez por turno */
     private int penalizacion;     /* No puede tirar en los dos siguientes turnos si saca < 4 */
@@ -49,7 +54,7 @@ public class AvatarCoche extends Avatar {
             // Se ponen los lanzamientos restantes a 0, indicando que debe terminar el turno
             setLanzamientosRestantes(0);
 
-            Juego.consola.imprimir("Se aplica una penalización de %s por sacar un valor tan bajo.\n".formatted(Juego.consola.fmt("2 turnos", Consola.Color.Azul)));
+            getConsola().imprimir(() -> "Se aplica una penalización de %s por sacar un valor tan bajo.\n".formatted(getConsola().fmt("2 turnos", Consola.Color.Azul)));
 
             // Se retrocede el valor de los dados
             // Aunque sea la última tirada no se tienen en cuenta los dados dobles
@@ -125,4 +130,18 @@ public class AvatarCoche extends Avatar {
     public int codColorRepresentacion() {
         return isMovimientoEspecial() ? JuegoConsts.COD_COLOR_AVATAR_COCHE : JuegoConsts.COD_COLOR_AVATAR_NORMAL;
     }
+
+    @Override
+    public void guardar(DataOutput out) throws IOException {
+        super.guardar(out);
+        out.writeBoolean(puedeComprar);
+        out.writeInt(penalizacion);
+    }
+
+    @Override
+    public void cargar(DataInput in, List<Casilla> casillas) throws IOException {
+        super.cargar(in, casillas);
+        puedeComprar = in.readBoolean();
+        penalizacion = in.readInt();
+    }
 }
@@ -11,15 +11,20 @@ import monopoly.error.ErrorFatal;
 import monopoly.error.ErrorFatalLogico;
 import monopoly.utils.Dado;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.List;
+
 public class AvatarPelota extends Avatar {
     private Dado pelotaDado;     /* Guarda el dado usado en el tiro inicial (solo para calcular el alquiler de los transportes) */
-    private int pelotaPosFinal;  /* Guarda la posición final a la que se tiene que llegar */
+    private int pelotaRestante;  /* Guarda las casillas que quedan hasta la posición final */
 
     public AvatarPelota(char id, CasillaSalida salida) {
         super(id, salida);
 
         pelotaDado = null;
-        pelotaPosFinal = 0;
+        pelotaRestante = 0;
     }
 
     @Override
@@ -61,8 +66,10 @@ public class AvatarPelota extends Avatar {
                 return irCarcelDadosDobles(dado, carcel) ? Integer.MAX_VALUE : casilla.getPosicion() + valorDado;
             }
 
-            // En otro caso, guardamos la posición final que marcan los dados
-            pelotaPosFinal = getCasilla().getPosicion() + valorDado;
+            // En otro caso, guardamos lo que queda hasta la posición final que marcan los dados.
+            // Se guarda la distancia y no la posición porque esta última vuelve a 0 al pasar
+            // por la Salida.
+            pelotaRestante = valorDado - 5;
             pelotaDado = dado;
 
             // Movemos 5 posiciones dado que ese siempre será el primer salto
@@ -73,7 +80,7 @@ public class AvatarPelota extends Avatar {
         // La cantidad de casillas que me tengo que mover es 2 o 1.
         // Esto funciona porque el primer salto cae en una casilla impar
         // y luego se va sumando 2 (o 1) hasta llegar a la casilla final.
-        int paso = Math.min(pelotaPosFinal - casilla.getPosicion(), 2);
+        int paso = Math.min(pelotaRestante, 2);
 
         if (paso <= 0) {
             throw new ErrorFatalLogico("Paso negativo o nulo");
@@ -83,7 +90,8 @@ public class AvatarPelota extends Avatar {
         // que me interesa, debo terminar el turno.
         // Como es la última tirada, hay que tener en cuenta si los dados
         // fueron dobles, por eso uso movimientoBasico()
-        if (casilla.getPosicion() + paso == pelotaPosFinal) {
+        pelotaRestante -= paso;
+        if (pelotaRestante == 0) {
             setLanzamientosRestantes(0);
 
             // Como es la última tirada, se tiene en cuenta si los dados han sido dobles
@@ -127,7 +135,7 @@ public class AvatarPelota extends Avatar {
         setDoblesSeguidos(0);
 
         pelotaDado = null;
-        pelotaPosFinal = 0;
+        pelotaRestante = 0;
 
         return true;
     }
@@ -136,4 +144,22 @@ public class AvatarPelota extends Avatar {
     public int codColorRepresentacion() {
         return isMovimientoEspecial() ? JuegoConsts.COD_COLOR_AVATAR_PELOTA : JuegoConsts.COD_COLOR_AVATAR_NORMAL;
     }
+
+    @Override
+    public void guardar(DataOutput out) throws IOException {
+        super.guardar(out);
+        out.writeInt(pelotaRestante);
+        out.writeBoolean(pelotaDado != null);
+        if (pelotaDado != null) {
+            out.writeInt(pelotaDado.getDado1());
+            out.writeInt(pelotaDado.getDado2());
+        }
+    }
+
+    @Override
+    public void cargar(DataInput in, List<Casilla> casillas) throws IOException {
+        super.cargar(in, casillas);
+        pelotaRestante = in.readInt();
+        pelotaDado = in.readBoolean() ? new Dado(in.readInt(), in.readInt()) : null;
+    }
 }
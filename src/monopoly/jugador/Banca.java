@@ -1,8 +1,10 @@
 package monopoly.jugador;
 
+import monopoly.utils.Consola;
+
 public class Banca extends Jugador {
-    public Banca() {
-        super("Banca", null, 0);
+    public Banca(Consola consola) {
+        super("Banca", null, 0, consola);
     }
 
     public String toString() {
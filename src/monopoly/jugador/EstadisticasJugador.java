@@ -1,11 +1,15 @@
 package monopoly.jugador;
 
-import monopoly.Juego;
+import monopoly.EstadisticasJuego;
 import monopoly.casilla.edificio.Edificio;
 import monopoly.casilla.propiedad.Propiedad;
 import monopoly.casilla.propiedad.Solar;
 import monopoly.error.ErrorFatalLogico;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 public class EstadisticasJugador {
     // @formatter:off
     private final Jugador jugador;
@@ -21,6 +25,9 @@ public class EstadisticasJugador {
     private int vecesEncarcelado;
     private int nVueltas;
     private int nTiradas;
+
+    private long valorPropiedades; /* Suma del valor de sus propiedades y edificios, para el capital */
+    private EstadisticasJuego estadisticasJuego; /* Null si no participa en la partida (por ejemplo, la banca) */
     // @formatter:on
 
     /**
@@ -40,43 +47,78 @@ public class EstadisticasJugador {
         vecesEncarcelado = 0;
         nVueltas = 0;
         nTiradas = 0;
+
+        valorPropiedades = 0;
+        estadisticasJuego = null;
     }
 
     @Override
     public String toString() {
-        try {
-            // @formatter:off
-            return """
-                   {
-                       jugador: %s
-                       capital: %s
-                       dinero invertido: %s
-                       pago de tasas e impuestos: %s
-                       cobro de alquileres: %s
-                       pago de alquileres: %s
-                       abono total de salida: %s
-                       premios de inversiones o bote: %s
-                       gastos: %s
-                       veces en la cárcel: %d
-                       número de vueltas: %s
-                       número de tiradas: %s
-                   }
-                   """.formatted(jugador.getNombre(),
-                                 Juego.consola.num(getCapital()),
-                                 Juego.consola.num(inversiones),
-                                 Juego.consola.num(pagoTasas),
-                                 Juego.consola.num(cobroAlquileres),
-                                 Juego.consola.num(pagoAlquileres),
-                                 Juego.consola.num(abonosSalida),
-                                 Juego.consola.num(premios),
-                                 Juego.consola.num(gastos),
-                                 vecesEncarcelado,
-                                 nVueltas,
-                                 nTiradas);
-            // @formatter:on
-        } catch (ErrorFatalLogico e) {
-            throw new RuntimeException(e);
-        }
+        // @formatter:off
+        return """
+               {
+                   jugador: %s
+                   capital: %s
+                   dinero invertido: %s
+                   pago de tasas e impuestos: %s
+                   cobro de alquileres: %s
+                   pago de alquileres: %s
+                   abono total de salida: %s
+                   premios de inversiones o bote: %s
+                   gastos: %s
+                   veces en la cárcel: %d
+                   número de vueltas: %s
+                   número de tiradas: %s
+               }
+               """.formatted(jugador.getNombre(),
+                             jugador.getConsola().num(getCapital()),
+                             jugador.getConsola().num(inversiones),
+                             jugador.getConsola().num(pagoTasas),
+                             jugador.getConsola().num(cobroAlquileres),
+                             jugador.getConsola().num(pagoAlquileres),
+                             jugador.getConsola().num(abonosSalida),
+                             jugador.getConsola().num(premios),
+                             jugador.getConsola().num(gastos),
+                             vecesEncarcelado,
+                             nVueltas,
+                             nTiradas);
+        // @formatter:on
+    }
+
+    /**
+     * Escribe todos los contadores. El valor de las propiedades no se
+     * guarda: se recalcula al añadírselas al jugador.
+     */
+    public void guardar(DataOutput out) throws IOException {
+        out.writeLong(inversiones);
+        out.writeLong(pagoTasas);
+        out.writeLong(cobroAlquileres);
+        out.writeLong(pagoAlquileres);
+        out.writeLong(abonosSalida);
+        out.writeLong(premios);
+        out.writeLong(gastos);
+
+        out.writeInt(vecesEncarcelado);
+        out.writeInt(nVueltas);
+        out.writeInt(nTiradas);
+    }
+
+    /**
+     * Restaura los contadores escritos por {@link #guardar(DataOutput)},
+     * sin avisar a las estadísticas de la partida.
+     */
+    public void cargar(DataInput in) throws IOException {
+        inversiones = in.readLong();
+        pagoTasas = in.readLong();
+        cobroAlquileres = in.readLong();
+        pagoAlquileres = in.readLong();
+        abonosSalida = in.readLong();
+        premios = in.readLong();
+        gastos = in.readLong();
+
+        vecesEncarcelado = in.readInt();
+        nVueltas = in.readInt();
+        nTiradas = in.readInt();
     }
 
     public void anadirInversion(long cantidad) {
@@ -113,14 +155,52 @@ public class EstadisticasJugador {
 
     public void anadirVuelta() {
         nVueltas++;
+
+        if (estadisticasJuego != null) {
+            estadisticasJuego.actualizarVueltas(jugador);
+        }
     }
 
     public void quitarVuelta() {
         nVueltas--;
+
+        if (estadisticasJuego != null) {
+            estadisticasJuego.actualizarVueltas(jugador);
+        }
     }
 
     public void anadirTirada() {
         nTiradas++;
+
+        if (estadisticasJuego != null) {
+            estadisticasJuego.actualizarTiradas(jugador);
+        }
+    }
+
+    /**
+     * Lo llama el jugador cada vez que compra, vende o intercambia una
+     * propiedad, o cuando cambia el valor de una que ya tiene.
+     */
+    public void cambiarValorPropiedades(long diferencia) {
+        valorPropiedades += diferencia;
+        actualizarCapital();
+    }
+
+    /**
+     * Lo llama el jugador cada vez que cambia su fortuna
+     */
+    public void actualizarCapital() {
+        if (estadisticasJuego != null) {
+            estadisticasJuego.actualizarCapital(jugador);
+        }
+    }
+
+    /**
+     * Asigna las estadísticas de la partida en la que participa el jugador
+     * (o <code>null</code> si ya no participa).
+     */
+    public void setEstadisticasJuego(EstadisticasJuego estadisticasJuego) {
+        this.estadisticasJuego = estadisticasJuego;
     }
 
     public long getInversiones() {
@@ -151,7 +231,18 @@ public class EstadisticasJugador {
         return gastos;
     }
 
-    public long getCapital() throws ErrorFatalLogico {
+    /**
+     * Fortuna más el valor de todas sus propiedades y edificios
+     */
+    public long getCapital() {
+        return jugador.getFortuna() + valorPropiedades;
+    }
+
+    /**
+     * Calcula el capital desde cero, recorriendo todas sus propiedades.
+     * Solo se usa para comprobar que {@link #getCapital()} es correcto.
+     */
+    public long calcularCapital() throws ErrorFatalLogico {
         long capital = jugador.getFortuna();
 
         for (Propiedad p : jugador.getPropiedades()) {
@@ -1,31 +1,47 @@
 package monopoly.jugador;
 
-import monopoly.Juego;
 import monopoly.casilla.Casilla;
 import monopoly.casilla.edificio.Edificio;
+import monopoly.casilla.edificio.TipoEdificio;
 import monopoly.casilla.propiedad.Propiedad;
 import monopoly.casilla.propiedad.Solar;
 import monopoly.error.*;
 import monopoly.jugador.trato.*;
 import monopoly.utils.Buscar;
 import monopoly.utils.Consola;
+import monopoly.utils.Eventos;
+import monopoly.utils.IndiceNombres;
 import monopoly.utils.Listable;
 
-import java.util.ArrayList;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 
 public class Jugador implements Listable, Buscar {
+    // Referencias a jugadores en las partidas guardadas
+    private static final char REF_BANCA = '\0';
+    private static final char REF_NINGUNO = '-';
+
     private final String nombre;
     private final Avatar avatar;
     private final HashSet<Propiedad> propiedades;
     private final HashSet<Trato> tratos;
+    private final IndiceNombres<Trato> indiceTratos;
     private final EstadisticasJugador estadisticas;
+    private final Consola consola;
     private long fortuna;
     private Jugador acreedor;
 
-    public Jugador(String nombre, Avatar avatar, long fortunaInicial) {
+    public Jugador(String nombre, Avatar avatar, long fortunaInicial, Consola consola) {
         this.nombre = nombre;
         this.avatar = avatar;
+        this.consola = consola;
 
         if (avatar != null) {
             avatar.setJugador(this);
@@ -34,6 +50,7 @@ public class Jugador implements Listable, Buscar {
 
         propiedades = new HashSet<>();
         tratos = new HashSet<>();
+        indiceTratos = new IndiceNombres<>();
         estadisticas = new EstadisticasJugador(this);
     }
 
@@ -86,9 +103,9 @@ public class Jugador implements Listable, Buscar {
                 """.formatted(
                         nombre,
                         avatar.getId(),
-                        Juego.consola.fmt(Juego.consola.num(fortuna), fortuna < 0? Consola.Color.Rojo : Consola.Color.Verde),
-                        Juego.consola.listar(propiedades, (p) -> p.isHipotecada()? null : p.getNombreFmt()),
-                        Juego.consola.listar(propiedades, (p) -> !p.isHipotecada()? null : p.getNombreFmt()),
+                        consola.fmt(consola.num(fortuna), fortuna < 0? Consola.Color.Rojo : Consola.Color.Verde),
+                        consola.listar(propiedades, (p) -> p.isHipotecada()? null : p.getNombreFmt()),
+                        consola.listar(propiedades, (p) -> !p.isHipotecada()? null : p.getNombreFmt()),
                         listarEdificios());
         // @formatter:on
     }
@@ -107,16 +124,16 @@ public class Jugador implements Listable, Buscar {
      */
     public void describirTransaccion() {
         // @formatter:off
-        Juego.consola.imprimir("""
+        consola.imprimir(() -> """
                 {
                     fortuna: %s
                     gastos: %s
                     propiedades: %s
                     edificios: %s
                 }
-                """.formatted(Juego.consola.fmt(Juego.consola.num(fortuna), fortuna < 0? Consola.Color.Rojo : Consola.Color.Verde),
-                Juego.consola.num(estadisticas.getGastos()),
-                Juego.consola.listar(propiedades, Propiedad::getNombreFmt),
+                """.formatted(consola.fmt(consola.num(fortuna), fortuna < 0? Consola.Color.Rojo : Consola.Color.Verde),
+                consola.num(estadisticas.getGastos()),
+                consola.listar(propiedades, Propiedad::getNombreFmt),
                 listarEdificios()));
         // @formatter:on
     }
@@ -141,8 +158,19 @@ public class Jugador implements Listable, Buscar {
             }
         }
 
+        Eventos.Compra evento = new Eventos.Compra();
+        evento.begin();
+
         cobrar(propiedad.getPrecio());
         estadisticas.anadirInversion(propiedad.getPrecio());
+
+        // La banca solo tiene en su lista las propiedades que ha recibido
+        // por una bancarrota; las que nunca se han vendido no están.
+        Jugador banca = propiedad.getPropietario();
+        if (banca.getPropiedades().contains(propiedad)) {
+            banca.quitarPropiedad(propiedad);
+        }
+
         anadirPropiedad(propiedad);
         propiedad.comprar(this);
 
@@ -150,19 +178,27 @@ public class Jugador implements Listable, Buscar {
             ((AvatarCoche) avatar).noPuedeComprar();
         }
 
-        Juego.consola.imprimir("""
+        long precio = propiedad.getPrecio();
+        consola.imprimir(() -> """
                 El jugador %s ha comprado la casilla %s por %s
                 Ahora tiene una fortuna de %s
-                """.formatted(nombre, propiedad.getNombreFmt(), Juego.consola.num(propiedad.getPrecio()), Juego.consola.num(fortuna)));
+                """.formatted(nombre, propiedad.getNombreFmt(), consola.num(precio), consola.num(fortuna)));
 
         if (propiedad.getGrupo().isMonopolio(this)) {
-            Juego.consola.imprimir("""
+            consola.imprimir(() -> """
                     Con esta casilla, %s completa el Monopolio de %s!
                     Ahora los alquileres de ese grupo valen el doble.
-                    """.formatted(Juego.consola.fmt(nombre, Consola.Color.Azul), propiedad.getGrupo().getNombreFmt()));
+                    """.formatted(consola.fmt(nombre, Consola.Color.Azul), propiedad.getGrupo().getNombreFmt()));
         }
 
         describirTransaccion();
+
+        if (evento.shouldCommit()) {
+            evento.jugador = nombre;
+            evento.propiedad = propiedad.getNombre();
+            evento.precio = precio;
+            evento.commit();
+        }
     }
 
     public void construir(Edificio edificio, int cantidad) throws ErrorComando, ErrorFatalLogico {
@@ -174,18 +210,16 @@ public class Jugador implements Listable, Buscar {
             throw new ErrorFatalLogico("No se puede construir un edificio de otro jugador");
         }
 
-        // Calcula el número de estancias del avatar en el solar
-        int nEstanciasCasilla = 0;
-        for (Casilla c : avatar.getHistorialCasillas()) {
-            if (c.equals(edificio.getSolar())) {
-                nEstanciasCasilla++;
-            }
-        }
+        // Número de estancias del avatar en el solar
+        int nEstanciasCasilla = avatar.getVisitas(edificio.getSolar());
 
         if (!edificio.getSolar().getGrupo().isMonopolio(this) && nEstanciasCasilla <= 2) {
             throw new ErrorComandoEdificio("El jugador tiene que tener el Monopolio o haber pasado más de 2 veces por la casilla para poder edificar");
         }
 
+        Eventos.Edificacion evento = new Eventos.Edificacion();
+        evento.begin();
+
         int i = 0;
         try {
             for (i = 0; i < cantidad; i++) {
@@ -198,49 +232,42 @@ public class Jugador implements Listable, Buscar {
                 estadisticas.anadirInversion(edificio.getValor());
             }
         } finally {
-            Juego.consola.imprimir("""
+            int construidos = i;
+            long valor = edificio.getValor();
+            consola.imprimir(() -> """
                 %s ha construido %d %s(s) en el solar %s por %s.
                 Ahora tiene una fortuna de %s.
-                """.formatted(nombre, i, edificio.getClass().getSimpleName(), edificio.getSolar().getNombreFmt(), Juego.consola.num(edificio.getValor()), Juego.consola.num(fortuna)));
+                """.formatted(nombre, construidos, edificio.getClass().getSimpleName(), edificio.getSolar().getNombreFmt(), consola.num(valor), consola.num(fortuna)));
             describirTransaccion();
+
+            if (evento.shouldCommit()) {
+                evento.jugador = nombre;
+                evento.solar = edificio.getSolar().getNombre();
+                evento.tipo = edificio.getClass().getSimpleName();
+                evento.cantidad = construidos;
+                evento.valor = valor;
+                evento.commit();
+            }
         }
     }
 
-    public void vender(Solar solar, String tipoEdificio, int cantidad) throws ErrorComandoEdificio, ErrorFatalLogico {
+    public void vender(Solar solar, TipoEdificio tipoEdificio, int cantidad) throws ErrorComandoEdificio, ErrorFatalLogico {
         if (!solar.perteneceAJugador(this)) {
             throw new ErrorComandoEdificio("No se puede vender un edificio de otro jugador");
         }
 
         // Borrar los edificios en cuestión e ingresar la mitad de su valor
-        ArrayList<Edificio> edificios = solar.getEdificios();
-        long importeRecuperado = 0;
-        int nBorrados = 0;
-
-        for (int ii = 0; ii < edificios.size(); ii++) {
-            if (edificios.get(ii).getClass().getSimpleName().equals(tipoEdificio)) {
-                importeRecuperado += edificios.get(ii).getValor() / 2;
-                edificios.remove(ii);
-                nBorrados++;
-
-                // Cuando se borra el elemento ii, el elemento siguiente
-                // (ii + 1) pasará a estar en la posición ii; pero en la
-                // siguiente iteración se irá a ii+1 (ii+2 antes de borrar).
-                // Por tanto, nos estamos saltando un elemento.
-                ii--;
-            }
-
-            if (nBorrados >= cantidad) {
-                break;
-            }
-        }
+        // (todos los edificios del mismo tipo en un solar valen lo mismo)
+        int nBorrados = solar.demoler(tipoEdificio, cantidad);
+        long importeRecuperado = nBorrados * (tipoEdificio.getValor(solar) / 2);
 
         // NOTA: no se considera este importe recuperado para las estadísticas
         ingresar(importeRecuperado);
 
-        Juego.consola.imprimir("""
+        consola.imprimir(() -> """
                 %s ha vendido %d %s(s) del solar %s por %s.
                 Ahora tiene una fortuna de %s.
-                """.formatted(nombre, cantidad, tipoEdificio, solar.getNombre(), Juego.consola.num(importeRecuperado), Juego.consola.num(fortuna)));
+                """.formatted(nombre, nBorrados, tipoEdificio, solar.getNombre(), consola.num(importeRecuperado), consola.num(fortuna)));
         describirTransaccion();
     }
 
@@ -255,12 +282,13 @@ public class Jugador implements Listable, Buscar {
 
         fortuna -= cantidad;
         estadisticas.anadirGastos(cantidad);
+        estadisticas.actualizarCapital();
 
         // Si no hay suficientes fondos y se quiere endeudar al jugador,
         // entonces se resta igualmente para conseguir una fortuna negativa.
         if (isEndeudado()) {
             this.acreedor = acreedor;
-            Juego.consola.imprimir("No tienes suficientes fondos. Ahora estás endeudado con %s\n".formatted(acreedor.getNombre()));
+            consola.imprimir(() -> "No tienes suficientes fondos. Ahora estás endeudado con %s\n".formatted(acreedor.getNombre()));
         }
     }
 
@@ -279,6 +307,7 @@ public class Jugador implements Listable, Buscar {
 
         fortuna -= cantidad;
         estadisticas.anadirGastos(cantidad);
+        estadisticas.actualizarCapital();
     }
 
     public void ingresar(long cantidad) throws ErrorFatalLogico {
@@ -287,6 +316,7 @@ public class Jugador implements Listable, Buscar {
         }
 
         fortuna += cantidad;
+        estadisticas.actualizarCapital();
     }
 
     public void acabarTurno() throws ErrorComandoEstadoPartida, ErrorComandoAvatar {
@@ -301,12 +331,16 @@ public class Jugador implements Listable, Buscar {
         if (!propiedades.add(p)) {
             throw new ErrorFatalLogico("El jugador ya tenía la propiedad %s".formatted(p.getNombreFmt()));
         }
+
+        estadisticas.cambiarValorPropiedades(p.getValor());
     }
 
     public void quitarPropiedad(Propiedad p) throws ErrorFatalLogico {
         if (!propiedades.remove(p)) {
             throw new ErrorFatalLogico("El jugador no poseía la propiedad %s".formatted(p.getNombreFmt()));
         }
+
+        estadisticas.cambiarValorPropiedades(-p.getValor());
     }
 
     public boolean isEndeudado() {
@@ -325,6 +359,10 @@ public class Jugador implements Listable, Buscar {
         return propiedades;
     }
 
+    public Consola getConsola() {
+        return consola;
+    }
+
     public Jugador getAcreedor() {
         return acreedor;
     }
@@ -343,13 +381,40 @@ public class Jugador implements Listable, Buscar {
     }
 
     public void crearTrato(Jugador jugAcepta, Trato trato) {
-        this.tratos.add(trato);
+        Eventos.TratoPropuesto evento = new Eventos.TratoPropuesto();
+        evento.begin();
+
+        anadirTrato(trato);
+        consola.imprimir(trato.toString() + '\n');
+
+        if (evento.shouldCommit()) {
+            evento.trato = trato.getNombre();
+            evento.tipo = trato.getClass().getSimpleName();
+            evento.propone = nombre;
+            evento.acepta = jugAcepta.getNombre();
+            evento.commit();
+        }
+    }
+
+    /**
+     * Añade el trato a los dos jugadores que participan en él, sin
+     * mostrar nada (por ejemplo, al cargar una partida guardada).
+     */
+    public static void anadirTrato(Trato trato) {
+        Jugador jugPropone = trato.getJugadorPropone();
+        Jugador jugAcepta = trato.getJugadorAcepta();
+
+        jugPropone.tratos.add(trato);
+        jugPropone.indiceTratos.anadir(trato);
         jugAcepta.tratos.add(trato);
-        Juego.consola.imprimir(trato.toString() + '\n');
+        jugAcepta.indiceTratos.anadir(trato);
     }
 
-    public void aceptarTrato(String nombre) throws ErrorComandoFortuna, ErrorFatalLogico, ErrorComandoNoEncontrado, ErrorComandoTrato {
-        Trato trato = Buscar.porNombre(nombre, tratos);
+    /**
+     * @return El trato aceptado
+     */
+    public Trato aceptarTrato(String nombre) throws ErrorComandoFortuna, ErrorFatalLogico, ErrorComandoNoEncontrado, ErrorComandoTrato {
+        Trato trato = indiceTratos.buscar(nombre);
 
         if (!trato.getJugadorAcepta().equals(this)) {
             // La lista de tratos es compartida entre los tratos que he propuesto
@@ -362,12 +427,25 @@ public class Jugador implements Listable, Buscar {
             throw new ErrorComandoTrato("El trato ya había sido aceptado", this);
         }
 
+        Eventos.TratoAceptado evento = new Eventos.TratoAceptado();
+        evento.begin();
+
         trato.aceptar();
-        Juego.consola.imprimir("Aceptado:\n%s\n".formatted(trato.toString()));
+        consola.imprimir("Aceptado:\n%s\n".formatted(trato.toString()));
+
+        if (evento.shouldCommit()) {
+            evento.trato = trato.getNombre();
+            evento.tipo = trato.getClass().getSimpleName();
+            evento.propone = trato.getJugadorPropone().getNombre();
+            evento.acepta = this.nombre;
+            evento.commit();
+        }
+
+        return trato;
     }
 
     public void eliminarTrato(String nombre) throws ErrorComandoNoEncontrado, ErrorComandoTrato {
-        Trato trato = Buscar.porNombre(nombre, tratos);
+        Trato trato = indiceTratos.buscar(nombre);
 
         if (!trato.getJugadorPropone().equals(this)) {
             throw new ErrorComandoTrato("No puedes eliminar un trato que no hayas propuesto", this);
@@ -378,7 +456,135 @@ public class Jugador implements Listable, Buscar {
         }
 
         tratos.remove(trato);
+        indiceTratos.quitar(trato);
         trato.getJugadorAcepta().tratos.remove(trato);
-        Juego.consola.imprimir("Se ha eliminado el trato %s\n".formatted(trato.getNombre()));
+        trato.getJugadorAcepta().indiceTratos.quitar(trato);
+        consola.imprimir("Se ha eliminado el trato %s\n".formatted(trato.getNombre()));
+    }
+
+    // ==== PARTIDAS GUARDADAS ========================================================
+
+    /**
+     * Escribe la fortuna, las estadísticas y el avatar del jugador.
+     * <p>
+     * Las propiedades y el acreedor se guardan aparte, con
+     * {@link #guardarPropiedades(DataOutput)}, porque hacen referencia
+     * a otros jugadores y casillas que se tienen que cargar antes.
+     *
+     * @see monopoly.Juego#guardarPartida(DataOutput)
+     */
+    public void guardar(DataOutput out) throws IOException {
+        out.writeLong(fortuna);
+        estadisticas.guardar(out);
+
+        if (avatar != null) {
+            avatar.guardar(out);
+        }
+    }
+
+    /**
+     * Restaura el estado escrito por {@link #guardar(DataOutput)}
+     */
+    public void cargar(DataInput in, List<Casilla> casillas) throws IOException {
+        fortuna = in.readLong();
+        estadisticas.cargar(in);
+
+        if (avatar != null) {
+            avatar.cargar(in, casillas);
+        }
+    }
+
+    /**
+     * El acreedor solo se guarda mientras el jugador está endeudado: después
+     * no se usa, y puede que ya no esté en la partida.
+     * <p>
+     * Las propiedades se escriben en orden de posición y no en el del
+     * conjunto, para que la misma partida se guarde siempre igual (ver
+     * {@link monopoly.Juego#calcularSuma()}).
+     */
+    public void guardarPropiedades(DataOutput out) throws IOException {
+        escribirReferencia(out, isEndeudado() ? acreedor : null);
+
+        int[] posiciones = new int[propiedades.size()];
+        int n = 0;
+        for (Propiedad p : propiedades) {
+            posiciones[n++] = p.getPosicion();
+        }
+        Arrays.sort(posiciones);
+
+        out.writeShort(posiciones.length);
+        for (int posicion : posiciones) {
+            out.writeShort(posicion);
+        }
+    }
+
+    /**
+     * Restaura el acreedor y las propiedades escritas por {@link #guardarPropiedades(DataOutput)}.
+     * <p>
+     * Se tiene que llamar después de cargar las casillas, para que el
+     * valor de las propiedades (y por tanto el capital) sea el correcto.
+     */
+    public void cargarPropiedades(DataInput in, Map<Character, Jugador> jugadores, List<Casilla> casillas) throws IOException {
+        acreedor = leerReferencia(in, jugadores);
+
+        int n = in.readUnsignedShort();
+        for (int i = 0; i < n; i++) {
+            Propiedad p = Casilla.leerPropiedad(in, casillas);
+            if (p == null) {
+                throw new IOException("Propiedad no válida para %s".formatted(nombre));
+            }
+
+            try {
+                anadirPropiedad(p);
+            } catch (ErrorFatalLogico e) {
+                throw new IOException(e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Jugadores por el identificador con el que se guardan en las partidas:
+     * el carácter de su avatar, o un valor especial para la banca.
+     */
+    public static HashMap<Character, Jugador> referencias(Jugador banca, Collection<Jugador> jugadores) {
+        HashMap<Character, Jugador> referencias = new HashMap<>();
+        referencias.put(REF_BANCA, banca);
+
+        for (Jugador j : jugadores) {
+            referencias.put(j.avatar.getId(), j);
+        }
+
+        return referencias;
+    }
+
+    /**
+     * Escribe el identificador del jugador dado, que puede ser <code>null</code>
+     */
+    public static void escribirReferencia(DataOutput out, Jugador jugador) throws IOException {
+        if (jugador == null) {
+            out.writeChar(REF_NINGUNO);
+        } else {
+            out.writeChar(jugador.avatar == null ? REF_BANCA : jugador.avatar.getId());
+        }
+    }
+
+    /**
+     * Lee un jugador escrito con {@link #escribirReferencia(DataOutput, Jugador)}
+     *
+     * @param jugadores Resultado de {@link #referencias(Jugador, Collection)}
+     */
+    public static Jugador leerReferencia(DataInput in, Map<Character, Jugador> jugadores) throws IOException {
+        char id = in.readChar();
+
+        if (id == REF_NINGUNO) {
+            return null;
+        }
+
+        Jugador j = jugadores.get(id);
+        if (j == null) {
+            throw new IOException("Jugador %c desconocido".formatted(id));
+        }
+
+        return j;
     }
 }
@@ -1,29 +1,77 @@
 package monopoly.jugador.trato;
 
+import monopoly.casilla.Casilla;
+import monopoly.casilla.propiedad.Propiedad;
 import monopoly.error.ErrorComandoFortuna;
 import monopoly.error.ErrorComandoTrato;
 import monopoly.error.ErrorFatalLogico;
 import monopoly.jugador.Jugador;
 import monopoly.utils.Buscar;
+import monopoly.utils.Consola;
+import monopoly.utils.Diario;
 import monopoly.utils.Listable;
 
-public abstract class Trato implements Listable, Buscar {
-    private static int ultimoTrato = 1;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
 
-    private final String nombre;  // tiene que ser único
+public abstract class Trato implements Listable, Buscar {
+    // Tipos de trato en las partidas guardadas
+    // @formatter:off
+    static final int TIPO_C_P   = 0;
+    static final int TIPO_P_C   = 1;
+    static final int TIPO_P_P   = 2;
+    static final int TIPO_PC_P  = 3;
+    static final int TIPO_P_PC  = 4;
+    static final int TIPO_P_PNA = 5;
+    // @formatter:on
+
+    private int numero;
+    private String nombre;  // tiene que ser único en la partida
     private final Jugador jugPropone; // quien propone el trato
     private final Jugador jugAcepta; // quien decide si acepta o no
     private boolean aceptado;
 
+    /**
+     * Crea un trato todavía sin número: se lo asigna la partida al
+     * proponerlo (ver {@link #numerar(int)}).
+     */
     public Trato(Jugador jugPropone, Jugador jugAcepta) {
-        this.nombre = "Trato-" + ultimoTrato;
-        ultimoTrato++;
+        this.numero = 0;
+        this.nombre = null;
+
+        this.jugPropone = jugPropone;
+        this.jugAcepta = jugAcepta;
+        this.aceptado = false;
+    }
+
+    /**
+     * Restaura un trato de una partida guardada, con su mismo número
+     * y sin comprobar que se pueda proponer.
+     *
+     * @see #cargar(DataInput, Map, List)
+     */
+    protected Trato(int numero, Jugador jugPropone, Jugador jugAcepta) {
+        this.numero = numero;
+        this.nombre = "Trato-" + numero;
 
         this.jugPropone = jugPropone;
         this.jugAcepta = jugAcepta;
         this.aceptado = false;
     }
 
+    /**
+     * Asigna el número (y con él el nombre) del trato. Cada partida numera
+     * sus tratos por separado, para que los nombres no dependan de las demás
+     * partidas del proceso y se puedan reproducir.
+     */
+    public void numerar(int numero) {
+        this.numero = numero;
+        this.nombre = "Trato-" + numero;
+    }
+
     @Override
     public String listar() {
         return this.toString();
@@ -56,6 +104,105 @@ public abstract class Trato implements Listable, Buscar {
         return jugAcepta;
     }
 
+    /**
+     * Consola de la partida en la que se propuso el trato
+     */
+    protected Consola getConsola() {
+        return jugPropone.getConsola();
+    }
+
+
+    /**
+     * Apunta el trato en el diario de la partida, al aceptarlo
+     */
+    public abstract void registrar(Diario diario);
+
+    /**
+     * Escribe el registro de un trato aceptado con los elementos dados.
+     * Las propiedades que no forman parte del trato son <code>null</code>.
+     */
+    protected void registrar(Diario diario, Propiedad propPropone, Propiedad propAcepta, long cantidadPropone, long cantidadAcepta, Propiedad propNoAlquiler, int turnos) {
+        diario.evento(Diario.Evento.AceptarTrato)
+                .campo(jugPropone.getAvatar().getId())
+                .campo(jugAcepta.getAvatar().getId())
+                .campo(propPropone == null ? -1 : propPropone.getPosicion())
+                .campo(propAcepta == null ? -1 : propAcepta.getPosicion())
+                .campo(cantidadPropone)
+                .campo(cantidadAcepta)
+                .campo(propNoAlquiler == null ? -1 : propNoAlquiler.getPosicion())
+                .campo(turnos);
+    }
+
+    /**
+     * Escribe el trato en una partida guardada
+     *
+     * @see #cargar(DataInput, Map, List)
+     */
+    public abstract void guardar(DataOutput out) throws IOException;
+
+    /**
+     * Escribe la parte común a todos los tratos. Las subclases añaden
+     * sus campos a continuación.
+     */
+    protected void guardar(DataOutput out, int tipo) throws IOException {
+        out.writeByte(tipo);
+        out.writeInt(numero);
+        Jugador.escribirReferencia(out, jugPropone);
+        Jugador.escribirReferencia(out, jugAcepta);
+        out.writeBoolean(aceptado);
+    }
+
+    /**
+     * Lee un trato escrito con {@link #guardar(DataOutput)}.
+     * <p>
+     * NOTA: no se añade a los jugadores (ver {@link Jugador#anadirTrato(Trato)}).
+     *
+     * @param jugadores Jugadores de la partida cargada (ver {@link Jugador#referencias})
+     */
+    public static Trato cargar(DataInput in, Map<Character, Jugador> jugadores, List<Casilla> casillas) throws IOException {
+        int tipo = in.readUnsignedByte();
+        int numero = in.readInt();
+        Jugador jugPropone = Jugador.leerReferencia(in, jugadores);
+        Jugador jugAcepta = Jugador.leerReferencia(in, jugadores);
+        boolean aceptado = in.readBoolean();
+
+        if (jugPropone == null || jugAcepta == null) {
+            throw new IOException("Trato-%d sin jugadores".formatted(numero));
+        }
+
+        // @formatter:off
+        Trato trato = switch (tipo) {
+            case TIPO_C_P   -> new TratoC_P(numero, jugPropone, jugAcepta, in.readLong(), leerPropiedad(in, casillas));
+            case TIPO_P_C   -> new TratoP_C(numero, jugPropone, jugAcepta, leerPropiedad(in, casillas), in.readLong());
+            case TIPO_P_P   -> new TratoP_P(numero, jugPropone, jugAcepta, leerPropiedad(in, casillas), leerPropiedad(in, casillas));
+            case TIPO_PC_P  -> new TratoPC_P(numero, jugPropone, jugAcepta, leerPropiedad(in, casillas), in.readLong(), leerPropiedad(in, casillas));
+            case TIPO_P_PC  -> new TratoP_PC(numero, jugPropone, jugAcepta, leerPropiedad(in, casillas), leerPropiedad(in, casillas), in.readLong());
+            case TIPO_P_PNA -> new TratoP_PNA(numero, jugPropone, jugAcepta, leerPropiedad(in, casillas), leerPropiedad(in, casillas), leerPropiedad(in, casillas), in.readInt());
+            default -> throw new IOException("Tipo de trato %d desconocido".formatted(tipo));
+        };
+        // @formatter:on
+
+        trato.aceptado = aceptado;
+        trato.restaurar();
+        return trato;
+    }
+
+    private static Propiedad leerPropiedad(DataInput in, List<Casilla> casillas) throws IOException {
+        Propiedad p = Casilla.leerPropiedad(in, casillas);
+
+        if (p == null) {
+            throw new IOException("Trato sin propiedad");
+        }
+
+        return p;
+    }
+
+    /**
+     * Se llama al terminar de cargar el trato, por si tiene efectos que
+     * duran después de aceptarlo.
+     */
+    protected void restaurar() {
+    }
 
     public void aceptar() throws ErrorComandoFortuna, ErrorFatalLogico, ErrorComandoTrato {
         aceptado = true;
@@ -67,6 +214,13 @@ public abstract class Trato implements Listable, Buscar {
         return nombre;
     }
 
+    /**
+     * Número del trato, que indica el orden en el que se propusieron
+     */
+    public int getNumero() {
+        return numero;
+    }
+
     public boolean isAceptado() {
         return aceptado;
     }
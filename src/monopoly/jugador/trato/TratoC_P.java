@@ -1,12 +1,16 @@
 package monopoly.jugador.trato;
 
-import monopoly.Juego;
+import monopoly.casilla.Casilla;
 import monopoly.casilla.propiedad.Propiedad;
 import monopoly.error.ErrorComandoFortuna;
 import monopoly.error.ErrorComandoJugador;
 import monopoly.error.ErrorComandoTrato;
 import monopoly.error.ErrorFatalLogico;
 import monopoly.jugador.Jugador;
+import monopoly.utils.Diario;
+
+import java.io.DataOutput;
+import java.io.IOException;
 
 public class TratoC_P extends Trato {
     private final Propiedad propAcepta;
@@ -27,6 +31,16 @@ public class TratoC_P extends Trato {
         this.propAcepta = propAcepta;
     }
 
+    /**
+     * Restaura un trato de una partida guardada
+     */
+    TratoC_P(int numero, Jugador jugPropone, Jugador jugAcepta, long cantidadPropone, Propiedad propAcepta) {
+        super(numero, jugPropone, jugAcepta);
+
+        this.cantidadPropone = cantidadPropone;
+        this.propAcepta = propAcepta;
+    }
+
     @Override
     public String toString() {
         return """
@@ -34,7 +48,19 @@ public class TratoC_P extends Trato {
                 %s
                     trato: cambiar %s por %s
                 }
-                """.formatted(super.toString(), Juego.consola.num(cantidadPropone), propAcepta.getNombreFmt());
+                """.formatted(super.toString(), getConsola().num(cantidadPropone), propAcepta.getNombreFmt());
+    }
+
+    @Override
+    public void registrar(Diario diario) {
+        registrar(diario, null, propAcepta, cantidadPropone, 0, null, 0);
+    }
+
+    @Override
+    public void guardar(DataOutput out) throws IOException {
+        guardar(out, TIPO_C_P);
+        out.writeLong(cantidadPropone);
+        Casilla.escribirReferencia(out, propAcepta);
     }
 
     @Override
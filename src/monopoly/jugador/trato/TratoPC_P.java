@@ -1,12 +1,16 @@
 package monopoly.jugador.trato;
 
-import monopoly.Juego;
+import monopoly.casilla.Casilla;
 import monopoly.casilla.propiedad.Propiedad;
 import monopoly.error.ErrorComandoFortuna;
 import monopoly.error.ErrorComandoJugador;
 import monopoly.error.ErrorComandoTrato;
 import monopoly.error.ErrorFatalLogico;
 import monopoly.jugador.Jugador;
+import monopoly.utils.Diario;
+
+import java.io.DataOutput;
+import java.io.IOException;
 
 public class TratoPC_P extends Trato {
     private final Propiedad propPropone;
@@ -29,6 +33,17 @@ public class TratoPC_P extends Trato {
         this.cantidadPropone = cantidadPropone;
     }
 
+    /**
+     * Restaura un trato de una partida guardada
+     */
+    TratoPC_P(int numero, Jugador jugPropone, Jugador jugAcepta, Propiedad propPropone, long cantidadPropone, Propiedad propAcepta) {
+        super(numero, jugPropone, jugAcepta);
+
+        this.propPropone = propPropone;
+        this.cantidadPropone = cantidadPropone;
+        this.propAcepta = propAcepta;
+    }
+
     @Override
     public String toString() {
         // @formatter:off
@@ -39,11 +54,24 @@ public class TratoPC_P extends Trato {
                 }""".formatted(
                     super.toString().indent(4),
                     propPropone.getNombreFmt(),
-                    Juego.consola.num(cantidadPropone),
+                    getConsola().num(cantidadPropone),
                     propAcepta.getNombreFmt());
         // @formatter:on
     }
 
+    @Override
+    public void registrar(Diario diario) {
+        registrar(diario, propPropone, propAcepta, cantidadPropone, 0, null, 0);
+    }
+
+    @Override
+    public void guardar(DataOutput out) throws IOException {
+        guardar(out, TIPO_PC_P);
+        Casilla.escribirReferencia(out, propPropone);
+        out.writeLong(cantidadPropone);
+        Casilla.escribirReferencia(out, propAcepta);
+    }
+
     @Override
     public void aceptar() throws ErrorComandoFortuna, ErrorFatalLogico, ErrorComandoTrato {
         if (!propPropone.perteneceAJugador(getJugadorPropone()) || !propAcepta.perteneceAJugador(getJugadorAcepta())) {
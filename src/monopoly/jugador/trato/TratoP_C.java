@@ -1,12 +1,16 @@
 package monopoly.jugador.trato;
 
-import monopoly.Juego;
+import monopoly.casilla.Casilla;
 import monopoly.casilla.propiedad.Propiedad;
 import monopoly.error.ErrorComandoFortuna;
 import monopoly.error.ErrorComandoJugador;
 import monopoly.error.ErrorComandoTrato;
 import monopoly.error.ErrorFatalLogico;
 import monopoly.jugador.Jugador;
+import monopoly.utils.Diario;
+
+import java.io.DataOutput;
+import java.io.IOException;
 
 public class TratoP_C extends Trato {
     private final Propiedad propPropone;
@@ -23,13 +27,35 @@ public class TratoP_C extends Trato {
         this.propPropone = propPropone;
     }
 
+    /**
+     * Restaura un trato de una partida guardada
+     */
+    TratoP_C(int numero, Jugador jugPropone, Jugador jugAcepta, Propiedad propPropone, long cantidadAcepta) {
+        super(numero, jugPropone, jugAcepta);
+
+        this.propPropone = propPropone;
+        this.cantidadAcepta = cantidadAcepta;
+    }
+
     @Override
     public String toString() {
         return """
                 {
                 %s
                     trato: cambiar %s por %s
-                }""".formatted(super.toString().indent(4), propPropone.getNombreFmt(), Juego.consola.num(cantidadAcepta));
+                }""".formatted(super.toString().indent(4), propPropone.getNombreFmt(), getConsola().num(cantidadAcepta));
+    }
+
+    @Override
+    public void registrar(Diario diario) {
+        registrar(diario, propPropone, null, 0, cantidadAcepta, null, 0);
+    }
+
+    @Override
+    public void guardar(DataOutput out) throws IOException {
+        guardar(out, TIPO_P_C);
+        Casilla.escribirReferencia(out, propPropone);
+        out.writeLong(cantidadAcepta);
     }
 
     @Override
@@ -1,11 +1,16 @@
 package monopoly.jugador.trato;
 
+import monopoly.casilla.Casilla;
 import monopoly.casilla.propiedad.Propiedad;
 import monopoly.error.ErrorComandoFortuna;
 import monopoly.error.ErrorComandoJugador;
 import monopoly.error.ErrorComandoTrato;
 import monopoly.error.ErrorFatalLogico;
 import monopoly.jugador.Jugador;
+import monopoly.utils.Diario;
+
+import java.io.DataOutput;
+import java.io.IOException;
 
 public class TratoP_P extends Trato {
     private final Propiedad propPropone;
@@ -23,6 +28,16 @@ public class TratoP_P extends Trato {
         this.propAcepta = propAcepta;
     }
 
+    /**
+     * Restaura un trato de una partida guardada
+     */
+    TratoP_P(int numero, Jugador jugPropone, Jugador jugAcepta, Propiedad propPropone, Propiedad propAcepta) {
+        super(numero, jugPropone, jugAcepta);
+
+        this.propPropone = propPropone;
+        this.propAcepta = propAcepta;
+    }
+
     @Override
     public String toString() {
         return """
@@ -32,6 +47,18 @@ public class TratoP_P extends Trato {
                 }""".formatted(super.toString().indent(4), propPropone.getNombreFmt(), propAcepta.getNombreFmt());
     }
 
+    @Override
+    public void registrar(Diario diario) {
+        registrar(diario, propPropone, propAcepta, 0, 0, null, 0);
+    }
+
+    @Override
+    public void guardar(DataOutput out) throws IOException {
+        guardar(out, TIPO_P_P);
+        Casilla.escribirReferencia(out, propPropone);
+        Casilla.escribirReferencia(out, propAcepta);
+    }
+
     @Override
     public void aceptar() throws ErrorComandoFortuna, ErrorFatalLogico, ErrorComandoTrato {
         if (!propPropone.perteneceAJugador(getJugadorPropone()) || !propAcepta.perteneceAJugador(getJugadorAcepta())) {
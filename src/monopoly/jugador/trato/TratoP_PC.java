@@ -1,11 +1,15 @@
 package monopoly.jugador.trato;
 
-import monopoly.Juego;
+import monopoly.casilla.Casilla;
 import monopoly.casilla.propiedad.Propiedad;
 import monopoly.error.ErrorComandoFortuna;
 import monopoly.error.ErrorComandoTrato;
 import monopoly.error.ErrorFatalLogico;
 import monopoly.jugador.Jugador;
+import monopoly.utils.Diario;
+
+import java.io.DataOutput;
+import java.io.IOException;
 
 public class TratoP_PC extends Trato {
     private final Propiedad propPropone;
@@ -24,6 +28,17 @@ public class TratoP_PC extends Trato {
         this.cantidad = cantidadAcepta;
     }
 
+    /**
+     * Restaura un trato de una partida guardada
+     */
+    TratoP_PC(int numero, Jugador jugPropone, Jugador jugAcepta, Propiedad propPropone, Propiedad propAcepta, long cantidadAcepta) {
+        super(numero, jugPropone, jugAcepta);
+
+        this.propPropone = propPropone;
+        this.propAcepta = propAcepta;
+        this.cantidad = cantidadAcepta;
+    }
+
     @Override
     public String toString() {
         // @formatter:off
@@ -34,11 +49,24 @@ public class TratoP_PC extends Trato {
                 }""".formatted(
                     super.toString().indent(4),
                     propPropone.getNombreFmt(),
-                    Juego.consola.num(cantidad),
+                    getConsola().num(cantidad),
                     propAcepta.getNombreFmt());
         // @formatter:on
     }
 
+    @Override
+    public void registrar(Diario diario) {
+        registrar(diario, propPropone, propAcepta, 0, cantidad, null, 0);
+    }
+
+    @Override
+    public void guardar(DataOutput out) throws IOException {
+        guardar(out, TIPO_P_PC);
+        Casilla.escribirReferencia(out, propPropone);
+        Casilla.escribirReferencia(out, propAcepta);
+        out.writeLong(cantidad);
+    }
+
     @Override
     public void aceptar() throws ErrorComandoFortuna, ErrorFatalLogico, ErrorComandoTrato {
         if (!propPropone.perteneceAJugador(getJugadorPropone()) || !propAcepta.perteneceAJugador(getJugadorAcepta())) {
@@ -1,11 +1,16 @@
 package monopoly.jugador.trato;
 
+import monopoly.casilla.Casilla;
 import monopoly.casilla.propiedad.Propiedad;
 import monopoly.error.ErrorComandoFortuna;
 import monopoly.error.ErrorComandoJugador;
 import monopoly.error.ErrorComandoTrato;
 import monopoly.error.ErrorFatalLogico;
 import monopoly.jugador.Jugador;
+import monopoly.utils.Diario;
+
+import java.io.DataOutput;
+import java.io.IOException;
 
 public class TratoP_PNA extends Trato {
     private final Propiedad propPropone;
@@ -30,6 +35,18 @@ public class TratoP_PNA extends Trato {
         this.turnos = turnos;
     }
 
+    /**
+     * Restaura un trato de una partida guardada
+     */
+    TratoP_PNA(int numero, Jugador jugPropone, Jugador jugAcepta, Propiedad propPropone, Propiedad propAcepta, Propiedad propNoAlquiler, int turnos) {
+        super(numero, jugPropone, jugAcepta);
+
+        this.propPropone = propPropone;
+        this.propAcepta = propAcepta;
+        this.propNoAlquiler = propNoAlquiler;
+        this.turnos = turnos;
+    }
+
     @Override
     public String toString() {
         // @formatter:off
@@ -46,6 +63,20 @@ public class TratoP_PNA extends Trato {
         // @formatter:on
     }
 
+    @Override
+    public void registrar(Diario diario) {
+        registrar(diario, propPropone, propAcepta, 0, 0, propNoAlquiler, turnos);
+    }
+
+    @Override
+    public void guardar(DataOutput out) throws IOException {
+        guardar(out, TIPO_P_PNA);
+        Casilla.escribirReferencia(out, propPropone);
+        Casilla.escribirReferencia(out, propAcepta);
+        Casilla.escribirReferencia(out, propNoAlquiler);
+        out.writeInt(turnos);
+    }
+
     @Override
     public void aceptar() throws ErrorComandoFortuna, ErrorFatalLogico, ErrorComandoTrato {
         if (!propPropone.perteneceAJugador(getJugadorPropone()) || !propAcepta.perteneceAJugador(getJugadorAcepta())) {
@@ -64,9 +95,23 @@ public class TratoP_PNA extends Trato {
         j1.quitarPropiedad(propPropone);
         j2.quitarPropiedad(propAcepta);
 
+        // A partir de ahora, el que acepta no paga alquiler en esa propiedad
+        propNoAlquiler.anadirExencion(j2, this);
+
         super.aceptar();
     }
 
+    /**
+     * Si el trato ya se aceptó y le quedan turnos, el que lo aceptó sigue
+     * sin pagar alquiler en la propiedad.
+     */
+    @Override
+    protected void restaurar() {
+        if (isAceptado() && turnos > 0) {
+            propNoAlquiler.anadirExencion(getJugadorAcepta(), this);
+        }
+    }
+
     public Propiedad getPropNoAlquiler() {
         return propNoAlquiler;
     }
@@ -0,0 +1,102 @@
+package monopoly.servidor;
+
+import monopoly.utils.Consola;
+import monopoly.utils.ConsolaNormal;
+import monopoly.utils.ConsolaNula;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Comprueba que una {@link Sesion} del {@link Servidor} no puede leer ni
+ * escribir archivos de la máquina del servidor: abre un servidor en un
+ * puerto libre, se conecta y prueba <code>exec /etc/passwd</code>,
+ * <code>cargar /etc/passwd</code> y <code>guardar</code> en un archivo
+ * temporal. Si algún comando funciona, muestra lo que ha fallado y
+ * termina con error.
+ * <pre>
+ *     java -cp build:src monopoly.servidor.ComprobadorServidor
+ * </pre>
+ */
+public class ComprobadorServidor {
+    /**
+     * Mensaje con el que se rechaza cada comando con archivos
+     */
+    private static final String RECHAZO = "comando no disponible en esta partida";
+
+    public static void main(String[] args) {
+        Consola consola = new ConsolaNormal();
+
+        try {
+            if (!comprobar(consola)) {
+                System.exit(1);
+            }
+        } catch (IOException e) {
+            consola.error("Error de conexión: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * @return <code>true</code> si se han rechazado todos los comandos con archivos
+     */
+    public static boolean comprobar(Consola consola) throws IOException {
+        Servidor servidor = new Servidor(0, 1, new ConsolaNula());
+        Thread hilo = new Thread(() -> {
+            try {
+                servidor.atender();
+            } catch (IOException ignored) {
+                // Se termina con el proceso
+            }
+        }, "servidor");
+        hilo.setDaemon(true);
+        hilo.start();
+
+        Path destino = Path.of(System.getProperty("java.io.tmpdir"), "comprobador-servidor-%d.bin".formatted(System.nanoTime()));
+        String comandos = """
+                exec /etc/passwd
+                cargar /etc/passwd
+                guardar %s
+                """.formatted(destino);
+
+        String respuesta;
+        try (Socket cliente = new Socket(InetAddress.getLoopbackAddress(), servidor.getPuerto())) {
+            OutputStream salida = cliente.getOutputStream();
+            salida.write(comandos.getBytes(StandardCharsets.UTF_8));
+            // Al ver el final de la entrada, la sesión termina y cierra la conexión
+            cliente.shutdownOutput();
+
+            respuesta = new String(cliente.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        boolean correcto = true;
+        int nRechazos = respuesta.split(RECHAZO, -1).length - 1;
+
+        if (nRechazos != 3) {
+            consola.error("Se esperaban 3 comandos rechazados, pero hay %d:\n%s".formatted(nRechazos, respuesta));
+            correcto = false;
+        }
+
+        // exec muestra cada línea del archivo que no es un comando
+        if (respuesta.contains("comando no válido")) {
+            consola.error("La sesión ha mostrado el contenido de /etc/passwd");
+            correcto = false;
+        }
+
+        if (Files.deleteIfExists(destino)) {
+            consola.error("La sesión ha escrito en %s".formatted(destino));
+            correcto = false;
+        }
+
+        if (correcto) {
+            consola.imprimir("Las sesiones del servidor no pueden usar archivos\n");
+        }
+
+        return correcto;
+    }
+}
@@ -0,0 +1,175 @@
+package monopoly.servidor;
+
+import monopoly.utils.Consola;
+import monopoly.utils.ConsolaNormal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servidor de partidas por TCP: cada conexión es una partida distinta,
+ * independiente de las demás (ver {@link Sesion}), que se juega con los
+ * mismos comandos que en la terminal. Solo acepta conexiones locales.
+ * <p>
+ * Uso:
+ * <pre>
+ *     java -cp build:src monopoly.servidor.Servidor [--puerto N] [--sesiones N]
+ * </pre>
+ * Y para jugar, por ejemplo: <code>nc localhost 5050</code>.
+ * <p>
+ * Cada sesión tiene su propio hilo, que pasa casi todo el tiempo esperando
+ * el siguiente comando, así que se crean con una pila pequeña.
+ * <p>
+ * NOTA: el proyecto se compila para Java 17, que no tiene hilos virtuales.
+ * Con Java 21 bastaría con crear los hilos con <code>Thread.ofVirtual()</code>.
+ */
+public class Servidor {
+    private static final int PUERTO = 5050;
+    private static final int MAX_SESIONES = 10_000;
+    /**
+     * Conexiones pendientes de aceptar que admite el sistema operativo
+     */
+    private static final int COLA_CONEXIONES = 1024;
+    /**
+     * Tamaño de la pila de los hilos de las sesiones
+     */
+    private static final long TAM_PILA = 256 * 1024;
+
+    private final ServerSocket socket;
+    private final int maxSesiones;
+    private final Consola registro;     /* Mensajes del servidor */
+    private final AtomicInteger activas; /* Sesiones abiertas */
+    private int nSesiones;               /* Sesiones aceptadas hasta ahora, para numerarlas */
+
+    /**
+     * Abre el puerto dado en la interfaz local (<code>localhost</code>)
+     */
+    public Servidor(int puerto, int maxSesiones, Consola registro) throws IOException {
+        this.socket = new ServerSocket(puerto, COLA_CONEXIONES, InetAddress.getLoopbackAddress());
+        this.maxSesiones = maxSesiones;
+        this.registro = registro;
+        this.activas = new AtomicInteger(0);
+        this.nSesiones = 0;
+    }
+
+    public static void main(String[] args) {
+        Consola consola = new ConsolaNormal();
+        int puerto = PUERTO;
+        int maxSesiones = MAX_SESIONES;
+
+        if (args.length % 2 != 0) {
+            consola.error("Cada opción necesita un valor");
+            System.exit(1);
+        }
+
+        try {
+            for (int i = 0; i < args.length; i += 2) {
+                switch (args[i]) {
+                    case "--puerto" -> puerto = Integer.parseInt(args[i + 1]);
+                    case "--sesiones" -> maxSesiones = Integer.parseInt(args[i + 1]);
+                    default -> {
+                        consola.error("\"%s\": opción no válida".formatted(args[i]));
+                        System.exit(1);
+                    }
+                }
+            }
+        } catch (NumberFormatException e) {
+            consola.error("Número no válido: " + e.getMessage());
+            System.exit(1);
+        }
+
+        try {
+            Servidor servidor = new Servidor(puerto, maxSesiones, consola);
+            consola.imprimir("Esperando conexiones en %s\n".formatted(servidor.socket.getLocalSocketAddress()));
+            servidor.atender();
+        } catch (IOException e) {
+            consola.error("Error en el servidor: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Acepta conexiones indefinidamente, creando una sesión para cada una
+     */
+    public void atender() throws IOException {
+        while (true) {
+            Socket cliente = socket.accept();
+            int numero = ++nSesiones;
+
+            if (activas.get() >= maxSesiones) {
+                rechazar(cliente, numero);
+                continue;
+            }
+
+            Sesion sesion = new Sesion(numero, cliente, this);
+            activas.incrementAndGet();
+
+            try {
+                new Thread(null, sesion, "sesion-" + numero, TAM_PILA).start();
+            } catch (OutOfMemoryError e) {
+                // El sistema no permite más hilos: se pierde esta
+                // sesión, pero no las que ya están abiertas.
+                cliente.close();
+                terminar(sesion, "no se ha podido crear su hilo");
+                continue;
+            }
+
+            registro.imprimir("Sesión %d abierta desde %s (%d activas)\n".formatted(numero, cliente.getRemoteSocketAddress(), activas.get()));
+        }
+    }
+
+    private void rechazar(Socket cliente, int numero) {
+        try (cliente) {
+            OutputStream salida = cliente.getOutputStream();
+            salida.write("El servidor está lleno, inténtalo más tarde\n".getBytes(StandardCharsets.UTF_8));
+        } catch (IOException ignored) {
+            // Se iba a cerrar de todas formas
+        }
+
+        registro.imprimir("Sesión %d rechazada: ya hay %d activas\n".formatted(numero, maxSesiones));
+    }
+
+    /**
+     * Se llama cuando una sesión termina, por el motivo que sea
+     */
+    void terminar(Sesion sesion, String motivo) {
+        int quedan = activas.decrementAndGet();
+        registro.imprimir("Sesión %d cerrada: %s (%d activas)\n".formatted(sesion.getNumero(), motivo, quedan));
+    }
+
+    /**
+     * Muestra en el registro del servidor una excepción que ha terminado una
+     * sesión, con su pila de llamadas, para poder depurarla. Todas las líneas
+     * llevan el número de la sesión, porque se pueden mezclar con las de
+     * otras sesiones.
+     */
+    void registrarExcepcion(Sesion sesion, RuntimeException e) {
+        StringWriter pila = new StringWriter();
+        e.printStackTrace(new PrintWriter(pila));
+
+        String prefijo = "[sesión %d] ".formatted(sesion.getNumero());
+        StringBuilder str = new StringBuilder(prefijo).append("Excepción no controlada:");
+        pila.toString().lines().forEach(l -> str.append('\n').append(prefijo).append(l));
+
+        registro.error(str.toString());
+    }
+
+    /**
+     * Puerto en el que escucha el servidor (útil si se ha abierto con el 0,
+     * que elige uno libre)
+     */
+    public int getPuerto() {
+        return socket.getLocalPort();
+    }
+
+    public int getSesionesActivas() {
+        return activas.get();
+    }
+}
@@ -0,0 +1,99 @@
+package monopoly.servidor;
+
+import monopoly.Juego;
+import monopoly.casilla.carta.EleccionInteractiva;
+import monopoly.error.ErrorFatal;
+import monopoly.utils.Consola;
+import monopoly.utils.ConsolaAgrupada;
+import monopoly.utils.FuenteDadosAleatoria;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.Socket;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+import java.util.SplittableRandom;
+
+/**
+ * Una conexión con el {@link Servidor}: una partida propia, con una
+ * consola que lee y escribe en el socket, que se juega en su propio hilo.
+ * <p>
+ * Cualquier fallo de la partida (un error fatal, o una excepción por un
+ * error del juego) termina solo esta sesión y cierra su conexión.
+ * <p>
+ * Las partidas no tienen los comandos que leen o escriben archivos
+ * (ver {@link Juego#setAccesoArchivos(boolean)}).
+ */
+public class Sesion implements Runnable {
+    /**
+     * Tamaño del buffer de salida que se mantiene mientras se espera un
+     * comando. La salida de cada comando se envía de una vez al terminarlo
+     * (ver {@link ConsolaAgrupada}).
+     */
+    private static final int TAM_BUFFER = 1024;
+
+    private final int numero;
+    private final Socket socket;
+    private final Servidor servidor;
+
+    public Sesion(int numero, Socket socket, Servidor servidor) {
+        this.numero = numero;
+        this.socket = socket;
+        this.servidor = servidor;
+    }
+
+    @Override
+    public void run() {
+        String motivo = "el cliente ha cerrado la conexión";
+
+        try (socket) {
+            Consola consola = new ConsolaAgrupada(
+                    new Scanner(socket.getInputStream(), StandardCharsets.UTF_8),
+                    Channels.newChannel(socket.getOutputStream()), StandardCharsets.UTF_8, TAM_BUFFER);
+
+            try {
+                Juego juego = new Juego(consola, new FuenteDadosAleatoria(new SplittableRandom()));
+                juego.setPoliticaCartas(new EleccionInteractiva(consola));
+                // Los archivos serían los del servidor, no los del cliente
+                juego.setAccesoArchivos(false);
+                juego.iniciarConsola();
+                motivo = "ha salido del juego";
+            } catch (ErrorFatal e) {
+                motivo = "error fatal: " + e.getMessage();
+                avisarCliente(consola, () -> e.imprimirMsg(consola));
+            } catch (NoSuchElementException e) {
+                // Al leer después de que el cliente haya cerrado la conexión
+            } catch (UncheckedIOException e) {
+                // Al escribir después de que el cliente haya cerrado la conexión
+                motivo = "error de conexión: " + e.getCause().getMessage();
+            } catch (RuntimeException e) {
+                motivo = "excepción: " + e;
+                servidor.registrarExcepcion(this, e);
+                avisarCliente(consola, () -> consola.error("Error interno del servidor. Se cierra la sesión."));
+            }
+        } catch (IOException e) {
+            motivo = "error de conexión: " + e.getMessage();
+        } finally {
+            servidor.terminar(this, motivo);
+        }
+    }
+
+    /**
+     * Intenta mostrar un último mensaje al cliente antes de cerrar la sesión.
+     * Si el cliente ya se ha ido, no se puede escribir y se ignora.
+     */
+    private static void avisarCliente(Consola consola, Runnable mensaje) {
+        try {
+            mensaje.run();
+            consola.volcar();
+        } catch (UncheckedIOException e) {
+            // El motivo y la excepción ya se han registrado
+        }
+    }
+
+    public int getNumero() {
+        return numero;
+    }
+}
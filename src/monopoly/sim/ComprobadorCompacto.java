@@ -0,0 +1,221 @@
+package monopoly.sim;
+
+import monopoly.error.ErrorComandoFormato;
+import monopoly.error.ErrorFatal;
+import monopoly.error.ErrorJuego;
+import monopoly.utils.Consola;
+import monopoly.utils.ConsolaNormal;
+import monopoly.utils.FuenteDadosDivisible;
+
+/**
+ * Comprueba que {@link PartidaCompacta} juega exactamente igual que
+ * {@link PartidaSimulada}: juega cada partida con los dos, con los mismos
+ * dados, y compara el estado de ambas después de cada turno. Si alguna
+ * partida se desvía, o alguno de los dos modelos termina con un error
+ * fatal, muestra la primera diferencia y termina con error.
+ * <p>
+ * Acepta las mismas opciones que el {@link Simulador} (ver {@link ConfigSimulacion}),
+ * salvo las que no admite la partida compacta. Por ejemplo:
+ * <pre>
+ *     java -cp build:src monopoly.sim.ComprobadorCompacto --partidas 500 --semilla 1 --jugadores 6
+ * </pre>
+ * Al final, vuelve a jugar todas las partidas con el {@link Simulador}, con
+ * cada modelo; comprueba que los resultados son los mismos y compara lo que
+ * tarda cada uno.
+ */
+public class ComprobadorCompacto {
+    private final ConfigSimulacion config;
+    private final Consola consola;
+
+    public ComprobadorCompacto(ConfigSimulacion config, Consola consola) {
+        this.config = config;
+        this.consola = consola;
+    }
+
+    public static void main(String[] args) {
+        Consola consola = new ConsolaNormal();
+
+        try {
+            ConfigSimulacion config = ConfigSimulacion.desdeArgs(args);
+            config.comprobarCompacto();
+
+            if (!new ComprobadorCompacto(config, consola).comprobar()) {
+                System.exit(1);
+            }
+        } catch (ErrorComandoFormato e) {
+            consola.error(e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Juega y compara todas las partidas de la configuración
+     *
+     * @return <code>true</code> si todas se han jugado igual
+     */
+    public boolean comprobar() throws ErrorComandoFormato {
+        // Dos fuentes iguales, que se dividen en el mismo orden
+        FuenteDadosDivisible dadosObjetos = config.crearFuenteDados();
+        FuenteDadosDivisible dadosCompacta = config.crearFuenteDados();
+        int nTurnos = 0;
+        int nErrores = 0;
+
+        for (int i = 0; i < config.getPartidas(); i++) {
+            String diferencia;
+            int turnos;
+
+            try {
+                PartidaSimulada objetos = new PartidaSimulada(config, dadosObjetos.dividir());
+                PartidaCompacta compacta = new PartidaCompacta(config, dadosCompacta.dividir());
+                diferencia = comparar(objetos, compacta);
+                turnos = objetos.getTurnos();
+            } catch (ErrorJuego e) {
+                consola.error("Partida %d: %s".formatted(i + 1, e.getMessage()));
+                return false;
+            }
+
+            if (diferencia == null) {
+                nErrores++;
+            } else if (!diferencia.isEmpty()) {
+                consola.error("Partida %d: %s".formatted(i + 1, diferencia));
+                return false;
+            }
+
+            nTurnos += turnos;
+        }
+
+        consola.imprimir("%d partidas iguales (%s turnos, %d terminadas con el mismo error de comando en ambos modelos)\n".formatted(
+                config.getPartidas(), consola.num(nTurnos), nErrores));
+        return medir();
+    }
+
+    /**
+     * Juega la partida con los dos modelos, turno a turno
+     *
+     * @return La primera diferencia, la cadena vacía si no hay ninguna, o
+     * <code>null</code> si las dos terminan en el mismo turno con el mismo
+     * error de comando. Un {@link ErrorFatal} siempre cuenta como diferencia.
+     */
+    private String comparar(PartidaSimulada objetos, PartidaCompacta compacta) throws ErrorJuego {
+        while (true) {
+            ErrorJuego errorObjetos = null;
+            ErrorJuego errorCompacta = null;
+            boolean sigueObjetos = false;
+            boolean sigueCompacta = false;
+
+            try {
+                sigueObjetos = objetos.jugarSiguienteTurno();
+            } catch (ErrorJuego e) {
+                errorObjetos = e;
+            }
+
+            try {
+                sigueCompacta = compacta.jugarSiguienteTurno();
+            } catch (ErrorJuego e) {
+                errorCompacta = e;
+            }
+
+            int turno = objetos.getTurnos() + 1;
+
+            if (errorObjetos != null || errorCompacta != null) {
+                if (errorObjetos == null || errorCompacta == null) {
+                    return "turno %d: error solo en el modelo %s: %s".formatted(turno,
+                            errorObjetos != null ? "de objetos" : "compacto",
+                            (errorObjetos != null ? errorObjetos : errorCompacta).getMessage());
+                }
+
+                if (errorObjetos.getClass() != errorCompacta.getClass()
+                        || !errorObjetos.getMessage().equals(errorCompacta.getMessage())) {
+                    return "turno %d: errores distintos\n    objetos:  %s: %s\n    compacta: %s: %s".formatted(turno,
+                            errorObjetos.getClass().getSimpleName(), errorObjetos.getMessage(),
+                            errorCompacta.getClass().getSimpleName(), errorCompacta.getMessage());
+                }
+
+                // Un error fatal es un fallo de las reglas, no un final válido,
+                // aunque los dos modelos fallen igual
+                if (errorObjetos instanceof ErrorFatal) {
+                    return "turno %d: error fatal en ambos modelos: %s".formatted(turno, errorObjetos.getMessage());
+                }
+
+                return null;
+            }
+
+            if (sigueObjetos != sigueCompacta) {
+                return "turno %d: la partida solo ha terminado en el modelo %s".formatted(turno, sigueObjetos ? "compacto" : "de objetos");
+            }
+
+            if (!sigueObjetos) {
+                break;
+            }
+
+            String diferencia = compararEstados(objetos.describirEstado(), compacta.describirEstado());
+            if (diferencia != null) {
+                return "después del turno %d: %s".formatted(objetos.getTurnos(), diferencia);
+            }
+        }
+
+        if (objetos.getGanador() != compacta.getGanador() || objetos.getBancarrotas() != compacta.getBancarrotas()) {
+            return "resultado distinto: ganador %d y %d bancarrotas, frente a ganador %d y %d bancarrotas".formatted(
+                    objetos.getGanador(), objetos.getBancarrotas(), compacta.getGanador(), compacta.getBancarrotas());
+        }
+
+        return "";
+    }
+
+    /**
+     * Devuelve la primera línea distinta de los dos estados, o <code>null</code> si son iguales
+     */
+    private static String compararEstados(String objetos, String compacta) {
+        if (objetos.equals(compacta)) {
+            return null;
+        }
+
+        String[] a = objetos.split("\n");
+        String[] b = compacta.split("\n");
+
+        for (int i = 0; i < Math.min(a.length, b.length); i++) {
+            if (!a[i].equals(b[i])) {
+                return "\n    objetos:  %s\n    compacta: %s".formatted(a[i], b[i]);
+            }
+        }
+
+        return "distinto número de líneas (%d frente a %d)".formatted(a.length, b.length);
+    }
+
+    /**
+     * Juega todas las partidas con el modelo de objetos y con el compacto,
+     * sin comparar los estados, y muestra lo que tarda cada uno
+     *
+     * @return <code>true</code> si los resultados son los mismos
+     */
+    private boolean medir() {
+        // @formatter:off
+        String[] nombres   = {"de objetos", "compacto"};
+        boolean[] compacto = {false,        true};
+        // @formatter:on
+
+        String resumenObjetos = null;
+        boolean iguales = true;
+
+        for (int i = 0; i < nombres.length; i++) {
+            config.setCompacto(compacto[i]);
+
+            long inicio = System.nanoTime();
+            ResultadosSimulacion resultados = new Simulador(config).ejecutar();
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+
+            String resumen = resultados.resumen(consola, config);
+            if (resumenObjetos == null) {
+                resumenObjetos = resumen;
+            } else if (!resumen.equals(resumenObjetos)) {
+                consola.error("Resultados distintos con el modelo %s:\n%s".formatted(nombres[i], resumen));
+                iguales = false;
+            }
+
+            consola.imprimir("Modelo %s: %.2f s (%s partidas/s)\n".formatted(
+                    nombres[i], segundos, consola.num((long) (resultados.getPartidas() / segundos))));
+        }
+
+        return iguales;
+    }
+}
@@ -0,0 +1,249 @@
+package monopoly.sim;
+
+import monopoly.JuegoConsts;
+import monopoly.error.ErrorComandoFormato;
+import monopoly.utils.FuenteDadosDivisible;
+import monopoly.utils.FuenteDadosAleatoria;
+import monopoly.utils.FuenteDadosPregenerados;
+
+/**
+ * Parámetros de una simulación de partidas.
+ * <p>
+ * Se construye a partir de los argumentos de la línea de comandos:
+ *
+ * <pre>
+ *     --partidas N     Número de partidas a simular (por defecto 10 000)
+ *     --jugadores N    Jugadores por partida (por defecto 4)
+ *     --avatares XYZ   Tipos de avatar que se reparten de forma cíclica entre los jugadores:
+ *                      c = coche, p = pelota; en mayúsculas usan el movimiento avanzado
+ *                      (por defecto "cp")
+ *     --semilla N      Semilla de los dados (por defecto, aleatoria)
+ *     --turnos N       Máximo de turnos por partida antes de darla por terminada (por defecto 2 000)
+ *     --hilos N        Número de hilos (por defecto, todos los procesadores)
+ *     --buffer N       Tiradas de dados que se generan de una vez en cada partida;
+ *                      0 para generar cada tirada al lanzar (por defecto 256)
+ *     --comprobar si   Comprobar la consistencia de cada partida después de
+ *                      cada turno (por defecto "no"; más lento)
+ *     --recargar si    Guardar y volver a cargar cada partida después de cada
+ *                      turno, para comprobar que se recupera igual (por defecto "no")
+ *     --compacto si    Jugar las partidas con {@link PartidaCompacta} en lugar de con el
+ *                      modelo de objetos (por defecto "no"). Solo admite el movimiento
+ *                      básico, y no se puede combinar con --comprobar ni --recargar.
+ * </pre>
+ *
+ * @see Simulador
+ */
+public class ConfigSimulacion {
+    private int nPartidas;
+    private int nJugadores;
+    private String avatares;
+    private long semilla;
+    private int maxTurnos;
+    private int nHilos;
+    private int nTiradasBuffer;
+    private boolean comprobar;
+    private boolean recargar;
+    private boolean compacto;
+
+    public ConfigSimulacion() {
+        nPartidas = 10_000;
+        nJugadores = 4;
+        avatares = "cp";
+        semilla = System.nanoTime();
+        maxTurnos = 2_000;
+        nHilos = Runtime.getRuntime().availableProcessors();
+        nTiradasBuffer = 256;
+        comprobar = false;
+        recargar = false;
+        compacto = false;
+    }
+
+    /**
+     * Lee la configuración de los argumentos de la línea de comandos.
+     *
+     * @throws ErrorComandoFormato Si algún argumento no es válido.
+     */
+    public static ConfigSimulacion desdeArgs(String[] args) throws ErrorComandoFormato {
+        ConfigSimulacion config = new ConfigSimulacion();
+
+        if (args.length % 2 != 0) {
+            throw new ErrorComandoFormato("Cada opción necesita un valor");
+        }
+
+        try {
+            for (int i = 0; i < args.length; i += 2) {
+                String valor = args[i + 1];
+
+                switch (args[i]) {
+                    case "--partidas" -> config.setPartidas(Integer.parseInt(valor));
+                    case "--jugadores" -> config.setJugadores(Integer.parseInt(valor));
+                    case "--avatares" -> config.setAvatares(valor);
+                    case "--semilla" -> config.setSemilla(Long.parseLong(valor));
+                    case "--turnos" -> config.setMaxTurnos(Integer.parseInt(valor));
+                    case "--hilos" -> config.setHilos(Integer.parseInt(valor));
+                    case "--buffer" -> config.setTiradasBuffer(Integer.parseInt(valor));
+                    case "--comprobar" -> config.setComprobar(leerSiNo(valor));
+                    case "--recargar" -> config.setRecargar(leerSiNo(valor));
+                    case "--compacto" -> config.setCompacto(leerSiNo(valor));
+                    default -> throw new ErrorComandoFormato("\"%s\": opción no válida".formatted(args[i]));
+                }
+            }
+        } catch (NumberFormatException e) {
+            throw new ErrorComandoFormato("Número no válido: " + e.getMessage());
+        }
+
+        if (config.compacto) {
+            config.comprobarCompacto();
+        }
+
+        return config;
+    }
+
+    /**
+     * Comprueba que las partidas se pueden jugar con {@link PartidaCompacta}
+     *
+     * @throws ErrorComandoFormato Si alguna opción no lo permite.
+     */
+    void comprobarCompacto() throws ErrorComandoFormato {
+        if (!avatares.equals(avatares.toLowerCase())) {
+            throw new ErrorComandoFormato("--compacto solo admite el movimiento básico (avatares en minúsculas)");
+        }
+
+        if (comprobar || recargar) {
+            throw new ErrorComandoFormato("--compacto no se puede combinar con --comprobar ni --recargar");
+        }
+    }
+
+    static boolean leerSiNo(String valor) throws ErrorComandoFormato {
+        return switch (valor) {
+            case "si", "sí" -> true;
+            case "no" -> false;
+            default -> throw new ErrorComandoFormato("\"%s\": se esperaba si o no".formatted(valor));
+        };
+    }
+
+    public int getPartidas() {
+        return nPartidas;
+    }
+
+    public void setPartidas(int nPartidas) throws ErrorComandoFormato {
+        if (nPartidas <= 0) {
+            throw new ErrorComandoFormato("El número de partidas debe ser positivo");
+        }
+
+        this.nPartidas = nPartidas;
+    }
+
+    public int getJugadores() {
+        return nJugadores;
+    }
+
+    public void setJugadores(int nJugadores) throws ErrorComandoFormato {
+        if (nJugadores < JuegoConsts.MIN_JUGADORES || nJugadores > JuegoConsts.MAX_JUGADORES) {
+            throw new ErrorComandoFormato("El número de jugadores debe estar entre %d y %d".formatted(JuegoConsts.MIN_JUGADORES, JuegoConsts.MAX_JUGADORES));
+        }
+
+        this.nJugadores = nJugadores;
+    }
+
+    public String getAvatares() {
+        return avatares;
+    }
+
+    public void setAvatares(String avatares) throws ErrorComandoFormato {
+        if (avatares.isEmpty() || !avatares.matches("[cCpP]+")) {
+            throw new ErrorComandoFormato("\"%s\": tipos de avatar no válidos (prueba con c, p, C, P)".formatted(avatares));
+        }
+
+        this.avatares = avatares;
+    }
+
+    /**
+     * Devuelve el tipo de avatar del jugador dado: <code>c</code> para el coche
+     * o <code>p</code> para la pelota (en mayúsculas si usa el movimiento avanzado).
+     */
+    public char getAvatar(int nJugador) {
+        return avatares.charAt(nJugador % avatares.length());
+    }
+
+    public long getSemilla() {
+        return semilla;
+    }
+
+    public void setSemilla(long semilla) {
+        this.semilla = semilla;
+    }
+
+    public int getMaxTurnos() {
+        return maxTurnos;
+    }
+
+    public void setMaxTurnos(int maxTurnos) throws ErrorComandoFormato {
+        if (maxTurnos <= 0) {
+            throw new ErrorComandoFormato("El máximo de turnos debe ser positivo");
+        }
+
+        this.maxTurnos = maxTurnos;
+    }
+
+    public int getHilos() {
+        return nHilos;
+    }
+
+    public void setHilos(int nHilos) throws ErrorComandoFormato {
+        if (nHilos <= 0) {
+            throw new ErrorComandoFormato("El número de hilos debe ser positivo");
+        }
+
+        this.nHilos = nHilos;
+    }
+
+    public int getTiradasBuffer() {
+        return nTiradasBuffer;
+    }
+
+    public void setTiradasBuffer(int nTiradasBuffer) throws ErrorComandoFormato {
+        if (nTiradasBuffer < 0) {
+            throw new ErrorComandoFormato("El tamaño del buffer de dados no puede ser negativo");
+        }
+
+        this.nTiradasBuffer = nTiradasBuffer;
+    }
+
+    public boolean isComprobar() {
+        return comprobar;
+    }
+
+    public void setComprobar(boolean comprobar) {
+        this.comprobar = comprobar;
+    }
+
+    public boolean isRecargar() {
+        return recargar;
+    }
+
+    public void setRecargar(boolean recargar) {
+        this.recargar = recargar;
+    }
+
+    /**
+     * Indica si las partidas se juegan con {@link PartidaCompacta}
+     */
+    public boolean isCompacto() {
+        return compacto;
+    }
+
+    public void setCompacto(boolean compacto) {
+        this.compacto = compacto;
+    }
+
+    /**
+     * Crea la fuente de dados de la que se dividen las de todas las partidas,
+     * a partir de la semilla y del tamaño de buffer configurados.
+     */
+    public FuenteDadosDivisible crearFuenteDados() {
+        return nTiradasBuffer == 0
+                ? new FuenteDadosAleatoria(semilla)
+                : new FuenteDadosPregenerados(semilla, nTiradasBuffer);
+    }
+}
@@ -0,0 +1,40 @@
+package monopoly.sim;
+
+import java.util.List;
+
+/**
+ * Consola de las reproducciones: descarta todos los mensajes, como la de
+ * las simulaciones, pero las preguntas se responden con las entradas
+ * que se registraron en el diario, en el mismo orden.
+ *
+ * @see Reproductor
+ * @see monopoly.utils.ConsolaRegistrada
+ */
+public class ConsolaReproduccion extends ConsolaSimulacion {
+    private final List<String> entradas;
+    private int siguiente;
+
+    public ConsolaReproduccion(List<String> entradas) {
+        this.entradas = entradas;
+        this.siguiente = 0;
+    }
+
+    public boolean quedanEntradas() {
+        return siguiente < entradas.size();
+    }
+
+    /**
+     * Devuelve la siguiente entrada registrada
+     *
+     * @throws IllegalStateException Si ya no quedan: la partida ha hecho
+     *                               más preguntas que la original.
+     */
+    @Override
+    public String leer(String descripcion) {
+        if (!quedanEntradas()) {
+            throw new IllegalStateException("No quedan entradas registradas para responder \"%s\"".formatted(descripcion.strip()));
+        }
+
+        return entradas.get(siguiente++);
+    }
+}
@@ -0,0 +1,29 @@
+package monopoly.sim;
+
+import monopoly.utils.ConsolaNula;
+
+/**
+ * Implementación de la interfaz Consola para las simulaciones:
+ * descarta todos los mensajes (sin llegar a construir los que se
+ * pasan como <code>Supplier</code>) y responde automáticamente a
+ * las preguntas del juego.
+ * <p>
+ * Las simulaciones sacan las cartas sin preguntar, del mazo circular de
+ * cada tipo (ver {@link monopoly.casilla.carta.MazoCircular}); si se usa
+ * {@link monopoly.casilla.carta.EleccionInteractiva}, como las cartas se
+ * barajan antes de preguntar, escoger siempre la primera es equivalente a
+ * tomar una carta al azar.
+ *
+ * @see Simulador
+ */
+public class ConsolaSimulacion extends ConsolaNula {
+    /**
+     * Respuesta a cualquier pregunta del juego
+     */
+    private static final String RESPUESTA = "1";
+
+    @Override
+    public String leer(String descripcion) {
+        return RESPUESTA;
+    }
+}
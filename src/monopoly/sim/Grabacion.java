@@ -0,0 +1,120 @@
+package monopoly.sim;
+
+import monopoly.utils.ConsolaRegistrada;
+import monopoly.utils.Diario.Evento;
+import monopoly.utils.FuenteDadosRegistrada;
+import monopoly.utils.FuenteDadosReproducida;
+import monopoly.utils.LectorDiario;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lo que hace falta de un {@link monopoly.utils.Diario} para volver a jugar
+ * la partida: las entradas de la consola (ver {@link ConsolaRegistrada}), los
+ * resultados de los dados (ver {@link FuenteDadosRegistrada}) y, si se apuntó,
+ * la suma del estado final.
+ * <p>
+ * Se lee el diario una sola vez y se puede reproducir tantas veces como
+ * se quiera: cada reproducción crea su propia consola y fuente de dados.
+ */
+public class Grabacion {
+    private final List<String> entradas;
+    private final int[] valores;
+    private final int[] limites;
+    private final boolean conSuma;
+    private final long suma;
+
+    private Grabacion(List<String> entradas, int[] valores, int[] limites, boolean conSuma, long suma) {
+        this.entradas = entradas;
+        this.valores = valores;
+        this.limites = limites;
+        this.conSuma = conSuma;
+        this.suma = suma;
+    }
+
+    /**
+     * Lee la grabación del diario dado. El resto de eventos del diario
+     * (compras, edificaciones...) se ignoran: son consecuencia de las
+     * entradas y los dados.
+     */
+    public static Grabacion leer(Path archivo) throws IOException {
+        ArrayList<String> entradas = new ArrayList<>();
+        int[] valores = new int[256];
+        int[] limites = new int[256];
+        int nValores = 0;
+        boolean conSuma = false;
+        long suma = 0;
+
+        try (LectorDiario lector = new LectorDiario(archivo)) {
+            while (lector.siguiente()) {
+                Evento evento = lector.getEvento();
+
+                if (evento == Evento.Entrada) {
+                    entradas.add(lector.getTexto());
+                    continue;
+                }
+
+                if (evento == Evento.Suma) {
+                    conSuma = true;
+                    suma = lector.getCampo(0);
+                    continue;
+                }
+
+                if (evento != Evento.Tirada && evento != Evento.Entero) {
+                    continue;
+                }
+
+                if (nValores == valores.length) {
+                    valores = Arrays.copyOf(valores, 2 * nValores);
+                    limites = Arrays.copyOf(limites, 2 * nValores);
+                }
+
+                if (evento == Evento.Tirada) {
+                    valores[nValores] = FuenteDadosReproducida.numeroTirada((int) lector.getCampo(0), (int) lector.getCampo(1));
+                    limites[nValores] = 0;
+                } else {
+                    valores[nValores] = (int) lector.getCampo(1);
+                    limites[nValores] = (int) lector.getCampo(0);
+                }
+                nValores++;
+            }
+        }
+
+        if (entradas.isEmpty()) {
+            throw new IOException("%s: el diario no tiene entradas de la consola que reproducir".formatted(archivo));
+        }
+
+        return new Grabacion(entradas, Arrays.copyOf(valores, nValores), Arrays.copyOf(limites, nValores), conSuma, suma);
+    }
+
+    public ConsolaReproduccion crearConsola() {
+        return new ConsolaReproduccion(entradas);
+    }
+
+    public FuenteDadosReproducida crearDados() {
+        return new FuenteDadosReproducida(valores, limites);
+    }
+
+    public int getEntradas() {
+        return entradas.size();
+    }
+
+    public int getValores() {
+        return valores.length;
+    }
+
+    /**
+     * Indica si el diario termina con la suma del estado final
+     */
+    public boolean isConSuma() {
+        return conSuma;
+    }
+
+    public long getSuma() {
+        return suma;
+    }
+}
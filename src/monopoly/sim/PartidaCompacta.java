@@ -0,0 +1,736 @@
+package monopoly.sim;
+
+import monopoly.JuegoConsts;
+import monopoly.casilla.DefinicionTablero.TipoCasilla;
+import monopoly.casilla.edificio.TipoEdificio;
+import monopoly.error.ErrorFatal;
+import monopoly.error.ErrorFatalLogico;
+import monopoly.utils.Dado;
+import monopoly.utils.FuenteDados;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Juega una partida completa como {@link PartidaSimulada}, con los mismos
+ * jugadores, estrategia y dados, pero sin crear un {@link monopoly.Juego}:
+ * todo el estado está en arrays de tipos primitivos indexados por la
+ * posición de la casilla o por el número del jugador.
+ *
+ * <li>Dueño de cada casilla: <code>byte[]</code> (-1 es la banca).
+ * <li>Edificios de cada solar: <code>short[]</code>, con 4 bits por tipo
+ *     de edificio (ver {@link #contarEdificios(int, TipoEdificio)}).
+ * <li>Hipotecas: {@link BitSet}.
+ * <li>Posición, fortuna y estado del avatar de cada jugador: arrays.
+ * <li>Mazos de cartas: arrays con los ids de las cartas, y la posición
+ *     de la siguiente carta de cada uno.
+ * <p>
+ * Las reglas son las mismas que las del modelo de objetos (alquileres de
+ * {@link monopoly.casilla.propiedad.Solar}, movimiento de
+ * {@link monopoly.jugador.Avatar}, cartas...), incluidos sus redondeos, así
+ * que se llega exactamente al mismo resultado. Para comprobarlo, ver
+ * {@link ComprobadorCompacto}.
+ * <p>
+ * NOTA: solo se implementa el movimiento básico de los avatares, que es
+ * igual para el coche y la pelota. Las partidas con movimiento avanzado,
+ * o que se comprueban o recargan tras cada turno, necesitan el modelo
+ * de objetos.
+ */
+public class PartidaCompacta {
+    private static final byte BANCA = -1;
+    /**
+     * Bits de cada tipo de edificio en {@link #edificios}
+     */
+    private static final int BITS_EDIFICIO = 4;
+    private static final int MAX_EDIFICIOS = (1 << BITS_EDIFICIO) - 1;
+    /**
+     * Posiciones de cada mazo en {@link #siguienteCarta}
+     */
+    private static final int MAZO_SUERTE = 0;
+    private static final int MAZO_COMUNIDAD = 1;
+
+    private final TableroCompacto tablero;
+    private final FuenteDados dados;
+    private final int maxTurnos;
+    private final long reserva;
+
+    // Casillas
+    // @formatter:off
+    private final byte[] dueno;             /* Jugador dueño de cada casilla, o BANCA */
+    private final short[] edificios;        /* Edificios de cada solar, 4 bits por tipo */
+    private final BitSet hipotecas;         /* Propiedades hipotecadas */
+    private final long[] precio;            /* Precio actual de cada propiedad */
+    private final int[] mazoSuerte;         /* Ids de las cartas en el orden actual */
+    private final int[] mazoComunidad;
+    private final int[] siguienteCarta;     /* Posición de la siguiente carta de cada mazo, o -1 sin barajar */
+    private long bote;                      /* Fortuna de la banca */
+    private int nAumentosPrecio;
+
+    // Jugadores, por orden de creación
+    private final int[] posicion;
+    private final long[] fortuna;
+    private final int[] vueltas;
+    private final int[] acreedor;           /* Último jugador con el que se endeudó, o BANCA */
+    private final boolean[] encerrado;
+    private final int[] turnosEnCarcel;
+    private final int[] doblesSeguidos;
+    private final int[] lanzamientosRestantes;
+
+    // Turnos
+    private final int[] activos;            /* Jugadores que siguen en la partida, en orden */
+    private int nActivos;
+    private int turno;                      /* Posición en activos del jugador del turno */
+    private int turnos;
+    private int bancarrotas;
+    // @formatter:on
+
+    /**
+     * Prepara una nueva partida con los jugadores de la configuración dada.
+     *
+     * @param config Configuración de la simulación.
+     * @param dados  Fuente de los dados de esta partida.
+     */
+    public PartidaCompacta(ConfigSimulacion config, FuenteDados dados) throws ErrorFatal {
+        this.tablero = TableroCompacto.get();
+        this.dados = dados;
+        this.maxTurnos = config.getMaxTurnos();
+        this.reserva = tablero.fortunaInicial / PartidaSimulada.RESERVA_EDIFICAR;
+
+        int n = tablero.nCasillas;
+        dueno = new byte[n];
+        Arrays.fill(dueno, BANCA);
+        edificios = new short[n];
+        hipotecas = new BitSet(n);
+        precio = tablero.precioInicial.clone();
+        mazoSuerte = tablero.cartasSuerte.clone();
+        mazoComunidad = tablero.cartasComunidad.clone();
+        siguienteCarta = new int[]{-1, -1};
+        bote = 0;
+        nAumentosPrecio = 1;
+
+        int nJugadores = config.getJugadores();
+        posicion = new int[nJugadores];
+        fortuna = new long[nJugadores];
+        Arrays.fill(fortuna, tablero.fortunaInicial);
+        vueltas = new int[nJugadores];
+        acreedor = new int[nJugadores];
+        Arrays.fill(acreedor, BANCA);
+        encerrado = new boolean[nJugadores];
+        turnosEnCarcel = new int[nJugadores];
+        doblesSeguidos = new int[nJugadores];
+        lanzamientosRestantes = new int[nJugadores];
+        Arrays.fill(lanzamientosRestantes, 1);
+
+        activos = new int[nJugadores];
+        for (int i = 0; i < nJugadores; i++) {
+            activos[i] = i;
+        }
+        nActivos = nJugadores;
+        turno = 0;
+        turnos = 0;
+        bancarrotas = 0;
+    }
+
+    /**
+     * Juega la partida hasta que solo quede un jugador o se alcance el
+     * máximo de turnos, y añade el resultado a los resultados dados.
+     */
+    public void jugar(ResultadosSimulacion resultados) {
+        try {
+            while (jugarSiguienteTurno()) {
+                // El turno ya se ha jugado
+            }
+        } catch (ErrorFatal e) {
+            resultados.anadirError();
+            return;
+        }
+
+        resultados.anadirPartida(getGanador(), turnos, bancarrotas);
+    }
+
+    /**
+     * Juega el turno del jugador actual
+     *
+     * @return <code>false</code> si la partida ya había terminado
+     */
+    boolean jugarSiguienteTurno() throws ErrorFatal {
+        if (isFinalizada() || turnos >= maxTurnos) {
+            return false;
+        }
+
+        jugarTurno();
+        turnos++;
+        return true;
+    }
+
+    boolean isFinalizada() {
+        return nActivos == 1;
+    }
+
+    /**
+     * Número (por orden de creación) del ganador, o -1 si la partida no ha terminado
+     */
+    int getGanador() {
+        return isFinalizada() ? activos[0] : -1;
+    }
+
+    int getTurnos() {
+        return turnos;
+    }
+
+    int getBancarrotas() {
+        return bancarrotas;
+    }
+
+    /**
+     * Describe el estado de la partida, igual que {@link PartidaSimulada#describirEstado()}
+     */
+    String describirEstado() {
+        StringBuilder str = new StringBuilder(2048);
+        str.append("turno: jugador").append(activos[turno] + 1).append('\n');
+        str.append("bote: ").append(bote).append('\n');
+
+        for (int k = 0; k < nActivos; k++) {
+            int j = activos[k];
+            str.append("jugador%d: casilla %d, fortuna %d, vueltas %d%s\n".formatted(
+                    j + 1, posicion[j], fortuna[j], vueltas[j], encerrado[j] ? ", encerrado" : ""));
+        }
+
+        for (int c = 0; c < tablero.nCasillas; c++) {
+            if (tablero.grupo[c] < 0) {
+                continue;
+            }
+
+            str.append("casilla %d: %s, precio %d, casas %d, hoteles %d%s\n".formatted(
+                    c, dueno[c] == BANCA ? "banca" : "jugador" + (dueno[c] + 1), precio[c],
+                    contarEdificios(c, TipoEdificio.Casa), contarEdificios(c, TipoEdificio.Hotel),
+                    hipotecas.get(c) ? ", hipotecada" : ""));
+        }
+
+        return str.toString();
+    }
+
+    // ================================================================================
+    // Estrategia (igual que en PartidaSimulada)
+
+    private void jugarTurno() throws ErrorFatal {
+        int j = activos[turno];
+
+        for (int i = 0; i < PartidaSimulada.MAX_ACCIONES_TURNO && lanzamientosRestantes[j] > 0; i++) {
+            if (!pagarDeudas(j)) {
+                return;
+            }
+
+            lanzar(j);
+            comprarOEdificar(j, posicion[j]);
+        }
+
+        if (pagarDeudas(j)) {
+            acabarTurno(j);
+        }
+    }
+
+    private void comprarOEdificar(int j, int c) throws ErrorFatalLogico {
+        if (fortuna[j] < 0 || tablero.grupo[c] < 0) {
+            return;
+        }
+
+        if (dueno[c] == BANCA) {
+            if (fortuna[j] >= precio[c]) {
+                cobrar(j, precio[c]);
+                dueno[c] = (byte) j;
+            }
+            return;
+        }
+
+        if (tablero.tipo[c] != TipoCasilla.Solar || dueno[c] != j || !isMonopolio(j, tablero.grupo[c])) {
+            return;
+        }
+
+        boolean hotel = contarEdificios(c, TipoEdificio.Casa) >= JuegoConsts.N_CASAS_PARA_HOTEL;
+        long valor = valorEdificio(c, hotel ? TipoEdificio.Hotel : TipoEdificio.Casa);
+
+        if (fortuna[j] - valor < reserva || !puedeEdificar(c, hotel)) {
+            return;
+        }
+
+        if (hotel) {
+            sumarEdificios(c, TipoEdificio.Casa, -JuegoConsts.N_CASAS_PARA_HOTEL);
+            sumarEdificios(c, TipoEdificio.Hotel, 1);
+        } else {
+            sumarEdificios(c, TipoEdificio.Casa, 1);
+        }
+
+        cobrar(j, valor);
+    }
+
+    /**
+     * Requisitos de edificación de los constructores de
+     * {@link monopoly.casilla.edificio.Casa} y {@link monopoly.casilla.edificio.Hotel}
+     */
+    private boolean puedeEdificar(int c, boolean hotel) {
+        if (hipotecas.get(c)) {
+            return false;
+        }
+
+        int g = tablero.grupo[c];
+        int maxEdificios = tablero.casillasGrupo[g].length;
+        int hotelesGrupo = contarEdificiosGrupo(g, TipoEdificio.Hotel);
+
+        if (hotel) {
+            return hotelesGrupo <= maxEdificios && contarEdificios(c, TipoEdificio.Casa) >= JuegoConsts.N_CASAS_PARA_HOTEL;
+        }
+
+        if (hotelesGrupo < maxEdificios) {
+            return contarEdificios(c, TipoEdificio.Casa) < JuegoConsts.N_CASAS_SIN_MAX_HOTELES;
+        }
+
+        return contarEdificiosGrupo(g, TipoEdificio.Casa) <= maxEdificios;
+    }
+
+    /**
+     * Vende edificios e hipoteca propiedades, en el orden del tablero,
+     * hasta saldar las deudas; y si no es suficiente, se declara en bancarrota.
+     *
+     * @return <code>true</code> si el jugador sigue en la partida.
+     */
+    private boolean pagarDeudas(int j) throws ErrorFatalLogico {
+        if (fortuna[j] >= 0) {
+            return true;
+        }
+
+        for (int c = 0; c < tablero.nCasillas; c++) {
+            if (dueno[c] != j) {
+                continue;
+            }
+
+            if (fortuna[j] >= 0) {
+                return true;
+            }
+
+            if (tablero.tipo[c] == TipoCasilla.Solar) {
+                for (TipoEdificio tipo : PartidaSimulada.ORDEN_VENTA) {
+                    int n = contarEdificios(c, tipo);
+                    if (n != 0) {
+                        sumarEdificios(c, tipo, -n);
+                        ingresar(j, n * (valorEdificio(c, tipo) / 2));
+                    }
+                }
+            }
+
+            if (!hipotecas.get(c)) {
+                hipotecas.set(c);
+                ingresar(j, precio[c] / 2);
+            }
+        }
+
+        if (fortuna[j] >= 0) {
+            return true;
+        }
+
+        declararBancarrota(j);
+        bancarrotas++;
+        return false;
+    }
+
+    // ================================================================================
+    // Reglas
+
+    private void lanzar(int j) throws ErrorFatal {
+        Dado dado = dados.lanzar();
+        lanzamientosRestantes[j]--;
+
+        if (encerrado[j]) {
+            moverEstandoCarcel(j, dado);
+            return;
+        }
+
+        if (dado.isDoble()) {
+            doblesSeguidos[j]++;
+
+            if (doblesSeguidos[j] >= 3) {
+                irCarcel(j);
+                return;
+            }
+
+            lanzamientosRestantes[j]++;
+        }
+
+        int nuevaPosicion = posicion[j] + dado.getValor();
+
+        if (nuevaPosicion >= tablero.nCasillas) {
+            ingresar(j, tablero.abonoSalida);
+            vueltas[j]++;
+            aumentarPrecio();
+        }
+
+        posicion[j] = nuevaPosicion % tablero.nCasillas;
+        accion(j, posicion[j], dado);
+    }
+
+    private void moverEstandoCarcel(int j, Dado dado) throws ErrorFatalLogico {
+        turnosEnCarcel[j]++;
+
+        if (dado.isDoble()) {
+            salirCarcel(j);
+        } else if (turnosEnCarcel[j] >= 3) {
+            cobrar(j, tablero.fianza, BANCA);
+            salirCarcel(j);
+        }
+    }
+
+    private void salirCarcel(int j) {
+        encerrado[j] = false;
+        turnosEnCarcel[j] = 0;
+        lanzamientosRestantes[j] = 1;
+    }
+
+    private void irCarcel(int j) {
+        encerrado[j] = true;
+        turnosEnCarcel[j] = 0;
+        lanzamientosRestantes[j] = 0;
+        posicion[j] = tablero.carcel;
+    }
+
+    private void acabarTurno(int j) throws ErrorFatalLogico {
+        if (lanzamientosRestantes[j] > 0) {
+            // Como el ErrorComandoAvatar del modelo de objetos
+            throw new ErrorFatalLogico("A jugador%d aún le quedan %d tiros".formatted(j + 1, lanzamientosRestantes[j]));
+        }
+
+        lanzamientosRestantes[j] = 1;
+        doblesSeguidos[j] = 0;
+        turno = (turno + 1) % nActivos;
+    }
+
+    private void accion(int j, int c, Dado dado) throws ErrorFatal {
+        switch (tablero.tipo[c]) {
+            case Salida, Carcel -> {
+            }
+            case IrCarcel -> irCarcel(j);
+            case Parking -> {
+                if (bote != 0) {
+                    ingresar(j, bote);
+                    bote = 0;
+                }
+            }
+            case Impuesto -> {
+                cobrar(j, tablero.impuesto[c], BANCA);
+                ingresarBanca(tablero.impuesto[c]);
+            }
+            case Suerte -> accionSuerte(j, sacarCarta(mazoSuerte, MAZO_SUERTE));
+            case Comunidad -> accionComunidad(j, sacarCarta(mazoComunidad, MAZO_COMUNIDAD));
+            case Solar, Transporte, Servicio -> pagarAlquiler(j, c, dado);
+        }
+    }
+
+    private void pagarAlquiler(int j, int c, Dado dado) throws ErrorFatalLogico {
+        int propietario = dueno[c];
+
+        if (propietario == BANCA || propietario == j || hipotecas.get(c)) {
+            return;
+        }
+
+        long importe = getAlquiler(c, dado);
+        ingresar(propietario, importe);
+        cobrar(j, importe, propietario);
+    }
+
+    /**
+     * Igual que {@link monopoly.casilla.propiedad.Propiedad#getAlquiler(monopoly.jugador.Jugador, Dado)}
+     * en cada tipo de propiedad
+     */
+    private long getAlquiler(int c, Dado dado) throws ErrorFatalLogico {
+        int g = tablero.grupo[c];
+
+        switch (tablero.tipo[c]) {
+            case Transporte -> {
+                long nTransportesPosee = contarPropiedades(dueno[c], g);
+                long nTransportes = tablero.casillasGrupo[g].length;
+                return (long) ((float) precio[c] * (float) nTransportesPosee / (float) nTransportes);
+            }
+            case Servicio -> {
+                return switch (contarPropiedades(dueno[c], g)) {
+                    case 1 -> (long) ((float) dado.getValor() * ((float) precio[c] * 2.85) / 200) * 4;
+                    case 2 -> (long) ((float) dado.getValor() * ((float) precio[c] * 2.85) / 200) * 10;
+                    default -> throw new ErrorFatalLogico("nServicios no es 1 ni 2");
+                };
+            }
+            default -> {
+                long alquilerBase = precio[c] / 10;
+                long alquilerSolar = alquilerBase;
+
+                // @formatter:off
+                long alquilerEdificios = switch (contarEdificios(c, TipoEdificio.Casa)) {
+                            case 0 -> 0;
+                            case 1 -> 5 * alquilerBase;
+                            case 2 -> 15 * alquilerBase;
+                            case 3 -> 35 * alquilerBase;
+                            default -> 50 * alquilerBase;
+                        }
+                        + contarEdificios(c, TipoEdificio.Hotel)        * 70 * alquilerBase
+                        + contarEdificios(c, TipoEdificio.Piscina)      * 25 * alquilerBase
+                        + contarEdificios(c, TipoEdificio.PistaDeporte) * 25 * alquilerBase;
+                // @formatter:on
+
+                if (isMonopolio(dueno[c], g)) {
+                    alquilerSolar *= 2;
+                }
+
+                return alquilerSolar + alquilerEdificios;
+            }
+        }
+    }
+
+    /**
+     * Igual que {@link monopoly.casilla.carta.Mazo#siguienteCarta()}: la primera
+     * vez baraja el mazo, y después devuelve las cartas en orden, en círculo
+     *
+     * @param n Mazo en {@link #siguienteCarta} (<code>MAZO_SUERTE</code> o <code>MAZO_COMUNIDAD</code>)
+     */
+    private int sacarCarta(int[] mazo, int n) {
+        if (siguienteCarta[n] < 0) {
+            for (int i = mazo.length - 1; i > 0; i--) {
+                int k = dados.entero(i + 1);
+                int tmp = mazo[i];
+                mazo[i] = mazo[k];
+                mazo[k] = tmp;
+            }
+            siguienteCarta[n] = 0;
+        }
+
+        int carta = mazo[siguienteCarta[n]];
+        siguienteCarta[n] = (siguienteCarta[n] + 1) % mazo.length;
+        return carta;
+    }
+
+    /**
+     * Igual que {@link monopoly.casilla.carta.CartaSuerte#accionCarta()}
+     */
+    private void accionSuerte(int j, int id) throws ErrorFatal {
+        long cantidad = 0;
+
+        switch (id) {
+            case 3 -> cantidad = 500_000L;
+            case 6 -> cantidad = 1_000_000L;
+            case 7 -> cantidad = -1_500_000L;
+            case 12 -> cantidad = -150_000L;
+            case 8 -> {
+                for (int c = 0; c < tablero.nCasillas; c++) {
+                    if (dueno[c] == j && tablero.tipo[c] == TipoCasilla.Solar) {
+                        // @formatter:off
+                        cantidad -= contarEdificios(c, TipoEdificio.Casa)         * 4_000_000L
+                                  + contarEdificios(c, TipoEdificio.Hotel)        * 1_500_000L
+                                  + contarEdificios(c, TipoEdificio.Piscina)      *   200_000L
+                                  + contarEdificios(c, TipoEdificio.PistaDeporte) *   750_000L;
+                        // @formatter:on
+                    }
+                }
+
+                if (cantidad == 0) {
+                    return;
+                }
+            }
+            case 10 -> {
+                pagarATodos(j, 250_000L);
+                return;
+            }
+            default -> throw new ErrorFatal("ID no soportado");
+        }
+
+        aplicarCantidad(j, cantidad);
+    }
+
+    /**
+     * Igual que {@link monopoly.casilla.carta.CartaComunidad#accionCarta()}
+     */
+    private void accionComunidad(int j, int id) throws ErrorFatal {
+        long cantidad;
+
+        switch (id) {
+            case 4 -> cantidad = 2_000_000L;
+            case 6 -> cantidad = 500_000L;
+            case 9 -> cantidad = 1_000_000L;
+            case 1 -> cantidad = -500_000L;
+            case 5 -> cantidad = -1_000_000;
+            case 8 -> {
+                pagarATodos(j, 200_000L);
+                return;
+            }
+            default -> throw new ErrorFatal("ID no soportado");
+        }
+
+        aplicarCantidad(j, cantidad);
+    }
+
+    /**
+     * El jugador paga la cantidad dada a cada uno de los demás
+     */
+    private void pagarATodos(int j, long cantidadPorJugador) throws ErrorFatalLogico {
+        cobrar(j, cantidadPorJugador * (nActivos - 1), BANCA);
+
+        for (int k = 0; k < nActivos; k++) {
+            if (activos[k] != j) {
+                ingresar(activos[k], cantidadPorJugador);
+            }
+        }
+    }
+
+    private void aplicarCantidad(int j, long cantidad) throws ErrorFatalLogico {
+        if (cantidad > 0) {
+            ingresar(j, cantidad);
+        } else {
+            cobrar(j, -cantidad, BANCA);
+            ingresarBanca(-cantidad);
+        }
+    }
+
+    /**
+     * Aumenta el precio de los solares con dueño cada vez que
+     * todos los jugadores han dado 4 vueltas más
+     */
+    private void aumentarPrecio() {
+        for (int k = 0; k < nActivos; k++) {
+            if (vueltas[activos[k]] - 4 * nAumentosPrecio < 0) {
+                return;
+            }
+        }
+
+        nAumentosPrecio++;
+
+        for (int c = 0; c < tablero.nCasillas; c++) {
+            if (tablero.tipo[c] == TipoCasilla.Solar && dueno[c] != BANCA) {
+                precio[c] = (long) ((float) precio[c] * 1.05f);
+            }
+        }
+    }
+
+    /**
+     * Sus propiedades pasan a su acreedor, y se elimina de la partida
+     */
+    private void declararBancarrota(int j) {
+        int a = acreedor[j];
+
+        for (int c = 0; c < tablero.nCasillas; c++) {
+            if (dueno[c] == j) {
+                dueno[c] = (byte) a;
+            }
+        }
+
+        int k = 0;
+        while (activos[k] != j) {
+            k++;
+        }
+        System.arraycopy(activos, k + 1, activos, k, nActivos - k - 1);
+        nActivos--;
+        turno %= nActivos;
+    }
+
+    // ================================================================================
+    // Dinero
+
+    /**
+     * Como {@link monopoly.jugador.Jugador#cobrar(long, monopoly.jugador.Jugador)}:
+     * se cobra aunque no tenga suficiente, y se endeuda con el acreedor.
+     */
+    private void cobrar(int j, long cantidad, int acreedor) throws ErrorFatalLogico {
+        if (cantidad <= 0) {
+            throw new ErrorFatalLogico("Se intentó cobrar una cantidad negativa");
+        }
+
+        fortuna[j] -= cantidad;
+        if (fortuna[j] < 0) {
+            this.acreedor[j] = acreedor;
+        }
+    }
+
+    /**
+     * Como {@link monopoly.jugador.Jugador#cobrar(long)}; la estrategia ya
+     * comprueba antes que el jugador tiene suficiente.
+     */
+    private void cobrar(int j, long cantidad) throws ErrorFatalLogico {
+        if (cantidad <= 0 || fortuna[j] < cantidad) {
+            throw new ErrorFatalLogico("Cobro de %d no válido a jugador%d".formatted(cantidad, j + 1));
+        }
+
+        fortuna[j] -= cantidad;
+    }
+
+    private void ingresar(int j, long cantidad) throws ErrorFatalLogico {
+        if (cantidad <= 0) {
+            throw new ErrorFatalLogico("Se intentó ingresar una cantidad negativa");
+        }
+
+        fortuna[j] += cantidad;
+    }
+
+    private void ingresarBanca(long cantidad) throws ErrorFatalLogico {
+        if (cantidad <= 0) {
+            throw new ErrorFatalLogico("Se intentó ingresar una cantidad negativa");
+        }
+
+        bote += cantidad;
+    }
+
+    // ================================================================================
+    // Propiedades y edificios
+
+    private boolean isMonopolio(int j, int g) {
+        for (int c : tablero.casillasGrupo[g]) {
+            if (dueno[c] != j) {
+                return false;
+            }
+        }
+
+        return j != BANCA;
+    }
+
+    private int contarPropiedades(int j, int g) {
+        int n = 0;
+        for (int c : tablero.casillasGrupo[g]) {
+            if (dueno[c] == j) {
+                n++;
+            }
+        }
+
+        return n;
+    }
+
+    /**
+     * Número de edificios del tipo dado en la casilla
+     */
+    private int contarEdificios(int c, TipoEdificio tipo) {
+        return (edificios[c] >>> (BITS_EDIFICIO * tipo.ordinal())) & MAX_EDIFICIOS;
+    }
+
+    private int contarEdificiosGrupo(int g, TipoEdificio tipo) {
+        int n = 0;
+        for (int c : tablero.casillasGrupo[g]) {
+            n += contarEdificios(c, tipo);
+        }
+
+        return n;
+    }
+
+    private void sumarEdificios(int c, TipoEdificio tipo, int cambio) throws ErrorFatalLogico {
+        int n = contarEdificios(c, tipo) + cambio;
+
+        if (n < 0 || n > MAX_EDIFICIOS) {
+            throw new ErrorFatalLogico("No caben %d edificios de tipo %s en la casilla %d".formatted(n, tipo, c));
+        }
+
+        int desplazamiento = BITS_EDIFICIO * tipo.ordinal();
+        edificios[c] = (short) ((edificios[c] & ~(MAX_EDIFICIOS << desplazamiento)) | (n << desplazamiento));
+    }
+
+    /**
+     * Igual que {@link TipoEdificio#getValor(monopoly.casilla.propiedad.Solar)}
+     */
+    private long valorEdificio(int c, TipoEdificio tipo) {
+        return switch (tipo) {
+            case Casa, Hotel -> (long) (0.6 * (float) precio[c]);
+            case Piscina -> (long) (0.4 * (float) precio[c]);
+            case PistaDeporte -> (long) (1.15 * (float) precio[c]);
+        };
+    }
+}
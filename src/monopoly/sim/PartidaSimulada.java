@@ -0,0 +1,309 @@
+package monopoly.sim;
+
+import monopoly.Juego;
+import monopoly.JuegoConsts;
+import monopoly.casilla.Casilla;
+import monopoly.casilla.edificio.Casa;
+import monopoly.casilla.edificio.Hotel;
+import monopoly.casilla.edificio.TipoEdificio;
+import monopoly.casilla.propiedad.Propiedad;
+import monopoly.casilla.propiedad.Solar;
+import monopoly.error.ErrorComando;
+import monopoly.error.ErrorComandoAvatar;
+import monopoly.error.ErrorFatal;
+import monopoly.error.ErrorFatalLogico;
+import monopoly.jugador.Avatar;
+import monopoly.jugador.AvatarPelota;
+import monopoly.jugador.Banca;
+import monopoly.jugador.Jugador;
+import monopoly.utils.FuenteDados;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+
+/**
+ * Juega una partida completa sin intervención del usuario.
+ * <p>
+ * Usa el propio {@link Juego} como motor de reglas, y los jugadores
+ * siguen una estrategia sencilla:
+ *
+ * <li>Lanzan los dados mientras les queden lanzamientos.
+ * <li>Compran cualquier propiedad en venta que se puedan permitir.
+ * <li>Edifican casas (y hoteles) en los solares de sus monopolios.
+ * <li>Si se endeudan, venden edificios e hipotecan propiedades; y si
+ *     aun así no pueden pagar, se declaran en bancarrota.
+ */
+public class PartidaSimulada {
+    /**
+     * Límite de acciones en un mismo turno, para evitar bucles infinitos
+     */
+    static final int MAX_ACCIONES_TURNO = 32;
+    /**
+     * Fracción de la fortuna inicial que un jugador intenta conservar antes de edificar
+     */
+    static final int RESERVA_EDIFICAR = 4;
+    /**
+     * Orden en el que se venden los edificios para pagar deudas
+     */
+    static final TipoEdificio[] ORDEN_VENTA = {
+            TipoEdificio.PistaDeporte, TipoEdificio.Piscina, TipoEdificio.Hotel, TipoEdificio.Casa
+    };
+
+    private final Juego juego;
+    private final ArrayList<Jugador> jugadores; /* Los jugadores en el orden de creación */
+    private final int maxTurnos;
+    private final long reserva;
+    private final boolean comprobar;
+    private final boolean recargar;
+
+    private int turnos;
+    private int bancarrotas;
+
+    /**
+     * Prepara una nueva partida con los jugadores de la configuración dada.
+     *
+     * @param config Configuración de la simulación.
+     * @param dados  Fuente de los dados de esta partida.
+     */
+    public PartidaSimulada(ConfigSimulacion config, FuenteDados dados) throws ErrorFatal, ErrorComando {
+        juego = new Juego(new ConsolaSimulacion(), dados);
+        juego.setMostrarTablero(false);
+        maxTurnos = config.getMaxTurnos();
+        comprobar = config.isComprobar();
+        recargar = config.isRecargar();
+        turnos = 0;
+        bancarrotas = 0;
+
+        for (int i = 0; i < config.getJugadores(); i++) {
+            char tipo = config.getAvatar(i);
+            juego.crearJugador(new String[]{"crear", "jugador", "jugador" + (i + 1), Character.toString(Character.toLowerCase(tipo))});
+
+            if (Character.isUpperCase(tipo)) {
+                juego.getJugadores().get(i).getAvatar().cambiarModo();
+            }
+        }
+
+        jugadores = new ArrayList<>(juego.getJugadores());
+        reserva = jugadores.get(0).getFortuna() / RESERVA_EDIFICAR;
+        juego.iniciar();
+    }
+
+    /**
+     * Juega la partida hasta que solo quede un jugador o se alcance el
+     * máximo de turnos, y añade el resultado a los resultados dados.
+     */
+    public void jugar(ResultadosSimulacion resultados) {
+        try {
+            while (jugarSiguienteTurno()) {
+                // El turno ya se ha jugado
+            }
+        } catch (ErrorFatal | ErrorComando e) {
+            resultados.anadirError();
+            return;
+        }
+
+        resultados.anadirPartida(getGanador(), turnos, bancarrotas);
+    }
+
+    /**
+     * Juega el turno del jugador actual
+     *
+     * @return <code>false</code> si la partida ya había terminado
+     */
+    boolean jugarSiguienteTurno() throws ErrorFatal, ErrorComando {
+        if (juego.isFinalizada() || turnos >= maxTurnos) {
+            return false;
+        }
+
+        jugarTurno();
+        turnos++;
+
+        if (recargar) {
+            recargar();
+        }
+
+        if (comprobar) {
+            juego.comprobarConsistencia();
+        }
+
+        return true;
+    }
+
+    /**
+     * Número (por orden de creación) del ganador, o -1 si la partida no ha terminado
+     */
+    int getGanador() {
+        return juego.isFinalizada() ? jugadores.indexOf(juego.getJugadores().get(0)) : -1;
+    }
+
+    int getTurnos() {
+        return turnos;
+    }
+
+    int getBancarrotas() {
+        return bancarrotas;
+    }
+
+    /**
+     * Describe el estado de la partida que se compara con el de
+     * {@link PartidaCompacta} (ver {@link ComprobadorCompacto})
+     */
+    String describirEstado() throws ErrorFatalLogico {
+        StringBuilder str = new StringBuilder(2048);
+        str.append("turno: ").append(juego.getJugadorTurno().getNombre().toLowerCase()).append('\n');
+        str.append("bote: ").append(juego.getBanca().getFortuna()).append('\n');
+
+        for (Jugador j : juego.getJugadores()) {
+            Avatar a = j.getAvatar();
+            str.append("%s: casilla %d, fortuna %d, vueltas %d%s\n".formatted(
+                    j.getNombre().toLowerCase(), a.getCasilla().getPosicion(), j.getFortuna(),
+                    j.getEstadisticas().getVueltas(), a.isEncerrado() ? ", encerrado" : ""));
+        }
+
+        for (Casilla c : juego.getCasillas()) {
+            if (!(c instanceof Propiedad p)) {
+                continue;
+            }
+
+            Jugador dueno = p.getPropietario();
+            str.append("casilla %d: %s, precio %d, casas %d, hoteles %d%s\n".formatted(
+                    p.getPosicion(), dueno instanceof Banca ? "banca" : dueno.getNombre().toLowerCase(), p.getPrecio(),
+                    p instanceof Solar s ? s.contarEdificios(TipoEdificio.Casa) : 0,
+                    p instanceof Solar s ? s.contarEdificios(TipoEdificio.Hotel) : 0,
+                    p.isHipotecada() ? ", hipotecada" : ""));
+        }
+
+        return str.toString();
+    }
+
+    /**
+     * Guarda la partida y la vuelve a cargar sobre el mismo juego
+     */
+    private void recargar() throws ErrorFatal, ErrorComando {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+
+        try {
+            juego.guardarPartida(new DataOutputStream(bytes));
+        } catch (IOException e) {
+            // No ocurre al escribir en memoria
+            throw new UncheckedIOException(e);
+        }
+
+        juego.cargarPartida(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    private void jugarTurno() throws ErrorFatal, ErrorComando {
+        Jugador jugador = juego.getJugadorTurno();
+        Avatar avatar = jugador.getAvatar();
+
+        for (int i = 0; i < MAX_ACCIONES_TURNO && avatar.getLanzamientosRestantes() > 0; i++) {
+            if (!pagarDeudas(jugador)) {
+                return;
+            }
+
+            try {
+                juego.lanzar();
+            } catch (ErrorComandoAvatar e) {
+                // La pelota debe usar el comando siguiente para terminar su movimiento;
+                // en cualquier otro caso, el avatar no puede moverse más en este turno.
+                if (!(avatar instanceof AvatarPelota)) {
+                    break;
+                }
+
+                try {
+                    juego.siguiente();
+                } catch (ErrorComandoAvatar e2) {
+                    break;
+                }
+            }
+
+            comprarOEdificar(jugador, avatar.getCasilla());
+        }
+
+        if (pagarDeudas(jugador)) {
+            juego.acabarTurno();
+        }
+    }
+
+    private void comprarOEdificar(Jugador jugador, Casilla casilla) throws ErrorFatalLogico {
+        if (jugador.isEndeudado() || !(casilla instanceof Propiedad propiedad)) {
+            return;
+        }
+
+        try {
+            if (propiedad.getPropietario() instanceof Banca) {
+                if (jugador.getFortuna() >= propiedad.getPrecio()) {
+                    jugador.comprar(propiedad);
+                }
+                return;
+            }
+
+            if (propiedad instanceof Solar solar && solar.perteneceAJugador(jugador) && solar.getGrupo().isMonopolio(jugador)) {
+                // Se comprueba el precio antes de crear el edificio, porque
+                // al crear un hotel se derriban las casas del solar.
+                boolean hotel = solar.contarEdificios(TipoEdificio.Casa) >= JuegoConsts.N_CASAS_PARA_HOTEL;
+                long valor = hotel ? Hotel.getValor(solar) : Casa.getValor(solar);
+
+                if (jugador.getFortuna() - valor >= reserva) {
+                    jugador.construir(hotel ? new Hotel(solar) : new Casa(solar), 1);
+                }
+            }
+        } catch (ErrorComando e) {
+            // No se cumplen los requisitos para comprar o edificar: se ignora
+        }
+    }
+
+    /**
+     * Intenta saldar las deudas del jugador vendiendo edificios e hipotecando
+     * propiedades. Si no es suficiente, se declara en bancarrota.
+     *
+     * @return <code>true</code> si el jugador sigue en la partida.
+     */
+    private boolean pagarDeudas(Jugador jugador) throws ErrorFatalLogico {
+        if (!jugador.isEndeudado()) {
+            return true;
+        }
+
+        // Se recorren en el orden del tablero, porque el orden del HashSet
+        // cambia entre ejecuciones y la partida no sería reproducible.
+        ArrayList<Propiedad> propiedades = new ArrayList<>(jugador.getPropiedades());
+        propiedades.sort(Comparator.comparingInt(Propiedad::getPosicion));
+
+        for (Propiedad p : propiedades) {
+            if (!jugador.isEndeudado()) {
+                return true;
+            }
+
+            try {
+                if (p instanceof Solar solar) {
+                    for (TipoEdificio tipo : ORDEN_VENTA) {
+                        int n = solar.contarEdificios(tipo);
+                        if (n != 0) {
+                            jugador.vender(solar, tipo, n);
+                        }
+                    }
+                }
+
+                if (!p.isHipotecada()) {
+                    p.hipotecar();
+                }
+            } catch (ErrorComando e) {
+                // No se puede hipotecar esta propiedad: se prueba con la siguiente
+            }
+        }
+
+        if (!jugador.isEndeudado()) {
+            return true;
+        }
+
+        juego.declararBancarrota();
+        bancarrotas++;
+        return false;
+    }
+}
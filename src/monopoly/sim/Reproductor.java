@@ -0,0 +1,190 @@
+package monopoly.sim;
+
+import monopoly.Juego;
+import monopoly.JuegoConsts;
+import monopoly.casilla.carta.EleccionInteractiva;
+import monopoly.error.ErrorComando;
+import monopoly.error.ErrorComandoFormato;
+import monopoly.error.ErrorFatal;
+import monopoly.utils.Consola;
+import monopoly.utils.ConsolaNormal;
+import monopoly.utils.FuenteDadosReproducida;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Path;
+
+/**
+ * Vuelve a jugar partidas registradas con <code>monopoly.Main --diario</code>
+ * a toda velocidad: se ejecutan las mismas entradas de la consola con los
+ * mismos dados, sin mostrar nada por pantalla ni dibujar el tablero.
+ * <p>
+ * Si el diario termina con la suma del estado final (ver {@link Juego#calcularSuma()}),
+ * se comprueba que la reproducción llega exactamente al mismo estado. Sirve
+ * para reproducir errores y como prueba de regresión tras cambiar el juego.
+ * <p>
+ * Uso:
+ * <pre>
+ *     java -cp build:src monopoly.sim.Reproductor [--repeticiones N] [--comprobar si|no] diario...
+ * </pre>
+ * Con <code>--repeticiones</code> se reproduce cada diario varias veces
+ * seguidas para medir lo que tarda, y con <code>--comprobar</code> se
+ * comprueba la consistencia de la partida tras cada comando.
+ *
+ * @see Grabacion
+ */
+public class Reproductor {
+    private final Grabacion grabacion;
+    private final boolean comprobar;
+
+    public Reproductor(Grabacion grabacion, boolean comprobar) {
+        this.grabacion = grabacion;
+        this.comprobar = comprobar;
+    }
+
+    public static void main(String[] args) {
+        Consola consola = new ConsolaNormal();
+        int repeticiones = 1;
+        boolean comprobar = false;
+        int nArg = 0;
+
+        try {
+            for (; nArg < args.length && args[nArg].startsWith("--"); nArg += 2) {
+                if (nArg + 1 == args.length) {
+                    throw new ErrorComandoFormato("Cada opción necesita un valor");
+                }
+
+                switch (args[nArg]) {
+                    case "--repeticiones" -> repeticiones = Integer.parseInt(args[nArg + 1]);
+                    case "--comprobar" -> comprobar = ConfigSimulacion.leerSiNo(args[nArg + 1]);
+                    default -> throw new ErrorComandoFormato("\"%s\": opción no válida".formatted(args[nArg]));
+                }
+            }
+
+            if (repeticiones <= 0) {
+                throw new ErrorComandoFormato("El número de repeticiones tiene que ser positivo");
+            }
+
+            if (nArg == args.length) {
+                throw new ErrorComandoFormato("Falta el diario que reproducir");
+            }
+        } catch (NumberFormatException e) {
+            consola.error("Número no válido: " + e.getMessage());
+            System.exit(1);
+        } catch (ErrorComandoFormato e) {
+            consola.error(e.getMessage());
+            System.exit(1);
+        }
+
+        boolean correcto = true;
+        for (; nArg < args.length; nArg++) {
+            correcto &= reproducirArchivo(consola, args[nArg], repeticiones, comprobar);
+        }
+
+        if (!correcto) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Reproduce el diario dado y muestra el resultado
+     *
+     * @return <code>true</code> si la reproducción ha llegado al mismo estado final
+     */
+    private static boolean reproducirArchivo(Consola consola, String archivo, int repeticiones, boolean comprobar) {
+        Grabacion grabacion;
+        try {
+            grabacion = Grabacion.leer(Path.of(archivo));
+        } catch (IOException e) {
+            consola.error(e.getMessage());
+            return false;
+        }
+
+        Reproductor reproductor = new Reproductor(grabacion, comprobar);
+        long suma = 0;
+        long inicio = System.nanoTime();
+
+        try {
+            for (int i = 0; i < repeticiones; i++) {
+                long s = reproductor.reproducir();
+
+                if (i > 0 && s != suma) {
+                    throw new IllegalStateException("La repetición %d acaba en otro estado".formatted(i + 1));
+                }
+                suma = s;
+            }
+        } catch (ErrorFatal e) {
+            consola.error("%s: la partida termina con un error fatal: %s".formatted(archivo, e.getMessage()));
+            return false;
+        } catch (IllegalStateException e) {
+            consola.error("%s: la reproducción se ha desviado de la partida original: %s".formatted(archivo, e.getMessage()));
+            return false;
+        } catch (RuntimeException e) {
+            // Un error del juego, que seguramente también tuvo la partida original
+            StringWriter pila = new StringWriter();
+            e.printStackTrace(new PrintWriter(pila));
+            consola.error("%s: la partida termina con una excepción:\n%s".formatted(archivo, pila.toString().stripTrailing()));
+            return false;
+        }
+
+        double microsegundos = (System.nanoTime() - inicio) / 1e3 / repeticiones;
+        consola.imprimir("%s: %d entradas y %d dados, %.1f µs por reproducción\n".formatted(
+                archivo, grabacion.getEntradas(), grabacion.getValores(), microsegundos));
+
+        if (!grabacion.isConSuma()) {
+            consola.imprimir("Suma del estado final: %08X (el diario no tiene suma con la que comparar)\n".formatted(suma));
+            return true;
+        }
+
+        if (suma != grabacion.getSuma()) {
+            consola.error("%s: la suma del estado final es %08X, pero en el diario es %08X".formatted(archivo, suma, grabacion.getSuma()));
+            return false;
+        }
+
+        consola.imprimir("Suma del estado final: %08X (correcta)\n".formatted(suma));
+        return true;
+    }
+
+    /**
+     * Juega la partida grabada una vez, desde el principio
+     *
+     * @return La suma del estado final (ver {@link Juego#calcularSuma()})
+     * @throws ErrorFatal            Si la partida termina con un error fatal,
+     *                               igual que la original.
+     * @throws IllegalStateException Si la partida se desvía de la original:
+     *                               pide otros dados o más entradas de las
+     *                               registradas, o sobran.
+     */
+    public long reproducir() throws ErrorFatal {
+        ConsolaReproduccion consola = grabacion.crearConsola();
+        FuenteDadosReproducida dados = grabacion.crearDados();
+
+        Juego juego = new Juego(consola, dados);
+        // Las cartas se eligieron por consola, y sus respuestas están entre las entradas
+        juego.setPoliticaCartas(new EleccionInteractiva(consola));
+        juego.setMostrarTablero(false);
+        juego.setComprobarConsistencia(comprobar);
+
+        // Igual que Juego.iniciarConsola(), pero hasta que se acaban las
+        // entradas registradas y sin mensaje de bienvenida.
+        boolean ejecutar = true;
+        while (ejecutar && !juego.isFinalizada() && consola.quedanEntradas()) {
+            try {
+                ejecutar = juego.ejecutarComando(consola.leer(JuegoConsts.PROMPT));
+            } catch (ErrorComando e) {
+                // También falló en la partida original
+            }
+        }
+
+        if (consola.quedanEntradas()) {
+            throw new IllegalStateException("La partida ha terminado antes que la original");
+        }
+
+        if (dados.getRestantes() != 0) {
+            throw new IllegalStateException("Sobran %d dados registrados".formatted(dados.getRestantes()));
+        }
+
+        return juego.calcularSuma();
+    }
+}
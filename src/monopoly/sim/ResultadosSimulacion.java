@@ -0,0 +1,155 @@
+package monopoly.sim;
+
+import monopoly.utils.Consola;
+
+/**
+ * Resultados agregados de un conjunto de partidas simuladas.
+ * <p>
+ * Cada hilo acumula los resultados de sus partidas por separado y
+ * al final se combinan con {@link #combinar(ResultadosSimulacion)}.
+ */
+public class ResultadosSimulacion {
+    // @formatter:off
+    private final int[] victorias;  /* Partidas ganadas por cada jugador (según su orden de creación) */
+    private int nPartidas;
+    private int sinGanador;         /* Partidas que alcanzaron el máximo de turnos */
+    private int errores;            /* Partidas abortadas por un error del juego */
+    private long bancarrotas;
+    private long sumaTurnos;
+    private int minTurnos;
+    private int maxTurnos;
+    // @formatter:on
+
+    public ResultadosSimulacion(int nJugadores) {
+        victorias = new int[nJugadores];
+        nPartidas = 0;
+        sinGanador = 0;
+        errores = 0;
+        bancarrotas = 0;
+        sumaTurnos = 0;
+        minTurnos = Integer.MAX_VALUE;
+        maxTurnos = 0;
+    }
+
+    /**
+     * Añade el resultado de una partida.
+     *
+     * @param ganador     Número del jugador ganador, o -1 si no hubo ganador.
+     * @param turnos      Número de turnos que duró la partida.
+     * @param bancarrotas Número de jugadores que se declararon en bancarrota.
+     */
+    public void anadirPartida(int ganador, int turnos, int bancarrotas) {
+        nPartidas++;
+
+        if (ganador < 0) {
+            sinGanador++;
+        } else {
+            victorias[ganador]++;
+        }
+
+        this.bancarrotas += bancarrotas;
+        sumaTurnos += turnos;
+        minTurnos = Math.min(minTurnos, turnos);
+        maxTurnos = Math.max(maxTurnos, turnos);
+    }
+
+    /**
+     * Añade una partida que no se pudo terminar por un error del juego
+     */
+    public void anadirError() {
+        errores++;
+    }
+
+    /**
+     * Acumula los resultados de otro conjunto de partidas en este
+     *
+     * @return Este mismo objeto
+     */
+    public ResultadosSimulacion combinar(ResultadosSimulacion otro) {
+        for (int i = 0; i < victorias.length; i++) {
+            victorias[i] += otro.victorias[i];
+        }
+
+        nPartidas += otro.nPartidas;
+        sinGanador += otro.sinGanador;
+        errores += otro.errores;
+        bancarrotas += otro.bancarrotas;
+        sumaTurnos += otro.sumaTurnos;
+        minTurnos = Math.min(minTurnos, otro.minTurnos);
+        maxTurnos = Math.max(maxTurnos, otro.maxTurnos);
+
+        return this;
+    }
+
+    /**
+     * Genera un resumen de los resultados
+     *
+     * @param consola Consola usada para dar formato a los números
+     * @param config  Configuración de la simulación (para nombrar los avatares)
+     */
+    public String resumen(Consola consola, ConfigSimulacion config) {
+        StringBuilder str = new StringBuilder();
+
+        str.append("""
+                {
+                    partidas: %s
+                    partidas sin ganador: %s
+                    partidas con errores: %s
+                    bancarrotas: %s (%.2f por partida)
+                    duración media: %.1f turnos
+                    duración mínima: %s turnos
+                    duración máxima: %s turnos
+                    victorias: {
+                """.formatted(
+                consola.num(nPartidas),
+                consola.num(sinGanador),
+                consola.num(errores),
+                consola.num(bancarrotas), nPartidas == 0 ? 0.0 : (double) bancarrotas / nPartidas,
+                nPartidas == 0 ? 0.0 : (double) sumaTurnos / nPartidas,
+                consola.num(nPartidas == 0 ? 0 : minTurnos),
+                consola.num(maxTurnos)));
+
+        for (int i = 0; i < victorias.length; i++) {
+            str.append("        Jugador%d (%c): %s (%.1f%%)\n".formatted(
+                    i + 1,
+                    config.getAvatar(i),
+                    consola.num(victorias[i]),
+                    nPartidas == 0 ? 0.0 : 100.0 * victorias[i] / nPartidas));
+        }
+
+        str.append("    }\n}\n");
+        return str.toString();
+    }
+
+    public int getPartidas() {
+        return nPartidas;
+    }
+
+    public int getVictorias(int nJugador) {
+        return victorias[nJugador];
+    }
+
+    public int getSinGanador() {
+        return sinGanador;
+    }
+
+    public int getErrores() {
+        return errores;
+    }
+
+    public long getBancarrotas() {
+        return bancarrotas;
+    }
+
+    public long getSumaTurnos() {
+        return sumaTurnos;
+    }
+
+    public int getMinTurnos() {
+        return minTurnos;
+    }
+
+    public int getMaxTurnos() {
+        return maxTurnos;
+    }
+}
@@ -0,0 +1,65 @@
+package monopoly.sim;
+
+import monopoly.error.ErrorComandoFormato;
+import monopoly.utils.Consola;
+import monopoly.utils.ConsolaNormal;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Punto de entrada de las simulaciones de Monte Carlo: juega muchas
+ * partidas completas en paralelo sin mostrar nada por pantalla, y
+ * muestra los resultados agregados al final.
+ * <p>
+ * Uso:
+ * <pre>
+ *     java -cp build:src monopoly.sim.Simulador [--partidas N] [--jugadores N] [--avatares cpCP]
+ *                                              [--semilla N] [--turnos N] [--hilos N] [--buffer N]
+ *                                              [--comprobar si|no] [--recargar si|no] [--compacto si|no]
+ * </pre>
+ *
+ * @see ConfigSimulacion
+ * @see PartidaSimulada
+ * @see PartidaCompacta
+ */
+public class Simulador {
+    private final ConfigSimulacion config;
+
+    public Simulador(ConfigSimulacion config) {
+        this.config = config;
+    }
+
+    public static void main(String[] args) {
+        Consola consola = new ConsolaNormal();
+
+        try {
+            ConfigSimulacion config = ConfigSimulacion.desdeArgs(args);
+
+            long inicio = System.nanoTime();
+            ResultadosSimulacion resultados = new Simulador(config).ejecutar();
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+
+            consola.imprimir(resultados.resumen(consola, config));
+            consola.imprimir("Semilla: %d\n".formatted(config.getSemilla()));
+            consola.imprimir("Tiempo: %.2f s (%s partidas/s con %d hilo(s))\n".formatted(
+                    segundos,
+                    consola.num((long) (resultados.getPartidas() / segundos)),
+                    config.getHilos()));
+        } catch (ErrorComandoFormato e) {
+            consola.error(e.getMessage());
+        }
+    }
+
+    /**
+     * Simula todas las partidas de la configuración y devuelve los resultados agregados
+     */
+    public ResultadosSimulacion ejecutar() {
+        ForkJoinPool pool = new ForkJoinPool(config.getHilos());
+
+        try {
+            return pool.invoke(new TareaSimulacion(config, 0, config.getPartidas(), config.crearFuenteDados()));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package monopoly.sim;
+
+import monopoly.casilla.DefinicionTablero;
+import monopoly.casilla.DefinicionTablero.DefCarta;
+import monopoly.casilla.DefinicionTablero.DefCasilla;
+import monopoly.casilla.DefinicionTablero.TipoCasilla;
+import monopoly.casilla.propiedad.Solar;
+import monopoly.error.ErrorFatalConfig;
+
+import java.util.List;
+
+/**
+ * La {@link DefinicionTablero} en tablas de tipos primitivos indexadas por
+ * la posición de la casilla, con los valores que {@link monopoly.casilla.Lector}
+ * asigna a cada partida ya calculados (precios, impuestos, fianza...).
+ * <p>
+ * No cambia durante la partida, así que se crea una sola vez y la
+ * comparten todas las {@link PartidaCompacta}.
+ */
+final class TableroCompacto {
+    private static volatile TableroCompacto tablero = null;
+
+    // @formatter:off
+    final int nCasillas;
+    final TipoCasilla[] tipo;      /* Tipo de cada casilla */
+    final int[] grupo;             /* Grupo de cada propiedad, o -1 */
+    final long[] precioInicial;    /* Precio de cada propiedad al empezar la partida */
+    final long[] impuesto;         /* Importe de cada casilla de impuestos */
+    final int[][] casillasGrupo;   /* Posiciones de las propiedades de cada grupo */
+    final int[] cartasSuerte;      /* Ids de las cartas, en el orden inicial del mazo */
+    final int[] cartasComunidad;
+    final int carcel;
+    final long abonoSalida;
+    final long fianza;
+    final long fortunaInicial;
+    // @formatter:on
+
+    private TableroCompacto(DefinicionTablero definicion) {
+        List<DefCasilla> casillas = definicion.getCasillas();
+        int nGrupos = definicion.getGrupos().size();
+
+        nCasillas = casillas.size();
+        tipo = new TipoCasilla[nCasillas];
+        grupo = new int[nCasillas];
+        precioInicial = new long[nCasillas];
+        impuesto = new long[nCasillas];
+        abonoSalida = definicion.getAbonoSalida();
+        fianza = abonoSalida / 4;
+        fortunaInicial = definicion.getFortunaInicial();
+
+        int[] nPropiedades = new int[nGrupos];
+        int nImpuestos = 0;
+        int posCarcel = -1;
+
+        // Mismos valores que asigna el Lector
+        for (int i = 0; i < nCasillas; i++) {
+            DefCasilla c = casillas.get(i);
+            tipo[i] = c.tipo();
+            grupo[i] = c.grupo();
+
+            if (c.grupo() >= 0) {
+                nPropiedades[c.grupo()]++;
+            }
+
+            switch (c.tipo()) {
+                case Carcel -> posCarcel = i;
+                case Impuesto -> impuesto[i] = ++nImpuestos * abonoSalida / 2;
+                case Solar -> precioInicial[i] = Solar.precioInicial(definicion.getGrupos().get(c.grupo()).numero());
+                case Transporte -> precioInicial[i] = abonoSalida;
+                case Servicio -> precioInicial[i] = (long) (0.75 * (float) abonoSalida);
+            }
+        }
+
+        carcel = posCarcel;
+        casillasGrupo = new int[nGrupos][];
+        for (int g = 0; g < nGrupos; g++) {
+            casillasGrupo[g] = new int[nPropiedades[g]];
+            nPropiedades[g] = 0;
+        }
+        for (int i = 0; i < nCasillas; i++) {
+            if (grupo[i] >= 0) {
+                casillasGrupo[grupo[i]][nPropiedades[grupo[i]]++] = i;
+            }
+        }
+
+        cartasSuerte = definicion.getCartasSuerte().stream().mapToInt(DefCarta::id).toArray();
+        cartasComunidad = definicion.getCartasComunidad().stream().mapToInt(DefCarta::id).toArray();
+    }
+
+    /**
+     * Devuelve el tablero compartido, creándolo la primera vez
+     */
+    static TableroCompacto get() throws ErrorFatalConfig {
+        TableroCompacto t = tablero;
+
+        if (t == null) {
+            synchronized (TableroCompacto.class) {
+                t = tablero;
+                if (t == null) {
+                    t = new TableroCompacto(DefinicionTablero.get());
+                    tablero = t;
+                }
+            }
+        }
+
+        return t;
+    }
+}
@@ -0,0 +1,72 @@
+package monopoly.sim;
+
+import monopoly.error.ErrorComando;
+import monopoly.error.ErrorFatal;
+import monopoly.utils.FuenteDadosDivisible;
+
+import java.io.Serial;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Tarea de fork-join que simula un rango de partidas.
+ * <p>
+ * Si el rango es demasiado grande, se divide en dos mitades que se
+ * simulan en paralelo; y finalmente se combinan sus resultados.
+ * <p>
+ * Cada subtarea y cada partida reciben una fuente de dados dividida de la
+ * de su tarea, siempre en el mismo orden, por lo que los dados son los
+ * mismos sin importar cómo se repartan las partidas entre los hilos.
+ */
+public class TareaSimulacion extends RecursiveTask<ResultadosSimulacion> {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    /**
+     * Número de partidas a partir del cual ya no se divide la tarea
+     */
+    private static final int UMBRAL = 16;
+
+    private final ConfigSimulacion config;
+    private final int inicio;
+    private final int fin;
+    private final FuenteDadosDivisible dados;
+
+    /**
+     * Simula las partidas del rango <code>[inicio, fin)</code>
+     *
+     * @param dados Fuente de la que se dividen las de cada partida.
+     */
+    public TareaSimulacion(ConfigSimulacion config, int inicio, int fin, FuenteDadosDivisible dados) {
+        this.config = config;
+        this.inicio = inicio;
+        this.fin = fin;
+        this.dados = dados;
+    }
+
+    @Override
+    protected ResultadosSimulacion compute() {
+        if (fin - inicio <= UMBRAL) {
+            ResultadosSimulacion resultados = new ResultadosSimulacion(config.getJugadores());
+
+            for (int i = inicio; i < fin; i++) {
+                try {
+                    if (config.isCompacto()) {
+                        new PartidaCompacta(config, dados.dividir()).jugar(resultados);
+                    } else {
+                        new PartidaSimulada(config, dados.dividir()).jugar(resultados);
+                    }
+                } catch (ErrorFatal | ErrorComando e) {
+                    resultados.anadirError();
+                }
+            }
+
+            return resultados;
+        }
+
+        int mitad = (inicio + fin) >>> 1;
+        TareaSimulacion izquierda = new TareaSimulacion(config, inicio, mitad, dados.dividir());
+        TareaSimulacion derecha = new TareaSimulacion(config, mitad, fin, dados);
+
+        izquierda.fork();
+        return derecha.compute().combinar(izquierda.join());
+    }
+}
@@ -5,9 +5,18 @@ import monopoly.error.ErrorComandoNoEncontrado;
 import java.util.Collection;
 import java.util.function.Function;
 
+/**
+ * Elementos que se pueden buscar por su nombre.
+ *
+ * @see IndiceNombres
+ */
 public interface Buscar {
     String getNombre();
 
+    /**
+     * Busca recorriendo toda la colección. Para colecciones que se consultan
+     * a menudo es mejor mantener un {@link IndiceNombres}.
+     */
     static <T extends Buscar> T porNombre(String query, Collection<T> elementos) throws ErrorComandoNoEncontrado {
         for (T e : elementos) {
             String nombre = e.getNombre();
@@ -2,10 +2,19 @@ package monopoly.utils;
 
 import java.util.Collection;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Define la interacción básica con el usuario para
  * el Juego del Monopoly.
+ * <p>
+ * Cada consola tiene un {@link Nivel} que indica qué mensajes se muestran.
+ * Los mensajes que cuestan de construir (con <code>formatted</code>,
+ * {@link #fmt(String, Color)}, {@link #num(long)}...) se pueden pasar como
+ * un {@link Supplier}, y solo se construyen si se van a mostrar:
+ * <pre>
+ *     consola.imprimir(() -> "Se han pagado %s\n".formatted(consola.num(importe)));
+ * </pre>
  */
 public interface Consola {
     /**
@@ -15,6 +24,47 @@ public interface Consola {
      */
     void imprimir(String mensaje);
 
+    /**
+     * Muestra un mensaje al usuario, construyéndolo solo si
+     * el nivel de la consola permite mostrarlo.
+     * <p>
+     * La función se llama como mucho una vez, antes de volver de este
+     * método, así que puede leer el estado actual de la partida.
+     *
+     * @param mensaje Función que construye el mensaje a mostrar.
+     */
+    default void imprimir(Supplier<String> mensaje) {
+        if (isVisible(Nivel.Normal)) {
+            imprimir(mensaje.get());
+        }
+    }
+
+    /**
+     * Devuelve qué mensajes muestra la consola. Por defecto, todos.
+     */
+    default Nivel getNivel() {
+        return Nivel.Normal;
+    }
+
+    /**
+     * Indica si la consola muestra los mensajes del nivel dado
+     */
+    default boolean isVisible(Nivel nivel) {
+        return getNivel().compareTo(nivel) >= 0;
+    }
+
+    /**
+     * Muestra al usuario todo lo impreso hasta ahora que todavía
+     * no se haya mostrado.
+     * <p>
+     * Se llama al terminar cada comando. Por defecto no hace nada,
+     * porque los mensajes se muestran directamente al imprimirlos.
+     *
+     * @see ConsolaAgrupada
+     */
+    default void volcar() {
+    }
+
     /**
      * Pide un dato al usuario.
      *
@@ -68,7 +118,7 @@ public interface Consola {
      * Lista una colección de elementos que implementen Listable
      */
     default <T extends Listable> void imprimirLista(Collection<T> elementos) {
-        imprimir(listar(elementos, Listable::listar) + '\n');
+        imprimir(() -> listar(elementos, Listable::listar) + '\n');
     }
 
     /**
@@ -90,6 +140,10 @@ public interface Consola {
      * @param funcion   Se evalúa por cada elemento para determinar si se describe o no.
      */
     default <T> void describir(Collection<T> elementos, Function<T, Boolean> funcion) {
+        if (!isVisible(Nivel.Normal)) {
+            return;
+        }
+
         for (T e : elementos) {
             if (funcion.apply(e)) {
                 imprimir(e.toString());
@@ -106,6 +160,31 @@ public interface Consola {
      */
     void error(String mensaje);
 
+    /**
+     * Muestra un mensaje de error, construyéndolo solo si
+     * el nivel de la consola permite mostrarlo.
+     *
+     * @param mensaje Función que construye el mensaje de error.
+     */
+    default void error(Supplier<String> mensaje) {
+        if (isVisible(Nivel.Errores)) {
+            error(mensaje.get());
+        }
+    }
+
+    /**
+     * Niveles de detalle de una consola, de menos a más: cada
+     * nivel muestra también los mensajes de los anteriores.
+     */
+    enum Nivel {
+        /** No se muestra nada */
+        Silencio,
+        /** Solo se muestran los errores */
+        Errores,
+        /** Se muestran todos los mensajes */
+        Normal
+    }
+
     /**
      * Colores soportados
      */
@@ -0,0 +1,95 @@
+package monopoly.utils;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.util.Scanner;
+
+/**
+ * Variante de {@link ConsolaNormal} que no escribe cada mensaje por
+ * separado, sino que los acumula y los muestra todos juntos con una
+ * sola escritura al terminar el comando (ver {@link #volcar()}).
+ * <p>
+ * Cada llamada a <code>System.out.print</code> supone una escritura
+ * en la terminal, y un solo movimiento genera decenas de mensajes
+ * (dados, movimiento, alquiler, tablero...). Esto se nota sobre todo
+ * en terminales remotas lentas.
+ * <p>
+ * Antes de pedir un dato al usuario también se vuelca lo pendiente,
+ * para que pueda ver la pregunta.
+ * <p>
+ * Se escribe en un canal: la salida estándar, o el de un socket
+ * en el {@link monopoly.servidor.Servidor}.
+ */
+public class ConsolaAgrupada extends ConsolaNormal {
+    /**
+     * Tamaño inicial del buffer: suficiente para un tablero y unos cuantos mensajes
+     */
+    private static final int TAM_INICIAL = 16 * 1024;
+
+    private StringBuilder pendiente;
+    private final int tamBuffer;
+    private final WritableByteChannel salida;
+    private final Charset codificacion;
+
+    public ConsolaAgrupada() {
+        // No se cierra nunca, porque es la salida estándar.
+        // La codificación es la misma que usa System.out.
+        this(new Scanner(System.in), new FileOutputStream(FileDescriptor.out).getChannel(), Charset.defaultCharset(), TAM_INICIAL);
+    }
+
+    /**
+     * Crea una consola que lee de la entrada dada y escribe en el canal dado
+     * (por ejemplo, los de un socket), sin más buffer que el suyo.
+     *
+     * @param tamBuffer Tamaño del buffer que se mantiene entre comandos. Si la
+     *                  salida de un comando no cabe, el buffer crece, pero al
+     *                  volcarla se vuelve a este tamaño, para no ocupar memoria
+     *                  mientras se espera al siguiente comando.
+     */
+    public ConsolaAgrupada(Scanner entrada, WritableByteChannel salida, Charset codificacion, int tamBuffer) {
+        // Todo lo que se imprime pasa por este buffer y no por la salida de ConsolaNormal
+        super(entrada, System.out);
+
+        this.pendiente = new StringBuilder(tamBuffer);
+        this.tamBuffer = tamBuffer;
+        this.salida = salida;
+        this.codificacion = codificacion;
+    }
+
+    @Override
+    protected void escribir(String mensaje) {
+        pendiente.append(mensaje);
+    }
+
+    @Override
+    public void volcar() {
+        if (pendiente.isEmpty()) {
+            return;
+        }
+
+        // Por si alguien ha escrito directamente en System.out,
+        // para no desordenar la salida.
+        System.out.flush();
+
+        ByteBuffer buffer = codificacion.encode(pendiente.toString());
+        pendiente.setLength(0);
+
+        if (pendiente.capacity() > tamBuffer) {
+            pendiente = new StringBuilder(tamBuffer);
+        }
+
+        try {
+            while (buffer.hasRemaining()) {
+                salida.write(buffer);
+            }
+        } catch (IOException e) {
+            // No hay forma de avisar al usuario si no se puede escribir en su salida
+            throw new UncheckedIOException(e);
+        }
+    }
+}
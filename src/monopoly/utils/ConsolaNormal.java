@@ -1,7 +1,10 @@
 package monopoly.utils;
 
+import java.io.PrintStream;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Scanner;
 import java.util.function.Function;
 
@@ -10,7 +13,13 @@ import java.util.function.Function;
  * una terminal: <code>System.out</code> para
  * imprimir y <code>Scanner</code> para leer.
  * <p>
- * Esta implementación utiliza códigos ANSI.
+ * También puede usar otra entrada y otra salida, por ejemplo las
+ * de una conexión de red (ver {@link monopoly.servidor.Servidor}).
+ * <p>
+ * Esta implementación utiliza códigos ANSI. Como casi siempre se formatean
+ * los mismos textos (nombres de casillas, grupos, etc.), se guardan los
+ * últimos resultados de {@link #fmt(String, int, Estilo...)} en una caché
+ * de tamaño limitado.
  *
  * @see <a href="https://gist.github.com/fnky/458719343aabd01cfb17a3a4f7296797">Guía de códigos ANSI</a>
  * @see <a href="https://stackoverflow.com/questions/4842424/list-of-ansi-color-escape-sequences">Códigos ANSI StackOverflow</a>
@@ -24,8 +33,19 @@ public class ConsolaNormal implements Consola {
      * Código ANSI de reseteo
      */
     private static final String FIN = "\u001b[0m";
+    /**
+     * Número máximo de textos formateados que se guardan
+     */
+    private static final int TAM_CACHE_FMT = 512;
+    /**
+     * Número máximo de estilos que caben en la clave de la caché
+     */
+    private static final int MAX_ESTILOS_CACHE = Long.SIZE / 4;
 
     private final Scanner scanner;
+    private final PrintStream salida;
+    private final Map<ClaveFmt, String> cacheFmt;
+    private Nivel nivel;
 
     public ConsolaNormal() {
         // Debe ser un atributo de la clase, porque si
@@ -33,41 +53,111 @@ public class ConsolaNormal implements Consola {
         // si se hace scanner.close(), ya no se podrá volver a
         // acceder al input de usuario.
         // Fuente: https://stackoverflow.com/questions/13042008/java-util-nosuchelementexception-scanner-reading-user-input
-        scanner = new Scanner(System.in);
+        this(new Scanner(System.in), System.out);
+    }
+
+    /**
+     * Crea una consola que lee de la entrada y escribe en la salida dadas.
+     * <p>
+     * Si la salida tiene buffer, se vacía en cada {@link #volcar()}: al
+     * terminar cada comando y antes de pedir un dato.
+     */
+    public ConsolaNormal(Scanner entrada, PrintStream salida) {
+        this.scanner = entrada;
+        this.salida = salida;
+        this.nivel = Nivel.Normal;
+
+        // LRU: se ordena por acceso y se elimina el más antiguo al superar el máximo
+        cacheFmt = new LinkedHashMap<>(TAM_CACHE_FMT * 4 / 3 + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ClaveFmt, String> eldest) {
+                return size() > TAM_CACHE_FMT;
+            }
+        };
     }
 
     @Override
     public void imprimir(String mensaje) {
-        System.out.print(mensaje);
+        if (nivel == Nivel.Normal) {
+            escribir(mensaje);
+        }
+    }
+
+    /**
+     * Escribe el mensaje en la salida, sin tener en cuenta el nivel
+     */
+    protected void escribir(String mensaje) {
+        salida.print(mensaje);
+    }
+
+    @Override
+    public Nivel getNivel() {
+        return nivel;
+    }
+
+    /**
+     * Cambia qué mensajes se muestran. Las preguntas de
+     * {@link #leer(String)} se muestran siempre.
+     */
+    public void setNivel(Nivel nivel) {
+        this.nivel = nivel;
+    }
+
+    @Override
+    public void volcar() {
+        salida.flush();
     }
 
     @Override
     public void error(String mensaje) {
-        imprimir(fmt(mensaje, Color.Rojo) + '\n');
+        if (nivel != Nivel.Silencio) {
+            escribir(fmt(mensaje, Color.Rojo) + '\n');
+        }
     }
 
     @Override
     public String leer(String descripcion) {
-        imprimir(descripcion);
+        escribir(descripcion);
+        volcar();
         return scanner.nextLine();
     }
 
     @Override
     public String fmt(String msg, int color, Estilo... estilos) {
-        StringBuilder codEstilo = new StringBuilder();
+        // Los estilos se guardan en orden para la clave, 4 bits cada uno
+        // (el 0 indica que no hay más). Si hay demasiados, no se usa la caché.
+        long codEstilos = 0;
+        for (int i = estilos.length - 1; i >= 0; i--) {
+            codEstilos = (codEstilos << 4) | (estilos[i].ordinal() + 1);
+        }
+
+        ClaveFmt clave = estilos.length <= MAX_ESTILOS_CACHE ? new ClaveFmt(msg, color & 0xFF, codEstilos) : null;
+        String resultado = clave == null ? null : cacheFmt.get(clave);
 
-        // Los códigos se separan con ';'
-        for (Estilo estilo : estilos) {
-            codEstilo.append(estilo.ordinal());
-            codEstilo.append(';');
+        if (resultado == null) {
+            StringBuilder str = new StringBuilder(INICIO.length() + 2 * estilos.length + 6 + msg.length() + FIN.length());
+            str.append(INICIO);
+
+            // Los códigos se separan con ';'
+            for (Estilo estilo : estilos) {
+                str.append(estilo.ordinal());
+                str.append(';');
+            }
+
+            str.append("38;5;").append(color & 0xFF).append('m').append(msg).append(FIN);
+            resultado = str.toString();
+
+            if (clave != null) {
+                cacheFmt.put(clave, resultado);
+            }
         }
 
-        return String.format("%s%s38;5;%dm%s%s", INICIO, codEstilo, color & 0xFF, msg, FIN);
+        return resultado;
     }
 
     @Override
     public String fmt(String msg, Color color) {
-        return String.format("%s0;%dm%s%s", INICIO, color.ordinal() + 30, msg, FIN);
+        return INICIO + "0;" + (color.ordinal() + 30) + 'm' + msg + FIN;
     }
 
     @Override
@@ -121,4 +211,10 @@ public class ConsolaNormal implements Consola {
         lista.append(']');
         return lista.toString();
     }
+
+    /**
+     * Clave de la caché de {@link #fmt(String, int, Estilo...)}
+     */
+    private record ClaveFmt(String msg, int color, long estilos) {
+    }
 }
@@ -0,0 +1,76 @@
+package monopoly.utils;
+
+import java.util.Collection;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Consola que no muestra nada, de nivel {@link Nivel#Silencio}.
+ * <p>
+ * Los mensajes que se pasan como {@link Supplier} no se llegan a
+ * construir, y los formatos devuelven el texto tal cual, sin códigos
+ * ANSI, por si se usan para algo más que mostrarlos. Las preguntas
+ * se responden con la cadena vacía.
+ *
+ * @see monopoly.sim.ConsolaSimulacion
+ */
+public class ConsolaNula implements Consola {
+    @Override
+    public void imprimir(String mensaje) {
+    }
+
+    @Override
+    public void imprimir(Supplier<String> mensaje) {
+    }
+
+    @Override
+    public Nivel getNivel() {
+        return Nivel.Silencio;
+    }
+
+    @Override
+    public boolean isVisible(Nivel nivel) {
+        return nivel == Nivel.Silencio;
+    }
+
+    @Override
+    public String leer(String descripcion) {
+        return "";
+    }
+
+    @Override
+    public String fmt(String msg, int color, Estilo... estilos) {
+        return msg;
+    }
+
+    @Override
+    public String fmt(String msg, Color color) {
+        return msg;
+    }
+
+    @Override
+    public String num(long numero) {
+        return Long.toString(numero);
+    }
+
+    @Override
+    public <T extends Listable> String listar(Collection<T> elementos, Function<T, String> funcion) {
+        return "";
+    }
+
+    @Override
+    public <T extends Listable> void imprimirLista(Collection<T> elementos) {
+    }
+
+    @Override
+    public <T> void describir(Collection<T> elementos, Function<T, Boolean> funcion) {
+    }
+
+    @Override
+    public void error(String mensaje) {
+    }
+
+    @Override
+    public void error(Supplier<String> mensaje) {
+    }
+}
@@ -0,0 +1,81 @@
+package monopoly.utils;
+
+import java.util.Collection;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Consola que apunta en un {@link Diario} todo lo que lee de otra consola:
+ * los comandos y las respuestas a las preguntas del juego (elegir carta,
+ * confirmar la bancarrota...).
+ * <p>
+ * Junto con los dados de una {@link FuenteDadosRegistrada}, es todo lo
+ * que hace falta para reproducir la partida (ver {@link monopoly.sim.Reproductor}).
+ * El resto de métodos se pasan tal cual a la consola original.
+ */
+public class ConsolaRegistrada implements Consola {
+    private final Consola consola;
+    private final Diario diario;
+
+    public ConsolaRegistrada(Consola consola, Diario diario) {
+        this.consola = consola;
+        this.diario = diario;
+    }
+
+    @Override
+    public String leer(String descripcion) {
+        String entrada = consola.leer(descripcion);
+        diario.evento(Diario.Evento.Entrada).texto(entrada);
+        return entrada;
+    }
+
+    @Override
+    public void imprimir(String mensaje) {
+        consola.imprimir(mensaje);
+    }
+
+    @Override
+    public void imprimir(Supplier<String> mensaje) {
+        consola.imprimir(mensaje);
+    }
+
+    @Override
+    public Nivel getNivel() {
+        return consola.getNivel();
+    }
+
+    @Override
+    public void volcar() {
+        consola.volcar();
+    }
+
+    @Override
+    public String fmt(String msg, int color, Estilo... estilos) {
+        return consola.fmt(msg, color, estilos);
+    }
+
+    @Override
+    public String fmt(String msg, Color color) {
+        return consola.fmt(msg, color);
+    }
+
+    @Override
+    public String num(long numero) {
+        return consola.num(numero);
+    }
+
+    @Override
+    public <T extends Listable> String listar(Collection<T> elementos, Function<T, String> funcion) {
+        return consola.listar(elementos, funcion);
+    }
+
+    @Override
+    public void error(String mensaje) {
+        consola.error(mensaje);
+    }
+
+    @Override
+    public void error(Supplier<String> mensaje) {
+        consola.error(mensaje);
+    }
+}
@@ -1,10 +1,9 @@
 package monopoly.utils;
 
-import java.util.Random;
-
 /**
- * Clase de ayuda para simular el lanzamiento de un dado y
- * otras operaciones con números aleatorios.
+ * Resultado de lanzar dos dados.
+ * <p>
+ * Los valores aleatorios se obtienen de una {@link FuenteDados}.
  */
 public class Dado {
     private final static String[] REPR_DADO = {
@@ -52,18 +51,28 @@ public class Dado {
             """
     };
 
-    private final int dado1;
-    private final int dado2;
+    /**
+     * Número de tiradas distintas con dos dados de 6 caras
+     */
+    static final int N_TIRADAS = 36;
 
     /**
-     * Crea un nuevo Dado aleatorio.
+     * Todas las tiradas posibles con dos dados de 6 caras.
+     * <p>
+     * Como un Dado no se puede modificar, se comparten entre todas
+     * las partidas en lugar de crear uno nuevo en cada tirada.
      */
-    public Dado() {
-        Random rand = new Random();
-        dado1 = rand.nextInt(6) + 1;
-        dado2 = rand.nextInt(6) + 1;
+    private final static Dado[] TIRADAS = new Dado[Dado.N_TIRADAS];
+
+    static {
+        for (int i = 0; i < TIRADAS.length; i++) {
+            TIRADAS[i] = new Dado(i / 6 + 1, i % 6 + 1);
+        }
     }
 
+    private final int dado1;
+    private final int dado2;
+
     /**
      * Crea un nuevo dado trucado con los valores dados.
      */
@@ -72,6 +81,26 @@ public class Dado {
         dado2 = v2;
     }
 
+    /**
+     * Devuelve la tirada con los valores dados, sin crear un objeto
+     * nuevo si ambos están entre 1 y 6.
+     */
+    public static Dado de(int v1, int v2) {
+        if (v1 >= 1 && v2 >= 1 && v1 <= 6 && v2 <= 6) {
+            return TIRADAS[(v1 - 1) * 6 + v2 - 1];
+        }
+
+        return new Dado(v1, v2);
+    }
+
+    /**
+     * Devuelve la tirada número <code>n</code> (de 0 a <code>N_TIRADAS - 1</code>),
+     * donde el primer dado es <code>n / 6 + 1</code> y el segundo <code>n % 6 + 1</code>.
+     */
+    static Dado tirada(int n) {
+        return TIRADAS[n];
+    }
+
     @Override
     public String toString() {
         if (dado1 >= 1 && dado2 >= 1 && dado1 <= 6 && dado2 <= 6) {
@@ -0,0 +1,244 @@
+package monopoly.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Diario binario de una partida: cada cambio en el estado de la partida
+ * (tiradas de dados, compras, edificaciones, hipotecas, tratos, bancarrotas...)
+ * se añade al final del archivo como un registro compacto.
+ * <p>
+ * Está pensado para dejarse activado siempre, así que:
+ *
+ * <li>No se formatea ningún texto: los jugadores se guardan por el
+ *     identificador de su avatar y las casillas por su posición.
+ * <li>Se escribe sobre un <code>MappedByteBuffer</code>, por lo que añadir un
+ *     registro solo copia unos pocos bytes en memoria. Es el sistema operativo
+ *     el que los lleva al disco, sin un <code>fsync</code> por registro.
+ * <p>
+ * Formato del archivo:
+ * <pre>
+ *     cabecera: MAGIA (int) VERSION (byte)
+ *     registro: evento (byte, ordinal + 1) campo* [texto]
+ *     final:    0 (byte)
+ * </pre>
+ * Cada evento tiene un número fijo de campos (ver {@link Evento}), que se
+ * guardan como enteros de longitud variable (<i>zigzag</i> + <i>varint</i>),
+ * de forma que los valores pequeños ocupan un solo byte. Los eventos con
+ * texto lo añaden al final: su longitud en bytes y luego el texto en UTF-8.
+ * <p>
+ * Se usa encadenando las llamadas:
+ * <pre>
+ *     diario.evento(Evento.Comprar).campo(avatar).campo(casilla);
+ * </pre>
+ *
+ * @see LectorDiario
+ * @see FuenteDadosRegistrada
+ * @see ConsolaRegistrada
+ */
+public class Diario implements Closeable {
+    /**
+     * Primeros bytes del archivo: "MNPD"
+     */
+    public static final int MAGIA = 0x4D4E5044;
+    /**
+     * Versión del formato, por si cambia en el futuro
+     */
+    public static final byte VERSION = 1;
+    /**
+     * Cantidad de bytes que se proyectan en memoria de cada vez
+     */
+    private static final int TAM_REGION = 1 << 20;
+    /**
+     * Tamaño máximo de un registro sin texto: el evento y hasta 8 campos
+     * de 10 bytes cada uno.
+     */
+    private static final int TAM_MAX_REGISTRO = 1 + 8 * 10;
+
+    private final FileChannel canal;
+    private MappedByteBuffer region;
+    private long inicioRegion; /* Posición de la región actual en el archivo */
+
+    /**
+     * Crea un diario nuevo en el archivo dado. Si ya existía, se sobrescribe.
+     */
+    public Diario(Path archivo) throws IOException {
+        canal = FileChannel.open(archivo,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        proyectar(0, TAM_REGION);
+        region.putInt(MAGIA);
+        region.put(VERSION);
+    }
+
+    /**
+     * Empieza un registro nuevo. A continuación se deben añadir
+     * exactamente los campos que indica el evento.
+     */
+    public Diario evento(Evento evento) {
+        reservar(TAM_MAX_REGISTRO);
+        region.put((byte) (evento.ordinal() + 1));
+        return this;
+    }
+
+    /**
+     * Añade un campo numérico al registro actual
+     */
+    public Diario campo(long valor) {
+        // Zigzag: los números negativos pequeños también ocupan poco
+        long v = (valor << 1) ^ (valor >> 63);
+
+        while ((v & ~0x7FL) != 0) {
+            region.put((byte) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+
+        region.put((byte) v);
+        return this;
+    }
+
+    /**
+     * Añade el texto al registro actual. Solo para los eventos que lo tienen.
+     */
+    public Diario texto(String texto) {
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+
+        reservar(10 + bytes.length);
+        campo(bytes.length);
+        region.put(bytes);
+        return this;
+    }
+
+    /**
+     * Número de bytes escritos hasta ahora
+     */
+    public long getTamano() {
+        return inicioRegion + region.position();
+    }
+
+    /**
+     * Marca el final del diario y recorta el archivo a su tamaño real.
+     * <p>
+     * Si el programa termina sin cerrarlo, los registros no se pierden: el
+     * resto de la región está a 0, que es la marca de final.
+     */
+    @Override
+    public void close() throws IOException {
+        reservar(1);
+        long tamano = getTamano();
+        region.put((byte) 0);
+
+        region = null;
+        canal.truncate(tamano + 1);
+        canal.close();
+    }
+
+    /**
+     * Se asegura de que caben los bytes dados en la región actual; si no,
+     * proyecta la siguiente a partir de la posición actual. Normalmente es
+     * de {@value #TAM_REGION} bytes, pero si un texto no cabe en ella (por
+     * ejemplo, una línea muy larga pegada en la consola) se proyecta una
+     * región más grande, para que el registro no quede a medias.
+     */
+    private void reservar(int bytes) {
+        if (region.remaining() >= bytes) {
+            return;
+        }
+
+        try {
+            proyectar(getTamano(), Math.max(TAM_REGION, bytes));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void proyectar(long inicio, int tamano) throws IOException {
+        // Proyectar más allá del final del archivo lo hace crecer
+        region = canal.map(FileChannel.MapMode.READ_WRITE, inicio, tamano);
+        inicioRegion = inicio;
+    }
+
+    /**
+     * Tipos de registro del diario.
+     * <p>
+     * Los jugadores se identifican por el carácter de su avatar, las casillas
+     * por su posición en el tablero y los edificios por su
+     * {@link monopoly.casilla.edificio.TipoEdificio}.
+     * <p>
+     * NOTA: solo se pueden añadir eventos al final, porque el ordinal es
+     * lo que se guarda en el archivo.
+     */
+    public enum Evento {
+        // @formatter:off
+        /** avatar, tipo de avatar; texto: nombre */
+        CrearJugador(2, true),
+        Iniciar(0),
+        /** dado 1, dado 2 */
+        Tirada(2),
+        /** límite, valor */
+        Entero(2),
+        /** avatar */
+        Lanzar(1),
+        /** avatar, dado 1, dado 2 (comando de depuración "mover") */
+        Mover(3),
+        /** avatar */
+        Siguiente(1),
+        /** avatar */
+        AcabarTurno(1),
+        /** avatar */
+        CambiarModo(1),
+        /** avatar */
+        SalirCarcel(1),
+        /** avatar, casilla */
+        Comprar(2),
+        /** avatar, casilla, tipo de edificio, cantidad */
+        Edificar(4),
+        /** avatar, casilla, tipo de edificio, cantidad */
+        Vender(4),
+        /** avatar, casilla */
+        Hipotecar(2),
+        /** avatar, casilla */
+        Deshipotecar(2),
+        /** avatar que propone, avatar que acepta, propiedad que da el que propone,
+            propiedad que da el que acepta, cantidad que da el que propone,
+            cantidad que da el que acepta, propiedad sin alquiler, turnos sin alquiler.
+            Las propiedades que no forman parte del trato son -1. */
+        AceptarTrato(8),
+        /** avatar, avatar del acreedor (0 si es la banca) */
+        Bancarrota(2),
+        /** avatar, cantidad (comando de depuración "fortuna") */
+        Fortuna(2),
+        /** texto: línea leída de la consola (un comando o la respuesta a una pregunta) */
+        Entrada(0, true),
+        /** suma de comprobación del estado final (ver {@link monopoly.Juego#calcularSuma()}) */
+        Suma(1);
+        // @formatter:on
+
+        private final int nCampos;
+        private final boolean conTexto;
+
+        Evento(int nCampos) {
+            this(nCampos, false);
+        }
+
+        Evento(int nCampos, boolean conTexto) {
+            this.nCampos = nCampos;
+            this.conTexto = conTexto;
+        }
+
+        public int getNumeroCampos() {
+            return nCampos;
+        }
+
+        public boolean isConTexto() {
+            return conTexto;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package monopoly.utils;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Eventos de JDK Flight Recorder para las acciones de la partida, de forma
+ * que en una grabación se puedan relacionar las pausas del GC o los picos
+ * de memoria con lo que estaba pasando en el juego:
+ * <pre>
+ *     java -XX:StartFlightRecording=filename=partida.jfr -cp build:src monopoly.Main
+ *     jfr print --categories Monopoly partida.jfr
+ * </pre>
+ * Si no se está grabando, crear el evento, <code>begin()</code> y
+ * <code>shouldCommit()</code> no cuestan prácticamente nada. Los campos
+ * solo se rellenan dentro de <code>shouldCommit()</code>:
+ * <pre>
+ *     Eventos.Compra evento = new Eventos.Compra();
+ *     evento.begin();
+ *     ...
+ *     if (evento.shouldCommit()) {
+ *         evento.jugador = nombre;
+ *         ...
+ *         evento.commit();
+ *     }
+ * </pre>
+ * Los jugadores y las casillas se guardan por su nombre. No se guarda la
+ * pila de llamadas, porque el propio evento ya indica dónde se ha creado.
+ *
+ * @see Diario
+ */
+public final class Eventos {
+    private static final String CATEGORIA = "Monopoly";
+
+    private Eventos() {
+    }
+
+    @Name("monopoly.Lanzamiento")
+    @Label("Lanzamiento de dados")
+    @Category(CATEGORIA)
+    @StackTrace(false)
+    public static final class Lanzamiento extends Event {
+        @Label("Jugador")
+        public String jugador;
+        @Label("Dado 1")
+        public int dado1;
+        @Label("Dado 2")
+        public int dado2;
+        @Label("Dobles")
+        public boolean dobles;
+    }
+
+    @Name("monopoly.Movimiento")
+    @Label("Movimiento")
+    @Description("Movimiento de un avatar, incluida la acción de la casilla en la que cae")
+    @Category(CATEGORIA)
+    @StackTrace(false)
+    public static final class Movimiento extends Event {
+        @Label("Jugador")
+        public String jugador;
+        @Label("Avatar")
+        public char avatar;
+        @Label("Desde")
+        public String desde;
+        @Label("Hasta")
+        public String hasta;
+        @Label("Valor de los dados")
+        @Description("0 si se mueve con el comando siguiente")
+        public int dados;
+    }
+
+    @Name("monopoly.Alquiler")
+    @Label("Pago de alquiler")
+    @Category(CATEGORIA)
+    @StackTrace(false)
+    public static final class Alquiler extends Event {
+        @Label("Propiedad")
+        public String propiedad;
+        @Label("Pagador")
+        public String pagador;
+        @Label("Propietario")
+        public String propietario;
+        @Label("Importe")
+        public long importe;
+    }
+
+    @Name("monopoly.Compra")
+    @Label("Compra")
+    @Category(CATEGORIA)
+    @StackTrace(false)
+    public static final class Compra extends Event {
+        @Label("Jugador")
+        public String jugador;
+        @Label("Propiedad")
+        public String propiedad;
+        @Label("Precio")
+        public long precio;
+    }
+
+    @Name("monopoly.Edificacion")
+    @Label("Edificación")
+    @Category(CATEGORIA)
+    @StackTrace(false)
+    public static final class Edificacion extends Event {
+        @Label("Jugador")
+        public String jugador;
+        @Label("Solar")
+        public String solar;
+        @Label("Tipo de edificio")
+        public String tipo;
+        @Label("Cantidad")
+        @Description("Edificios construidos (menos de los pedidos si ha fallado a medias)")
+        public int cantidad;
+        @Label("Valor")
+        @Description("Precio de cada edificio")
+        public long valor;
+    }
+
+    @Name("monopoly.Hipoteca")
+    @Label("Hipoteca")
+    @Category(CATEGORIA)
+    @StackTrace(false)
+    public static final class Hipoteca extends Event {
+        @Label("Propiedad")
+        public String propiedad;
+        @Label("Jugador")
+        public String jugador;
+        @Label("Hipotecada")
+        @Description("true al hipotecar, false al deshipotecar")
+        public boolean hipotecada;
+        @Label("Importe")
+        public long importe;
+    }
+
+    @Name("monopoly.TratoPropuesto")
+    @Label("Trato propuesto")
+    @Category(CATEGORIA)
+    @StackTrace(false)
+    public static final class TratoPropuesto extends Event {
+        @Label("Trato")
+        public String trato;
+        @Label("Tipo")
+        public String tipo;
+        @Label("Propone")
+        public String propone;
+        @Label("Acepta")
+        public String acepta;
+    }
+
+    @Name("monopoly.TratoAceptado")
+    @Label("Trato aceptado")
+    @Category(CATEGORIA)
+    @StackTrace(false)
+    public static final class TratoAceptado extends Event {
+        @Label("Trato")
+        public String trato;
+        @Label("Tipo")
+        public String tipo;
+        @Label("Propone")
+        public String propone;
+        @Label("Acepta")
+        public String acepta;
+    }
+
+    @Name("monopoly.Bancarrota")
+    @Label("Bancarrota")
+    @Category(CATEGORIA)
+    @StackTrace(false)
+    public static final class Bancarrota extends Event {
+        @Label("Deudor")
+        public String deudor;
+        @Label("Acreedor")
+        public String acreedor;
+        @Label("Propiedades")
+        @Description("Propiedades que pasan al acreedor")
+        public int propiedades;
+        @Label("Jugadores restantes")
+        public int jugadoresRestantes;
+    }
+
+    @Name("monopoly.PintadoTablero")
+    @Label("Pintado del tablero")
+    @Category(CATEGORIA)
+    @StackTrace(false)
+    public static final class PintadoTablero extends Event {
+        @Label("Celdas repintadas")
+        public int celdasRepintadas;
+        @Label("Caracteres")
+        public int caracteres;
+    }
+}
@@ -0,0 +1,27 @@
+package monopoly.utils;
+
+/**
+ * Origen de las tiradas de dados de una partida.
+ * <p>
+ * Cada partida tiene su propia fuente, de forma que con la misma semilla
+ * se obtienen siempre los mismos dados (y las mismas cartas), y varias
+ * partidas pueden jugarse en paralelo sin compartir el generador. Las
+ * fuentes de las que se pueden crear otras para más partidas son
+ * {@link FuenteDadosDivisible}.
+ *
+ * @see FuenteDadosAleatoria
+ * @see FuenteDadosPregenerados
+ * @see FuenteDadosReproducida
+ */
+public interface FuenteDados {
+    /**
+     * Lanza los dos dados
+     */
+    Dado lanzar();
+
+    /**
+     * Devuelve un entero aleatorio entre 0 y <code>limite - 1</code>, para el
+     * resto de decisiones aleatorias de la partida (por ejemplo, barajar las cartas).
+     */
+    int entero(int limite);
+}
@@ -0,0 +1,39 @@
+package monopoly.utils;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator.SplittableGenerator;
+
+/**
+ * Fuente de dados que obtiene cada tirada directamente de un generador
+ * de números aleatorios.
+ */
+public class FuenteDadosAleatoria implements FuenteDadosDivisible {
+    private final SplittableGenerator generador;
+
+    public FuenteDadosAleatoria(SplittableGenerator generador) {
+        this.generador = generador;
+    }
+
+    /**
+     * Crea una fuente reproducible a partir de la semilla dada
+     */
+    public FuenteDadosAleatoria(long semilla) {
+        this(new SplittableRandom(semilla));
+    }
+
+    @Override
+    public Dado lanzar() {
+        // Se obtienen los dos dados de un solo número aleatorio
+        return Dado.tirada(generador.nextInt(Dado.N_TIRADAS));
+    }
+
+    @Override
+    public int entero(int limite) {
+        return generador.nextInt(limite);
+    }
+
+    @Override
+    public FuenteDadosDivisible dividir() {
+        return new FuenteDadosAleatoria(generador.split());
+    }
+}
@@ -0,0 +1,20 @@
+package monopoly.utils;
+
+/**
+ * Fuente de dados de la que se pueden crear otras independientes, para
+ * repartir una sola semilla entre muchas partidas (por ejemplo, en el
+ * simulador).
+ * <p>
+ * Las fuentes que solo tienen los dados de una partida concreta, como
+ * {@link FuenteDadosReproducida}, no lo son.
+ */
+public interface FuenteDadosDivisible extends FuenteDados {
+    /**
+     * Crea una nueva fuente independiente de esta, para dársela a otra
+     * partida u otro hilo.
+     * <p>
+     * El resultado solo depende del estado actual de esta fuente, así que
+     * dividir en el mismo orden siempre produce las mismas fuentes.
+     */
+    FuenteDadosDivisible dividir();
+}
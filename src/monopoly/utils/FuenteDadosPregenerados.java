@@ -0,0 +1,95 @@
+package monopoly.utils;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator.SplittableGenerator;
+
+/**
+ * Fuente de dados que genera las tiradas por bloques y las guarda en un
+ * buffer de bytes, para no tener que llamar al generador en cada tirada.
+ * <p>
+ * Cada tirada se guarda como un número de 0 a 35 (ver {@link Dado#tirada(int)}),
+ * y de cada número aleatorio de 64 bits se obtienen dos tiradas.
+ */
+public class FuenteDadosPregenerados implements FuenteDadosDivisible {
+    /**
+     * Las tiradas se obtienen multiplicando 32 bits aleatorios por el número de
+     * tiradas y tomando los 32 bits altos. Los valores cuyos bits bajos quedan
+     * por debajo de este umbral se descartan para que todas las tiradas tengan
+     * la misma probabilidad (en la práctica, casi nunca ocurre).
+     *
+     * @see <a href="https://arxiv.org/abs/1805.10941">Fast Random Integer Generation in an Interval</a>
+     */
+    private static final long UMBRAL = (1L << 32) % Dado.N_TIRADAS;
+    private static final long MASCARA = 0xFFFF_FFFFL;
+
+    private final SplittableGenerator generador;
+    private final byte[] buffer; /* Tiradas generadas */
+    private int siguiente;      /* Posición de la siguiente tirada en el buffer */
+
+    /**
+     * @param generador Generador con el que se rellena el buffer.
+     * @param nTiradas  Número de tiradas que se generan de una vez (positivo).
+     */
+    public FuenteDadosPregenerados(SplittableGenerator generador, int nTiradas) {
+        this.generador = generador;
+        this.buffer = new byte[nTiradas];
+        this.siguiente = buffer.length;
+    }
+
+    /**
+     * Crea una fuente reproducible a partir de la semilla dada
+     */
+    public FuenteDadosPregenerados(long semilla, int nTiradas) {
+        this(new SplittableRandom(semilla), nTiradas);
+    }
+
+    private void rellenar() {
+        int i = 0;
+
+        while (i < buffer.length) {
+            long bits = generador.nextLong();
+
+            i = anadirTirada(bits >>> 32, i);
+            if (i < buffer.length) {
+                i = anadirTirada(bits & MASCARA, i);
+            }
+        }
+
+        siguiente = 0;
+    }
+
+    /**
+     * Convierte 32 bits aleatorios en una tirada y la guarda en la posición dada
+     *
+     * @return La posición siguiente del buffer que hay que rellenar
+     */
+    private int anadirTirada(long bits, int pos) {
+        long m = bits * Dado.N_TIRADAS;
+
+        if ((m & MASCARA) < UMBRAL) {
+            return pos;
+        }
+
+        buffer[pos] = (byte) (m >>> 32);
+        return pos + 1;
+    }
+
+    @Override
+    public Dado lanzar() {
+        if (siguiente == buffer.length) {
+            rellenar();
+        }
+
+        return Dado.tirada(buffer[siguiente++]);
+    }
+
+    @Override
+    public int entero(int limite) {
+        return generador.nextInt(limite);
+    }
+
+    @Override
+    public FuenteDadosDivisible dividir() {
+        return new FuenteDadosPregenerados(generador.split(), buffer.length);
+    }
+}
@@ -0,0 +1,29 @@
+package monopoly.utils;
+
+/**
+ * Fuente de dados que apunta en un {@link Diario} todos los resultados
+ * que obtiene de otra fuente, para poder reproducir la partida después.
+ */
+public class FuenteDadosRegistrada implements FuenteDados {
+    private final FuenteDados fuente;
+    private final Diario diario;
+
+    public FuenteDadosRegistrada(FuenteDados fuente, Diario diario) {
+        this.fuente = fuente;
+        this.diario = diario;
+    }
+
+    @Override
+    public Dado lanzar() {
+        Dado dado = fuente.lanzar();
+        diario.evento(Diario.Evento.Tirada).campo(dado.getDado1()).campo(dado.getDado2());
+        return dado;
+    }
+
+    @Override
+    public int entero(int limite) {
+        int valor = fuente.entero(limite);
+        diario.evento(Diario.Evento.Entero).campo(limite).campo(valor);
+        return valor;
+    }
+}
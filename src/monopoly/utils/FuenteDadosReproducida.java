@@ -0,0 +1,69 @@
+package monopoly.utils;
+
+/**
+ * Fuente de dados que devuelve, en el mismo orden, los resultados que
+ * apuntó una {@link FuenteDadosRegistrada}, para reproducir la partida.
+ * <p>
+ * Si la partida pide algo distinto de lo que se registró (una tirada en
+ * lugar de un entero, otro límite o más valores de los que hay), es que
+ * la reproducción se ha desviado de la original y se lanza una
+ * <code>IllegalStateException</code>.
+ * <p>
+ * No es una {@link FuenteDadosDivisible}: solo tiene los valores de su partida.
+ */
+public class FuenteDadosReproducida implements FuenteDados {
+    private final int[] valores; /* Número de tirada (ver Dado#tirada) o entero */
+    private final int[] limites; /* Límite de cada entero, o 0 si el valor es una tirada */
+    private int siguiente;
+
+    /**
+     * Los arreglos no se copian, así que se pueden compartir entre
+     * varias reproducciones de la misma partida.
+     */
+    public FuenteDadosReproducida(int[] valores, int[] limites) {
+        this.valores = valores;
+        this.limites = limites;
+        this.siguiente = 0;
+    }
+
+    /**
+     * Número de la tirada con los dados dados, como lo guarda esta fuente
+     */
+    public static int numeroTirada(int dado1, int dado2) {
+        return (dado1 - 1) * 6 + (dado2 - 1);
+    }
+
+    @Override
+    public Dado lanzar() {
+        comprobarSiguiente(0);
+        return Dado.tirada(valores[siguiente++]);
+    }
+
+    @Override
+    public int entero(int limite) {
+        comprobarSiguiente(limite);
+        return valores[siguiente++];
+    }
+
+    /**
+     * Número de valores registrados que todavía no se han usado
+     */
+    public int getRestantes() {
+        return valores.length - siguiente;
+    }
+
+    private void comprobarSiguiente(int limite) {
+        if (siguiente == valores.length) {
+            throw new IllegalStateException("No quedan dados registrados (se han usado los %d)".formatted(valores.length));
+        }
+
+        if (limites[siguiente] != limite) {
+            throw new IllegalStateException("Se esperaba %s y se ha pedido %s (valor %d del diario)".formatted(
+                    describir(limites[siguiente]), describir(limite), siguiente + 1));
+        }
+    }
+
+    private static String describir(int limite) {
+        return limite == 0 ? "una tirada" : "un entero menor que " + limite;
+    }
+}
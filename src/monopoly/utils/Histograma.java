@@ -0,0 +1,124 @@
+package monopoly.utils;
+
+import java.util.Arrays;
+
+/**
+ * Histograma de valores enteros no negativos (por ejemplo, tiempos en
+ * nanosegundos) con cubetas logarítmicas, para calcular percentiles sin
+ * guardar cada valor.
+ * <p>
+ * Cada potencia de 2 se divide en {@value #SUBCUBETAS} cubetas iguales, así
+ * que el error relativo de un percentil es como mucho de 1/{@value #SUBCUBETAS}
+ * (los valores menores que {@value #SUBCUBETAS} se guardan exactos). Todo el
+ * rango de un <code>long</code> cabe en menos de 500 contadores, y añadir un
+ * valor solo cuesta unas pocas operaciones de bits.
+ * <p>
+ * No es seguro usarlo desde varios hilos a la vez.
+ */
+public class Histograma {
+    private static final int BITS_SUBCUBETAS = 3;
+    private static final int SUBCUBETAS = 1 << BITS_SUBCUBETAS;
+    private static final int N_CUBETAS = (Long.SIZE - BITS_SUBCUBETAS) * SUBCUBETAS;
+
+    private final int[] cuentas;
+    private long total;
+    private long suma;
+    private long max;
+
+    public Histograma() {
+        cuentas = new int[N_CUBETAS];
+    }
+
+    /**
+     * Añade un valor al histograma. Los negativos se cuentan como 0.
+     */
+    public void anadir(long valor) {
+        valor = Math.max(valor, 0);
+
+        cuentas[cubeta(valor)]++;
+        total++;
+        suma += valor;
+        max = Math.max(max, valor);
+    }
+
+    /**
+     * Vacía el histograma
+     */
+    public void reiniciar() {
+        Arrays.fill(cuentas, 0);
+        total = 0;
+        suma = 0;
+        max = 0;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getSuma() {
+        return suma;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Calcula el percentil dado: el menor valor que es mayor o igual que
+     * esa fracción de todos los valores añadidos.
+     * <p>
+     * Se devuelve el mayor valor de su cubeta (sin pasar del máximo), así
+     * que nunca es menor que el percentil exacto.
+     *
+     * @param fraccion Fracción de los valores, entre 0 y 1 (por ejemplo, 0.99)
+     * @return El percentil, o 0 si el histograma está vacío.
+     */
+    public long percentil(double fraccion) {
+        if (total == 0) {
+            return 0;
+        }
+
+        long posicion = Math.max(1, (long) Math.ceil(fraccion * total));
+        long acumulado = 0;
+
+        for (int i = 0; i < N_CUBETAS; i++) {
+            acumulado += cuentas[i];
+
+            if (acumulado >= posicion) {
+                return Math.min(maximoCubeta(i), max);
+            }
+        }
+
+        return max;
+    }
+
+    /**
+     * Cubeta de un valor: los menores que SUBCUBETAS van en la suya propia,
+     * y el resto según su bit más alto y los BITS_SUBCUBETAS siguientes.
+     */
+    private static int cubeta(long valor) {
+        if (valor < SUBCUBETAS) {
+            return (int) valor;
+        }
+
+        int exponente = Long.SIZE - 1 - Long.numberOfLeadingZeros(valor);
+        int sub = (int) (valor >>> (exponente - BITS_SUBCUBETAS)) & (SUBCUBETAS - 1);
+
+        return (exponente - BITS_SUBCUBETAS + 1) * SUBCUBETAS + sub;
+    }
+
+    /**
+     * Mayor valor que cae en la cubeta dada
+     */
+    private static long maximoCubeta(int i) {
+        if (i < SUBCUBETAS) {
+            return i;
+        }
+
+        int exponente = i / SUBCUBETAS + BITS_SUBCUBETAS - 1;
+        int sub = i % SUBCUBETAS;
+        long inicio = (long) (SUBCUBETAS + sub) << (exponente - BITS_SUBCUBETAS);
+
+        return inicio + (1L << (exponente - BITS_SUBCUBETAS)) - 1;
+    }
+}
@@ -0,0 +1,144 @@
+package monopoly.utils;
+
+import monopoly.error.ErrorComandoNoEncontrado;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Índice de una colección de elementos por su nombre, sin distinguir
+ * mayúsculas y minúsculas.
+ * <p>
+ * Sustituye a {@link Buscar#porNombre(String, Collection)}, que recorre toda
+ * la colección en cada búsqueda. Debe mantenerse sincronizado con la colección
+ * original: cada vez que se añade o se quita un elemento de ella, también
+ * hay que hacerlo aquí.
+ * <p>
+ * Puede haber varios elementos con el mismo nombre (por ejemplo, las casillas
+ * de Suerte); se guardan en el orden en el que se añadieron.
+ *
+ * @see Buscar
+ */
+public class IndiceNombres<T extends Buscar> {
+    // @formatter:off
+    private final HashMap<String, ArrayList<T>> porNombre; /* Búsqueda exacta */
+    private final TreeMap<String, ArrayList<T>> ordenado;  /* Búsqueda por prefijo */
+    // @formatter:on
+
+    public IndiceNombres() {
+        porNombre = new HashMap<>();
+        ordenado = new TreeMap<>();
+    }
+
+    /**
+     * Crea un índice con todos los elementos de la colección dada
+     */
+    public IndiceNombres(Collection<T> elementos) {
+        this();
+
+        for (T e : elementos) {
+            anadir(e);
+        }
+    }
+
+    /**
+     * Añade un elemento al índice. Los elementos sin nombre se ignoran.
+     */
+    public void anadir(T elemento) {
+        if (elemento.getNombre() == null) {
+            return;
+        }
+
+        String clave = clave(elemento.getNombre());
+        ArrayList<T> lista = porNombre.get(clave);
+
+        if (lista == null) {
+            lista = new ArrayList<>(1);
+            porNombre.put(clave, lista);
+            ordenado.put(clave, lista);
+        }
+
+        lista.add(elemento);
+    }
+
+    /**
+     * Quita un elemento del índice
+     */
+    public void quitar(T elemento) {
+        if (elemento.getNombre() == null) {
+            return;
+        }
+
+        String clave = clave(elemento.getNombre());
+        ArrayList<T> lista = porNombre.get(clave);
+
+        if (lista != null && lista.remove(elemento) && lista.isEmpty()) {
+            porNombre.remove(clave);
+            ordenado.remove(clave);
+        }
+    }
+
+    /**
+     * Busca el elemento con el nombre dado. Si hay varios, devuelve el primero.
+     *
+     * @throws ErrorComandoNoEncontrado Si no hay ningún elemento con ese nombre
+     */
+    public T buscar(String nombre) throws ErrorComandoNoEncontrado {
+        ArrayList<T> lista = porNombre.get(clave(nombre));
+
+        if (lista == null) {
+            throw new ErrorComandoNoEncontrado("\"%s\": no se ha encontrado".formatted(nombre));
+        }
+
+        return lista.get(0);
+    }
+
+    /**
+     * Devuelve todos los elementos con el nombre dado (o una lista vacía)
+     */
+    public List<T> todos(String nombre) {
+        ArrayList<T> lista = porNombre.get(clave(nombre));
+        return lista == null ? Collections.emptyList() : Collections.unmodifiableList(lista);
+    }
+
+    /**
+     * Devuelve <code>true</code> si hay algún elemento con el nombre dado
+     */
+    public boolean contiene(String nombre) {
+        return porNombre.containsKey(clave(nombre));
+    }
+
+    /**
+     * Devuelve todos los elementos cuyo nombre empieza por el prefijo dado,
+     * ordenados alfabéticamente por nombre.
+     * <p>
+     * Puede devolver elementos distintos de los que se querían, así que solo
+     * debe usarse para mostrar información, nunca para elegir sobre qué
+     * elemento actúa un comando.
+     */
+    public List<T> buscarPrefijo(String prefijo) {
+        String inicio = clave(prefijo);
+        // Todas las claves que empiezan por el prefijo son menores que esta
+        SortedMap<String, ArrayList<T>> rango = ordenado.subMap(inicio, inicio + Character.MAX_VALUE);
+
+        ArrayList<T> resultado = new ArrayList<>();
+        for (ArrayList<T> lista : rango.values()) {
+            resultado.addAll(lista);
+        }
+
+        return resultado;
+    }
+
+    /**
+     * Normaliza el nombre para usarlo de clave
+     */
+    private static String clave(String nombre) {
+        return nombre.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,153 @@
+package monopoly.utils;
+
+import monopoly.utils.Diario.Evento;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Lee los registros de un {@link Diario} uno a uno.
+ * <pre>
+ *     try (LectorDiario lector = new LectorDiario(archivo)) {
+ *         while (lector.siguiente()) {
+ *             ... lector.getEvento(), lector.getCampo(0), ...
+ *         }
+ *     }
+ * </pre>
+ * Para ver el contenido de un diario desde la terminal:
+ * <pre>
+ *     java monopoly.utils.LectorDiario archivo
+ * </pre>
+ */
+public class LectorDiario implements Closeable {
+    private final FileChannel canal;
+    private final MappedByteBuffer datos;
+    // Registro actual
+    private final long[] campos;
+    private Evento evento;
+    private String texto;
+
+    public LectorDiario(Path archivo) throws IOException {
+        canal = FileChannel.open(archivo, StandardOpenOption.READ);
+        datos = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+        campos = new long[Arrays.stream(Evento.values()).mapToInt(Evento::getNumeroCampos).max().orElse(0)];
+
+        if (datos.remaining() < 5 || datos.getInt() != Diario.MAGIA) {
+            throw new IOException("%s: no es un diario de partida".formatted(archivo));
+        }
+
+        byte version = datos.get();
+        if (version != Diario.VERSION) {
+            throw new IOException("%s: versión %d no soportada".formatted(archivo, version));
+        }
+    }
+
+    /**
+     * Avanza al siguiente registro
+     *
+     * @return <code>false</code> si se ha llegado al final del diario
+     */
+    public boolean siguiente() throws IOException {
+        if (!datos.hasRemaining()) {
+            return false;
+        }
+
+        int n = datos.get() & 0xFF;
+        if (n == 0) {
+            return false;
+        }
+
+        if (n > Evento.values().length) {
+            throw new IOException("Evento %d desconocido en la posición %d".formatted(n, datos.position() - 1));
+        }
+
+        evento = Evento.values()[n - 1];
+        for (int i = 0; i < evento.getNumeroCampos(); i++) {
+            campos[i] = leerCampo();
+        }
+
+        texto = null;
+        if (evento.isConTexto()) {
+            byte[] bytes = new byte[(int) leerCampo()];
+            datos.get(bytes);
+            texto = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        return true;
+    }
+
+    public Evento getEvento() {
+        return evento;
+    }
+
+    public long getCampo(int i) {
+        return campos[i];
+    }
+
+    /**
+     * Texto del registro actual, o <code>null</code> si no tiene
+     */
+    public String getTexto() {
+        return texto;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder str = new StringBuilder(evento.name());
+
+        for (int i = 0; i < evento.getNumeroCampos(); i++) {
+            str.append(' ').append(campos[i]);
+        }
+
+        if (texto != null) {
+            str.append(" \"").append(texto).append('"');
+        }
+
+        return str.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+
+    private long leerCampo() {
+        long v = 0;
+        int desplazamiento = 0;
+        byte b;
+
+        do {
+            b = datos.get();
+            v |= (long) (b & 0x7F) << desplazamiento;
+            desplazamiento += 7;
+        } while ((b & 0x80) != 0);
+
+        // Deshacer el zigzag
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    /**
+     * Muestra todos los registros de un diario, uno por línea
+     */
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            System.err.println("Uso: java monopoly.utils.LectorDiario archivo");
+            System.exit(1);
+        }
+
+        try (LectorDiario lector = new LectorDiario(Path.of(args[0]))) {
+            while (lector.siguiente()) {
+                System.out.println(lector);
+            }
+        } catch (IOException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+    }
+}
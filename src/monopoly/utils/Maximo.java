@@ -0,0 +1,103 @@
+package monopoly.utils;
+
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Mantiene el elemento con el valor máximo de una colección, actualizándolo
+ * cada vez que cambia el valor de alguno de sus elementos.
+ * <p>
+ * En caso de empate, gana el elemento que va antes en la colección (el de
+ * menor <code>orden</code>), igual que al recorrerla buscando el máximo.
+ * <p>
+ * Cuando el valor de un elemento aumenta, basta con compararlo con el máximo
+ * actual. Solo si disminuye el valor del máximo (o se quita de la colección)
+ * hay que volver a recorrerla.
+ *
+ * @see monopoly.EstadisticasJuego
+ */
+public class Maximo<T> {
+    // @formatter:off
+    private final Iterable<? extends T> elementos; /* Colección completa, para recalcular el máximo */
+    private final ToLongFunction<T> valor;
+    private final ToIntFunction<T> orden;          /* Posición del elemento en la colección */
+    private T mejor;
+    private long max;
+    // @formatter:on
+
+    public Maximo(Iterable<? extends T> elementos, ToLongFunction<T> valor, ToIntFunction<T> orden) {
+        this.elementos = elementos;
+        this.valor = valor;
+        this.orden = orden;
+
+        recalcular();
+    }
+
+    /**
+     * Indica que ha cambiado el valor del elemento dado, o que se acaba de
+     * añadir a la colección.
+     */
+    public void actualizar(T elemento) {
+        long v = valor.applyAsLong(elemento);
+
+        if (elemento == mejor) {
+            if (v >= max) {
+                max = v;
+            } else {
+                recalcular();
+            }
+        } else if (mejor == null || v > max || (v == max && orden.applyAsInt(elemento) < orden.applyAsInt(mejor))) {
+            mejor = elemento;
+            max = v;
+        }
+    }
+
+    /**
+     * Indica que el elemento dado ya se ha quitado de la colección
+     */
+    public void quitar(T elemento) {
+        if (elemento == mejor) {
+            recalcular();
+        }
+    }
+
+    /**
+     * Busca el máximo recorriendo toda la colección
+     */
+    public void recalcular() {
+        mejor = null;
+        max = 0;
+
+        for (T e : elementos) {
+            long v = valor.applyAsLong(e);
+
+            if (mejor == null || v > max) {
+                max = v;
+                mejor = e;
+            }
+        }
+    }
+
+    /**
+     * Devuelve <code>true</code> si el máximo coincide con el que se
+     * obtiene recorriendo toda la colección.
+     */
+    public boolean comprobar() {
+        T anterior = mejor;
+        long maxAnterior = max;
+        recalcular();
+
+        return anterior == mejor && maxAnterior == max;
+    }
+
+    /**
+     * Elemento con el valor máximo, o <code>null</code> si la colección está vacía
+     */
+    public T get() {
+        return mejor;
+    }
+
+    public long getValor() {
+        return max;
+    }
+}
@@ -8,40 +8,146 @@ import static monopoly.utils.ReprTablero.*;
 
 /**
  * Clase de ayuda a Tablero para poder dibujar el tablero por pantalla.
+ * <p>
+ * El marco del tablero (bordes, separadores y espacios) no cambia durante
+ * la partida, así que se construye una sola vez. El contenido de cada celda
+ * se guarda junto con la versión de su casilla (ver {@link Casilla#getVersion()}),
+ * y solo se vuelve a formatear cuando esta cambia: al entrar o salir un avatar,
+ * al cambiar de dueño, al edificar, etc.
  *
  * @see monopoly.Juego
  * @see Casilla
  */
 public class PintorTablero {
+    private final ArrayList<Casilla> casillas;
+    private final Consola consola;
+
+    // @formatter:off
+    // Marco
+    private final String[] segmentos; /* Partes fijas del tablero, entre una celda y la siguiente */
+    private final int[] orden;        /* Casilla de cada celda, en el orden en el que se dibujan */
+    private final int tamMarco;       /* Suma de las longitudes de los segmentos */
+
+    // Contenido de las celdas
+    private final String[] celdas;    /* Contenido formateado de cada casilla */
+    private final int[] versiones;    /* Versión de la casilla cuando se formateó su celda */
+    private String ultimoTablero;     /* Resultado anterior, si no ha cambiado ninguna celda */
+    // @formatter:on
 
     /**
-     * Función privada de ayuda que añade a <code>dst</code> el
-     * el contenido de una celda: el nombre de la casilla y sus
-     * avatares.
+     * Prepara el dibujado del tablero dado.
+     * <p>
+     * NOTA: solo se accede al <code>ArrayList</code> de las casillas y a
+     * sus avatares.
+     *
+     * @param consola Consola usada para dar formato a las celdas
      */
-    private static void pintarCelda(StringBuilder dst, Casilla c) {
-        dst.append(VERT);
+    public PintorTablero(ArrayList<Casilla> casillas, Consola consola) {
+        this.casillas = casillas;
+        this.consola = consola;
+
+        celdas = new String[casillas.size()];
+        versiones = new int[casillas.size()];
+        ultimoTablero = null;
 
-        dst.append(c.representar());
+        ArrayList<String> segmentos = new ArrayList<>(casillas.size() + 1);
+        ArrayList<Integer> orden = new ArrayList<>(casillas.size());
+        construirMarco(segmentos, orden);
+
+        this.segmentos = segmentos.toArray(new String[0]);
+        this.orden = orden.stream().mapToInt(Integer::intValue).toArray();
+
+        int tam = 0;
+        for (String s : this.segmentos) {
+            tam += s.length();
+        }
+        tamMarco = tam;
+    }
+
+    /**
+     * Función privada de ayuda que devuelve el contenido de una
+     * celda: el nombre de la casilla y sus avatares.
+     */
+    private String pintarCelda(Casilla c) {
+        StringBuilder dst = new StringBuilder();
+
+        dst.append(c.representar(consola));
 
         for (int i = 0; i < TAM_AVATAR - 1; i++) {
             if (i < c.getAvatares().size()) {
-                dst.append(c.getAvatares().get(i).representar());
+                dst.append(c.getAvatares().get(i).representar(consola));
             } else {
                 dst.append(' ');
             }
         }
 
         dst.append(' ');
+        return dst.toString();
     }
 
     /**
-     * Pinta el tablero dado.
+     * Pinta el tablero, volviendo a formatear solo las celdas
+     * cuyas casillas han cambiado desde la última vez.
+     */
+    public String pintarTablero() {
+        Eventos.PintadoTablero evento = new Eventos.PintadoTablero();
+        evento.begin();
+
+        boolean cambios = ultimoTablero == null;
+        int repintadas = 0;
+
+        for (int i = 0; i < celdas.length; i++) {
+            Casilla c = casillas.get(i);
+
+            if (celdas[i] == null || versiones[i] != c.getVersion()) {
+                celdas[i] = pintarCelda(c);
+                versiones[i] = c.getVersion();
+                cambios = true;
+                repintadas++;
+            }
+        }
+
+        if (cambios) {
+            ultimoTablero = unirCeldas();
+        }
+
+        if (evento.shouldCommit()) {
+            evento.celdasRepintadas = repintadas;
+            evento.caracteres = ultimoTablero.length();
+            evento.commit();
+        }
+
+        return ultimoTablero;
+    }
+
+    /**
+     * Une las celdas ya pintadas con las partes fijas del tablero
+     */
+    private String unirCeldas() {
+        int tam = tamMarco;
+        for (String celda : celdas) {
+            tam += celda.length();
+        }
+
+        StringBuilder tableroStr = new StringBuilder(tam);
+        tableroStr.append(segmentos[0]);
+
+        for (int i = 0; i < orden.length; i++) {
+            tableroStr.append(celdas[orden[i]]);
+            tableroStr.append(segmentos[i + 1]);
+        }
+
+        return tableroStr.toString();
+    }
+
+    /**
+     * Calcula las partes fijas del tablero.
      * <p>
-     * NOTA: solo se accede al <code>ArrayList</code> de las casillas y
-     * al jugador actual (para poder mostrarlo con un estilo diferente).
+     * Se guarda en <code>segmentos</code> el texto que va antes de cada celda
+     * (y el final del tablero), y en <code>orden</code> el número de la
+     * casilla de cada celda.
      */
-    public static String pintarTablero(ArrayList<Casilla> casillas) {
+    private void construirMarco(ArrayList<String> segmentos, ArrayList<Integer> orden) {
         // Número de casillas por lado:
         // Es el total de casillas entre cada lado (4) más la casilla
         // extra que pertenece al lado siguiente.
@@ -51,12 +157,9 @@ public class PintorTablero {
         // casillas que hay en un lado. Adicionalmente, hay que sumar la última
         // barra vertical y el salto de línea.
         final int TAM_LINEA = (TAM_CELDA + 1) * N_LADO + 2;
-        // Número de líneas:
-        // Hay un separador encima de cada línea y uno extra abajo de todo, a
-        // mayores de las casillas que hay en un lado.
-        final int N_LINEAS = 2 * N_LADO + 1;
+        final String LINEA_CELDA = Character.toString(HOR).repeat(TAM_CELDA);
 
-        StringBuilder tableroStr = new StringBuilder(TAM_LINEA * N_LINEAS);
+        StringBuilder actual = new StringBuilder(TAM_LINEA);
 
         // Se van añadiendo fila a fila
         for (int i = 0; i < N_LADO; i++) {
@@ -64,73 +167,83 @@ public class PintorTablero {
             // En el caso de que sea la primera fila o la última,
             // se dibuja una lista de casillas.
             if (i == 0) {
-                StringBuilder bordeSuperior = new StringBuilder(TAM_LINEA);
-                bordeSuperior.append(ESQ_NO);
+                actual.append(ESQ_NO);
 
                 for (int j = 0; j < N_LADO; j++) {
-                    pintarCelda(tableroStr, casillas.get(j));
-
                     // Se añade una línea horizontal por encima de las celdas
-                    bordeSuperior.append(Character.toString(HOR).repeat(TAM_CELDA));
+                    actual.append(LINEA_CELDA);
                     // Y luego se añade la conexión con la línea vertical
                     // (al final se hace esquina).
-                    bordeSuperior.append(j == N_LADO - 1 ? ESQ_NE : ABAJO);
+                    actual.append(j == N_LADO - 1 ? ESQ_NE : ABAJO);
                 }
+                actual.append('\n');
 
-                tableroStr.append(VERT);
+                for (int j = 0; j < N_LADO; j++) {
+                    actual.append(VERT);
+                    anadirCelda(segmentos, orden, actual, j);
+                }
 
-                // Insertar el borde al inicio
-                bordeSuperior.append('\n');
-                tableroStr.insert(0, bordeSuperior);
+                actual.append(VERT);
 
             } else if (i == N_LADO - 1) {
                 // Este caso es análogo al anterior
-                StringBuilder bordeInferior = new StringBuilder((TAM_CELDA + 1) * N_LADO + 1);
-                bordeInferior.append(ESQ_SO);
-
                 for (int j = 0; j < N_LADO; j++) {
                     // Para obtener la casilla, hay que quitar al número total la cantidad
                     // de celdas en el lado izquierdo del tablero.
-                    pintarCelda(tableroStr, casillas.get(casillas.size() - (N_LADO - 1) - j));
-
-                    bordeInferior.append(Character.toString(HOR).repeat(TAM_CELDA));
-                    bordeInferior.append(j == N_LADO - 1 ? ESQ_SE : ARRIBA);
+                    actual.append(VERT);
+                    anadirCelda(segmentos, orden, actual, casillas.size() - (N_LADO - 1) - j);
                 }
 
-                tableroStr.append(VERT);
-                tableroStr.append('\n');
-                tableroStr.append(bordeInferior);
+                actual.append(VERT);
+                actual.append('\n');
+
+                actual.append(ESQ_SO);
+                for (int j = 0; j < N_LADO; j++) {
+                    actual.append(LINEA_CELDA);
+                    actual.append(j == N_LADO - 1 ? ESQ_SE : ARRIBA);
+                }
             }
 
             // En caso contrario, solo se dibujan 2 casillas,
             // separadas por un separador y espacio en blanco.
             else {
                 if (i == 1) {
-                    tableroStr.append(construirSeparador(0, TAM_LINEA, N_LADO));
-                    tableroStr.append('\n');
+                    actual.append(construirSeparador(0, TAM_LINEA, N_LADO));
+                    actual.append('\n');
                 }
 
                 // En el lado de la derecha, se toman las casillas desde el
                 // final dado que son las últimas.
-                pintarCelda(tableroStr, casillas.get(casillas.size() - i));
-                tableroStr.append(VERT);
+                actual.append(VERT);
+                anadirCelda(segmentos, orden, actual, casillas.size() - i);
+                actual.append(VERT);
 
                 // El resto se llena con espacios
-                tableroStr.append(" ".repeat((TAM_CELDA + 1) * (N_LADO - 2) - 1));
+                actual.append(" ".repeat((TAM_CELDA + 1) * (N_LADO - 2) - 1));
 
                 // Y en el lado de la izquierda, hay que sumarle el número de
                 // casillas de la primera fila a la fila actual.
-                pintarCelda(tableroStr, casillas.get(N_LADO + i - 1));
-                tableroStr.append(VERT);
-                tableroStr.append('\n');
+                actual.append(VERT);
+                anadirCelda(segmentos, orden, actual, N_LADO + i - 1);
+                actual.append(VERT);
+                actual.append('\n');
 
-                tableroStr.append(construirSeparador(i, TAM_LINEA, N_LADO));
+                actual.append(construirSeparador(i, TAM_LINEA, N_LADO));
             }
 
-            tableroStr.append('\n');
+            actual.append('\n');
         }
 
-        return tableroStr.toString();
+        segmentos.add(actual.toString());
+    }
+
+    /**
+     * Termina el segmento actual y marca el hueco de la celda de la casilla dada
+     */
+    private static void anadirCelda(ArrayList<String> segmentos, ArrayList<Integer> orden, StringBuilder actual, int nCasilla) {
+        segmentos.add(actual.toString());
+        orden.add(nCasilla);
+        actual.setLength(0);
     }
 
     /**
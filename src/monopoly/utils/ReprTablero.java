@@ -1,7 +1,5 @@
 package monopoly.utils;
 
-import monopoly.Juego;
-
 /**
  * Define los métodos necesarios para poder representar
  * un elemento como parte del tablero.
@@ -55,9 +53,11 @@ public interface ReprTablero {
 
     /**
      * Obtiene la representación del elemento
+     *
+     * @param consola Consola usada para dar formato a la representación
      */
-    default String representar() {
-        return Juego.consola.fmt(celda(representacionTablero()), codColorRepresentacion(), estiloRepresentacion());
+    default String representar(Consola consola) {
+        return consola.fmt(celda(representacionTablero()), codColorRepresentacion(), estiloRepresentacion());
     }
 
     /**